@@ -2,14 +2,20 @@ package org.sap.cytoscape.internal;
 
 import org.cytoscape.model.CyNetworkFactory;
 import org.cytoscape.model.CyNetworkManager;
+import org.cytoscape.model.events.RowsSetListener;
 import org.cytoscape.service.util.AbstractCyActivator;
+import org.cytoscape.task.NodeViewTaskFactory;
 import org.cytoscape.work.ServiceProperties;
 import org.cytoscape.work.TaskFactory;
 import org.cytoscape.work.swing.GUITunableHandlerFactory;
 import org.cytoscape.work.swing.SimpleGUITunableHandlerFactory;
 import org.sap.cytoscape.internal.tasks.CyCreateWorkspaceTaskFactory;
+import org.sap.cytoscape.internal.tasks.CyDrillDownTaskFactory;
 import org.sap.cytoscape.internal.tasks.CyLoadTaskFactory;
+import org.sap.cytoscape.internal.tasks.CyPlaybackTaskFactory;
 import org.sap.cytoscape.internal.tasks.CyRefreshTaskFactory;
+import org.sap.cytoscape.internal.utils.CyDeferredAttributeLoader;
+import org.sap.cytoscape.internal.utils.CySupergraphRegistry;
 import org.sap.cytoscape.internal.utils.IOUtils;
 import org.osgi.framework.BundleContext;
 import org.sap.cytoscape.internal.hdb.HanaConnectionManager;
@@ -22,6 +28,8 @@ public class CyActivator extends AbstractCyActivator {
 
     private final Properties menuConfiguration;
 
+    private HanaConnectionManager connectionManager;
+
     public CyActivator() throws IOException {
         super();
         this.menuConfiguration = IOUtils.loadResourceProperties("MenuConfiguration.properties");
@@ -34,6 +42,7 @@ public class CyActivator extends AbstractCyActivator {
 
         try {
             HanaConnectionManager connectionManager = new HanaConnectionManager();
+            this.connectionManager = connectionManager;
 
             // connect
             CyConnectTaskFactory connectFactory = new CyConnectTaskFactory(connectionManager);
@@ -55,8 +64,15 @@ public class CyActivator extends AbstractCyActivator {
             createProps.setProperty(ServiceProperties.INSERT_SEPARATOR_AFTER, this.menuConfiguration.getProperty("CREATE_SEPARATOR_AFTER"));
             registerService(bc, createFactory, TaskFactory.class, createProps);
 
+            // fetch deferred columns of loaded networks on selection
+            CyDeferredAttributeLoader deferredAttributeLoader = new CyDeferredAttributeLoader(connectionManager, networkManager);
+            registerService(bc, deferredAttributeLoader, RowsSetListener.class, new Properties());
+
+            // keep the grouping of loaded supergraphs for expanding their supernodes
+            CySupergraphRegistry supergraphRegistry = new CySupergraphRegistry();
+
             // load graph workspace
-            CyLoadTaskFactory loadFactory = new CyLoadTaskFactory(networkFactory, networkManager, connectionManager);
+            CyLoadTaskFactory loadFactory = new CyLoadTaskFactory(networkFactory, networkManager, connectionManager, deferredAttributeLoader, supergraphRegistry);
             Properties loadProps = new Properties();
             loadProps.setProperty(ServiceProperties.PREFERRED_MENU, this.menuConfiguration.getProperty("LOAD_PREFERRED_MENU"));
             loadProps.setProperty(ServiceProperties.TITLE, this.menuConfiguration.getProperty("LOAD_TITLE"));
@@ -75,15 +91,40 @@ public class CyActivator extends AbstractCyActivator {
             refreshProps.setProperty(ServiceProperties.INSERT_SEPARATOR_AFTER, this.menuConfiguration.getProperty("REFRESH_SEPARATOR_AFTER"));
             registerService(bc, refreshFactory, TaskFactory.class, refreshProps);
 
+            // move the time window of a network step by step
+            CyPlaybackTaskFactory playbackFactory = new CyPlaybackTaskFactory(networkManager, connectionManager);
+            Properties playbackProps = new Properties();
+            playbackProps.setProperty(ServiceProperties.PREFERRED_MENU, this.menuConfiguration.getProperty("PLAYBACK_PREFERRED_MENU"));
+            playbackProps.setProperty(ServiceProperties.TITLE, this.menuConfiguration.getProperty("PLAYBACK_TITLE"));
+            playbackProps.setProperty(ServiceProperties.MENU_GRAVITY, this.menuConfiguration.getProperty("PLAYBACK_MENU_GRAVITY"));
+            playbackProps.setProperty(ServiceProperties.INSERT_SEPARATOR_BEFORE, this.menuConfiguration.getProperty("PLAYBACK_SEPARATOR_BEFORE"));
+            playbackProps.setProperty(ServiceProperties.INSERT_SEPARATOR_AFTER, this.menuConfiguration.getProperty("PLAYBACK_SEPARATOR_AFTER"));
+            registerService(bc, playbackFactory, TaskFactory.class, playbackProps);
+
+            // expand supernode on double click or from the context menu
+            CyDrillDownTaskFactory drillDownFactory = new CyDrillDownTaskFactory(connectionManager, supergraphRegistry);
+            Properties drillDownProps = new Properties();
+            drillDownProps.setProperty(ServiceProperties.PREFERRED_MENU, this.menuConfiguration.getProperty("DRILLDOWN_PREFERRED_MENU"));
+            drillDownProps.setProperty(ServiceProperties.TITLE, this.menuConfiguration.getProperty("DRILLDOWN_TITLE"));
+            drillDownProps.setProperty(ServiceProperties.MENU_GRAVITY, this.menuConfiguration.getProperty("DRILLDOWN_MENU_GRAVITY"));
+            drillDownProps.setProperty(ServiceProperties.PREFERRED_ACTION, this.menuConfiguration.getProperty("DRILLDOWN_PREFERRED_ACTION"));
+            registerService(bc, drillDownFactory, NodeViewTaskFactory.class, drillDownProps);
+
             // load result of openCypher query
 
             // load single node (for later exploration via context menu)
-
-            // TODO handle heterogeneous graphs
         } catch (Exception e){
             System.err.println("Failed to activate SAP HANA plug-in for Cytoscape");
             System.err.println(e);
         }
     }
 
+    @Override
+    public void shutDown() {
+        // stop background operations and release pooled sessions on the database
+        if(this.connectionManager != null){
+            this.connectionManager.shutdown();
+        }
+    }
+
 }
@@ -44,6 +44,25 @@ public abstract class AbstractHanaGraphTableRow {
         }
     }
 
+    /**
+     * Converts a key value into the key, that nodes are looked up with on the client. Integral
+     * numbers are looked up as Long, so that numeric ids need no String copy per node and
+     * endpoint, and keys of INTEGER and BIGINT columns match. Other values are looked up by
+     * their string representation.
+     *
+     * @param value Value of a key, source or target column
+     * @return      Key for lookups; null if the value is null
+     */
+    public static Object toLookupKey(Object value){
+        if(value instanceof Long){
+            return value;
+        }
+        if(value instanceof Integer || value instanceof Short || value instanceof Byte){
+            return ((Number)value).longValue();
+        }
+        return value == null ? null : value.toString();
+    }
+
     public Object getFieldValueRaw(String fieldName){
         if(!this.fieldValues.containsKey(fieldName)){
             return null;
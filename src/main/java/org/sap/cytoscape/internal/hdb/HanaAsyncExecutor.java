@@ -0,0 +1,139 @@
+package org.sap.cytoscape.internal.hdb;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executor owned by the plugin, that runs database operations in the background.
+ * Unlike plain CompletableFutures, the futures returned by this executor interrupt
+ * the running operation and cancel its statements, if they are cancelled or time out
+ * (e.g. by orTimeout).
+ */
+public class HanaAsyncExecutor implements AutoCloseable {
+
+    /**
+     * Operation, that may fail with a checked exception (e.g. SQLException)
+     */
+    @FunctionalInterface
+    public interface Operation<T> {
+        T call() throws Exception;
+    }
+
+    /**
+     * Future of an operation, that interrupts the operation when it is cancelled
+     */
+    private static class OperationFuture<T> extends CompletableFuture<T> {
+
+        private volatile Future<?> task;
+
+        private final HanaCancellationToken token;
+
+        OperationFuture(HanaCancellationToken token){
+            this.token = token;
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            interruptTask();
+            return cancelled;
+        }
+
+        @Override
+        public boolean completeExceptionally(Throwable ex) {
+            boolean completed = super.completeExceptionally(ex);
+            if(completed && ex instanceof TimeoutException){
+                interruptTask();
+            }
+            return completed;
+        }
+
+        private void interruptTask() {
+            // running statements do not react on interrupts
+            this.token.cancel();
+            Future<?> task = this.task;
+            if(task != null){
+                task.cancel(true);
+            }
+        }
+    }
+
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * @param name          Prefix of the thread names
+     * @param maxThreads    Maximum number of operations, that run at the same time
+     */
+    public HanaAsyncExecutor(String name, int maxThreads){
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                maxThreads, maxThreads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, name + "-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+        );
+        // idle threads are not kept while Cytoscape is running
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Runs an operation in the background
+     *
+     * @param operation Operation to run
+     * @param <T>       Type of the result
+     * @return          Future of the result; fails with the exception of the operation
+     */
+    public <T> CompletableFuture<T> submit(Operation<T> operation){
+        // statements of the operation are cancelled along with the future and the submitting task
+        HanaCancellationToken parent = HanaCancellationToken.current();
+        HanaCancellationToken token = parent == null ? new HanaCancellationToken() : parent.newChild();
+        OperationFuture<T> future = new OperationFuture<>(token);
+        if(parent != null){
+            future.whenComplete((result, e) -> parent.release(token));
+        }
+        try {
+            future.task = this.executor.submit(() -> {
+                if(future.isDone()){
+                    // cancelled before it has been started
+                    return;
+                }
+                try (HanaCancellationToken.Scope scope = token.bind()){
+                    future.complete(operation.call());
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e){
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * @return  Number of operations, that are running or waiting
+     */
+    public int getPendingCount(){
+        return this.executor.getActiveCount() + this.executor.getQueue().size();
+    }
+
+    public boolean isShutdown(){
+        return this.executor.isShutdown();
+    }
+
+    /**
+     * Interrupts all running operations and rejects further ones
+     */
+    @Override
+    public void close(){
+        this.executor.shutdownNow();
+    }
+}
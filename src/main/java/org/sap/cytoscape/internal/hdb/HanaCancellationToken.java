@@ -0,0 +1,189 @@
+package org.sap.cytoscape.internal.hdb;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.sap.cytoscape.internal.utils.CyLogging.*;
+
+/**
+ * Allows a task to cancel the statements, that run on its behalf. The token is bound to the
+ * thread of the task; the connection manager tracks each running statement with the token
+ * of the current thread and passes it on to its worker threads. Cancelling the token calls
+ * Statement.cancel on all tracked statements, so that HANA stops executing them, and lets
+ * further statements fail before they are sent to the database.
+ */
+public class HanaCancellationToken {
+
+    /**
+     * SQL state of statements, that have been cancelled
+     */
+    public static final String SQL_STATE_CANCELLED = "HY008";
+
+    private static final ThreadLocal<HanaCancellationToken> current = new ThreadLocal<>();
+
+    /**
+     * Binding of a token to a thread. Closing it restores the previous binding.
+     */
+    public static class Scope implements AutoCloseable {
+
+        private final HanaCancellationToken previous;
+
+        private Scope(HanaCancellationToken previous){
+            this.previous = previous;
+        }
+
+        @Override
+        public void close(){
+            if(this.previous == null){
+                current.remove();
+            } else {
+                current.set(this.previous);
+            }
+        }
+    }
+
+    /**
+     * Running statement, that is tracked by a token. Closing it stops the tracking.
+     */
+    public static class Registration implements AutoCloseable {
+
+        private final HanaCancellationToken token;
+
+        private final Statement statement;
+
+        private Registration(HanaCancellationToken token, Statement statement){
+            this.token = token;
+            this.statement = statement;
+        }
+
+        @Override
+        public void close(){
+            if(this.token != null){
+                this.token.statements.remove(this.statement);
+            }
+        }
+    }
+
+    private final Set<Statement> statements = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Tokens, that are cancelled along with this one
+     */
+    private final Set<HanaCancellationToken> children = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean cancelled = false;
+
+    /**
+     * @return  Token bound to the current thread; null if there is none
+     */
+    public static HanaCancellationToken current(){
+        return current.get();
+    }
+
+    /**
+     * Tracks a statement with the token of the current thread until the registration is closed
+     *
+     * @param statement     Statement, that is about to be executed
+     * @return              Registration of the statement
+     * @throws SQLException if the token has already been cancelled
+     */
+    public static Registration track(Statement statement) throws SQLException {
+        HanaCancellationToken token = current();
+        if(token == null){
+            return new Registration(null, statement);
+        }
+        token.throwIfCancelled();
+        token.statements.add(statement);
+        // the token might have been cancelled, while the statement has been added
+        if(token.cancelled){
+            token.statements.remove(statement);
+            token.throwIfCancelled();
+        }
+        return new Registration(token, statement);
+    }
+
+    /**
+     * Fails, if the token of the current thread has been cancelled
+     *
+     * @throws SQLException if the operation has been cancelled
+     */
+    public static void checkCurrent() throws SQLException {
+        HanaCancellationToken token = current();
+        if(token != null){
+            token.throwIfCancelled();
+        }
+    }
+
+    /**
+     * Binds the token to the current thread
+     *
+     * @return  Scope of the binding, that has to be closed
+     */
+    public Scope bind(){
+        Scope scope = new Scope(current.get());
+        current.set(this);
+        return scope;
+    }
+
+    /**
+     * Creates a token, that can be cancelled on its own, but is also cancelled along with this one
+     * (e.g. for an operation, that runs in the background on behalf of a task)
+     *
+     * @return  New child token; has to be released once the operation has completed
+     */
+    public HanaCancellationToken newChild(){
+        HanaCancellationToken child = new HanaCancellationToken();
+        this.children.add(child);
+        if(this.cancelled){
+            child.cancel();
+        }
+        return child;
+    }
+
+    /**
+     * Stops cancelling a child token along with this one
+     *
+     * @param child Token created by newChild
+     */
+    public void release(HanaCancellationToken child){
+        this.children.remove(child);
+    }
+
+    /**
+     * Cancels all tracked statements and child tokens. Statements, that are started afterwards,
+     * will fail immediately.
+     */
+    public void cancel(){
+        this.cancelled = true;
+        for(HanaCancellationToken child : this.children){
+            child.cancel();
+        }
+        for(Statement statement : this.statements){
+            try {
+                statement.cancel();
+            } catch (SQLException e){
+                // statement might have completed in the meantime
+                debug("Could not cancel statement: " + e.getMessage());
+            }
+        }
+    }
+
+    public boolean isCancelled(){
+        return this.cancelled;
+    }
+
+    /**
+     * @return  Number of statements, that are currently running on behalf of the token
+     */
+    public int getRunningCount(){
+        return this.statements.size();
+    }
+
+    public void throwIfCancelled() throws SQLException {
+        if(this.cancelled){
+            throw new SQLException("Operation has been cancelled", SQL_STATE_CANCELLED);
+        }
+    }
+}
@@ -34,6 +34,11 @@ public class HanaColumnInfo{
      */
     public boolean notNull;
 
+    /**
+     * Declared length or precision of the column; 0 if unknown
+     */
+    public int width;
+
     public HanaColumnInfo(String schema, String table, String name, int sqlType) {
         this(schema, table, name, sqlType, false);
     }
@@ -67,4 +72,15 @@ public class HanaColumnInfo{
         this.primaryKey = primaryKey;
         this.notNull = notNull;
     }
+
+    /**
+     * Checks if values of the column are expensive to transfer, i.e. large objects or
+     * columns, that are declared wider than the given number of characters
+     *
+     * @param maxWidth  Maximum declared width of cheap columns; 0 to only consider large objects
+     * @return          True, if the column is wide
+     */
+    public boolean isWide(int maxWidth){
+        return this.dataType.isLargeObject() || (maxWidth > 0 && this.width > maxWidth);
+    }
 }
@@ -5,11 +5,30 @@ import org.sap.cytoscape.internal.exceptions.HanaConnectionManagerException;
 import org.sap.cytoscape.internal.utils.IOUtils;
 
 import java.io.IOException;
+import java.math.BigDecimal;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
 
 import static org.sap.cytoscape.internal.utils.CyLogging.*;
 import static org.sap.cytoscape.internal.utils.HanaUtils.*;
@@ -20,15 +39,94 @@ import static org.sap.cytoscape.internal.utils.HanaUtils.*;
 public class HanaConnectionManager {
 
     /**
-     * Internal connection object
+     * Wait time before resuming an interrupted download; grows with every attempt
+     */
+    private static final long RESUME_BACKOFF_MILLIS = 1000L;
+
+    /**
+     * Number of records, that are sent to the database in one batch
+     */
+    private static final int BATCH_SIZE = 10000;
+
+    /**
+     * Local temporary table with the keys of the sampled nodes; only visible to the session, that loads the sample
+     */
+    private static final String SAMPLE_NODES_TABLE = "\"#CY_SAMPLE_NODES\"";
+
+    /**
+     * Local temporary table with the keys of the sampled edges
+     */
+    private static final String SAMPLE_EDGES_TABLE = "\"#CY_SAMPLE_EDGES\"";
+
+    /**
+     * Detects subqueries in filters, that have been entered by the user
+     */
+    private static final Pattern SUBQUERY_PATTERN = Pattern.compile("\\bSELECT\\b", Pattern.CASE_INSENSITIVE);
+
+    /**
+     * Local temporary table with the keys of the top edges per node by weight
+     */
+    private static final String TOP_EDGES_TABLE = "\"#CY_TOP_EDGES\"";
+
+    /**
+     * Maximum number of keys per lookup of deferred columns or missing nodes
+     */
+    private static final int KEY_LOOKUP_BATCH_SIZE = 1000;
+
+    /**
+     * Sampled keys per slice, from which the boundaries of non-numeric key ranges are derived
+     */
+    private static final int KEY_SAMPLE_ROWS_PER_SLICE = 1000;
+
+    /**
+     * Lower bound for the share of keys, that are sampled for key range boundaries
+     */
+    private static final double MIN_KEY_SAMPLE_PERCENTAGE = 0.001;
+
+    /**
+     * Worker threads, that are shared by all concurrent fetches; bounded by the number of
+     * sessions, that a load may use. Idle workers are released after a minute.
+     */
+    private static final ThreadPoolExecutor WORKERS = newWorkers(HanaConnectionPool.DEFAULT_MAX_SIZE);
+
+    /**
+     * Internal connection object. Used to validate the connection and to detect
+     * the database, all further work is done on sessions of the connection pool.
      */
     private Connection connection;
 
+    /**
+     * Sessions for queries, loads and uploads
+     */
+    private HanaConnectionPool connectionPool;
+
+    /**
+     * JDBC URL and properties of the connection, required to open additional sessions
+     */
+    private String connectionUrl;
+
+    private Properties connectionProperties;
+
     /**
      * Holding all SQL statement that are required
      */
     private final Properties sqlStrings;
 
+    /**
+     * Column layouts of workspaces, that have already been loaded
+     */
+    private final HanaWorkspaceMetadataCache metadataCache;
+
+    /**
+     * Results of expensive queries, tagged with the data version they have been read with
+     */
+    private final HanaQueryResultCache resultCache;
+
+    /**
+     * Downloads of workspaces, that are running at the moment
+     */
+    private final HanaSingleFlight<HanaGraphWorkspace> runningLoads;
+
     /**
      * HANA version and edition (Cloud, On prem)
      * For instance HANA Cloud: fa/CE2021.18
@@ -36,12 +134,47 @@ public class HanaConnectionManager {
      */
     private String buildVersion;
 
+    /**
+     * Layout of the graph workspace catalog, probed when connecting. "CLOUD", if workspace
+     * columns are listed in GRAPH_WORKSPACE_COLUMNS, "ONPREM" if GRAPH_WORKSPACES describes
+     * edge and vertex tables itself.
+     */
+    private String catalogVariant;
+
+    /**
+     * True, if GRAPH_WORKSPACE_COLUMNS names the vertex table, that the source and target
+     * columns of an edge table refer to
+     */
+    private boolean hasVertexReferences;
+
+    /**
+     * Round trip time to the database in nanoseconds, measured when connecting
+     */
+    private long roundTripNanos;
+
+    /**
+     * Default JDBC fetch size for streamed queries. If 0, the fetch size will
+     * be adapted to the row width and the round trip time.
+     */
+    private int fetchSize;
+
+    /**
+     * Runs the asynchronous operations of the plugin
+     */
+    private final HanaAsyncExecutor asyncExecutor;
+
     /**
      * Default constructor
      */
     public HanaConnectionManager() throws IOException {
         this.connection = null;
+        this.connectionPool = null;
         this.sqlStrings = IOUtils.loadResourceProperties("SqlStrings.sql");
+        this.metadataCache = new HanaWorkspaceMetadataCache();
+        this.resultCache = new HanaQueryResultCache();
+        this.runningLoads = new HanaSingleFlight<>();
+        this.fetchSize = 0;
+        this.asyncExecutor = new HanaAsyncExecutor("hana-async", HanaConnectionPool.DEFAULT_MAX_SIZE);
     }
 
     /**
@@ -53,20 +186,37 @@ public class HanaConnectionManager {
      */
     public void connect(String host, String port, Properties connectionProperties) throws SQLException {
 
-        if (this.connection != null) {
-            try { this.connection.close(); } catch (SQLException ignore) {}
+        String url = "jdbc:sap://" + host + ":" + port + "/";
+        if (url.equals(this.connectionUrl) && connectionProperties.equals(this.connectionProperties) && this.isConnected()) {
+            // avoid the handshakes of a new connection, if nothing has changed
+            info("Already connected to HANA database: "+host+" (sessions: "+this.connectionPool+")");
+            return;
         }
-        this.connection = null;
+
+        this.disconnect();
 
         try {
             Class.forName("com.sap.db.jdbc.Driver");
-            this.connection = DriverManager.getConnection("jdbc:sap://" + host + ":" + port + "/", connectionProperties);
+            Properties sessionProperties = new Properties();
+            sessionProperties.putAll(connectionProperties);
+            this.connection = DriverManager.getConnection(url, sessionProperties);
+            this.connectionUrl = url;
+            this.connectionProperties = sessionProperties;
+            this.connectionPool = new HanaConnectionPool(
+                    () -> DriverManager.getConnection(url, sessionProperties),
+                    HanaConnectionPool.DEFAULT_MAX_SIZE,
+                    HanaConnectionPool.DEFAULT_IDLE_TIMEOUT_MILLIS
+            );
 
             if (this.connection.isValid(2)){
-                this.buildVersion = this.executeQuerySingleValue(this.sqlStrings.getProperty("GET_BUILD"), null, String.class);
+                try (HanaConnectionPool.Lease control = HanaConnectionPool.Lease.unpooled(this.connection)){
+                    this.buildVersion = this.executeQuerySingleValue(control, this.sqlStrings.getProperty("GET_BUILD"), null, String.class);
+                    this.catalogVariant = this.probeCatalogVariant(control);
+                }
+                this.measureRoundTrip();
             }
 
-            info("Connected to HANA database: "+host+" ("+this.buildVersion+")");
+            info("Connected to HANA database: "+host+" ("+this.buildVersion+", "+this.catalogVariant+" catalog, round trip "+(this.roundTripNanos / 1000)+"us)");
         } catch (ClassNotFoundException e) {
             err("HANA JDBC driver not found: " + e.getMessage());
             throw new SQLException("HANA JDBC driver (ngdbc) not found on classpath", e);
@@ -77,6 +227,37 @@ public class HanaConnectionManager {
         }
     }
 
+    /**
+     * Closes the connection and all pooled sessions
+     */
+    public void disconnect() {
+        if (this.connectionPool != null) {
+            debug("Closing connection pool (" + this.connectionPool + ")");
+            this.connectionPool.close();
+        }
+        // cached results belong to the instance and user of the connection
+        debug("Clearing query result cache (" + this.resultCache + ")");
+        this.resultCache.clear();
+        if (this.connection != null) {
+            try { this.connection.close(); } catch (SQLException ignore) {}
+        }
+        this.connection = null;
+        this.connectionPool = null;
+        this.connectionUrl = null;
+        this.connectionProperties = null;
+        this.catalogVariant = null;
+        this.hasVertexReferences = false;
+    }
+
+    /**
+     * Closes the connection and stops all asynchronous operations. The connection
+     * manager must not be used afterwards.
+     */
+    public void shutdown() {
+        this.asyncExecutor.close();
+        this.disconnect();
+    }
+
     /**
      * Establish connection to a HANA database
      *
@@ -126,13 +307,198 @@ public class HanaConnectionManager {
         }
     }
 
+    /**
+     * @return  Pool of sessions; null if not connected
+     */
+    public HanaConnectionPool getConnectionPool(){
+        return this.connectionPool;
+    }
+
+    /**
+     * Leases a session from the connection pool. If there is no pool (e.g. for connections
+     * that have not been established by connect), the internal connection will be leased.
+     * The caller has to close the lease.
+     *
+     * @return  Lease of a session
+     */
+    private HanaConnectionPool.Lease leaseSession() throws SQLException {
+        if(this.connectionPool == null){
+            return HanaConnectionPool.Lease.unpooled(this.connection);
+        }
+        return this.connectionPool.lease();
+    }
+
+    /**
+     * Leases a session with a transaction, that keeps the snapshot of its first statement
+     * for all further reads. The transaction will be rolled back when the lease is closed.
+     *
+     * @return  Lease of a session
+     */
+    private HanaConnectionPool.Lease leaseSnapshotSession() throws SQLException {
+        HanaConnectionPool.Lease lease = leaseSession();
+        try {
+            lease.getConnection().setAutoCommit(false);
+            lease.getConnection().setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+        } catch (SQLException e){
+            lease.invalidate();
+            lease.close();
+            throw e;
+        }
+        return lease;
+    }
+
+    private static ThreadPoolExecutor newWorkers(int maxThreads){
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor workers = new ThreadPoolExecutor(
+                maxThreads, maxThreads, 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "hana-worker-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+        workers.allowCoreThreadTimeOut(true);
+        return workers;
+    }
+
+    /**
+     * Runs tasks on the shared worker threads at once and waits for all of them. If all workers
+     * are busy (e.g. for slices of tables, that are loaded concurrently), the calling thread
+     * runs the task itself, so that nested calls cannot starve each other.
+     *
+     * @param name      Name of the threads, suffixed with the index of the task
+     * @param tasks     Tasks to run
+     * @param <T>       Type of the task results
+     * @return          Results of the tasks in the order of the tasks
+     */
+    private static <T> List<T> runConcurrently(String name, List<Callable<T>> tasks) throws SQLException {
+        // statements of the workers are cancelled along with the calling task
+        HanaCancellationToken token = HanaCancellationToken.current();
+        List<Future<T>> futures = new ArrayList<>();
+        try {
+            for(int i = 0; i < tasks.size(); i++){
+                Callable<T> task = tasks.get(i);
+                String threadName = name + "-" + (i + 1);
+                futures.add(WORKERS.submit(() -> {
+                    Thread thread = Thread.currentThread();
+                    String previousName = thread.getName();
+                    thread.setName(threadName);
+                    try {
+                        if(token == null){
+                            return task.call();
+                        }
+                        try (HanaCancellationToken.Scope scope = token.bind()){
+                            return task.call();
+                        }
+                    } finally {
+                        thread.setName(previousName);
+                    }
+                }));
+            }
+            List<T> results = new ArrayList<>();
+            for(Future<T> future : futures){
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for " + name, e);
+        } catch (ExecutionException e){
+            if(e.getCause() instanceof SQLException){
+                throw (SQLException) e.getCause();
+            }
+            throw new SQLException("Failure in " + name, e.getCause());
+        } finally {
+            // no-op, unless a task has failed while others are still running
+            for(Future<T> future : futures){
+                future.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Determines the layout of the graph workspace catalog by checking which system
+     * views exist. Falls back to the build string, if the catalog cannot be inspected.
+     *
+     * @param control   Session to probe the catalog with
+     * @return          "CLOUD" or "ONPREM"
+     */
+    private String probeCatalogVariant(HanaConnectionPool.Lease control) {
+        try {
+            HanaQueryResult capabilities = this.executeQueryList(control, this.sqlStrings.getProperty("PROBE_CATALOG_CAPABILITIES"), null);
+            this.hasVertexReferences = capabilities.getLong(0, 2) > 0;
+            if(capabilities.getLong(0, 0) > 0){
+                return "CLOUD";
+            }
+            if(capabilities.getLong(0, 1) > 0){
+                return "ONPREM";
+            }
+            warn("Graph workspace catalog has an unknown layout. Assuming edition from build " + this.buildVersion);
+        } catch (SQLException e) {
+            warn("Could not probe graph workspace catalog. Assuming edition from build " + this.buildVersion);
+        }
+        return isCloudEdition(this.buildVersion) ? "CLOUD" : "ONPREM";
+    }
+
+    /**
+     * @return  Layout of the graph workspace catalog, i.e. "CLOUD" or "ONPREM"
+     */
+    private String getCatalogVariant() {
+        if(this.catalogVariant != null){
+            return this.catalogVariant;
+        }
+        // connection has not been established by connect()
+        return isCloudEdition(this.buildVersion) ? "CLOUD" : "ONPREM";
+    }
+
+    /**
+     * Measures the round trip time to the database with a trivial query
+     *
+     * @return  Round trip time in nanoseconds
+     */
+    public long measureRoundTrip() throws SQLException {
+        long start = System.nanoTime();
+        try (HanaConnectionPool.Lease control = HanaConnectionPool.Lease.unpooled(this.connection)){
+            this.executeQuerySingleValue(control, this.sqlStrings.getProperty("PING"), null, Integer.class);
+        }
+        this.roundTripNanos = System.nanoTime() - start;
+        return this.roundTripNanos;
+    }
+
+    /**
+     * @return  Round trip time to the database in nanoseconds, measured when connecting
+     */
+    public long getRoundTripNanos(){
+        return this.roundTripNanos;
+    }
+
+    /**
+     * @return  Default JDBC fetch size for streamed queries; 0 if adaptive
+     */
+    public int getFetchSize(){
+        return this.fetchSize;
+    }
+
+    /**
+     * Sets the default JDBC fetch size for streamed queries
+     *
+     * @param fetchSize Number of rows per fetch; 0 to adapt it to row width and round trip time
+     */
+    public void setFetchSize(int fetchSize){
+        this.fetchSize = Math.max(0, fetchSize);
+    }
+
     /**
      * Executes a statement on the database
      *
      * @param statement The statement to execute
      */
     public void execute(String statement) throws SQLException {
-        try (Statement stmt = this.connection.createStatement()){
+        try (HanaConnectionPool.Lease lease = leaseSession();
+             Statement stmt = lease.getConnection().createStatement();
+             HanaCancellationToken.Registration reg = HanaCancellationToken.track(stmt)){
             stmt.execute(statement);
         } catch (SQLException e){
             err("Could not execute statement: " + statement);
@@ -141,6 +507,24 @@ public class HanaConnectionManager {
         }
     }
 
+    /**
+     * Executes a statement on the given session
+     *
+     * @param session   Connection to execute the statement on
+     * @param statement The statement to execute
+     * @return          Number of affected rows
+     */
+    private int executeUpdate(HanaConnectionPool.Lease session, String statement) throws SQLException {
+        try (Statement stmt = session.getConnection().createStatement();
+             HanaCancellationToken.Registration reg = HanaCancellationToken.track(stmt)){
+            return stmt.executeUpdate(statement);
+        } catch (SQLException e){
+            err("Could not execute statement: " + statement);
+            err(e.toString());
+            throw e;
+        }
+    }
+
     /**
      * Executes a query statement on the database
      *
@@ -159,34 +543,160 @@ public class HanaConnectionManager {
      * @return          The result of the query as a list; Null in case of errors
      */
     public HanaQueryResult executeQueryList(String statement, HanaSqlParameter[] params) throws SQLException {
-        try (PreparedStatement stmt = this.connection.prepareStatement(statement)){
-            if(params != null) {
-                for (int i = 0; i < params.length; i++) {
-                    stmt.setObject(i+1, params[i].parameterValue, params[i].hanaDataType.getSqlDataType());
+        try (HanaConnectionPool.Lease lease = leaseSession()){
+            return this.executeQueryList(lease, statement, params);
+        }
+    }
+
+    /**
+     * Executes a query statement on the given session
+     *
+     * @param session   Connection to execute the statement on
+     * @param statement The statement to execute
+     * @param params    SQL parameters
+     * @return          The result of the query as a list
+     */
+    private HanaQueryResult executeQueryList(HanaConnectionPool.Lease session, String statement, HanaSqlParameter[] params) throws SQLException {
+        HanaQueryResult[] queryResult = new HanaQueryResult[1];
+        this.executeQueryStream(session, statement, params, this.fetchSize, new HanaQueryRowHandler() {
+            @Override
+            public void handleMetadata(HanaColumnInfo[] columnMetadata) {
+                queryResult[0] = new HanaQueryResult(columnMetadata.length);
+                for(int col = 0; col < columnMetadata.length; col++){
+                    queryResult[0].setColumnMetadata(col, columnMetadata[col]);
                 }
             }
-            try (ResultSet resultSet = stmt.executeQuery()){
-                ResultSetMetaData metaData = resultSet.getMetaData();
-                int nCols = metaData.getColumnCount();
-                HanaQueryResult queryResult = new HanaQueryResult(nCols);
-                for(int col = 1; col <= nCols; col++) {
-                    queryResult.setColumnMetadata(col-1, new HanaColumnInfo(
-                            metaData.getSchemaName(col),
-                            metaData.getTableName(col),
-                            metaData.getColumnName(col),
-                            metaData.getColumnType(col),
-                            false,
-                            metaData.isNullable(col) == 0
-                    ));
-                }
+
+            @Override
+            public void handleRow(Object[] row) {
+                queryResult[0].addRecord(row.clone());
+            }
+        });
+        return queryResult[0];
+    }
+
+    /**
+     * Executes a query statement on the given session, unless its result has already been read
+     * with the same data version. Results are cached for later calls.
+     *
+     * @param session   Connection to execute the statement on
+     * @param statement The statement to execute
+     * @param params    SQL parameters
+     * @param version   Current data version of the queried objects; null to bypass the cache
+     * @return          The result of the query as a list; must not be modified
+     */
+    private HanaQueryResult executeQueryListCached(HanaConnectionPool.Lease session, String statement, HanaSqlParameter[] params, String version) throws SQLException {
+        if(version == null){
+            return this.executeQueryList(session, statement, params);
+        }
+        String key = HanaQueryResultCache.getKey(statement, params);
+        HanaQueryResult result = this.resultCache.get(key, version);
+        if(result == null){
+            result = this.executeQueryList(session, statement, params);
+            this.resultCache.put(key, version, result);
+        }
+        return result;
+    }
+
+    /**
+     * Reads a version of the content of a column table, that changes with every write or delta merge.
+     * Reading it only touches the monitoring view of the table.
+     *
+     * @param session   Connection to read the version with
+     * @param table     Schema and name of the table
+     * @return          Version of the table; null if it could not be determined (e.g. for row tables)
+     */
+    private String readTableDataVersion(HanaConnectionPool.Lease session, HanaDbObject table) {
+        try {
+            return this.executeQuerySingleValue(
+                    session,
+                    this.sqlStrings.getProperty("SELECT_TABLE_DATA_VERSION"),
+                    new HanaSqlParameter[]{
+                            new HanaSqlParameter(table.schema, Types.VARCHAR),
+                            new HanaSqlParameter(table.name, Types.VARCHAR)
+                    },
+                    String.class
+            );
+        } catch (SQLException e){
+            debug("Could not read data version of " + table + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * @return  Cache of query results, e.g. for its hit ratio
+     */
+    public HanaQueryResultCache getQueryResultCache(){
+        return this.resultCache;
+    }
+
+    /**
+     * Executes a query statement on the database and passes each row to the handler
+     * as soon as it has been fetched. Uses the default fetch size of this connection manager.
+     *
+     * @param statement     The statement to execute
+     * @param params        SQL parameters
+     * @param rowHandler    Consumer of the streamed rows
+     */
+    public void executeQueryStream(String statement, HanaSqlParameter[] params, HanaQueryRowHandler rowHandler) throws SQLException {
+        this.executeQueryStream(statement, params, this.fetchSize, rowHandler);
+    }
+
+    /**
+     * Executes a query statement on the database and passes each row to the handler
+     * as soon as it has been fetched
+     *
+     * @param statement     The statement to execute
+     * @param params        SQL parameters
+     * @param fetchSize     Number of rows per fetch; 0 to adapt it to row width and round trip time
+     * @param rowHandler    Consumer of the streamed rows
+     */
+    public void executeQueryStream(String statement, HanaSqlParameter[] params, int fetchSize, HanaQueryRowHandler rowHandler) throws SQLException {
+        try (HanaConnectionPool.Lease lease = leaseSession()){
+            this.executeQueryStream(lease, statement, params, fetchSize, rowHandler);
+        }
+    }
+
+    /**
+     * Executes a query statement on the given session and passes each row to the handler
+     * as soon as it has been fetched
+     *
+     * @param session       Connection to execute the statement on
+     * @param statement     The statement to execute
+     * @param params        SQL parameters
+     * @param fetchSize     Number of rows per fetch; 0 to adapt it to row width and round trip time
+     * @param rowHandler    Consumer of the streamed rows
+     */
+    private void executeQueryStream(HanaConnectionPool.Lease session, String statement, HanaSqlParameter[] params, int fetchSize, HanaQueryRowHandler rowHandler) throws SQLException {
+        try (HanaStatementCache.CachedStatement cachedStmt = session.prepareStatement(statement)){
+            PreparedStatement stmt = cachedStmt.get();
+            setParameters(stmt, params);
+
+            HanaFetchSizePolicy fetchSizePolicy = null;
+            if(fetchSize > 0){
+                stmt.setFetchSize(fetchSize);
+            } else {
+                // prepared statements already describe their result, so the first fetch can be sized properly
+                fetchSizePolicy = new HanaFetchSizePolicy(this.roundTripNanos, HanaFetchSizePolicy.estimateRowWidth(stmt.getMetaData()));
+                stmt.setFetchSize(fetchSizePolicy.getFetchSize());
+            }
+
+            try (HanaCancellationToken.Registration reg = HanaCancellationToken.track(stmt);
+                 ResultSet resultSet = stmt.executeQuery()){
+                HanaColumnInfo[] columnMetadata = readColumnMetadata(resultSet.getMetaData());
+                rowHandler.handleMetadata(columnMetadata);
+
+                Object[] row = new Object[columnMetadata.length];
                 while (resultSet.next()) {
-                    Object[] newRow = new Object[nCols];
-                    for (int col = 1; col <= nCols; col++) {
-                        newRow[col - 1] = resultSet.getObject(col);
+                    for (int col = 1; col <= row.length; col++) {
+                        row[col - 1] = resultSet.getObject(col);
+                    }
+                    if(fetchSizePolicy != null && fetchSizePolicy.observeRow(row)){
+                        debug("Adapting fetch size to " + fetchSizePolicy.getFetchSize() + " rows");
+                        resultSet.setFetchSize(fetchSizePolicy.getFetchSize());
                     }
-                    queryResult.addRecord(newRow);
+                    rowHandler.handleRow(row);
                 }
-                return queryResult;
             }
         } catch (SQLException e) {
             err("Could not fetch data. " + statement);
@@ -195,6 +705,43 @@ public class HanaConnectionManager {
         }
     }
 
+    /**
+     * Binds parameters to a prepared statement
+     *
+     * @param stmt      Prepared statement
+     * @param params    SQL parameters; may be null
+     */
+    private static void setParameters(PreparedStatement stmt, HanaSqlParameter[] params) throws SQLException {
+        if(params != null) {
+            for (int i = 0; i < params.length; i++) {
+                stmt.setObject(i+1, params[i].parameterValue, params[i].hanaDataType.getSqlDataType());
+            }
+        }
+    }
+
+    /**
+     * Converts the metadata of a result set
+     *
+     * @param metaData  Metadata of the result set
+     * @return          Column metadata
+     */
+    private static HanaColumnInfo[] readColumnMetadata(ResultSetMetaData metaData) throws SQLException {
+        int nCols = metaData.getColumnCount();
+        HanaColumnInfo[] columnMetadata = new HanaColumnInfo[nCols];
+        for(int col = 1; col <= nCols; col++) {
+            columnMetadata[col-1] = new HanaColumnInfo(
+                    metaData.getSchemaName(col),
+                    metaData.getTableName(col),
+                    metaData.getColumnName(col),
+                    metaData.getColumnType(col),
+                    false,
+                    metaData.isNullable(col) == 0
+            );
+            columnMetadata[col-1].width = metaData.getPrecision(col);
+        }
+        return columnMetadata;
+    }
+
     /**
      * Executes a query statement on the database that return a single value
      *
@@ -205,13 +752,27 @@ public class HanaConnectionManager {
      * @return          Single value returned by the query; Null in case of errors
      */
     public <T> T executeQuerySingleValue(String statement, HanaSqlParameter[] params, Class<T> type) throws SQLException {
-        try (PreparedStatement stmt = this.connection.prepareStatement(statement)){
-            if(params != null) {
-                for (int i = 0; i < params.length; i++) {
-                    stmt.setObject(i+1, params[i].parameterValue, params[i].hanaDataType.getSqlDataType());
-                }
-            }
-            try (ResultSet resultSet = stmt.executeQuery()){
+        try (HanaConnectionPool.Lease lease = leaseSession()){
+            return this.executeQuerySingleValue(lease, statement, params, type);
+        }
+    }
+
+    /**
+     * Executes a query statement on the given session that return a single value
+     *
+     * @param session   Connection to execute the statement on
+     * @param statement The statement to execute
+     * @param params    SQL parameters
+     * @param type      Class type of the single value
+     * @param <T>       Template type inferred from class type
+     * @return          Single value returned by the query
+     */
+    private <T> T executeQuerySingleValue(HanaConnectionPool.Lease session, String statement, HanaSqlParameter[] params, Class<T> type) throws SQLException {
+        try (HanaStatementCache.CachedStatement cachedStmt = session.prepareStatement(statement)){
+            PreparedStatement stmt = cachedStmt.get();
+            setParameters(stmt, params);
+            try (HanaCancellationToken.Registration reg = HanaCancellationToken.track(stmt);
+                 ResultSet resultSet = stmt.executeQuery()){
                 resultSet.next();
                 return resultSet.getObject(1, type);
             }
@@ -223,14 +784,19 @@ public class HanaConnectionManager {
     }
 
     /**
-     * Executes the same statement multiple times with different parameters as batch
+     * Executes the same statement multiple times with different parameters as batch. The
+     * parameters are sent in chunks, so that a cancelled operation stops between chunks.
      *
      * @param statement         Statement to execute
      * @param batchParameter    List of parameter configurations
      * @throws SQLException     sql error
      */
     private void executeBatch(String statement, List<HanaSqlParameter[]> batchParameter) throws SQLException {
-        try (PreparedStatement batchStmt = this.connection.prepareStatement(statement)){
+        try (HanaConnectionPool.Lease lease = leaseSession();
+             HanaStatementCache.CachedStatement cachedStmt = lease.prepareStatement(statement);
+             HanaCancellationToken.Registration reg = HanaCancellationToken.track(cachedStmt.get())){
+            PreparedStatement batchStmt = cachedStmt.get();
+            int nBatched = 0;
             for(HanaSqlParameter[] recordParameter : batchParameter){
                 for(int i=0; i<recordParameter.length; i++){
                     Object value = recordParameter[i].parameterValue;
@@ -241,8 +807,15 @@ public class HanaConnectionManager {
                     }
                 }
                 batchStmt.addBatch();
+                if(++nBatched == BATCH_SIZE){
+                    batchStmt.executeBatch();
+                    nBatched = 0;
+                    HanaCancellationToken.checkCurrent();
+                }
+            }
+            if(nBatched > 0){
+                batchStmt.executeBatch();
             }
-            batchStmt.executeBatch();
         }
     }
 
@@ -270,7 +843,10 @@ public class HanaConnectionManager {
      * @return  List of all available graph workspaces
      */
     public List<HanaDbObject> listGraphWorkspaces() throws SQLException {
-        HanaQueryResult queryResult = this.executeQueryList(this.sqlStrings.getProperty("LIST_GRAPH_WORKSPACES"));
+        HanaQueryResult queryResult;
+        try (HanaConnectionPool.Lease session = leaseSession()){
+            queryResult = this.executeQueryList(session, this.sqlStrings.getProperty("LIST_GRAPH_WORKSPACES"), null);
+        }
 
         List<HanaDbObject> workspaceList = new ArrayList<>();
         for(Object[] row : queryResult.getRecordList()){
@@ -281,191 +857,2389 @@ public class HanaConnectionManager {
     }
 
     /**
-     * Loads the metadata of a given graph workspace object with pre-populated
-     * workspaceDbObject (i.e. schema and name are already given)
-     *
-     * @param graphWorkspace    HanaGraphWorkspace with pre-populated workspaceDbObject
+     * @return  Cache of the column layouts of workspaces
      */
-    private void loadWorkspaceMetadata(HanaGraphWorkspace graphWorkspace) throws SQLException, HanaConnectionManagerException {
-
-        Boolean isCloud = isCloudEdition(this.buildVersion);
-        String propName="LOAD_WORKSPACE_METADATA_HANA_" + (isCloud ? "CLOUD":"ONPREM");
-
-        debug("Reading graph metadata with " + propName);
-        HanaQueryResult wsMetadata = null;
+    public HanaWorkspaceMetadataCache getWorkspaceMetadataCache(){
+        return this.metadataCache;
+    }
 
-        try{
-            wsMetadata = this.executeQueryList(
+    /**
+     * Reads a signature of the catalog objects a workspace consists of. The signature changes,
+     * if the workspace or one of its tables is re-created or if columns are added, dropped or
+     * renamed. Reading it only touches the catalog entries of the workspace itself.
+     *
+     * @param workspace Schema and name of the workspace
+     * @return          Signature of the workspace; null if it could not be determined
+     */
+    private String readWorkspaceMetadataVersion(HanaDbObject workspace) {
+        String propName = "LOAD_WORKSPACE_METADATA_VERSION_HANA_" + getCatalogVariant();
+        try {
+            HanaQueryResult versionResult = this.executeQueryList(
                     this.sqlStrings.getProperty(propName),
                     new HanaSqlParameter[]{
-                            new HanaSqlParameter(graphWorkspace.getWorkspaceDbObject().schema, Types.VARCHAR),
-                            new HanaSqlParameter(graphWorkspace.getWorkspaceDbObject().name, Types.VARCHAR)
+                            new HanaSqlParameter(workspace.schema, Types.VARCHAR),
+                            new HanaSqlParameter(workspace.name, Types.VARCHAR),
+                            new HanaSqlParameter(workspace.schema, Types.VARCHAR),
+                            new HanaSqlParameter(workspace.name, Types.VARCHAR)
                     }
             );
-        } catch (Exception e) {
-            // some rare systems (pre-releases!?) do not return build strings. To act more resilient in those cases,
-            // we try both workspace structures and only fail if the graph could not be loaded with both available
-            // approaches.
-
-            // Show warning to notify user:
-            warn("Could not load graph workspace after assuming " + (isCloud ? "Cloud" : "On-Premise") + " Edition of SAP HANA.");
-            warn("Re-trying operation with " + (isCloud ? "On-Premise" : "Cloud") + " Edition.");
+            if(versionResult.getRecordCount() == 0){
+                return null;
+            }
+            StringBuilder version = new StringBuilder();
+            for(Object[] row : versionResult.getRecordList()){
+                version.append(toStrNull(row[0])).append('=').append(toStrNull(row[1])).append(';');
+            }
+            return version.toString();
+        } catch (SQLException e) {
+            warn("Could not determine catalog version of " + workspace + ". Metadata will not be cached.");
+            return null;
+        }
+    }
+
+    /**
+     * @param propName  Name of a query for the column layout of workspaces
+     * @return          Query, that includes the vertex table referenced by source and target
+     *                  columns, if the catalog provides it
+     */
+    private String getWorkspaceMetadataQuery(String propName) {
+        String references = this.sqlStrings.getProperty(
+                this.hasVertexReferences ? "WORKSPACE_VERTEX_REFERENCES" : "WORKSPACE_VERTEX_REFERENCES_UNKNOWN");
+        return String.format(this.sqlStrings.getProperty(propName), references);
+    }
+
+    /**
+     * Converts a row of a workspace metadata query into a metadata row. Catalogs without
+     * references to vertex tables leave the last two entries empty.
+     *
+     * @param row       Result row
+     * @param offset    Index of the entity type column
+     * @return          Metadata row (entity type, role, schema, table, column, referenced schema, referenced table)
+     */
+    private static String[] toMetadataRow(Object[] row, int offset) {
+        String[] metadataRow = new String[7];
+        for(int i=0; i<metadataRow.length && offset + i < row.length; i++){
+            metadataRow[i] = toStrNull(row[offset + i]);
+        }
+        return metadataRow;
+    }
+
+    /**
+     * Reads the column layout of a workspace from the catalog
+     *
+     * @param workspace Schema and name of the workspace
+     * @return          Metadata rows (see toMetadataRow)
+     */
+    private List<String[]> queryWorkspaceMetadata(HanaDbObject workspace) throws SQLException {
+
+        String propName="LOAD_WORKSPACE_METADATA_HANA_" + getCatalogVariant();
+
+        debug("Reading graph metadata with " + propName);
+        HanaQueryResult wsMetadata = this.executeQueryList(
+                getWorkspaceMetadataQuery(propName),
+                new HanaSqlParameter[]{
+                        new HanaSqlParameter(workspace.schema, Types.VARCHAR),
+                        new HanaSqlParameter(workspace.name, Types.VARCHAR)
+                }
+        );
+
+        List<String[]> metadataRows = new ArrayList<>();
+        for(Object[] row : wsMetadata.getRecordList()){
+            metadataRows.add(toMetadataRow(row, 0));
+        }
+        return metadataRows;
+    }
+
+    /**
+     * @return  Key prefix of the metadata cache for the current connection; null if unknown
+     */
+    private String getMetadataCacheInstance() {
+        if(this.connectionUrl == null){
+            return null;
+        }
+        return this.connectionUrl + this.connectionProperties.getProperty("user", "");
+    }
+
+    /**
+     * Reads the column layout of all valid graph workspaces with a single statement
+     * and stores it in the metadata cache, so that subsequent loads only need to
+     * validate the catalog version.
+     *
+     * @return  Number of workspaces, that have been cached
+     */
+    public int prewarmWorkspaceMetadata() throws SQLException {
+        String instance = getMetadataCacheInstance();
+        if(instance == null){
+            return 0;
+        }
+
+        HanaQueryResult versions = this.executeQueryList(
+                this.sqlStrings.getProperty("LOAD_ALL_WORKSPACE_METADATA_VERSIONS_HANA_" + getCatalogVariant()));
+        Map<String, StringBuilder> versionByKey = new HashMap<>();
+        for(Object[] row : versions.getRecordList()){
+            String key = HanaWorkspaceMetadataCache.getKey(instance, new HanaDbObject(toStrNull(row[0]), toStrNull(row[1])));
+            versionByKey.computeIfAbsent(key, k -> new StringBuilder())
+                    .append(toStrNull(row[2])).append('=').append(toStrNull(row[3])).append(';');
+        }
+
+        HanaQueryResult metadata = this.executeQueryList(
+                getWorkspaceMetadataQuery("LOAD_ALL_WORKSPACE_METADATA_HANA_" + getCatalogVariant()));
+        Map<String, List<String[]>> metadataByKey = new LinkedHashMap<>();
+        for(Object[] row : metadata.getRecordList()){
+            String key = HanaWorkspaceMetadataCache.getKey(instance, new HanaDbObject(toStrNull(row[0]), toStrNull(row[1])));
+            metadataByKey.computeIfAbsent(key, k -> new ArrayList<>()).add(toMetadataRow(row, 2));
+        }
+
+        int nCached = 0;
+        for(Map.Entry<String, List<String[]>> entry : metadataByKey.entrySet()){
+            StringBuilder version = versionByKey.get(entry.getKey());
+            if(version != null){
+                this.metadataCache.put(entry.getKey(), version.toString(), entry.getValue());
+                nCached++;
+            }
+        }
+        debug("Pre-warmed metadata of " + nCached + " graph workspaces");
+        return nCached;
+    }
+
+    /**
+     * Pre-warms the metadata cache in the background, see {@link #prewarmWorkspaceMetadata()}
+     *
+     * @return  Future of the number of cached workspaces
+     */
+    public CompletableFuture<Integer> prewarmWorkspaceMetadataAsync() {
+        return this.asyncExecutor.submit(this::prewarmWorkspaceMetadata);
+    }
+
+    /**
+     * Loads the metadata of a given graph workspace object with pre-populated
+     * workspaceDbObject (i.e. schema and name are already given). The column layout
+     * is cached and only read again, if the catalog version of the workspace has changed.
+     *
+     * @param graphWorkspace    HanaGraphWorkspace with pre-populated workspaceDbObject
+     */
+    private void loadWorkspaceMetadata(HanaGraphWorkspace graphWorkspace) throws SQLException, HanaConnectionManagerException {
+
+        HanaDbObject workspace = graphWorkspace.getWorkspaceDbObject();
+        String instance = getMetadataCacheInstance();
+        String cacheKey = instance == null ? null : HanaWorkspaceMetadataCache.getKey(instance, workspace);
+        String version = cacheKey == null ? null : readWorkspaceMetadataVersion(workspace);
+
+        List<String[]> metadataRows = version == null ? null : this.metadataCache.get(cacheKey, version);
+        if(metadataRows != null){
+            debug("Using cached metadata of " + workspace);
+        } else {
+            metadataRows = queryWorkspaceMetadata(workspace);
+        }
+
+        // heterogeneous workspaces consist of more than one vertex or edge table
+        Map<String, HanaGraphWorkspace> vertexTables = new LinkedHashMap<>();
+        Map<String, HanaGraphWorkspace> edgeTables = new LinkedHashMap<>();
+        for(String[] row : metadataRows){
+            Map<String, HanaGraphWorkspace> tables = "VERTEX".equals(row[0]) ? vertexTables : edgeTables;
+            tables.computeIfAbsent(new HanaDbObject(row[2], row[3]).toString(), table -> new HanaGraphWorkspace(workspace));
+        }
+
+        if(vertexTables.size() > 1 || edgeTables.size() > 1){
+            for(String[] row : metadataRows){
+                Map<String, HanaGraphWorkspace> tables = "VERTEX".equals(row[0]) ? vertexTables : edgeTables;
+                addWorkspaceColumn(tables.get(new HanaDbObject(row[2], row[3]).toString()), row);
+            }
+            graphWorkspace.setTables(new ArrayList<>(vertexTables.values()), new ArrayList<>(edgeTables.values()));
+            info(workspace + " is heterogeneous with " + vertexTables.size() + " vertex and " + edgeTables.size() + " edge tables");
+        } else {
+            for(String[] row : metadataRows){
+                addWorkspaceColumn(graphWorkspace, row);
+            }
+        }
+
+        if(!graphWorkspace.isMetadataComplete()){
+            if(cacheKey != null){
+                this.metadataCache.invalidate(cacheKey);
+            }
+            err("Incomplete graph workspace definition in GRAPH_WORKSPACE_COLUMNS");
+            throw new HanaConnectionManagerException("Incomplete graph workspace definition in GRAPH_WORKSPACE_COLUMNS");
+        }
+
+        if(version != null){
+            this.metadataCache.put(cacheKey, version, metadataRows);
+        }
+    }
+
+    /**
+     * Adds a column of the metadata of GRAPH_WORKSPACE_COLUMNS to a workspace
+     *
+     * @param graphWorkspace    Workspace, that receives the column
+     * @param row               Metadata row (see toMetadataRow)
+     */
+    private static void addWorkspaceColumn(HanaGraphWorkspace graphWorkspace, String[] row) {
+        // Types will be set when retrieving actual data
+        HanaColumnInfo newColInfo = new HanaColumnInfo(row[2], row[3], row[4], Types.OTHER);
+
+        switch(row[0]){
+            case "EDGE":
+                switch(row[1]){
+                    case "KEY":
+                        graphWorkspace.addEdgeKeyCol(newColInfo);
+                        break;
+                    case "SOURCE":
+                        graphWorkspace.addEdgeSourceCol(newColInfo);
+                        graphWorkspace.setSourceVertexTable(getReferencedTable(row));
+                        break;
+                    case "TARGET":
+                        graphWorkspace.addEdgeTargetCol(newColInfo);
+                        graphWorkspace.setTargetVertexTable(getReferencedTable(row));
+                        break;
+                    default:
+                        graphWorkspace.addEdgeAttributeCol(newColInfo);
+                }
+                break;
+            case "VERTEX":
+                switch (row[1]){
+                    case "KEY":
+                        graphWorkspace.addNodeKeyCol(newColInfo);
+                        break;
+                    default:
+                        graphWorkspace.addNodeAttributeCol(newColInfo);
+                }
+                break;
+        }
+    }
+
+    /**
+     * @param row   Metadata row (see toMetadataRow)
+     * @return      Vertex table, that a source or target column refers to; null if unknown
+     */
+    private static HanaDbObject getReferencedTable(String[] row) {
+        if(row.length < 7 || row[6] == null){
+            return null;
+        }
+        return new HanaDbObject(row[5], row[6]);
+    }
+
+    /**
+     * Determines the fetch size for a download. Falls back to the default of this
+     * connection manager if the load options do not specify one.
+     *
+     * @param loadOptions   Options for the download
+     * @return              Number of rows per fetch; 0 if adaptive
+     */
+    private int getEffectiveFetchSize(HanaLoadOptions loadOptions){
+        return loadOptions.fetchSize > 0 ? loadOptions.fetchSize : this.fetchSize;
+    }
+
+    /**
+     * Splits a table into slices, that can be downloaded in parallel. Partitioned tables
+     * are split by their partitions, other tables by ranges of their key column.
+     *
+     * @param session       Session to read the table statistics with
+     * @param table         Schema and name of the table
+     * @param keyColName    Name of the key column of the table
+     * @param parallelism   Maximum number of slices
+     * @return              Slices that cover the complete table
+     */
+    private List<HanaTableSlice> planTableSlices(HanaConnectionPool.Lease session, HanaDbObject table, String keyColName, int parallelism) throws SQLException {
+        if(parallelism <= 1){
+            return Collections.singletonList(HanaTableSlice.wholeTable());
+        }
+
+        try {
+            HanaQueryResult partitions = this.executeQueryList(
+                    session,
+                    this.sqlStrings.getProperty("LIST_TABLE_PARTITIONS"),
+                    new HanaSqlParameter[]{
+                            new HanaSqlParameter(table.schema, Types.VARCHAR),
+                            new HanaSqlParameter(table.name, Types.VARCHAR)
+                    }
+            );
+            if(partitions.getRecordCount() > 1){
+                List<Integer> partitionIds = new ArrayList<>();
+                for(int i = 0; i < partitions.getRecordCount(); i++){
+                    partitionIds.add((int)partitions.getLong(i, 0));
+                }
+                return HanaTableSlice.distributePartitions(partitionIds, parallelism);
+            }
+        } catch (SQLException e){
+            // e.g. missing privileges on monitoring views
+            warn("Could not read partitions of " + table + ". Splitting table by key ranges instead.");
+        }
+
+        // only the range of the keys is read, sorting the table would cost as much as the download
+        String version = readTableDataVersion(session, table);
+        HanaQueryResult range = this.executeQueryListCached(session, String.format(
+                this.sqlStrings.getProperty("SELECT_KEY_RANGE"),
+                quoteIdentifier(keyColName),
+                quoteIdentifier(table.schema),
+                quoteIdentifier(table.name)
+        ), null, version);
+        long rowCount = range.getLong(0, 2);
+        if(range.isNull(0, 0) || rowCount == 0){
+            return Collections.singletonList(HanaTableSlice.wholeTable());
+        }
+        if(isIntegerType(range.getColumnMetadata()[0].dataType.getSqlDataType())){
+            return HanaTableSlice.splitKeyRange(range.getLong(0, 0), range.getLong(0, 1), parallelism);
+        }
+
+        // other keys are split by the boundaries of a sample, so that only the sample is sorted
+        double percentage = Math.min(100d, Math.max(MIN_KEY_SAMPLE_PERCENTAGE, 100d * KEY_SAMPLE_ROWS_PER_SLICE * parallelism / rowCount));
+        HanaQueryResult boundaries = this.executeQueryListCached(session, String.format(
+                this.sqlStrings.getProperty("SELECT_SAMPLED_KEY_RANGE_BOUNDARIES"),
+                quoteIdentifier(keyColName),
+                parallelism,
+                quoteIdentifier(table.schema),
+                quoteIdentifier(table.name),
+                String.valueOf(percentage)
+        ), null, version);
+        int keySqlType = boundaries.getColumnMetadata()[0].dataType.getSqlDataType();
+        List<HanaSqlParameter> upperBounds = new ArrayList<>();
+        for(int i = 0; i < boundaries.getRecordCount(); i++){
+            upperBounds.add(new HanaSqlParameter(boundaries.getValue(i, 0), keySqlType));
+        }
+        return HanaTableSlice.fromKeyBoundaries(upperBounds);
+    }
+
+    private static boolean isIntegerType(int sqlType){
+        switch (sqlType){
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+            case Types.BIGINT:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static HanaSelectStatement newSelectStatement(String projection, List<String> predicates){
+        HanaSelectStatement select = new HanaSelectStatement(projection);
+        for(String predicate : predicates){
+            select.where(predicate);
+        }
+        return select;
+    }
+
+    /**
+     * @param filter    SQL predicate as entered by the user
+     * @return          Trimmed predicate; null, if there is none
+     */
+    private static String normalizeFilter(String filter){
+        if(filter == null || filter.trim().isEmpty()){
+            return null;
+        }
+        return filter.trim();
+    }
+
+    /**
+     * @param filter    SQL predicate as entered by the user
+     * @return          True, if the predicate contains a subquery, that may read further tables
+     */
+    private static boolean isSubquery(String filter){
+        return filter != null && SUBQUERY_PATTERN.matcher(filter).find();
+    }
+
+    /**
+     * Downloads a table and converts its rows. If the load options request parallelism,
+     * the table will be split into slices, that are fetched on separate sessions at once.
+     * The slices are appended to the target in their planned order. Tables, that are read
+     * within a snapshot transaction, are not split.
+     *
+     * @param session           Session to fetch the table on, unless it is split into slices
+     * @param projection        Unrestricted projection on the table
+     * @param predicates        Predicates, that all fetched rows have to satisfy
+     * @param table             Schema and name of the table
+     * @param keyColName        Name of the key column of the table
+     * @param keyIndex          Index of the key column in the projection
+     * @param loadOptions       Options for the download
+     * @param metadataHandler   Consumer of the column metadata; called at least once per slice
+     * @param rowMapper         Converts a fetched row; the passed array will be re-used
+     * @param target            List the converted rows are added to
+     * @param <R>               Type of the converted rows
+     */
+    private <R> void fetchTable(HanaConnectionPool.Lease session, String projection, List<String> predicates, HanaDbObject table,
+                                String keyColName, int keyIndex, HanaLoadOptions loadOptions,
+                                Consumer<HanaColumnInfo[]> metadataHandler, Function<Object[], R> rowMapper,
+                                List<R> target) throws SQLException {
+
+        int fetchSize = getEffectiveFetchSize(loadOptions);
+
+        if(loadOptions.parallelism > 1 && this.connectionPool == null){
+            debug("No connection pool available for additional sessions, fetching " + table + " sequentially");
+        }
+        // further sessions would not see the snapshot of a transaction, that is already reading
+        boolean isSnapshotRead = !session.getConnection().getAutoCommit();
+        if(loadOptions.parallelism > 1 && isSnapshotRead){
+            debug("Fetching " + table + " sequentially, since it is read within a snapshot");
+        }
+        List<HanaTableSlice> slices = this.connectionPool == null || isSnapshotRead
+                ? Collections.singletonList(HanaTableSlice.wholeTable())
+                : planTableSlices(session, table, keyColName, loadOptions.parallelism);
+
+        if(slices.size() == 1){
+            fetchSlice(session, projection, predicates, slices.get(0), keyColName, keyIndex, loadOptions, fetchSize, metadataHandler, rowMapper, target);
+            return;
+        }
+
+        info("Fetching " + table + " in " + slices.size() + " slices");
+        Consumer<HanaColumnInfo[]> sharedMetadataHandler = columnMetadata -> {
+            synchronized (metadataHandler){
+                metadataHandler.accept(columnMetadata);
+            }
+        };
+        List<Callable<List<R>>> sliceTasks = new ArrayList<>();
+        for(HanaTableSlice slice : slices){
+            sliceTasks.add(() -> {
+                debug("Fetching " + slice + " of " + table);
+                List<R> sliceRows = new ArrayList<>();
+                try (HanaConnectionPool.Lease sliceSession = leaseSession()){
+                    fetchSlice(sliceSession, projection, predicates, slice, keyColName, keyIndex, loadOptions, fetchSize, sharedMetadataHandler, rowMapper, sliceRows);
+                }
+                return sliceRows;
+            });
+        }
+
+        for(List<R> sliceRows : runConcurrently("hana-fetch-" + table.name, sliceTasks)){
+            target.addAll(sliceRows);
+        }
+    }
+
+    /**
+     * Downloads a slice of a table with a single streamed query. If the load options ask for
+     * resumable downloads, the rows are streamed in the order of the key, so that the download
+     * can be resumed after the last delivered key, if the session fails.
+     *
+     * @param session           Session to fetch the slice on
+     * @param projection        Unrestricted projection on the table
+     * @param predicates        Predicates, that all fetched rows have to satisfy
+     * @param slice             Slice of the table
+     * @param keyColName        Name of the key column of the table
+     * @param keyIndex          Index of the key column in the projection
+     * @param loadOptions       Options for the download
+     * @param fetchSize         JDBC fetch size
+     * @param metadataHandler   Consumer of the column metadata
+     * @param rowMapper         Converts a fetched row; the passed array will be re-used
+     * @param target            List the converted rows are added to
+     * @param <R>               Type of the converted rows
+     */
+    private <R> void fetchSlice(HanaConnectionPool.Lease session, String projection, List<String> predicates, HanaTableSlice slice,
+                                String keyColName, int keyIndex, HanaLoadOptions loadOptions, int fetchSize,
+                                Consumer<HanaColumnInfo[]> metadataHandler, Function<Object[], R> rowMapper,
+                                List<R> target) throws SQLException {
+
+        Supplier<HanaSelectStatement> select = () -> slice.applyTo(newSelectStatement(projection, predicates), keyColName);
+
+        if(!loadOptions.resumable){
+            HanaSelectStatement sliceSelect = select.get();
+            this.executeQueryStream(session, sliceSelect.getSql(), sliceSelect.getParameters(), fetchSize, new HanaQueryRowHandler() {
+                @Override
+                public void handleMetadata(HanaColumnInfo[] columnMetadata) {
+                    metadataHandler.accept(columnMetadata);
+                }
+
+                @Override
+                public void handleRow(Object[] row) {
+                    target.add(rowMapper.apply(row));
+                }
+            });
+            return;
+        }
+
+        HanaKeysetCursor cursor = new HanaKeysetCursor(keyColName, loadOptions.pageSize);
+        try (ResumableRead read = new ResumableRead(session, loadOptions.maxResumeAttempts)){
+            read.remainder(select, cursor, keyIndex, fetchSize, metadataHandler, rowMapper, target);
+        }
+    }
+
+    /**
+     * Reads the next page of a table in the order of its key column and advances the cursor
+     *
+     * @param session           Session to read the page with
+     * @param select            Statement on the table, that is not yet restricted to the page
+     * @param cursor            Position of the read
+     * @param keyIndex          Index of the key column in the projection
+     * @param fetchSize         JDBC fetch size
+     * @param metadataHandler   Consumer of the column metadata
+     * @param rowMapper         Converts a fetched row; the passed array will be re-used
+     * @param <R>               Type of the converted rows
+     * @return                  Converted rows of the page
+     */
+    private <R> List<R> fetchNextPage(HanaConnectionPool.Lease session, HanaSelectStatement select,
+                                      HanaKeysetCursor cursor, int keyIndex, int fetchSize,
+                                      Consumer<HanaColumnInfo[]> metadataHandler, Function<Object[], R> rowMapper) throws SQLException {
+
+        cursor.applyTo(select);
+        List<R> page = new ArrayList<>();
+        Object[] lastKeyValue = new Object[1];
+        int[] keySqlType = new int[]{Types.OTHER};
+
+        this.executeQueryStream(session, select.getSql(), select.getParameters(), Math.min(fetchSize, cursor.getPageSize()), new HanaQueryRowHandler() {
+            @Override
+            public void handleMetadata(HanaColumnInfo[] columnMetadata) {
+                metadataHandler.accept(columnMetadata);
+                keySqlType[0] = columnMetadata[keyIndex].dataType.getSqlDataType();
+            }
+
+            @Override
+            public void handleRow(Object[] row) {
+                page.add(rowMapper.apply(row));
+                lastKeyValue[0] = row[keyIndex];
+            }
+        });
+
+        // the page is only delivered, once it has been read completely
+        cursor.advance(lastKeyValue[0], keySqlType[0], page.size());
+        return page;
+    }
+
+    /**
+     * Streams the rows of a table after the position of the cursor in the order of its key column.
+     * The cursor is moved behind every row, that has been delivered, so that the read can be
+     * resumed, if it fails.
+     *
+     * @param session           Session to read the rows with
+     * @param select            Statement on the table, that is not yet restricted to the remaining rows
+     * @param cursor            Position of the read
+     * @param keyIndex          Index of the key column in the projection
+     * @param fetchSize         JDBC fetch size
+     * @param metadataHandler   Consumer of the column metadata
+     * @param rowMapper         Converts a fetched row; the passed array will be re-used
+     * @param target            List the converted rows are added to
+     * @param <R>               Type of the converted rows
+     */
+    private <R> void fetchRemainder(HanaConnectionPool.Lease session, HanaSelectStatement select,
+                                    HanaKeysetCursor cursor, int keyIndex, int fetchSize,
+                                    Consumer<HanaColumnInfo[]> metadataHandler, Function<Object[], R> rowMapper,
+                                    List<R> target) throws SQLException {
+
+        cursor.applyToRemainder(select);
+        int[] keySqlType = new int[]{Types.OTHER};
+
+        this.executeQueryStream(session, select.getSql(), select.getParameters(), fetchSize, new HanaQueryRowHandler() {
+            @Override
+            public void handleMetadata(HanaColumnInfo[] columnMetadata) {
+                metadataHandler.accept(columnMetadata);
+                keySqlType[0] = columnMetadata[keyIndex].dataType.getSqlDataType();
+            }
+
+            @Override
+            public void handleRow(Object[] row) {
+                target.add(rowMapper.apply(row));
+                cursor.track(row[keyIndex], keySqlType[0]);
+            }
+        });
+        cursor.finish();
+    }
+
+    /**
+     * Read on a session, that may be repeated on another session
+     */
+    private interface SessionRead<T> {
+        T read(HanaConnectionPool.Lease session) throws SQLException;
+    }
+
+    /**
+     * Key-ordered read, that continues on a new session from the pool after transient errors.
+     * The cursor serves as checkpoint, so rows that have been delivered are not read again.
+     */
+    private class ResumableRead implements AutoCloseable {
+
+        private HanaConnectionPool.Lease session;
+
+        /**
+         * Session, that has been leased to replace a failed one
+         */
+        private HanaConnectionPool.Lease replacement;
+
+        /**
+         * True, if the original session reads within a transaction with a fixed snapshot
+         */
+        private final boolean isSnapshotRead;
+
+        private final int maxResumeAttempts;
+
+        private int nResumeAttempts;
+
+        ResumableRead(HanaConnectionPool.Lease session, int maxResumeAttempts) throws SQLException {
+            this.session = session;
+            this.replacement = null;
+            this.isSnapshotRead = !session.getConnection().getAutoCommit();
+            this.maxResumeAttempts = maxResumeAttempts;
+            this.nResumeAttempts = 0;
+        }
+
+        /**
+         * Reads the next page and advances the cursor. Transient errors are retried on a
+         * new session, starting from the last delivered key.
+         */
+        <R> List<R> nextPage(Supplier<HanaSelectStatement> select, HanaKeysetCursor cursor, int keyIndex, int fetchSize,
+                             Consumer<HanaColumnInfo[]> metadataHandler, Function<Object[], R> rowMapper) throws SQLException {
+            return resume(cursor, session -> fetchNextPage(session, select.get(), cursor, keyIndex, fetchSize, metadataHandler, rowMapper));
+        }
+
+        /**
+         * Streams all remaining rows with a single query in the order of the key and tracks the
+         * last delivered key. Only after a transient error, the query is issued again on a new
+         * session for the rows after that key.
+         */
+        <R> void remainder(Supplier<HanaSelectStatement> select, HanaKeysetCursor cursor, int keyIndex, int fetchSize,
+                           Consumer<HanaColumnInfo[]> metadataHandler, Function<Object[], R> rowMapper, List<R> target) throws SQLException {
+            resume(cursor, session -> {
+                fetchRemainder(session, select.get(), cursor, keyIndex, fetchSize, metadataHandler, rowMapper, target);
+                return null;
+            });
+        }
+
+        private <T> T resume(HanaKeysetCursor cursor, SessionRead<T> read) throws SQLException {
+            while (true){
+                if(Thread.currentThread().isInterrupted()){
+                    throw new SQLException("Download has been cancelled", HanaCancellationToken.SQL_STATE_CANCELLED);
+                }
+                HanaCancellationToken.checkCurrent();
+                try {
+                    return read.read(getSession());
+                } catch (SQLException e){
+                    if(connectionPool == null || this.nResumeAttempts >= this.maxResumeAttempts || !isTransientError(e)
+                            || isCancelled()){
+                        throw e;
+                    }
+                    this.nResumeAttempts++;
+                    warn("Download has been interrupted: " + e.getMessage() + ". Resuming " + cursor
+                            + " (attempt " + this.nResumeAttempts + " of " + this.maxResumeAttempts + ")");
+                    if(this.isSnapshotRead){
+                        warn("The snapshot of the interrupted transaction is lost. Rows after " + cursor
+                                + " will be read from the current state of the database.");
+                    }
+
+                    if(this.session != null){
+                        this.session.invalidate();
+                    }
+                    closeReplacement();
+                    this.session = null;
+
+                    try {
+                        Thread.sleep(RESUME_BACKOFF_MILLIS * this.nResumeAttempts);
+                    } catch (InterruptedException ie){
+                        Thread.currentThread().interrupt();
+                        throw e;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Provides the session, that the read currently runs on. Statements besides the pages
+         * (e.g. describing a table) must use it, since the original session may have failed.
+         * A snapshot read continues in a new transaction, so that the remaining rows share
+         * a snapshot, but it is newer than the one of the rows before.
+         *
+         * @return  Current session; a new one, if the previous session has failed
+         */
+        HanaConnectionPool.Lease getSession() throws SQLException {
+            if(this.session == null){
+                this.session = this.replacement = this.isSnapshotRead ? leaseSnapshotSession() : leaseSession();
+            }
+            return this.session;
+        }
+
+        /**
+         * @return  True, if the task has been cancelled; the read must not be resumed then
+         */
+        private boolean isCancelled(){
+            HanaCancellationToken token = HanaCancellationToken.current();
+            return token != null && token.isCancelled();
+        }
+
+        private void closeReplacement(){
+            if(this.replacement != null){
+                this.replacement.close();
+                this.replacement = null;
+            }
+        }
+
+        @Override
+        public void close(){
+            closeReplacement();
+        }
+    }
+
+    /**
+     * @param graphWorkspace    HANA Graph Workspace with complete metadata
+     * @return                  Unrestricted projection on the node table
+     */
+    private String getNodeProjection(HanaGraphWorkspace graphWorkspace) {
+        return String.format(
+                this.sqlStrings.getProperty("GENERIC_SELECT_PROJECTION"),
+                getFieldList(graphWorkspace.getEagerNodeFieldList()),
+                graphWorkspace.getNodeKeyColInfo().schema,
+                graphWorkspace.getNodeKeyColInfo().table
+        );
+    }
+
+    /**
+     * @param graphWorkspace    HANA Graph Workspace with complete metadata
+     * @return                  Unrestricted projection on the edge table
+     */
+    private String getEdgeProjection(HanaGraphWorkspace graphWorkspace) {
+        return String.format(
+                this.sqlStrings.getProperty("GENERIC_SELECT_PROJECTION"),
+                getFieldList(graphWorkspace.getEagerEdgeFieldList()),
+                graphWorkspace.getEdgeKeyColInfo().schema,
+                graphWorkspace.getEdgeKeyColInfo().table
+        );
+    }
+
+    private static String getFieldList(List<HanaColumnInfo> fieldList) {
+        String fields = "";
+        for(HanaColumnInfo col : fieldList){
+            fields += quoteIdentifier(col.name) + ",";
+        }
+        return fields.substring(0, fields.length()-1);
+    }
+
+    /**
+     * @param graphWorkspace    HANA Graph Workspace with complete metadata
+     * @param loadOptions       Options for the download
+     * @return                  Predicates, that the downloaded nodes have to satisfy
+     */
+    private List<String> getNodePredicates(HanaGraphWorkspace graphWorkspace, HanaLoadOptions loadOptions) {
+        List<String> predicates = new ArrayList<>();
+        String nodeFilter = normalizeFilter(loadOptions.nodeFilter);
+        if(nodeFilter != null){
+            predicates.add(nodeFilter);
+        }
+        if(loadOptions.isSampling()){
+            predicates.add(String.format(
+                    this.sqlStrings.getProperty("FILTER_BY_SAMPLE"),
+                    quoteIdentifier(graphWorkspace.getNodeKeyColInfo().name),
+                    SAMPLE_NODES_TABLE
+            ));
+        }
+        return predicates;
+    }
+
+    /**
+     * @param graphWorkspace    HANA Graph Workspace with complete metadata
+     * @param loadOptions       Options for the download
+     * @return                  Predicates, that the downloaded edges have to satisfy
+     */
+    private List<String> getEdgePredicates(HanaGraphWorkspace graphWorkspace, HanaLoadOptions loadOptions) {
+        List<String> predicates = new ArrayList<>();
+        String edgeFilter = normalizeFilter(loadOptions.edgeFilter);
+        if(edgeFilter != null){
+            predicates.add(edgeFilter);
+        }
+        String nodeFilter = normalizeFilter(loadOptions.nodeFilter);
+        if(nodeFilter != null && !graphWorkspace.isEdgeOnlyGraph()){
+            // semi-join on the server, so that only edges between filtered nodes are transferred
+            predicates.add(String.format(
+                    this.sqlStrings.getProperty("FILTER_EDGES_BY_NODES"),
+                    quoteIdentifier(graphWorkspace.getEdgeSourceColInfo().name),
+                    quoteIdentifier(graphWorkspace.getEdgeTargetColInfo().name),
+                    quoteIdentifier(graphWorkspace.getNodeKeyColInfo().name),
+                    graphWorkspace.getNodeKeyColInfo().schema,
+                    graphWorkspace.getNodeKeyColInfo().table,
+                    nodeFilter
+            ));
+        }
+        if(loadOptions.isTimeWindowed()){
+            addTimeWindowPredicates(graphWorkspace, loadOptions, predicates);
+        }
+        if(loadOptions.isSparsifying()){
+            addSparsificationPredicates(graphWorkspace, loadOptions, predicates);
+        }
+        if(loadOptions.sampling == HanaSamplingStrategy.RANDOM_EDGES){
+            predicates.add(String.format(
+                    this.sqlStrings.getProperty("FILTER_BY_SAMPLE"),
+                    quoteIdentifier(graphWorkspace.getEdgeKeyColInfo().name),
+                    SAMPLE_EDGES_TABLE
+            ));
+        } else if(loadOptions.isSampling()){
+            // edges between the sampled nodes
+            predicates.add(String.format(
+                    this.sqlStrings.getProperty("FILTER_BY_SAMPLE"),
+                    quoteIdentifier(graphWorkspace.getEdgeSourceColInfo().name),
+                    SAMPLE_NODES_TABLE
+            ));
+            predicates.add(String.format(
+                    this.sqlStrings.getProperty("FILTER_BY_SAMPLE"),
+                    quoteIdentifier(graphWorkspace.getEdgeTargetColInfo().name),
+                    SAMPLE_NODES_TABLE
+            ));
+        }
+        return predicates;
+    }
+
+    /**
+     * Restricts edges to those, that are valid within the time window of the load options and,
+     * if given, not valid within the excluded window.
+     *
+     * @param graphWorkspace    HANA Graph Workspace with complete metadata
+     * @param loadOptions       Options with the time columns and windows
+     * @param predicates        Predicates of the edges, that the time window is added to
+     */
+    private void addTimeWindowPredicates(HanaGraphWorkspace graphWorkspace, HanaLoadOptions loadOptions, List<String> predicates) {
+        List<String> edgeColumns = new ArrayList<>();
+        graphWorkspace.getEdgeFieldList().forEach(col -> edgeColumns.add(col.name));
+        if(!edgeColumns.contains(loadOptions.validFromColumn)
+                || (loadOptions.validToColumn != null && !edgeColumns.contains(loadOptions.validToColumn))){
+            warn("Edges of " + graphWorkspace.getEdgeKeyColInfo().table + " will not be restricted to a time window, since they have no column " + loadOptions.validFromColumn);
+            return;
+        }
+
+        predicates.add(getValidInWindowPredicate(loadOptions, loadOptions.timeWindow));
+        if(loadOptions.excludedTimeWindow != null){
+            predicates.add(String.format(
+                    this.sqlStrings.getProperty("FILTER_NOT"),
+                    getValidInWindowPredicate(loadOptions, loadOptions.excludedTimeWindow)
+            ));
+        }
+    }
+
+    /**
+     * @param loadOptions   Options with the time columns
+     * @param window        Time window
+     * @return              Predicate, that edges satisfy, if they are valid within the window
+     */
+    private String getValidInWindowPredicate(HanaLoadOptions loadOptions, HanaTimeWindow window) {
+        String fromCol = quoteIdentifier(loadOptions.validFromColumn);
+        boolean isEvent = loadOptions.validToColumn == null;
+
+        List<String> conditions = new ArrayList<>();
+        if(window.start != null){
+            // periods have to end after the start of the window, events have to happen after it
+            conditions.add(String.format(
+                    this.sqlStrings.getProperty(isEvent ? "FILTER_EVENT_FROM" : "FILTER_VALID_AFTER"),
+                    isEvent ? fromCol : quoteIdentifier(loadOptions.validToColumn),
+                    getTimestampLiteral(window.start)
+            ));
+        }
+        if(window.end != null){
+            conditions.add(String.format(
+                    this.sqlStrings.getProperty(isEvent ? "FILTER_EVENT_BEFORE" : "FILTER_VALID_BEFORE"),
+                    fromCol,
+                    getTimestampLiteral(window.end)
+            ));
+        }
+        if(conditions.isEmpty()){
+            return this.sqlStrings.getProperty("FILTER_ALL_ROWS");
+        }
+        return "(" + String.join(") AND (", conditions) + ")";
+    }
+
+    private String getTimestampLiteral(Timestamp timestamp) {
+        return String.format(this.sqlStrings.getProperty("TIMESTAMP_LITERAL"), HanaTimeWindow.formatTimestamp(timestamp));
+    }
+
+    /**
+     * Prunes edges by their weight on the database. The top edges per node are ranked among
+     * the edges, that satisfy the given predicates, so that filters are applied first. If they
+     * have been ranked for the load already (see createTopEdges), the edges are semi-joined
+     * with the ranked keys instead.
+     *
+     * @param graphWorkspace    HANA Graph Workspace with complete metadata
+     * @param loadOptions       Options with the weight column and the limits
+     * @param predicates        Predicates of the edges, that the sparsification is added to
+     */
+    private void addSparsificationPredicates(HanaGraphWorkspace graphWorkspace, HanaLoadOptions loadOptions, List<String> predicates) {
+        if(!hasEdgeWeight(graphWorkspace, loadOptions)){
+            warn("Edges of " + graphWorkspace.getEdgeKeyColInfo().table + " will not be sparsified, since they have no column " + loadOptions.edgeWeightColumn);
+            return;
+        }
+        String weightCol = quoteIdentifier(loadOptions.edgeWeightColumn);
+
+        if(loadOptions.minEdgeWeight != null){
+            predicates.add(String.format(
+                    this.sqlStrings.getProperty("FILTER_MIN_EDGE_WEIGHT"),
+                    weightCol,
+                    BigDecimal.valueOf(loadOptions.minEdgeWeight).toPlainString()
+            ));
+        }
+
+        if(loadOptions.topEdgesTable != null){
+            predicates.add(String.format(
+                    this.sqlStrings.getProperty("FILTER_BY_SAMPLE"),
+                    quoteIdentifier(graphWorkspace.getEdgeKeyColInfo().name),
+                    loadOptions.topEdgesTable
+            ));
+        } else if(loadOptions.maxEdgesPerNode > 0){
+            predicates.add(String.format(
+                    this.sqlStrings.getProperty("FILTER_TOP_EDGES_PER_NODE"),
+                    quoteIdentifier(graphWorkspace.getEdgeKeyColInfo().name),
+                    getRankedEdges(graphWorkspace, loadOptions, predicates),
+                    loadOptions.maxEdgesPerNode
+            ));
+        }
+    }
+
+    private static boolean hasEdgeWeight(HanaGraphWorkspace graphWorkspace, HanaLoadOptions loadOptions) {
+        return graphWorkspace.getEdgeFieldList().stream().anyMatch(col -> col.name.equals(loadOptions.edgeWeightColumn));
+    }
+
+    /**
+     * @param graphWorkspace    HANA Graph Workspace with complete metadata
+     * @param loadOptions       Options with the weight column
+     * @param predicates        Predicates, that the ranked edges have to satisfy
+     * @return                  Query, that ranks each edge among the edges of its source and its target
+     */
+    private String getRankedEdges(HanaGraphWorkspace graphWorkspace, HanaLoadOptions loadOptions, List<String> predicates) {
+        String rankProjection = String.format(
+                this.sqlStrings.getProperty("RANK_EDGES_BY_WEIGHT"),
+                quoteIdentifier(graphWorkspace.getEdgeKeyColInfo().name),
+                quoteIdentifier(graphWorkspace.getEdgeSourceColInfo().name),
+                quoteIdentifier(graphWorkspace.getEdgeTargetColInfo().name),
+                quoteIdentifier(loadOptions.edgeWeightColumn),
+                graphWorkspace.getEdgeKeyColInfo().schema,
+                graphWorkspace.getEdgeKeyColInfo().table
+        );
+        return newSelectStatement(rankProjection, predicates).getSql();
+    }
+
+    /**
+     * Ranks the edges by weight once and keeps the keys of the top edges per node in a local
+     * temporary table. Reads of the edges then only semi-join with it, instead of ranking the
+     * whole edge table in every statement (e.g. for every page). Like a sample, the table is
+     * only visible to the given session and has to be dropped afterwards.
+     *
+     * @param session           Session to rank the edges on
+     * @param graphWorkspace    HANA Graph Workspace with complete metadata
+     * @param loadOptions       Options for the download including the sparsification
+     * @param tempTables        Temporary tables of the session, that the new table is added to
+     * @return                  Options, whose edge predicates refer to the ranked edges
+     */
+    private HanaLoadOptions createTopEdges(HanaConnectionPool.Lease session, HanaGraphWorkspace graphWorkspace, HanaLoadOptions loadOptions, List<String> tempTables) throws SQLException {
+        if(!loadOptions.isRankingEdges() || !hasEdgeWeight(graphWorkspace, loadOptions)){
+            return loadOptions;
+        }
+
+        // edges are ranked among those, that satisfy all other filters except the sample
+        HanaLoadOptions rankOptions = new HanaLoadOptions(loadOptions);
+        rankOptions.maxEdgesPerNode = 0;
+        rankOptions.sampling = HanaSamplingStrategy.NONE;
+        List<String> predicates = getEdgePredicates(graphWorkspace, rankOptions);
+
+        createSampleTable(session, TOP_EDGES_TABLE, String.format(
+                this.sqlStrings.getProperty("SELECT_TOP_EDGES_PER_NODE"),
+                quoteIdentifier(graphWorkspace.getEdgeKeyColInfo().name),
+                getRankedEdges(graphWorkspace, loadOptions, predicates),
+                loadOptions.maxEdgesPerNode
+        ), tempTables);
+        debug("Ranked the top " + loadOptions.maxEdgesPerNode + " edges per node of " + graphWorkspace.getWorkspaceDbObject());
+
+        HanaLoadOptions topEdgesOptions = new HanaLoadOptions(loadOptions);
+        topEdgesOptions.topEdgesTable = TOP_EDGES_TABLE;
+        return topEdgesOptions;
+    }
+
+    /**
+     * @param graphWorkspace    Edge-only graph workspace with a prepared node table
+     * @param edgePredicates    Predicates, that the edges have to satisfy
+     * @return                  Projection on the distinct sources and targets of the edges
+     */
+    private String getInferredNodeProjection(HanaGraphWorkspace graphWorkspace, List<String> edgePredicates) {
+        StringBuilder edgeConditions = new StringBuilder();
+        for(String predicate : edgePredicates){
+            edgeConditions.append(" AND (").append(predicate).append(")");
+        }
+        return String.format(
+                this.sqlStrings.getProperty("INFER_NODES_FROM_EDGES"),
+                quoteIdentifier(graphWorkspace.getEdgeSourceColInfo().name),
+                quoteIdentifier(graphWorkspace.getEdgeTargetColInfo().name),
+                graphWorkspace.getEdgeKeyColInfo().schema,
+                graphWorkspace.getEdgeKeyColInfo().table,
+                edgeConditions.toString(),
+                quoteIdentifier(graphWorkspace.getNodeKeyColInfo().name)
+        );
+    }
+
+    /**
+     * @param graphWorkspace    HANA Graph Workspace with complete metadata
+     * @return                  Handler, that reflects the types of the node columns, that have actually been retrieved
+     */
+    private static Consumer<HanaColumnInfo[]> getNodeMetadataHandler(HanaGraphWorkspace graphWorkspace) {
+        return columnMetadata -> {
+            for(HanaColumnInfo colInfo: columnMetadata){
+                HanaColumnInfo fieldInfo = graphWorkspace.getNodeFieldInfo(colInfo.name);
+                fieldInfo.dataType = colInfo.dataType;
+                fieldInfo.width = colInfo.width;
+            }
+        };
+    }
+
+    /**
+     * @param graphWorkspace    HANA Graph Workspace with complete metadata
+     * @return                  Handler, that reflects the types of the edge columns, that have actually been retrieved
+     */
+    private static Consumer<HanaColumnInfo[]> getEdgeMetadataHandler(HanaGraphWorkspace graphWorkspace) {
+        return columnMetadata -> {
+            for(HanaColumnInfo colInfo: columnMetadata){
+                HanaColumnInfo fieldInfo = graphWorkspace.getEdgeFieldInfo(colInfo.name);
+                fieldInfo.dataType = colInfo.dataType;
+                fieldInfo.width = colInfo.width;
+            }
+        };
+    }
+
+    /**
+     * @param graphWorkspace    HANA Graph Workspace with complete metadata
+     * @return                  Converts fetched rows of the node projection
+     */
+    private static Function<Object[], HanaNodeTableRow> getNodeRowMapper(HanaGraphWorkspace graphWorkspace) {
+        List<HanaColumnInfo> fieldList = graphWorkspace.getEagerNodeFieldList();
+        String nodeKeyColName = graphWorkspace.getNodeKeyColInfo().name;
+        return row -> {
+            HanaNodeTableRow newRow = new HanaNodeTableRow();
+            newRow.setKeyFieldName(nodeKeyColName);
+            for(int i=0; i<row.length; i++){
+                newRow.addFieldValue(fieldList.get(i).name, row[i]);
+            }
+            return newRow;
+        };
+    }
+
+    /**
+     * @param graphWorkspace    HANA Graph Workspace with complete metadata
+     * @return                  Converts fetched rows of the edge projection
+     */
+    private static Function<Object[], HanaEdgeTableRow> getEdgeRowMapper(HanaGraphWorkspace graphWorkspace) {
+        List<HanaColumnInfo> fieldList = graphWorkspace.getEagerEdgeFieldList();
+        String edgeKeyColName = graphWorkspace.getEdgeKeyColInfo().name;
+        String edgeSourceColName = graphWorkspace.getEdgeSourceColInfo().name;
+        String edgeTargetColName = graphWorkspace.getEdgeTargetColInfo().name;
+        return row -> {
+            HanaEdgeTableRow newRow = new HanaEdgeTableRow();
+            newRow.setKeyFieldName(edgeKeyColName);
+            newRow.setSourceFieldName(edgeSourceColName);
+            newRow.setTargetFieldName(edgeTargetColName);
+            for(int i=0; i<row.length; i++){
+                newRow.addFieldValue(fieldList.get(i).name, row[i]);
+            }
+            return newRow;
+        };
+    }
+
+    /**
+     * Reads the types and declared widths of columns without fetching any rows
+     *
+     * @param session           Session to describe the columns with
+     * @param keyColInfo        Key column of the table
+     * @param fieldList         Columns of the table to describe
+     * @param metadataHandler   Consumer of the column metadata
+     */
+    private void describeColumns(HanaConnectionPool.Lease session, HanaColumnInfo keyColInfo, List<HanaColumnInfo> fieldList,
+                                 Consumer<HanaColumnInfo[]> metadataHandler) throws SQLException {
+        String projection = String.format(
+                this.sqlStrings.getProperty("GENERIC_SELECT_PROJECTION"),
+                getFieldList(fieldList),
+                keyColInfo.schema,
+                keyColInfo.table
+        );
+        String select = newSelectStatement(projection, Collections.singletonList(this.sqlStrings.getProperty("FILTER_NO_ROWS"))).getSql();
+        this.executeQueryStream(session, select, null, 1, new HanaQueryRowHandler() {
+            @Override
+            public void handleMetadata(HanaColumnInfo[] columnMetadata) {
+                metadataHandler.accept(columnMetadata);
+            }
+
+            @Override
+            public void handleRow(Object[] row) {
+                // there are no rows
+            }
+        });
+    }
+
+    /**
+     * Excludes large objects and wide text columns from the download of the nodes, if the load options
+     * ask for it. These columns can be fetched on demand by loadDeferredAttributes.
+     *
+     * @param session           Session to describe the node table with
+     * @param graphWorkspace    HANA Graph Workspace with complete metadata
+     * @param loadOptions       Options for the download
+     */
+    private void deferWideNodeColumns(HanaConnectionPool.Lease session, HanaGraphWorkspace graphWorkspace, HanaLoadOptions loadOptions) throws SQLException {
+        if(!loadOptions.deferWideColumns){
+            return;
+        }
+        describeColumns(session, graphWorkspace.getNodeKeyColInfo(), graphWorkspace.getNodeFieldList(), getNodeMetadataHandler(graphWorkspace));
+        List<String> deferredColumns = graphWorkspace.deferWideNodeColumns(loadOptions.maxEagerColumnWidth);
+        if(!deferredColumns.isEmpty()){
+            info("Node columns " + deferredColumns + " of " + graphWorkspace.getWorkspaceDbObject() + " will be fetched on demand");
+        }
+    }
+
+    /**
+     * Excludes large objects and wide text columns from the download of the edges, if the load options
+     * ask for it. These columns can be fetched on demand by loadDeferredAttributes.
+     *
+     * @param session           Session to describe the edge table with
+     * @param graphWorkspace    HANA Graph Workspace with complete metadata
+     * @param loadOptions       Options for the download
+     */
+    private void deferWideEdgeColumns(HanaConnectionPool.Lease session, HanaGraphWorkspace graphWorkspace, HanaLoadOptions loadOptions) throws SQLException {
+        if(!loadOptions.deferWideColumns){
+            return;
+        }
+        describeColumns(session, graphWorkspace.getEdgeKeyColInfo(), graphWorkspace.getEdgeFieldList(), getEdgeMetadataHandler(graphWorkspace));
+        List<String> deferredColumns = graphWorkspace.deferWideEdgeColumns(loadOptions.maxEagerColumnWidth);
+        if(!deferredColumns.isEmpty()){
+            info("Edge columns " + deferredColumns + " of " + graphWorkspace.getWorkspaceDbObject() + " will be fetched on demand");
+        }
+    }
+
+    /**
+     * Fetches deferred columns of individual nodes or edges. Keys are looked up in batches,
+     * so that each batch needs a single round trip.
+     *
+     * @param keyColInfo        Key column of the node or edge table
+     * @param deferredColumns   Columns to fetch, e.g. HanaGraphWorkspace.getDeferredNodeFieldList
+     * @param keys              Keys of the nodes or edges
+     * @return                  Values of the deferred columns by the string representation of the key
+     */
+    public Map<String, Map<String, Object>> loadDeferredAttributes(HanaColumnInfo keyColInfo, List<HanaColumnInfo> deferredColumns, Collection<?> keys) throws SQLException {
+        Map<String, Map<String, Object>> attributes = new HashMap<>();
+        if(deferredColumns.isEmpty() || keys.isEmpty()){
+            return attributes;
+        }
+
+        List<HanaColumnInfo> fieldList = new ArrayList<>();
+        fieldList.add(keyColInfo);
+        fieldList.addAll(deferredColumns);
+        String projection = String.format(
+                this.sqlStrings.getProperty("GENERIC_SELECT_PROJECTION"),
+                getFieldList(fieldList),
+                keyColInfo.schema,
+                keyColInfo.table
+        );
+
+        List<Object> keyList = new ArrayList<>(keys);
+        try (HanaConnectionPool.Lease session = leaseSession()){
+            for(int offset = 0; offset < keyList.size(); offset += KEY_LOOKUP_BATCH_SIZE){
+                List<Object> batch = keyList.subList(offset, Math.min(offset + KEY_LOOKUP_BATCH_SIZE, keyList.size()));
+                HanaSqlParameter[] params = new HanaSqlParameter[batch.size()];
+                for(int i=0; i<batch.size(); i++){
+                    params[i] = new HanaSqlParameter(batch.get(i), keyColInfo.dataType.getSqlDataType());
+                }
+                String predicate = String.format(
+                        this.sqlStrings.getProperty("FILTER_BY_KEYS"),
+                        quoteIdentifier(keyColInfo.name),
+                        String.join(", ", Collections.nCopies(batch.size(), "?"))
+                );
+                HanaSelectStatement select = new HanaSelectStatement(projection).where(predicate, params);
+
+                this.executeQueryStream(session, select.getSql(), select.getParameters(), getFetchSize(), new HanaQueryRowHandler() {
+                    @Override
+                    public void handleRow(Object[] row) throws SQLException {
+                        Map<String, Object> values = new HashMap<>();
+                        for(int i=1; i<row.length; i++){
+                            Object value = row[i];
+                            if(value instanceof Clob){
+                                // large objects can only be read while the result set is open
+                                Clob clob = (Clob) value;
+                                value = clob.getSubString(1, (int) clob.length());
+                            }
+                            values.put(fieldList.get(i).name, value);
+                        }
+                        attributes.put(String.valueOf(row[0]), values);
+                    }
+                });
+            }
+        }
+
+        debug("Fetched deferred columns of " + attributes.size() + " rows of " + new HanaDbObject(keyColInfo.schema, keyColInfo.table));
+        return attributes;
+    }
+
+    /**
+     * Loads the content of the node table for a HanaGraphWorkspace object with complete metadata.
+     *
+     * @param session           Session to read the node table with
+     * @param graphWorkspace    HANA Graph Workspace with complete metadata
+     * @param loadOptions       Options for the download
+     */
+    private void loadNetworkNodes(HanaConnectionPool.Lease session, HanaGraphWorkspace graphWorkspace, HanaLoadOptions loadOptions) throws SQLException {
+
+        if(graphWorkspace.isEdgeOnlyGraph()){
+            loadInferredNodes(session, graphWorkspace, loadOptions, loadOptions.pageSize, graphWorkspace.getNodeTable()::addAll);
+            return;
+        }
+
+        info("Loading network nodes of "+ graphWorkspace.getWorkspaceDbObject().toString());
+
+        graphWorkspace.clearNodeTable();
+        deferWideNodeColumns(session, graphWorkspace, loadOptions);
+        HanaColumnInfo keyColInfo = graphWorkspace.getNodeKeyColInfo();
+
+        this.fetchTable(
+                session,
+                getNodeProjection(graphWorkspace),
+                getNodePredicates(graphWorkspace, loadOptions),
+                new HanaDbObject(keyColInfo.schema, keyColInfo.table),
+                keyColInfo.name,
+                graphWorkspace.getEagerNodeFieldList().indexOf(keyColInfo),
+                loadOptions,
+                getNodeMetadataHandler(graphWorkspace),
+                getNodeRowMapper(graphWorkspace),
+                graphWorkspace.getNodeTable()
+        );
+    }
+
+    /**
+     * Infers the nodes of an edge-only graph workspace as the distinct sources and targets of
+     * its edges. Deduplication happens on the database, so that only the vertex set is
+     * transferred; the rows are streamed with a single query and passed on in pages.
+     *
+     * @param session           Session to read the edge table with
+     * @param graphWorkspace    Edge-only graph workspace with complete metadata
+     * @param loadOptions       Options for the download
+     * @param pageSize          Number of nodes passed to the consumer at once
+     * @param pageConsumer      Consumer of the inferred nodes
+     */
+    private void loadInferredNodes(HanaConnectionPool.Lease session, HanaGraphWorkspace graphWorkspace, HanaLoadOptions loadOptions,
+                                   int pageSize, Consumer<List<HanaNodeTableRow>> pageConsumer) throws SQLException {
+
+        info("Inferring network nodes of " + graphWorkspace.getWorkspaceDbObject().toString() + " from its edges");
+
+        try {
+            graphWorkspace.prepareInferredNodeTable();
+        } catch (GraphInconsistencyException e){
+            throw new SQLException(e.getMessage(), e);
+        }
+
+        Consumer<HanaColumnInfo[]> metadataHandler = getNodeMetadataHandler(graphWorkspace);
+        Function<Object[], HanaNodeTableRow> rowMapper = getNodeRowMapper(graphWorkspace);
+        List<HanaNodeTableRow> page = new ArrayList<>();
+
+        this.executeQueryStream(session, getInferredNodeProjection(graphWorkspace, getEdgePredicates(graphWorkspace, loadOptions)), null, getEffectiveFetchSize(loadOptions), new HanaQueryRowHandler() {
+            @Override
+            public void handleMetadata(HanaColumnInfo[] columnMetadata) {
+                metadataHandler.accept(columnMetadata);
+            }
+
+            @Override
+            public void handleRow(Object[] row) {
+                page.add(rowMapper.apply(row));
+                if(page.size() >= pageSize){
+                    pageConsumer.accept(new ArrayList<>(page));
+                    page.clear();
+                }
+            }
+        });
+
+        if(!page.isEmpty()){
+            pageConsumer.accept(page);
+        }
+    }
+
+    /**
+     * Loads the content of the edge table for a HanaGraphWorkspace object with complete metadata.
+     *
+     * @param session           Session to read the edge table with
+     * @param graphWorkspace    HANA Graph Workspace with complete metadata
+     * @param loadOptions       Options for the download
+     */
+    private void loadNetworkEdges(HanaConnectionPool.Lease session, HanaGraphWorkspace graphWorkspace, HanaLoadOptions loadOptions) throws SQLException {
+        info("Loading network edges of "+ graphWorkspace.getWorkspaceDbObject().toString());
+
+        graphWorkspace.clearEdgeTable();
+        deferWideEdgeColumns(session, graphWorkspace, loadOptions);
+        HanaColumnInfo keyColInfo = graphWorkspace.getEdgeKeyColInfo();
+
+        this.fetchTable(
+                session,
+                getEdgeProjection(graphWorkspace),
+                getEdgePredicates(graphWorkspace, loadOptions),
+                new HanaDbObject(keyColInfo.schema, keyColInfo.table),
+                keyColInfo.name,
+                graphWorkspace.getEagerEdgeFieldList().indexOf(keyColInfo),
+                loadOptions,
+                getEdgeMetadataHandler(graphWorkspace),
+                getEdgeRowMapper(graphWorkspace),
+                graphWorkspace.getEdgeTable()
+        );
+    }
+
+    /**
+     * Loads nodes and edges of a HanaGraphWorkspace object with complete metadata. If possible,
+     * node and edge table are read at the same time on two sessions. HANA cannot share a snapshot
+     * between sessions, so the reads are not consistent with each other: endpoints of edges, that
+     * are missing from the node read, are fetched afterwards (see loadMissingEndpoints).
+     * Nodes of edge-only graphs are inferred from the edge table. If the edges are limited to
+     * the top edges per node, they are ranked once and read on the session, that holds the
+     * ranking, i.e. the edges are neither split nor resumed on other sessions.
+     *
+     * @param graphWorkspace    HANA Graph Workspace with complete metadata
+     * @param loadOptions       Options for the download
+     */
+    private void loadNetworkContent(HanaGraphWorkspace graphWorkspace, HanaLoadOptions loadOptions) throws SQLException {
+
+        HanaLoadOptions edgeOptions = loadOptions;
+        if(loadOptions.isRankingEdges()){
+            edgeOptions = new HanaLoadOptions(loadOptions);
+            edgeOptions.parallelism = 1;
+            edgeOptions.resumable = false;
+        }
+
+        // inferred nodes are selected from the ranked edges as well
+        if(this.connectionPool == null || (loadOptions.isRankingEdges() && graphWorkspace.isEdgeOnlyGraph())){
+            try (HanaConnectionPool.Lease lease = leaseSession()){
+                loadNetworkContent(lease, graphWorkspace, edgeOptions, true);
+            }
+        } else {
+            HanaLoadOptions rankedOptions = edgeOptions;
+            List<Callable<Void>> tasks = new ArrayList<>();
+            tasks.add(() -> {
+                try (HanaConnectionPool.Lease nodeSession = leaseSession()){
+                    loadNetworkNodes(nodeSession, graphWorkspace, loadOptions);
+                }
+                return null;
+            });
+            tasks.add(() -> {
+                try (HanaConnectionPool.Lease edgeSession = leaseSession()){
+                    loadNetworkContent(edgeSession, graphWorkspace, rankedOptions, false);
+                }
+                return null;
+            });
+            runConcurrently("hana-load-" + graphWorkspace.getWorkspaceDbObject().name, tasks);
+        }
+
+        loadMissingEndpoints(graphWorkspace, loadOptions);
+    }
+
+    /**
+     * Loads the edges, and optionally the nodes, of a HanaGraphWorkspace object on one session
+     *
+     * @param session           Session to read with
+     * @param graphWorkspace    HANA Graph Workspace with complete metadata
+     * @param loadOptions       Options for the download
+     * @param withNodes         true, if the nodes are read on the session as well
+     */
+    private void loadNetworkContent(HanaConnectionPool.Lease session, HanaGraphWorkspace graphWorkspace, HanaLoadOptions loadOptions, boolean withNodes) throws SQLException {
+        List<String> tempTables = new ArrayList<>();
+        try {
+            HanaLoadOptions rankedOptions = createTopEdges(session, graphWorkspace, loadOptions, tempTables);
+            if(withNodes){
+                loadNetworkNodes(session, graphWorkspace, rankedOptions);
+            }
+            loadNetworkEdges(session, graphWorkspace, rankedOptions);
+        } finally {
+            dropSample(session, tempTables);
+        }
+    }
+
+    /**
+     * Completes the nodes of a workspace, whose node and edge tables have been read with different
+     * snapshots. Endpoints of edges, that are missing from the node table, are fetched by their key;
+     * nodes of edge-only graphs only consist of their key and are added right away. Edges, whose
+     * endpoints cannot be found (e.g. because they have been deleted in the meantime), are omitted.
+     *
+     * @param graphWorkspace    HANA Graph Workspace with nodes and edges
+     * @param loadOptions       Options for the download; the fetched nodes have to satisfy the node filter
+     */
+    private void loadMissingEndpoints(HanaGraphWorkspace graphWorkspace, HanaLoadOptions loadOptions) throws SQLException {
+        Map<String, List<Object>> missingEndpoints = graphWorkspace.getMissingEndpoints();
+        if(!missingEndpoints.isEmpty()){
+            int nMissing = missingEndpoints.values().stream().mapToInt(List::size).sum();
+            info(nMissing + " endpoints of edges of " + graphWorkspace.getWorkspaceDbObject() + " have been modified during the download and will be fetched");
+
+            if(graphWorkspace.isEdgeOnlyGraph()){
+                for(List<Object> keys : missingEndpoints.values()){
+                    graphWorkspace.addInferredNodes(keys);
+                }
+            } else {
+                try (HanaConnectionPool.Lease session = leaseSession()){
+                    for(Map.Entry<String, List<Object>> entry : missingEndpoints.entrySet()){
+                        if(entry.getKey() == null){
+                            graphWorkspace.getNodeTable().addAll(loadNodesByKey(session, graphWorkspace, loadOptions, entry.getValue()));
+                            continue;
+                        }
+                        for(HanaGraphWorkspace table : graphWorkspace.getVertexTables()){
+                            if(table.getNodeKeyColInfo().table.equals(entry.getKey())){
+                                table.setNodeTable(loadNodesByKey(session, table, loadOptions, entry.getValue()));
+                                graphWorkspace.addTableContent(table);
+                                table.clearNodeTable();
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        int nDangling = graphWorkspace.removeDanglingEdges();
+        if(nDangling > 0){
+            warn(nDangling + " edges of " + graphWorkspace.getWorkspaceDbObject() + " refer to nodes, that do not exist or whose vertex table is ambiguous. These edges will be omitted.");
+        }
+    }
+
+    /**
+     * Fetches nodes by their key. Keys are looked up in batches, so that each batch needs a single round trip.
+     *
+     * @param session           Session to read the node table with
+     * @param graphWorkspace    HANA Graph Workspace with complete metadata
+     * @param loadOptions       Options for the download
+     * @param keys              Key values of the nodes
+     * @return                  Nodes, that exist and satisfy the node predicates
+     */
+    private List<HanaNodeTableRow> loadNodesByKey(HanaConnectionPool.Lease session, HanaGraphWorkspace graphWorkspace, HanaLoadOptions loadOptions, List<Object> keys) throws SQLException {
+        HanaColumnInfo keyColInfo = graphWorkspace.getNodeKeyColInfo();
+        String projection = getNodeProjection(graphWorkspace);
+        List<String> predicates = getNodePredicates(graphWorkspace, loadOptions);
+        Function<Object[], HanaNodeTableRow> rowMapper = getNodeRowMapper(graphWorkspace);
+
+        List<HanaNodeTableRow> nodes = new ArrayList<>();
+        for(int offset = 0; offset < keys.size(); offset += KEY_LOOKUP_BATCH_SIZE){
+            List<Object> batch = keys.subList(offset, Math.min(offset + KEY_LOOKUP_BATCH_SIZE, keys.size()));
+            HanaSqlParameter[] params = new HanaSqlParameter[batch.size()];
+            for(int i=0; i<batch.size(); i++){
+                params[i] = new HanaSqlParameter(batch.get(i), keyColInfo.dataType.getSqlDataType());
+            }
+            HanaSelectStatement select = newSelectStatement(projection, predicates).where(String.format(
+                    this.sqlStrings.getProperty("FILTER_BY_KEYS"),
+                    quoteIdentifier(keyColInfo.name),
+                    String.join(", ", Collections.nCopies(batch.size(), "?"))
+            ), params);
+
+            this.executeQueryStream(session, select.getSql(), select.getParameters(), getEffectiveFetchSize(loadOptions), new HanaQueryRowHandler() {
+                @Override
+                public void handleRow(Object[] row) {
+                    nodes.add(rowMapper.apply(row));
+                }
+            });
+        }
+        return nodes;
+    }
+
+    /**
+     * Loads the tables of a heterogeneous workspace. Each vertex and edge table is read on a session
+     * of its own, so that the load takes about as long as the largest table. If the pool cannot
+     * provide a session per table, the sessions take over the remaining tables one after another.
+     * One session is waited for; further sessions are only used if the pool has them available
+     * right away, so that the load neither blocks nor starves other operations on the pool.
+     * The tables are not read with the same snapshot, so endpoints of edges, that are missing from
+     * the vertex tables, are fetched afterwards in the same way as for other workspaces.
+     *
+     * @param graphWorkspace    Heterogeneous graph workspace with complete metadata
+     * @param loadOptions       Options for the download; filters apply to every vertex or edge table
+     */
+    private void loadHeterogeneousContent(HanaGraphWorkspace graphWorkspace, HanaLoadOptions loadOptions) throws SQLException {
+
+        // every table is read with a single session
+        HanaLoadOptions tableOptions = new HanaLoadOptions(loadOptions);
+        tableOptions.parallelism = 1;
+        tableOptions.sampling = HanaSamplingStrategy.NONE;
+        // deferred columns are looked up by the key of a single table
+        tableOptions.deferWideColumns = false;
+
+        List<HanaGraphWorkspace> tables = new ArrayList<>(graphWorkspace.getVertexTables());
+        tables.addAll(graphWorkspace.getEdgeTables());
+
+        if(this.connectionPool == null){
+            try (HanaConnectionPool.Lease lease = leaseSession()){
+                for(HanaGraphWorkspace table : tables){
+                    loadTableContent(lease, graphWorkspace, table, tableOptions);
+                }
+            }
+        } else {
+            ConcurrentLinkedQueue<HanaGraphWorkspace> pendingTables = new ConcurrentLinkedQueue<>(tables);
+            // leave half of the pool to other operations
+            int maxSessions = Math.min(tables.size(), Math.max(1, this.connectionPool.getMaxSize() / 2));
+
+            List<HanaConnectionPool.Lease> sessions = new ArrayList<>();
+            try {
+                sessions.add(leaseSession());
+                while(sessions.size() < maxSessions){
+                    HanaConnectionPool.Lease lease = this.connectionPool.tryLease();
+                    if(lease == null){
+                        break;
+                    }
+                    sessions.add(lease);
+                }
+                info("Loading " + tables.size() + " tables of " + graphWorkspace.getWorkspaceDbObject() + " on " + sessions.size() + " sessions");
+
+                List<Callable<Void>> tasks = new ArrayList<>();
+                for(HanaConnectionPool.Lease session : sessions){
+                    tasks.add(() -> {
+                        HanaGraphWorkspace table;
+                        while((table = pendingTables.poll()) != null){
+                            loadTableContent(session, graphWorkspace, table, tableOptions);
+                        }
+                        return null;
+                    });
+                }
+                runConcurrently("hana-load-" + graphWorkspace.getWorkspaceDbObject().name, tasks);
+            } finally {
+                for(HanaConnectionPool.Lease session : sessions){
+                    session.close();
+                }
+            }
+        }
+
+        // tables are added in the order of the metadata, so that the result does not depend on timing
+        int nDuplicates = 0;
+        for(HanaGraphWorkspace table : tables){
+            nDuplicates += graphWorkspace.addTableContent(table);
+            table.clearNodeTable();
+            table.clearEdgeTable();
+        }
+        if(nDuplicates > 0){
+            warn(nDuplicates + " nodes of " + graphWorkspace.getWorkspaceDbObject() + " have a key, that occurs more than once in their vertex table. These nodes will be omitted.");
+        }
+
+        loadMissingEndpoints(graphWorkspace, tableOptions);
+    }
+
+    /**
+     * Loads the content of one table of a heterogeneous workspace
+     *
+     * @param session           Session to read the table with
+     * @param graphWorkspace    Heterogeneous graph workspace
+     * @param table             Vertex or edge table of the workspace
+     * @param loadOptions       Options for the download
+     */
+    private void loadTableContent(HanaConnectionPool.Lease session, HanaGraphWorkspace graphWorkspace, HanaGraphWorkspace table, HanaLoadOptions loadOptions) throws SQLException {
+        if(graphWorkspace.getVertexTables().contains(table)){
+            loadNetworkNodes(session, table, loadOptions);
+            return;
+        }
+        if(graphWorkspace.isEdgeOnlyGraph()){
+            // without vertex tables, nodes are inferred from each edge table
+            loadNetworkNodes(session, table, loadOptions);
+        }
+        loadNetworkEdges(session, table, loadOptions);
+    }
+
+    /**
+     * Selects a sample of a workspace on the database. The keys of the sampled nodes (and edges)
+     * are kept in local temporary tables, so the sample has to be loaded on the same session
+     * and dropped afterwards.
+     *
+     * @param session           Session to select and load the sample on
+     * @param graphWorkspace    HANA Graph Workspace with complete metadata
+     * @param loadOptions       Options for the download including the sampling strategy
+     * @return                  Temporary tables, that have been created
+     */
+    private List<String> createSample(HanaConnectionPool.Lease session, HanaGraphWorkspace graphWorkspace, HanaLoadOptions loadOptions) throws SQLException {
+
+        info("Sampling " + graphWorkspace.getWorkspaceDbObject() + ": " + loadOptions.getSamplingDescription());
+
+        if(graphWorkspace.isEdgeOnlyGraph()){
+            try {
+                graphWorkspace.prepareInferredNodeTable();
+            } catch (GraphInconsistencyException e){
+                throw new SQLException(e.getMessage(), e);
+            }
+        }
+
+        HanaColumnInfo nodeKeyColInfo = graphWorkspace.getNodeKeyColInfo();
+        HanaColumnInfo edgeKeyColInfo = graphWorkspace.getEdgeKeyColInfo();
+        String edgeFilter = normalizeFilter(loadOptions.edgeFilter);
+        String edgeTable = quoteIdentifier(edgeKeyColInfo.schema) + "." + quoteIdentifier(edgeKeyColInfo.table);
+        String nodeTable = graphWorkspace.isEdgeOnlyGraph()
+                ? "(" + getInferredNodeProjection(graphWorkspace, edgeFilter == null ? Collections.emptyList() : Collections.singletonList(edgeFilter)) + ")"
+                : quoteIdentifier(nodeKeyColInfo.schema) + "." + quoteIdentifier(nodeKeyColInfo.table);
+        String percentage = String.valueOf(Math.max(0d, Math.min(100d, loadOptions.samplingPercentage)));
+
+        List<String> sampleTables = new ArrayList<>();
+        try {
+            switch (loadOptions.sampling){
+                case RANDOM_NODES:
+                    // TABLESAMPLE can only be applied to tables, inferred nodes are drawn by RAND()
+                    createSampleTable(session, SAMPLE_NODES_TABLE, String.format(
+                            this.sqlStrings.getProperty("SELECT_SAMPLE_KEYS"),
+                            quoteIdentifier(nodeKeyColInfo.name),
+                            nodeTable,
+                            String.format(this.sqlStrings.getProperty(graphWorkspace.isEdgeOnlyGraph() ? "SAMPLE_CLAUSE_RANDOM" : "SAMPLE_CLAUSE_TABLESAMPLE"), percentage)
+                    ), sampleTables);
+                    break;
+
+                case RANDOM_EDGES:
+                    String edgeClause = String.format(this.sqlStrings.getProperty("SAMPLE_CLAUSE_TABLESAMPLE"), percentage);
+                    if(edgeFilter != null){
+                        edgeClause += " " + String.format(this.sqlStrings.getProperty("SAMPLE_CLAUSE_FILTER"), edgeFilter);
+                    }
+                    createSampleTable(session, SAMPLE_EDGES_TABLE, String.format(
+                            this.sqlStrings.getProperty("SELECT_SAMPLE_KEYS"),
+                            quoteIdentifier(edgeKeyColInfo.name),
+                            edgeTable,
+                            edgeClause
+                    ), sampleTables);
+                    if(!graphWorkspace.isEdgeOnlyGraph()){
+                        createSampleTable(session, SAMPLE_NODES_TABLE, String.format(
+                                this.sqlStrings.getProperty("SAMPLE_EDGE_ENDPOINTS"),
+                                quoteIdentifier(graphWorkspace.getEdgeSourceColInfo().name),
+                                quoteIdentifier(graphWorkspace.getEdgeTargetColInfo().name),
+                                edgeKeyColInfo.schema,
+                                edgeKeyColInfo.table,
+                                quoteIdentifier(edgeKeyColInfo.name),
+                                SAMPLE_EDGES_TABLE
+                        ), sampleTables);
+                    }
+                    break;
+
+                default:
+                    String seedFilter = normalizeFilter(loadOptions.seedFilter);
+                    createSampleTable(session, SAMPLE_NODES_TABLE, String.format(
+                            this.sqlStrings.getProperty("SELECT_SAMPLE_KEYS"),
+                            quoteIdentifier(nodeKeyColInfo.name),
+                            nodeTable,
+                            seedFilter == null
+                                    ? String.format(this.sqlStrings.getProperty("SAMPLE_CLAUSE_RANDOM_SEEDS"), HanaLoadOptions.DEFAULT_SEED_COUNT)
+                                    : String.format(this.sqlStrings.getProperty("SAMPLE_CLAUSE_FILTER"), seedFilter)
+                    ), sampleTables);
+                    expandSample(session, graphWorkspace, loadOptions);
+            }
+        } catch (SQLException e){
+            dropSample(session, sampleTables);
+            throw e;
+        }
+
+        return sampleTables;
+    }
+
+    private void createSampleTable(HanaConnectionPool.Lease session, String sampleTable, String sampleQuery, List<String> sampleTables) throws SQLException {
+        this.executeUpdate(session, String.format(this.sqlStrings.getProperty("CREATE_SAMPLE_TABLE"), sampleTable, sampleQuery));
+        sampleTables.add(sampleTable);
+    }
+
+    /**
+     * Adds the neighbors of the sampled nodes to the sample hop by hop. Forest fire sampling
+     * only follows a random share of the edges.
+     *
+     * @param session           Session, that holds the sample
+     * @param graphWorkspace    HANA Graph Workspace with complete metadata
+     * @param loadOptions       Options for the download including the sampling strategy
+     */
+    private void expandSample(HanaConnectionPool.Lease session, HanaGraphWorkspace graphWorkspace, HanaLoadOptions loadOptions) throws SQLException {
+        String edgeConditions = "";
+        String edgeFilter = normalizeFilter(loadOptions.edgeFilter);
+        if(edgeFilter != null){
+            edgeConditions += " AND (" + edgeFilter + ")";
+        }
+        if(loadOptions.sampling == HanaSamplingStrategy.FOREST_FIRE){
+            edgeConditions += " AND RAND() < " + Math.max(0d, Math.min(1d, loadOptions.burnProbability));
+        }
+
+        long nSampled = this.executeQuerySingleValue(session, String.format(this.sqlStrings.getProperty("COUNT_SAMPLE"), SAMPLE_NODES_TABLE), null, Long.class);
+        for(int hop = 1; hop <= loadOptions.samplingHops; hop++){
+            String limit = "";
+            if(loadOptions.maxSampleNodes > 0){
+                if(nSampled >= loadOptions.maxSampleNodes){
+                    break;
+                }
+                limit = String.format(this.sqlStrings.getProperty("SAMPLE_CLAUSE_LIMIT"), loadOptions.maxSampleNodes - nSampled);
+            }
+
+            int nAdded = this.executeUpdate(session, String.format(
+                    this.sqlStrings.getProperty("EXPAND_SAMPLE"),
+                    quoteIdentifier(graphWorkspace.getEdgeSourceColInfo().name),
+                    quoteIdentifier(graphWorkspace.getEdgeTargetColInfo().name),
+                    graphWorkspace.getEdgeKeyColInfo().schema,
+                    graphWorkspace.getEdgeKeyColInfo().table,
+                    SAMPLE_NODES_TABLE,
+                    edgeConditions,
+                    limit
+            ));
+            debug("Hop " + hop + " added " + nAdded + " nodes to the sample");
+            if(nAdded == 0){
+                break;
+            }
+            nSampled += nAdded;
+        }
+    }
+
+    /**
+     * Drops the temporary tables of a sample or of ranked edges. If a table cannot be dropped,
+     * the session will be discarded, so that its temporary tables are gone.
+     *
+     * @param session       Session, that holds the temporary tables
+     * @param sampleTables  Temporary tables to drop
+     */
+    private void dropSample(HanaConnectionPool.Lease session, List<String> sampleTables) {
+        // the cleanup must not be cancelled along with the load
+        try (HanaCancellationToken.Scope scope = new HanaCancellationToken().bind()){
+            for(String sampleTable : sampleTables){
+                try {
+                    this.executeUpdate(session, String.format(this.sqlStrings.getProperty("DROP_SAMPLE_TABLE"), sampleTable));
+                } catch (SQLException e){
+                    warn("Could not drop " + sampleTable + ". The session will be closed.");
+                    session.invalidate();
+                }
+            }
+        }
+    }
 
-            // Swap on-prem to cloud and vice versa:
-            propName="LOAD_WORKSPACE_METADATA_HANA_" + (isCloud ? "ONPREM":"CLOUD");
+    /**
+     * Loads a sample of a HanaGraphWorkspace object with complete metadata. Since the sample is
+     * kept in temporary tables of a session, it is selected and read on a single session, i.e.
+     * the download is neither split nor resumed on other sessions.
+     *
+     * @param graphWorkspace    HANA Graph Workspace with complete metadata
+     * @param loadOptions       Options for the download including the sampling strategy
+     */
+    private void loadSample(HanaGraphWorkspace graphWorkspace, HanaLoadOptions loadOptions) throws SQLException {
+        HanaLoadOptions sessionOptions = new HanaLoadOptions(loadOptions);
+        sessionOptions.parallelism = 1;
+        sessionOptions.resumable = false;
+
+        try (HanaConnectionPool.Lease session = leaseSession()){
+            List<String> tempTables = createSample(session, graphWorkspace, sessionOptions);
+            try {
+                HanaLoadOptions sampleOptions = createTopEdges(session, graphWorkspace, sessionOptions, tempTables);
+                loadNetworkNodes(session, graphWorkspace, sampleOptions);
+                loadNetworkEdges(session, graphWorkspace, sampleOptions);
+            } finally {
+                dropSample(session, tempTables);
+            }
+        }
 
-            // Try again:
-            wsMetadata = this.executeQueryList(
-                    this.sqlStrings.getProperty(propName),
-                    new HanaSqlParameter[]{
-                            new HanaSqlParameter(graphWorkspace.getWorkspaceDbObject().schema, Types.VARCHAR),
-                            new HanaSqlParameter(graphWorkspace.getWorkspaceDbObject().name, Types.VARCHAR)
-                    }
-            );
+        info("Loaded sample of " + graphWorkspace.getWorkspaceDbObject() + " with " + graphWorkspace.getNodeTable().size()
+                + " nodes and " + graphWorkspace.getEdgeTable().size() + " edges");
+    }
+
+    /**
+     * Loads the complete graph workspace (i.e. metadata, nodes, edges)
+     * into a new instance of HanaGraphWorkspace
+     *
+     * @param schema                Schema of the workspace to be loaded
+     * @param graphWorkspaceName    Name of the workspace to be loaded
+     * @return                      HanaGraphWorkspace Object
+     */
+    public HanaGraphWorkspace loadGraphWorkspace(String schema, String graphWorkspaceName) throws SQLException, HanaConnectionManagerException, GraphInconsistencyException {
+        return loadGraphWorkspace(schema, graphWorkspaceName, new HanaLoadOptions());
+    }
+
+    /**
+     * Loads the complete graph workspace (i.e. metadata, nodes, edges)
+     * into a new instance of HanaGraphWorkspace
+     *
+     * @param schema                Schema of the workspace to be loaded
+     * @param graphWorkspaceName    Name of the workspace to be loaded
+     * @param loadOptions           Options for the download
+     * @return                      HanaGraphWorkspace Object; shared with concurrent callers, that
+     *                              load the same content, and must not be modified
+     */
+    public HanaGraphWorkspace loadGraphWorkspace(String schema, String graphWorkspaceName, HanaLoadOptions loadOptions) throws SQLException, HanaConnectionManagerException, GraphInconsistencyException {
+        HanaDbObject workspace = new HanaDbObject(schema, graphWorkspaceName);
+
+        // concurrent loads of the same content attach to the running download
+        String key = HanaWorkspaceMetadataCache.getKey(getInstanceIdentifier(), workspace) + "|" + loadOptions.getContentKey();
+        if(this.runningLoads.isInFlight(key)){
+            info("Waiting for running download of " + workspace);
         }
-        
-        for(Object[] row : wsMetadata.getRecordList()){
-            // Types will be set when retrieving actual data
-            HanaColumnInfo newColInfo = new HanaColumnInfo(toStrNull(row[2]), toStrNull(row[3]), toStrNull(row[4]), Types.OTHER);
-
-            switch(toStrNull(row[0])){
-                case "EDGE":
-                    switch(toStrNull(row[1])){
-                        case "KEY":
-                            graphWorkspace.addEdgeKeyCol(newColInfo);
-                            break;
-                        case "SOURCE":
-                            graphWorkspace.addEdgeSourceCol(newColInfo);
-                            break;
-                        case "TARGET":
-                            graphWorkspace.addEdgeTargetCol(newColInfo);
-                            break;
-                        default:
-                            graphWorkspace.addEdgeAttributeCol(newColInfo);
-                    }
-                    break;
-                case "VERTEX":
-                    switch (toStrNull(row[1])){
-                        case "KEY":
-                            graphWorkspace.addNodeKeyCol(newColInfo);
-                            break;
-                        default:
-                            graphWorkspace.addNodeAttributeCol(newColInfo);
-                    }
-                    break;
-            }
+        try {
+            return this.runningLoads.execute(key, () -> fetchGraphWorkspace(schema, graphWorkspaceName, loadOptions));
+        } catch (SQLException | HanaConnectionManagerException | GraphInconsistencyException | RuntimeException e){
+            throw e;
+        } catch (Exception e){
+            throw new SQLException("Failure while loading " + workspace, e);
         }
+    }
 
-        if(!graphWorkspace.isMetadataComplete()){
-            err("Incomplete graph workspace definition in GRAPH_WORKSPACE_COLUMNS");
-            throw new HanaConnectionManagerException("Incomplete graph workspace definition in GRAPH_WORKSPACE_COLUMNS");
+    /**
+     * Loads the complete graph workspace (i.e. metadata, nodes, edges)
+     * into a new instance of HanaGraphWorkspace
+     *
+     * @param schema                Schema of the workspace to be loaded
+     * @param graphWorkspaceName    Name of the workspace to be loaded
+     * @param loadOptions           Options for the download
+     * @return                      HanaGraphWorkspace Object
+     */
+    private HanaGraphWorkspace fetchGraphWorkspace(String schema, String graphWorkspaceName, HanaLoadOptions loadOptions) throws SQLException, HanaConnectionManagerException, GraphInconsistencyException {
+
+        HanaGraphWorkspace graphWorkspace =
+                new HanaGraphWorkspace(new HanaDbObject(schema, graphWorkspaceName));
+
+        loadWorkspaceMetadata(graphWorkspace);
+
+        // only project the columns, that have been asked for
+        graphWorkspace.retainNodeAttributes(loadOptions.nodeAttributes);
+        graphWorkspace.retainEdgeAttributes(loadOptions.getLoadedEdgeAttributes());
+
+        if(graphWorkspace.isEdgeOnlyGraph() && normalizeFilter(loadOptions.nodeFilter) != null){
+            warn("Node filter will be ignored, since " + graphWorkspace.getWorkspaceDbObject() + " has no vertex table");
+        }
+
+        if(loadOptions.sizeEstimate != null){
+            graphWorkspace.setExpectedSize(loadOptions.sizeEstimate.nodeCount, loadOptions.sizeEstimate.edgeCount);
+        }
+
+        loadWorkspaceContent(graphWorkspace, loadOptions);
+
+        if(this.connectionPool != null){
+            debug("Connection pool after loading " + graphWorkspace.getWorkspaceDbObject() + ": " + this.connectionPool);
         }
+        debug(String.format("Query result cache after loading %s: %s, hit ratio %.0f%%",
+                graphWorkspace.getWorkspaceDbObject(), this.resultCache, 100 * this.resultCache.getHitRatio()));
+
+        return graphWorkspace;
     }
 
     /**
-     * Loads the content of the node table for a HanaGraphWorkspace object with complete metadata
+     * Loads nodes and edges of a HanaGraphWorkspace object with complete metadata
      *
      * @param graphWorkspace    HANA Graph Workspace with complete metadata
+     * @param loadOptions       Options for the download
      */
-    private void loadNetworkNodes(HanaGraphWorkspace graphWorkspace) throws SQLException {
+    private void loadWorkspaceContent(HanaGraphWorkspace graphWorkspace, HanaLoadOptions loadOptions) throws SQLException {
+        if(graphWorkspace.isHeterogeneous()){
+            if(loadOptions.isSampling()){
+                warn("Sampling is not supported for heterogeneous workspaces. " + graphWorkspace.getWorkspaceDbObject() + " will be loaded completely.");
+            }
+            loadHeterogeneousContent(graphWorkspace, loadOptions);
+        } else if(loadOptions.isSampling()){
+            loadSample(graphWorkspace, loadOptions);
+        } else {
+            loadNetworkContent(graphWorkspace, loadOptions);
+        }
+    }
 
-        if(graphWorkspace.isEdgeOnlyGraph()) return;
+    /**
+     * Loads a graph workspace page by page in the order of the node and edge keys. Each page is
+     * passed to the handler as soon as it has been read, so that the graph can be shown before
+     * the download is complete. If possible, all pages are read within one transaction, so
+     * that they reflect the same snapshot of the database. If the read has to be resumed on
+     * a new session, the remaining pages are read with a newer snapshot; a warning tells
+     * so. If the load options ask for a
+     * sample, the sample is selected first and only the sampled nodes and edges are paged.
+     * The tables of heterogeneous workspaces are loaded at the same time and handed out
+     * in pages afterwards.
+     *
+     * @param graphWorkspace    Schema and Name of the workspace to be loaded
+     * @param loadOptions       Options for the download; parallelism is not applied
+     * @param pageHandler       Consumer of the pages
+     * @return                  HanaGraphWorkspace Object with the complete content
+     */
+    public HanaGraphWorkspace loadGraphWorkspaceProgressively(HanaDbObject graphWorkspace, HanaLoadOptions loadOptions, HanaGraphPageHandler pageHandler) throws SQLException, HanaConnectionManagerException, GraphInconsistencyException {
 
-        info("Loading network nodes of "+ graphWorkspace.getWorkspaceDbObject().toString());
+        HanaGraphWorkspace workspace = new HanaGraphWorkspace(graphWorkspace);
 
-        String fields = "";
-        ArrayList<HanaColumnInfo> fieldList = graphWorkspace.getNodeFieldList();
+        loadWorkspaceMetadata(workspace);
+        workspace.retainNodeAttributes(loadOptions.nodeAttributes);
+        workspace.retainEdgeAttributes(loadOptions.getLoadedEdgeAttributes());
+        if(loadOptions.sizeEstimate != null){
+            workspace.setExpectedSize(loadOptions.sizeEstimate.nodeCount, loadOptions.sizeEstimate.edgeCount);
+        }
+        workspace.clearNodeTable();
+        workspace.clearEdgeTable();
 
-        for(HanaColumnInfo col : fieldList){
-            fields += quoteIdentifier(col.name) + ",";
+        if(workspace.isEdgeOnlyGraph() && normalizeFilter(loadOptions.nodeFilter) != null){
+            warn("Node filter will be ignored, since " + workspace.getWorkspaceDbObject() + " has no vertex table");
         }
-        fields = fields.substring(0, fields.length()-1);
 
-        HanaQueryResult nodeTable = this.executeQueryList(String.format(
-                this.sqlStrings.getProperty("GENERIC_SELECT_PROJECTION"),
-                fields,
-                graphWorkspace.getNodeKeyColInfo().schema,
-                graphWorkspace.getNodeKeyColInfo().table
-        ), null);
+        if(workspace.isHeterogeneous()){
+            // tables are read at the same time, so pages are only handed out once all tables are complete
+            loadWorkspaceContent(workspace, loadOptions);
+            for(int i=0; i<workspace.getNodeTable().size(); i+=loadOptions.pageSize){
+                pageHandler.handleNodePage(workspace, new ArrayList<>(workspace.getNodeTable().subList(i, Math.min(i + loadOptions.pageSize, workspace.getNodeTable().size()))));
+            }
+            for(int i=0; i<workspace.getEdgeTable().size(); i+=loadOptions.pageSize){
+                pageHandler.handleEdgePage(workspace, new ArrayList<>(workspace.getEdgeTable().subList(i, Math.min(i + loadOptions.pageSize, workspace.getEdgeTable().size()))));
+            }
+            return workspace;
+        }
 
-        graphWorkspace.clearNodeTable();
-        // reflect types, that have actually been retrieved:
-        for(HanaColumnInfo colInfo: nodeTable.getColumnMetadata()){
-            graphWorkspace.getNodeFieldInfo(colInfo.name).dataType = colInfo.dataType;
+        int fetchSize = getEffectiveFetchSize(loadOptions);
+
+        // a sample or the ranked edges only exist on the session, that has selected them, so the read cannot be resumed elsewhere
+        boolean isSessionBound = loadOptions.isSampling() || loadOptions.isRankingEdges();
+        try (HanaConnectionPool.Lease session = this.connectionPool == null ? leaseSession() : leaseSnapshotSession();
+             ResumableRead read = new ResumableRead(session, isSessionBound ? 0 : loadOptions.maxResumeAttempts)){
+
+            List<String> tempTables = loadOptions.isSampling() ? createSample(session, workspace, loadOptions) : new ArrayList<>();
+            try {
+                HanaLoadOptions pageOptions = createTopEdges(session, workspace, loadOptions, tempTables);
+                if(workspace.isEdgeOnlyGraph()){
+                    // the vertex set is derived by a single query, that cannot be paged efficiently
+                    loadInferredNodes(read.getSession(), workspace, pageOptions, loadOptions.pageSize, page -> {
+                        workspace.getNodeTable().addAll(page);
+                        pageHandler.handleNodePage(workspace, page);
+                    });
+                } else {
+                    info("Loading network nodes of " + graphWorkspace + " in pages of " + loadOptions.pageSize + " rows");
+                    deferWideNodeColumns(read.getSession(), workspace, loadOptions);
+                    String projection = getNodeProjection(workspace);
+                    List<String> predicates = getNodePredicates(workspace, loadOptions);
+                    HanaKeysetCursor cursor = new HanaKeysetCursor(workspace.getNodeKeyColInfo().name, loadOptions.pageSize);
+                    int keyIndex = workspace.getEagerNodeFieldList().indexOf(workspace.getNodeKeyColInfo());
+                    Consumer<HanaColumnInfo[]> metadataHandler = getNodeMetadataHandler(workspace);
+                    Function<Object[], HanaNodeTableRow> rowMapper = getNodeRowMapper(workspace);
+
+                    while(!cursor.isExhausted()){
+                        List<HanaNodeTableRow> page = read.nextPage(() -> newSelectStatement(projection, predicates), cursor, keyIndex, fetchSize, metadataHandler, rowMapper);
+                        workspace.getNodeTable().addAll(page);
+                        if(!page.isEmpty()){
+                            pageHandler.handleNodePage(workspace, page);
+                        }
+                    }
+                }
+
+                info("Loading network edges of " + graphWorkspace + " in pages of " + loadOptions.pageSize + " rows");
+                deferWideEdgeColumns(read.getSession(), workspace, loadOptions);
+                String projection = getEdgeProjection(workspace);
+                List<String> predicates = getEdgePredicates(workspace, pageOptions);
+                HanaKeysetCursor cursor = new HanaKeysetCursor(workspace.getEdgeKeyColInfo().name, loadOptions.pageSize);
+                int keyIndex = workspace.getEagerEdgeFieldList().indexOf(workspace.getEdgeKeyColInfo());
+                Consumer<HanaColumnInfo[]> metadataHandler = getEdgeMetadataHandler(workspace);
+                Function<Object[], HanaEdgeTableRow> rowMapper = getEdgeRowMapper(workspace);
+
+                while(!cursor.isExhausted()){
+                    List<HanaEdgeTableRow> page = read.nextPage(() -> newSelectStatement(projection, predicates), cursor, keyIndex, fetchSize, metadataHandler, rowMapper);
+                    workspace.getEdgeTable().addAll(page);
+                    if(!page.isEmpty()){
+                        pageHandler.handleEdgePage(workspace, page);
+                    }
+                }
+            } finally {
+                dropSample(session, tempTables);
+            }
         }
 
-        for(Object[] row : nodeTable.getRecordList()){
-            HanaNodeTableRow newRow = new HanaNodeTableRow();
-            newRow.setKeyFieldName(graphWorkspace.getNodeKeyColInfo().name);
-            for(int i=0; i<row.length; i++){
-                newRow.addFieldValue(fieldList.get(i).name, row[i]);
+        return workspace;
+    }
+
+    /**
+     * Estimates the size of a download before any rows are transferred. Rows are counted with the
+     * catalog statistics of the column store, which also provide the uncompressed width of the
+     * downloaded columns. If filters apply or the statistics are not available (e.g. for row store
+     * tables), rows are counted by a query. Samples are estimated by scaling the complete workspace.
+     *
+     * @param graphWorkspace    Schema and Name of the workspace
+     * @param loadOptions       Options for the download
+     * @return                  Expected number of nodes and edges and their size
+     */
+    public HanaWorkspaceSizeEstimate estimateWorkspaceSize(HanaDbObject graphWorkspace, HanaLoadOptions loadOptions) throws SQLException, HanaConnectionManagerException {
+
+        HanaGraphWorkspace workspace = new HanaGraphWorkspace(graphWorkspace);
+        loadWorkspaceMetadata(workspace);
+        workspace.retainNodeAttributes(loadOptions.nodeAttributes);
+        workspace.retainEdgeAttributes(loadOptions.getLoadedEdgeAttributes());
+
+        // the sample has not been selected yet
+        HanaLoadOptions countOptions = new HanaLoadOptions(loadOptions);
+        countOptions.sampling = HanaSamplingStrategy.NONE;
+
+        List<HanaGraphWorkspace> vertexTables = workspace.getVertexTables();
+        List<HanaGraphWorkspace> edgeTables = workspace.getEdgeTables();
+        if(!workspace.isHeterogeneous()){
+            vertexTables = workspace.isEdgeOnlyGraph() ? Collections.emptyList() : Collections.singletonList(workspace);
+            edgeTables = Collections.singletonList(workspace);
+        }
+
+        HanaWorkspaceSizeEstimate estimate = new HanaWorkspaceSizeEstimate();
+        estimate.heterogeneous = workspace.isHeterogeneous();
+        estimate.nodeColumnCount = workspace.getNodeFieldList().size();
+        estimate.edgeColumnCount = workspace.getEdgeFieldList().size();
+
+        // filters with subqueries may read any table, so their counts are not cached
+        boolean hasSubqueries = isSubquery(loadOptions.nodeFilter) || isSubquery(loadOptions.edgeFilter);
+
+        try (HanaConnectionPool.Lease session = leaseSession()){
+            long nodeBytes = 0;
+            for(HanaGraphWorkspace table : vertexTables){
+                long[] size = estimateTableSize(session, table.getNodeKeyColInfo(), table.getNodeFieldList(), getNodePredicates(table, countOptions),
+                        hasSubqueries ? null : Collections.emptyList());
+                estimate.nodeCount += size[0];
+                nodeBytes += size[1];
+            }
+            long edgeBytes = 0;
+            for(HanaGraphWorkspace table : edgeTables){
+                // the node filter semi-joins the node table
+                List<HanaDbObject> joinedTables = normalizeFilter(countOptions.nodeFilter) != null && !table.isEdgeOnlyGraph()
+                        ? Collections.singletonList(new HanaDbObject(table.getNodeKeyColInfo().schema, table.getNodeKeyColInfo().table))
+                        : Collections.emptyList();
+                long[] size = estimateTableSize(session, table.getEdgeKeyColInfo(), table.getEdgeFieldList(), getEdgePredicates(table, countOptions),
+                        hasSubqueries ? null : joinedTables);
+                estimate.edgeCount += size[0];
+                edgeBytes += size[1];
+            }
+            estimate.nodeRowWidth = estimate.nodeCount > 0 ? nodeBytes / estimate.nodeCount : 0;
+            estimate.edgeRowWidth = estimate.edgeCount > 0 ? edgeBytes / estimate.edgeCount : 0;
+        }
+
+        if(vertexTables.isEmpty()){
+            // inferred nodes only consist of their key; each edge adds at most two of them, but as
+            // endpoints are mostly shared, about as many nodes as edges are expected
+            estimate.nodeCount = estimate.edgeCount;
+            estimate.nodeRowWidth = estimate.edgeColumnCount > 0 ? estimate.edgeRowWidth / estimate.edgeColumnCount : 0;
+            estimate.nodeColumnCount = 1;
+        }
+
+        if(loadOptions.isSampling() && !workspace.isHeterogeneous()){
+            double fraction = loadOptions.samplingPercentage / 100d;
+            switch (loadOptions.sampling){
+                case RANDOM_NODES:
+                case RANDOM_EDGES:
+                    estimate.scale(fraction, fraction);
+                    break;
+                default:
+                    if(loadOptions.maxSampleNodes > 0 && estimate.nodeCount > 0){
+                        fraction = loadOptions.maxSampleNodes / (double) estimate.nodeCount;
+                        estimate.scale(fraction, fraction);
+                    }
             }
-            graphWorkspace.getNodeTable().add(newRow);
         }
+
+        info("Estimated size of " + graphWorkspace + ": " + estimate);
+        return estimate;
     }
 
     /**
-     * Loads the content of the edge table for a HanaGraphWorkspace object with complete metadata
+     * Plans the download of a graph workspace from its estimated size, the round trip time
+     * and the free heap. Filters, attributes and samples of the requested options are kept.
      *
-     * @param graphWorkspace    HANA Graph Workspace with complete metadata
+     * @param graphWorkspace    Schema and Name of the workspace
+     * @param loadOptions       Options, that have been requested by the user
+     * @return                  Plan with the options for the download
      */
-    private void loadNetworkEdges(HanaGraphWorkspace graphWorkspace) throws SQLException {
-        info("Loading network edges of "+ graphWorkspace.getWorkspaceDbObject().toString());
-        String fields = "";
-        ArrayList<HanaColumnInfo> fieldList = graphWorkspace.getEdgeFieldList();
+    public HanaLoadPlan planLoad(HanaDbObject graphWorkspace, HanaLoadOptions loadOptions) throws SQLException, HanaConnectionManagerException {
+        HanaWorkspaceSizeEstimate estimate = estimateWorkspaceSize(graphWorkspace, loadOptions);
+        HanaLoadPlan plan = new HanaLoadPlan(
+                loadOptions,
+                estimate,
+                measureRoundTrip(),
+                HanaWorkspaceSizeEstimate.getAvailableHeapBytes(),
+                this.connectionPool == null ? 1 : this.connectionPool.getMaxSize()
+        );
+        info("Load plan for " + graphWorkspace + ": " + plan);
+        return plan;
+    }
 
-        for(HanaColumnInfo col : fieldList){
-            fields += quoteIdentifier(col.name) + ",";
+    /**
+     * @param session       Session to query the catalog with
+     * @param keyColInfo    Key column of the table
+     * @param fieldList     Columns, that will be downloaded
+     * @param predicates    Predicates, that the downloaded rows have to satisfy
+     * @param joinedTables  Further tables, that the predicates read; null, if they are not known,
+     *                      so that a count by query is not cached
+     * @return              Expected number of rows and their total width in bytes
+     */
+    private long[] estimateTableSize(HanaConnectionPool.Lease session, HanaColumnInfo keyColInfo, List<HanaColumnInfo> fieldList, List<String> predicates,
+                                     List<HanaDbObject> joinedTables) throws SQLException {
+        HanaDbObject table = new HanaDbObject(keyColInfo.schema, keyColInfo.table);
+        long catalogRowCount = -1;
+        long uncompressedSize = 0;
+
+        try {
+            List<HanaSqlParameter> params = new ArrayList<>();
+            for(String name : new String[]{table.schema, table.name, table.schema, table.name}){
+                params.add(new HanaSqlParameter(name, Types.VARCHAR));
+            }
+            for(HanaColumnInfo colInfo : fieldList){
+                params.add(new HanaSqlParameter(colInfo.name, Types.VARCHAR));
+            }
+            HanaQueryResult statistics = this.executeQueryList(
+                    session,
+                    String.format(this.sqlStrings.getProperty("ESTIMATE_TABLE_SIZE"), String.join(", ", Collections.nCopies(fieldList.size(), "?"))),
+                    params.toArray(new HanaSqlParameter[0])
+            );
+            if(statistics.getRecordCount() > 0 && !statistics.isNull(0, 0)){
+                catalogRowCount = statistics.getLong(0, 0);
+                uncompressedSize = statistics.isNull(0, 1) ? 0 : statistics.getLong(0, 1);
+            }
+        } catch (SQLException e){
+            HanaCancellationToken.checkCurrent();
+            // e.g. missing privileges on monitoring views
+            warn("Could not read catalog statistics of " + table + ". Counting rows instead.");
         }
-        fields = fields.substring(0, fields.length()-1);
 
-        HanaQueryResult edgeTable = this.executeQueryList(String.format(
-                this.sqlStrings.getProperty("GENERIC_SELECT_PROJECTION"),
-                fields,
-                graphWorkspace.getEdgeKeyColInfo().schema,
-                graphWorkspace.getEdgeKeyColInfo().table
-        ), null);
+        long rowCount = catalogRowCount;
+        if(rowCount < 0 || !predicates.isEmpty()){
+            String projection = String.format(this.sqlStrings.getProperty("GENERIC_SELECT_PROJECTION"), "COUNT(*)", table.schema, table.name);
+            // the count is valid as long as none of the tables, that it reads, has changed
+            String version = joinedTables == null ? null : readTableDataVersion(session, table);
+            for(int i = 0; version != null && i < joinedTables.size(); i++){
+                String joinedVersion = readTableDataVersion(session, joinedTables.get(i));
+                version = joinedVersion == null ? null : version + "|" + joinedVersion;
+            }
+            HanaQueryResult count = this.executeQueryListCached(session, newSelectStatement(projection, predicates).getSql(), null, version);
+            rowCount = count.getLong(0, 0);
+        }
 
-        graphWorkspace.clearEdgeTable();
-        // reflect types, that have actually been retrieved:
-        for(HanaColumnInfo colInfo: edgeTable.getColumnMetadata()){
-            graphWorkspace.getEdgeFieldInfo(colInfo.name).dataType = colInfo.dataType;
+        // columns, that have not been loaded into memory yet, do not report their size
+        long rowWidth = catalogRowCount > 0 && uncompressedSize > 0
+                ? uncompressedSize / catalogRowCount
+                : HanaFetchSizePolicy.DEFAULT_ROW_WIDTH;
+        return new long[]{rowCount, rowCount * rowWidth};
+    }
+
+    /**
+     * Loads the column layout of a graph workspace without its content, e.g. for
+     * choosing the attributes to download
+     *
+     * @param graphWorkspace    Schema and Name of the workspace
+     * @return                  HanaGraphWorkspace Object with metadata only
+     */
+    public HanaGraphWorkspace loadGraphWorkspaceMetadata(HanaDbObject graphWorkspace) throws SQLException, HanaConnectionManagerException {
+        HanaGraphWorkspace metadataOnly = new HanaGraphWorkspace(graphWorkspace);
+        loadWorkspaceMetadata(metadataOnly);
+        return metadataOnly;
+    }
+
+    /**
+     * Loads a summary of the graph workspace, in which nodes are grouped by the values of the
+     * grouping columns on the database. Each group becomes a supernode with the number of its
+     * members and the averages of numeric node attributes. The edges between two groups become
+     * a superedge with the number of edges and the sums of numeric edge attributes. Only the
+     * summary is transferred; filters, time window and sparsification are applied before grouping.
+     *
+     * @param graphWorkspace    Schema and Name of the workspace
+     * @param loadOptions       Options with the grouping columns
+     * @return                  Supernodes and superedges
+     */
+    public HanaGraphWorkspace loadSupergraph(HanaDbObject graphWorkspace, HanaLoadOptions loadOptions) throws SQLException, HanaConnectionManagerException {
+        HanaGraphWorkspace workspace = new HanaGraphWorkspace(graphWorkspace);
+        loadWorkspaceMetadata(workspace);
+        if(workspace.isHeterogeneous() || workspace.isEdgeOnlyGraph()){
+            throw new HanaConnectionManagerException("Grouping nodes is only supported for graph workspaces with a single vertex table");
+        }
+        for(String column : loadOptions.groupByColumns){
+            if(workspace.getNodeFieldInfo(column) == null){
+                throw new HanaConnectionManagerException("Vertex table of " + graphWorkspace + " has no column " + column);
+            }
         }
 
-        for(Object[] row : edgeTable.getRecordList()){
-            HanaEdgeTableRow newRow = new HanaEdgeTableRow();
-            newRow.setKeyFieldName(graphWorkspace.getEdgeKeyColInfo().name);
-            newRow.setSourceFieldName(graphWorkspace.getEdgeSourceColInfo().name);
-            newRow.setTargetFieldName(graphWorkspace.getEdgeTargetColInfo().name);
-            for(int i=0; i<row.length; i++){
-                newRow.addFieldValue(fieldList.get(i).name, row[i]);
+        HanaLoadOptions summaryOptions = new HanaLoadOptions(loadOptions);
+        if(summaryOptions.isSampling()){
+            warn("Sampling will be ignored, since the nodes of " + graphWorkspace + " are grouped");
+            summaryOptions.sampling = HanaSamplingStrategy.NONE;
+        }
+        if(summaryOptions.nodeAttributes != null){
+            // grouping columns are kept, even if they have not been selected as attributes
+            summaryOptions.nodeAttributes = new HashSet<>(summaryOptions.nodeAttributes);
+            summaryOptions.nodeAttributes.addAll(summaryOptions.groupByColumns);
+        }
+        workspace.retainNodeAttributes(summaryOptions.nodeAttributes);
+        workspace.retainEdgeAttributes(summaryOptions.getLoadedEdgeAttributes());
+
+        HanaGraphWorkspace supergraph = new HanaGraphWorkspace(graphWorkspace);
+        try (HanaConnectionPool.Lease session = leaseSession()){
+            // column types decide, which attributes can be aggregated
+            describeColumns(session, workspace.getNodeKeyColInfo(), workspace.getNodeFieldList(), getNodeMetadataHandler(workspace));
+            describeColumns(session, workspace.getEdgeKeyColInfo(), workspace.getEdgeFieldList(), getEdgeMetadataHandler(workspace));
+
+            loadSupernodes(session, workspace, summaryOptions, supergraph);
+            loadSuperedges(session, workspace, summaryOptions, supergraph);
+        }
+
+        info("Grouped " + graphWorkspace + " by " + String.join(", ", loadOptions.groupByColumns) + " into "
+                + supergraph.getNodeTable().size() + " supernodes and " + supergraph.getEdgeTable().size() + " superedges");
+        return supergraph;
+    }
+
+    /**
+     * Aggregates the nodes of each group into a supernode
+     *
+     * @param session       Session to read the groups with
+     * @param workspace     HANA Graph Workspace with complete metadata and known column types
+     * @param loadOptions   Options with the grouping columns
+     * @param supergraph    Workspace, that the supernodes are added to
+     */
+    private void loadSupernodes(HanaConnectionPool.Lease session, HanaGraphWorkspace workspace, HanaLoadOptions loadOptions, HanaGraphWorkspace supergraph) throws SQLException {
+        HanaColumnInfo keyColInfo = workspace.getNodeKeyColInfo();
+        List<String> projection = new ArrayList<>();
+
+        supergraph.addNodeKeyCol(new HanaColumnInfo(keyColInfo.schema, keyColInfo.table, HanaGraphWorkspace.GROUP_KEY_COL, Types.NVARCHAR, true, true));
+        projection.add(String.format(
+                this.sqlStrings.getProperty("COLUMN_ALIAS"),
+                getGroupKeyExpression(loadOptions.groupByColumns),
+                quoteIdentifier(HanaGraphWorkspace.GROUP_KEY_COL)
+        ));
+
+        List<String> groupColumns = new ArrayList<>();
+        for(String column : loadOptions.groupByColumns){
+            supergraph.addNodeAttributeCol(workspace.getNodeFieldInfo(column));
+            groupColumns.add(quoteIdentifier(column));
+        }
+        projection.addAll(groupColumns);
+
+        supergraph.addNodeAttributeCol(new HanaColumnInfo(keyColInfo.schema, keyColInfo.table, HanaGraphWorkspace.MEMBER_COUNT_COL, Types.BIGINT));
+        projection.add(String.format(this.sqlStrings.getProperty("AGGREGATE_COUNT"), quoteIdentifier(HanaGraphWorkspace.MEMBER_COUNT_COL)));
+
+        for(HanaColumnInfo colInfo : workspace.getNodeFieldList()){
+            if(colInfo.name.equals(keyColInfo.name) || loadOptions.groupByColumns.contains(colInfo.name) || !colInfo.dataType.isNumeric()){
+                continue;
             }
-            graphWorkspace.getEdgeTable().add(newRow);
+            String averageCol = HanaGraphWorkspace.AVERAGE_COL_PREFIX + colInfo.name;
+            supergraph.addNodeAttributeCol(new HanaColumnInfo(keyColInfo.schema, keyColInfo.table, averageCol, Types.DOUBLE));
+            projection.add(String.format(this.sqlStrings.getProperty("AGGREGATE_AVG"), quoteIdentifier(colInfo.name), quoteIdentifier(averageCol)));
         }
+
+        HanaSelectStatement select = newSelectStatement(
+                String.format(this.sqlStrings.getProperty("GENERIC_SELECT_PROJECTION"), String.join(", ", projection), keyColInfo.schema, keyColInfo.table),
+                getNodePredicates(workspace, loadOptions)
+        ).groupBy(String.join(", ", groupColumns));
+
+        // types of the aggregates are fixed by the projection
+        Function<Object[], HanaNodeTableRow> rowMapper = getNodeRowMapper(supergraph);
+        this.executeQueryStream(session, select.getSql(), select.getParameters(), this.fetchSize,
+                row -> supergraph.getNodeTable().add(rowMapper.apply(row)));
     }
 
     /**
-     * Loads the complete graph workspace (i.e. metadata, nodes, edges)
-     * into a new instance of HanaGraphWorkspace
+     * Aggregates the edges between each pair of groups into a superedge
      *
-     * @param schema                Schema of the workspace to be loaded
-     * @param graphWorkspaceName    Name of the workspace to be loaded
-     * @return                      HanaGraphWorkspace Object
+     * @param session       Session to read the groups with
+     * @param workspace     HANA Graph Workspace with complete metadata and known column types
+     * @param loadOptions   Options with the grouping columns
+     * @param supergraph    Workspace, that the superedges are added to
      */
-    public HanaGraphWorkspace loadGraphWorkspace(String schema, String graphWorkspaceName) throws SQLException, HanaConnectionManagerException, GraphInconsistencyException {
+    private void loadSuperedges(HanaConnectionPool.Lease session, HanaGraphWorkspace workspace, HanaLoadOptions loadOptions, HanaGraphWorkspace supergraph) throws SQLException {
+        HanaColumnInfo edgeKeyColInfo = workspace.getEdgeKeyColInfo();
+        HanaColumnInfo nodeKeyColInfo = workspace.getNodeKeyColInfo();
+        String sourceCol = workspace.getEdgeSourceColInfo().name;
+        String targetCol = workspace.getEdgeTargetColInfo().name;
+
+        supergraph.addEdgeKeyCol(new HanaColumnInfo(edgeKeyColInfo.schema, edgeKeyColInfo.table, HanaGraphWorkspace.SUPEREDGE_KEY_COL, Types.NVARCHAR, true, true));
+        supergraph.addEdgeSourceCol(new HanaColumnInfo(edgeKeyColInfo.schema, edgeKeyColInfo.table, HanaGraphWorkspace.SOURCE_GROUP_COL, Types.NVARCHAR, false, true));
+        supergraph.addEdgeTargetCol(new HanaColumnInfo(edgeKeyColInfo.schema, edgeKeyColInfo.table, HanaGraphWorkspace.TARGET_GROUP_COL, Types.NVARCHAR, false, true));
+        supergraph.addEdgeAttributeCol(new HanaColumnInfo(edgeKeyColInfo.schema, edgeKeyColInfo.table, HanaGraphWorkspace.EDGE_COUNT_COL, Types.BIGINT));
+
+        List<String> edgeColumns = new ArrayList<>();
+        edgeColumns.add(quoteIdentifier(sourceCol));
+        edgeColumns.add(quoteIdentifier(targetCol));
+        List<String> aggregates = new ArrayList<>();
+        aggregates.add(String.format(this.sqlStrings.getProperty("AGGREGATE_COUNT"), quoteIdentifier(HanaGraphWorkspace.EDGE_COUNT_COL)));
+
+        for(HanaColumnInfo colInfo : workspace.getEdgeFieldList()){
+            if(colInfo.name.equals(edgeKeyColInfo.name) || colInfo.name.equals(sourceCol) || colInfo.name.equals(targetCol) || !colInfo.dataType.isNumeric()){
+                continue;
+            }
+            String sumCol = HanaGraphWorkspace.SUM_COL_PREFIX + colInfo.name;
+            supergraph.addEdgeAttributeCol(new HanaColumnInfo(edgeKeyColInfo.schema, edgeKeyColInfo.table, sumCol, Types.DOUBLE));
+            edgeColumns.add(quoteIdentifier(colInfo.name));
+            aggregates.add(String.format(this.sqlStrings.getProperty("AGGREGATE_SUM"), "E." + quoteIdentifier(colInfo.name), quoteIdentifier(sumCol)));
+        }
 
-        HanaGraphWorkspace graphWorkspace =
-                new HanaGraphWorkspace(new HanaDbObject(schema, graphWorkspaceName));
+        String edges = newSelectStatement(
+                String.format(this.sqlStrings.getProperty("GENERIC_SELECT_PROJECTION"), String.join(", ", edgeColumns), edgeKeyColInfo.schema, edgeKeyColInfo.table),
+                getEdgePredicates(workspace, loadOptions)
+        ).getSql();
+
+        String groupKeyCol = quoteIdentifier(HanaGraphWorkspace.GROUP_KEY_COL);
+        String groups = newSelectStatement(
+                String.format(
+                        this.sqlStrings.getProperty("GENERIC_SELECT_PROJECTION"),
+                        quoteIdentifier(nodeKeyColInfo.name) + ", " + String.format(this.sqlStrings.getProperty("COLUMN_ALIAS"), getGroupKeyExpression(loadOptions.groupByColumns), groupKeyCol),
+                        nodeKeyColInfo.schema,
+                        nodeKeyColInfo.table
+                ),
+                getNodePredicates(workspace, loadOptions)
+        ).getSql();
+
+        String select = String.format(
+                this.sqlStrings.getProperty("SELECT_SUPEREDGES"),
+                quoteIdentifier(HanaGraphWorkspace.SUPEREDGE_KEY_COL),
+                groupKeyCol,
+                quoteIdentifier(HanaGraphWorkspace.SOURCE_GROUP_COL),
+                quoteIdentifier(HanaGraphWorkspace.TARGET_GROUP_COL),
+                String.join(", ", aggregates),
+                edges,
+                groups,
+                quoteIdentifier(sourceCol),
+                quoteIdentifier(targetCol),
+                quoteIdentifier(nodeKeyColInfo.name)
+        );
 
-        loadWorkspaceMetadata(graphWorkspace);
-        loadNetworkNodes(graphWorkspace);
-        loadNetworkEdges(graphWorkspace);
+        Function<Object[], HanaEdgeTableRow> rowMapper = getEdgeRowMapper(supergraph);
+        this.executeQueryStream(session, select, null, this.fetchSize,
+                row -> supergraph.getEdgeTable().add(rowMapper.apply(row)));
+    }
 
-        if(graphWorkspace.isEdgeOnlyGraph()){
-            graphWorkspace.inferNodesFromEdges();
+    /**
+     * @param groupByColumns    Node columns, that the nodes are grouped by
+     * @return                  Expression, that yields the key of the group of a node
+     */
+    private String getGroupKeyExpression(List<String> groupByColumns) {
+        List<String> values = new ArrayList<>();
+        for(String column : groupByColumns){
+            values.add(String.format(this.sqlStrings.getProperty("GROUP_KEY_VALUE"), quoteIdentifier(column)));
         }
+        return String.join(" || " + this.sqlStrings.getProperty("GROUP_KEY_SEPARATOR") + " || ", values);
+    }
 
-        return graphWorkspace;
+    /**
+     * Loads the members of a supernode and the edges between them. The group is added to the
+     * node filter, so that all other options of the supergraph apply to the members as well.
+     *
+     * @param graphWorkspace    Schema and Name of the workspace
+     * @param loadOptions       Options, that the supergraph has been loaded with
+     * @param groupKey          Key of the supernode
+     * @return                  Member nodes and their internal edges
+     */
+    public HanaGraphWorkspace loadGroupMembers(HanaDbObject graphWorkspace, HanaLoadOptions loadOptions, String groupKey) throws SQLException, HanaConnectionManagerException, GraphInconsistencyException {
+        String groupFilter = String.format(
+                this.sqlStrings.getProperty("FILTER_GROUP_KEY"),
+                getGroupKeyExpression(loadOptions.groupByColumns),
+                quoteLiteral(groupKey)
+        );
+        String nodeFilter = normalizeFilter(loadOptions.nodeFilter);
+
+        HanaLoadOptions memberOptions = new HanaLoadOptions(loadOptions);
+        memberOptions.nodeFilter = nodeFilter == null ? groupFilter : "(" + nodeFilter + ") AND (" + groupFilter + ")";
+        memberOptions.groupByColumns = null;
+        memberOptions.sampling = HanaSamplingStrategy.NONE;
+        // members are added to the network at once
+        memberOptions.deferWideColumns = false;
+
+        return loadGraphWorkspace(graphWorkspace.schema, graphWorkspace.name, memberOptions);
+    }
+
+    /**
+     * Loads the changes of the edges between the time window of the load options and the next
+     * window, so that a network can be moved to the next window without loading it again. Only
+     * the edges, that enter the graph, are downloaded completely; of the edges, that leave it,
+     * only the keys are read. Nodes are not affected by the time window.
+     *
+     * @param graphWorkspace    Schema and Name of the workspace
+     * @param loadOptions       Options, that the network has been loaded with, including the current window
+     * @param nextWindow        Window to move to
+     * @return                  Entered and left edges
+     */
+    public HanaTimeWindowChanges loadTimeWindowChanges(HanaDbObject graphWorkspace, HanaLoadOptions loadOptions, HanaTimeWindow nextWindow) throws SQLException, HanaConnectionManagerException {
+        if(!loadOptions.isTimeWindowed() || loadOptions.isSampling() || loadOptions.isSparsifying()){
+            throw new HanaConnectionManagerException("Changes between time windows can only be loaded for complete time windows");
+        }
+
+        HanaGraphWorkspace workspace = new HanaGraphWorkspace(graphWorkspace);
+        loadWorkspaceMetadata(workspace);
+        if(workspace.isHeterogeneous()){
+            throw new HanaConnectionManagerException("Changes between time windows are not supported for heterogeneous workspaces");
+        }
+        workspace.retainNodeAttributes(loadOptions.nodeAttributes);
+        workspace.retainEdgeAttributes(loadOptions.getLoadedEdgeAttributes());
+
+        HanaTimeWindowChanges changes = new HanaTimeWindowChanges();
+        changes.timeWindow = nextWindow;
+        changes.enteredEdges = workspace;
+        changes.leftEdgeKeys = new ArrayList<>();
+
+        HanaLoadOptions enteredOptions = new HanaLoadOptions(loadOptions);
+        enteredOptions.timeWindow = nextWindow;
+        enteredOptions.excludedTimeWindow = loadOptions.timeWindow;
+        // the changes are applied to the network at once
+        enteredOptions.deferWideColumns = false;
+
+        HanaLoadOptions leftOptions = new HanaLoadOptions(loadOptions);
+        leftOptions.timeWindow = loadOptions.timeWindow;
+        leftOptions.excludedTimeWindow = nextWindow;
+
+        HanaColumnInfo keyColInfo = workspace.getEdgeKeyColInfo();
+        String keyProjection = String.format(
+                this.sqlStrings.getProperty("GENERIC_SELECT_PROJECTION"),
+                quoteIdentifier(keyColInfo.name),
+                keyColInfo.schema,
+                keyColInfo.table
+        );
+
+        try (HanaConnectionPool.Lease session = leaseSession()){
+            workspace.clearNodeTable();
+            loadNetworkEdges(session, workspace, enteredOptions);
+
+            HanaSelectStatement leftEdges = newSelectStatement(keyProjection, getEdgePredicates(workspace, leftOptions));
+            this.executeQueryStream(session, leftEdges.getSql(), leftEdges.getParameters(), this.fetchSize,
+                    row -> changes.leftEdgeKeys.add(toStrNull(row[0])));
+        }
+
+        info("Moving " + graphWorkspace + " to " + nextWindow + ": " + workspace.getEdgeTable().size()
+                + " edges entered, " + changes.leftEdgeKeys.size() + " edges left");
+        return changes;
     }
 
     /**
@@ -479,6 +3253,99 @@ public class HanaConnectionManager {
         return loadGraphWorkspace(graphWorkspace.schema, graphWorkspace.name);
     }
 
+    /**
+     * Loads the complete graph workspace (i.e. metadata, nodes, edges)
+     * into a new instance of HanaGraphWorkspace
+     *
+     * @param graphWorkspace    Schema and Name of the workspace to be loaded
+     * @param loadOptions       Options for the download
+     * @return                  HanaGraphWorkspace Object
+     */
+    public HanaGraphWorkspace loadGraphWorkspace(HanaDbObject graphWorkspace, HanaLoadOptions loadOptions) throws SQLException, HanaConnectionManagerException, GraphInconsistencyException {
+        return loadGraphWorkspace(graphWorkspace.schema, graphWorkspace.name, loadOptions);
+    }
+
+    /**
+     * Asynchronous version of {@link #loadGraphWorkspaceMetadata(HanaDbObject)}
+     *
+     * @param graphWorkspace    Schema and Name of the workspace
+     * @return                  Future of the workspace with metadata only
+     */
+    public CompletableFuture<HanaGraphWorkspace> loadGraphWorkspaceMetadataAsync(HanaDbObject graphWorkspace) {
+        return this.asyncExecutor.submit(() -> loadGraphWorkspaceMetadata(graphWorkspace));
+    }
+
+    /**
+     * Loads the node table of a workspace in the background. The nodes are stored in the
+     * workspace, so node and edge table must not be loaded into different workspace objects.
+     *
+     * @param graphWorkspace    HANA Graph Workspace with complete metadata
+     * @param loadOptions       Options for the download
+     * @return                  Future of the loaded nodes
+     */
+    public CompletableFuture<List<HanaNodeTableRow>> loadNetworkNodesAsync(HanaGraphWorkspace graphWorkspace, HanaLoadOptions loadOptions) {
+        return this.asyncExecutor.submit(() -> {
+            try (HanaConnectionPool.Lease session = leaseSession()){
+                loadNetworkNodes(session, graphWorkspace, loadOptions);
+            }
+            return graphWorkspace.getNodeTable();
+        });
+    }
+
+    /**
+     * Loads the edge table of a workspace in the background. The edges are stored in the workspace.
+     *
+     * @param graphWorkspace    HANA Graph Workspace with complete metadata
+     * @param loadOptions       Options for the download
+     * @return                  Future of the loaded edges
+     */
+    public CompletableFuture<List<HanaEdgeTableRow>> loadNetworkEdgesAsync(HanaGraphWorkspace graphWorkspace, HanaLoadOptions loadOptions) {
+        return this.asyncExecutor.submit(() -> {
+            try (HanaConnectionPool.Lease session = leaseSession()){
+                loadNetworkEdges(session, graphWorkspace, loadOptions);
+            }
+            return graphWorkspace.getEdgeTable();
+        });
+    }
+
+    /**
+     * Asynchronous version of {@link #loadDeferredAttributes(HanaColumnInfo, List, Collection)}
+     *
+     * @param keyColInfo        Key column of the node or edge table
+     * @param deferredColumns   Columns to fetch
+     * @param keys              Keys of the nodes or edges
+     * @return                  Future of the values by the string representation of the key
+     */
+    public CompletableFuture<Map<String, Map<String, Object>>> loadDeferredAttributesAsync(HanaColumnInfo keyColInfo, List<HanaColumnInfo> deferredColumns, Collection<?> keys) {
+        return this.asyncExecutor.submit(() -> loadDeferredAttributes(keyColInfo, deferredColumns, keys));
+    }
+
+    /**
+     * Asynchronous version of {@link #loadGraphWorkspace(HanaDbObject, HanaLoadOptions)}
+     *
+     * @param graphWorkspace    Schema and Name of the workspace to be loaded
+     * @param loadOptions       Options for the download
+     * @return                  Future of the loaded workspace
+     */
+    public CompletableFuture<HanaGraphWorkspace> loadGraphWorkspaceAsync(HanaDbObject graphWorkspace, HanaLoadOptions loadOptions) {
+        return this.asyncExecutor.submit(() -> loadGraphWorkspace(graphWorkspace, loadOptions));
+    }
+
+    /**
+     * Asynchronous version of {@link #bulkInsertData(HanaDbObject, List, List)}
+     *
+     * @param targetTable       Schema and name of the target table
+     * @param columnInfoList    List of relevant columns
+     * @param data              Data for the relevant columns
+     * @return                  Future, that completes once all records have been inserted
+     */
+    public CompletableFuture<Void> bulkInsertDataAsync(HanaDbObject targetTable, List<HanaColumnInfo> columnInfoList, List<Map<String, Object>> data) {
+        return this.asyncExecutor.submit(() -> {
+            bulkInsertData(targetTable, columnInfoList, data);
+            return null;
+        });
+    }
+
     /**
      *  Determines if a schema is existing on the instance
      *
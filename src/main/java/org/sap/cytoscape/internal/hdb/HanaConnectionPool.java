@@ -0,0 +1,470 @@
+package org.sap.cytoscape.internal.hdb;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.sap.cytoscape.internal.utils.CyLogging.*;
+
+/**
+ * Bounded pool of sessions to a SAP HANA database. Opening a session to HANA Cloud
+ * involves TLS (and possibly proxy) handshakes, that may take seconds, so sessions
+ * are kept open and re-used. Sessions that have been idle for a while are validated
+ * before they are leased again. Sessions that exceed the idle timeout are closed in the
+ * background, so that they do not hold resources on the database while the pool is
+ * not used. Each session keeps a cache of its prepared statements.
+ */
+public class HanaConnectionPool implements AutoCloseable {
+
+    public static final int DEFAULT_MAX_SIZE = 16;
+
+    public static final long DEFAULT_IDLE_TIMEOUT_MILLIS = 5 * 60 * 1000L;
+
+    public static final long DEFAULT_LEASE_TIMEOUT_MILLIS = 2 * 60 * 1000L;
+
+    /**
+     * Idle sessions will be validated before leasing them, if they have not been used for this time
+     */
+    static final long VALIDATION_INTERVAL_MILLIS = 30 * 1000L;
+
+    /**
+     * Timeout in seconds for validating a session
+     */
+    static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    /**
+     * Shortest interval, in which idle sessions are evicted in the background
+     */
+    static final long MIN_EVICTION_INTERVAL_MILLIS = 1000L;
+
+    /**
+     * Evicts idle sessions of all pools; a single daemon thread suffices, since eviction only closes sessions
+     */
+    private static final ScheduledExecutorService EVICTOR = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "hana-pool-evictor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Opens a new session to the database
+     */
+    @FunctionalInterface
+    public interface ConnectionFactory {
+        Connection open() throws SQLException;
+    }
+
+    /**
+     * Session that is owned by the pool
+     */
+    private static class PooledSession {
+        final Connection connection;
+        final int defaultIsolation;
+        final HanaStatementCache statementCache;
+        long lastUsedMillis;
+
+        PooledSession(Connection connection, int defaultIsolation, HanaStatementCache.Statistics statementStatistics){
+            this.connection = connection;
+            this.defaultIsolation = defaultIsolation;
+            this.statementCache = new HanaStatementCache(connection, HanaStatementCache.DEFAULT_CAPACITY, statementStatistics);
+            this.lastUsedMillis = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Grants exclusive use of a session until it is closed. Closing the lease
+     * returns the session to the pool.
+     */
+    public static class Lease implements AutoCloseable {
+
+        private final HanaConnectionPool pool;
+
+        private PooledSession session;
+
+        private boolean invalid;
+
+        private Lease(HanaConnectionPool pool, PooledSession session){
+            this.pool = pool;
+            this.session = session;
+            this.invalid = false;
+        }
+
+        /**
+         * Wraps a connection that is not owned by a pool. Closing the lease will
+         * neither close nor reset the connection, but close the statements
+         * that have been prepared through the lease.
+         *
+         * @param connection    Connection to wrap
+         * @return              Lease of the connection
+         */
+        public static Lease unpooled(Connection connection){
+            return new Lease(null, new PooledSession(connection, Connection.TRANSACTION_READ_COMMITTED, new HanaStatementCache.Statistics()));
+        }
+
+        public Connection getConnection(){
+            return getSession().connection;
+        }
+
+        /**
+         * Prepares a statement on the session or re-uses a cached one
+         *
+         * @param sql   SQL text of the statement
+         * @return      Prepared statement, that has to be closed after use
+         */
+        public HanaStatementCache.CachedStatement prepareStatement(String sql) throws SQLException {
+            return getSession().statementCache.prepare(sql);
+        }
+
+        private PooledSession getSession(){
+            if(this.session == null){
+                throw new IllegalStateException("Lease has already been returned");
+            }
+            return this.session;
+        }
+
+        /**
+         * Marks the session as broken, so that it will be closed instead of being re-used
+         */
+        public void invalidate(){
+            this.invalid = true;
+        }
+
+        @Override
+        public void close(){
+            if(this.session != null && this.pool != null){
+                this.pool.giveBack(this.session, this.invalid);
+            } else if(this.session != null){
+                this.session.statementCache.close();
+            }
+            this.session = null;
+        }
+    }
+
+    private final ConnectionFactory connectionFactory;
+
+    private final int maxSize;
+
+    private final long idleTimeoutMillis;
+
+    private final Semaphore permits;
+
+    /**
+     * Idle sessions; most recently used first
+     */
+    private final Deque<PooledSession> idleSessions;
+
+    private volatile boolean closed;
+
+    private final ScheduledFuture<?> eviction;
+
+    private final AtomicInteger nActive = new AtomicInteger();
+
+    private final AtomicLong nCreated = new AtomicLong();
+
+    private final AtomicLong nLeased = new AtomicLong();
+
+    private final AtomicLong nEvicted = new AtomicLong();
+
+    private final AtomicLong nValidationFailures = new AtomicLong();
+
+    private final AtomicLong nTimeouts = new AtomicLong();
+
+    private final AtomicLong waitNanos = new AtomicLong();
+
+    private final HanaStatementCache.Statistics statementStatistics = new HanaStatementCache.Statistics();
+
+    /**
+     * @param connectionFactory Opens new sessions
+     * @param maxSize           Maximum number of sessions, that are open at the same time
+     * @param idleTimeoutMillis Sessions that are idle for longer will be closed; checked at half this interval
+     */
+    public HanaConnectionPool(ConnectionFactory connectionFactory, int maxSize, long idleTimeoutMillis){
+        this.connectionFactory = connectionFactory;
+        this.maxSize = Math.max(1, maxSize);
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.permits = new Semaphore(this.maxSize, true);
+        this.idleSessions = new ArrayDeque<>();
+        this.closed = false;
+
+        long evictionInterval = Math.max(MIN_EVICTION_INTERVAL_MILLIS, idleTimeoutMillis / 2);
+        this.eviction = EVICTOR.scheduleWithFixedDelay(this::evictIdleQuietly, evictionInterval, evictionInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Leases a session. Waits for the default lease timeout, if all sessions are in use.
+     *
+     * @return  Lease of a valid session
+     */
+    public Lease lease() throws SQLException {
+        return lease(DEFAULT_LEASE_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * Leases a session. Idle sessions will be re-used; a new session will only be opened,
+     * if there is no idle one.
+     *
+     * @param timeoutMillis Maximum time to wait, if all sessions are in use
+     * @return              Lease of a valid session
+     */
+    public Lease lease(long timeoutMillis) throws SQLException {
+        if(this.closed){
+            throw new SQLException("Connection pool has been closed");
+        }
+
+        long waitStart = System.nanoTime();
+        try {
+            if(!this.permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)){
+                this.nTimeouts.incrementAndGet();
+                throw new SQLException("No database session available within " + timeoutMillis + "ms (" + this.maxSize + " sessions in use)");
+            }
+        } catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database session", e);
+        }
+        this.waitNanos.addAndGet(System.nanoTime() - waitStart);
+
+        return open();
+    }
+
+    /**
+     * Leases a session without waiting
+     *
+     * @return  Lease of a valid session; null if all sessions are in use
+     */
+    public Lease tryLease() throws SQLException {
+        if(this.closed){
+            throw new SQLException("Connection pool has been closed");
+        }
+        if(!this.permits.tryAcquire()){
+            return null;
+        }
+        return open();
+    }
+
+    /**
+     * Hands out an idle or new session for a permit, that has already been acquired
+     */
+    private Lease open() throws SQLException {
+        try {
+            PooledSession session;
+            while ((session = pollIdleSession()) != null){
+                if(isUsable(session)){
+                    break;
+                }
+                this.nValidationFailures.incrementAndGet();
+                debug("Discarding invalid database session");
+                discard(session);
+            }
+
+            if(session == null){
+                Connection connection = this.connectionFactory.open();
+                session = new PooledSession(connection, getIsolation(connection), this.statementStatistics);
+                this.nCreated.incrementAndGet();
+            }
+
+            this.nActive.incrementAndGet();
+            this.nLeased.incrementAndGet();
+            return new Lease(this, session);
+        } catch (SQLException | RuntimeException e){
+            this.permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Closes all sessions that have been idle for longer than the idle timeout
+     *
+     * @return  Number of closed sessions
+     */
+    public int evictIdle(){
+        int nEvictedNow = 0;
+        long now = System.currentTimeMillis();
+        synchronized (this.idleSessions){
+            Iterator<PooledSession> it = this.idleSessions.descendingIterator();
+            while (it.hasNext()){
+                PooledSession session = it.next();
+                if(now - session.lastUsedMillis < this.idleTimeoutMillis){
+                    // sessions are ordered by their last usage
+                    break;
+                }
+                it.remove();
+                discard(session);
+                nEvictedNow++;
+            }
+        }
+        this.nEvicted.addAndGet(nEvictedNow);
+        return nEvictedNow;
+    }
+
+    private void evictIdleQuietly(){
+        try {
+            int nEvictedNow = evictIdle();
+            if(nEvictedNow > 0){
+                debug("Closed " + nEvictedNow + " idle database sessions");
+            }
+        } catch (RuntimeException e){
+            // a failing run must not end the periodic eviction
+            warn("Could not close idle database sessions: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Closes all idle sessions. Sessions, that are currently leased, will be
+     * closed as soon as they are returned.
+     */
+    @Override
+    public void close(){
+        this.closed = true;
+        this.eviction.cancel(false);
+        synchronized (this.idleSessions){
+            for(PooledSession session : this.idleSessions){
+                discard(session);
+            }
+            this.idleSessions.clear();
+        }
+    }
+
+    public boolean isClosed(){
+        return this.closed;
+    }
+
+    public int getMaxSize(){
+        return this.maxSize;
+    }
+
+    public int getActiveCount(){
+        return this.nActive.get();
+    }
+
+    public int getIdleCount(){
+        synchronized (this.idleSessions){
+            return this.idleSessions.size();
+        }
+    }
+
+    public long getCreatedCount(){
+        return this.nCreated.get();
+    }
+
+    public long getLeaseCount(){
+        return this.nLeased.get();
+    }
+
+    public long getEvictedCount(){
+        return this.nEvicted.get();
+    }
+
+    public long getValidationFailureCount(){
+        return this.nValidationFailures.get();
+    }
+
+    public long getTimeoutCount(){
+        return this.nTimeouts.get();
+    }
+
+    /**
+     * @return  Total time spent waiting for a free session in nanoseconds
+     */
+    public long getWaitNanos(){
+        return this.waitNanos.get();
+    }
+
+    /**
+     * @return  Hit and miss counters of the statement caches of all sessions
+     */
+    public HanaStatementCache.Statistics getStatementStatistics(){
+        return this.statementStatistics;
+    }
+
+    @Override
+    public String toString(){
+        return "active=" + getActiveCount() + ", idle=" + getIdleCount() + ", max=" + this.maxSize
+                + ", created=" + getCreatedCount() + ", leased=" + getLeaseCount()
+                + ", evicted=" + getEvictedCount() + ", invalid=" + getValidationFailureCount()
+                + ", timeouts=" + getTimeoutCount() + ", waited=" + (getWaitNanos() / 1_000_000) + "ms"
+                + ", statements: " + this.statementStatistics;
+    }
+
+    private PooledSession pollIdleSession(){
+        evictIdle();
+        synchronized (this.idleSessions){
+            return this.idleSessions.pollFirst();
+        }
+    }
+
+    private static boolean isUsable(PooledSession session){
+        if(System.currentTimeMillis() - session.lastUsedMillis < VALIDATION_INTERVAL_MILLIS){
+            return true;
+        }
+        try {
+            return session.connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e){
+            return false;
+        }
+    }
+
+    private void giveBack(PooledSession session, boolean invalid){
+        this.nActive.decrementAndGet();
+        try {
+            if(invalid || this.closed || !reset(session)){
+                discard(session);
+                return;
+            }
+            session.lastUsedMillis = System.currentTimeMillis();
+            synchronized (this.idleSessions){
+                this.idleSessions.addFirst(session);
+            }
+        } finally {
+            this.permits.release();
+        }
+    }
+
+    /**
+     * Discards open transactions and restores the session defaults, so the
+     * next lease starts with a clean session
+     *
+     * @param session   Session to reset
+     * @return          True, if the session can be re-used
+     */
+    private static boolean reset(PooledSession session){
+        try {
+            Connection connection = session.connection;
+            if(connection.isClosed()){
+                return false;
+            }
+            if(!connection.getAutoCommit()){
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+            if(connection.getTransactionIsolation() != session.defaultIsolation){
+                connection.setTransactionIsolation(session.defaultIsolation);
+            }
+            return true;
+        } catch (SQLException e){
+            warn("Could not reset database session: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private static int getIsolation(Connection connection){
+        try {
+            return connection.getTransactionIsolation();
+        } catch (SQLException e){
+            return Connection.TRANSACTION_READ_COMMITTED;
+        }
+    }
+
+    private static void discard(PooledSession session){
+        session.statementCache.close();
+        try { session.connection.close(); } catch (SQLException ignore) {}
+    }
+}
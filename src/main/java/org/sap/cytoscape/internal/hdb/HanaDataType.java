@@ -27,6 +27,43 @@ public class HanaDataType {
         return convertSqlToJavaCytoType(this.sqlDataType);
     }
 
+    /**
+     * @return  True, if values are transferred as large objects (e.g. NCLOB, BLOB)
+     */
+    public boolean isLargeObject(){
+        switch (this.sqlDataType){
+            case Types.CLOB:
+            case Types.NCLOB:
+            case Types.BLOB:
+            case Types.LONGVARCHAR:
+            case Types.LONGNVARCHAR:
+            case Types.LONGVARBINARY:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * @return  True, if values are numbers, that can be aggregated (e.g. INTEGER, DECIMAL, DOUBLE)
+     */
+    public boolean isNumeric(){
+        switch (this.sqlDataType){
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+            case Types.BIGINT:
+            case Types.REAL:
+            case Types.FLOAT:
+            case Types.DOUBLE:
+            case Types.DECIMAL:
+            case Types.NUMERIC:
+                return true;
+            default:
+                return false;
+        }
+    }
+
     public String getHanaDdl(){
         return convertSqlTypeToHanaDdl(this.sqlDataType);
     }
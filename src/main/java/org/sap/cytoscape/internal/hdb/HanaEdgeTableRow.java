@@ -13,6 +13,14 @@ public class HanaEdgeTableRow extends AbstractHanaGraphTableRow{
 
     private String targetFieldName;
 
+    /**
+     * Vertex tables of the source and target node; null if the workspace is not heterogeneous
+     * or if the vertex table is unknown
+     */
+    private String sourceVertexTable;
+
+    private String targetVertexTable;
+
     public HanaEdgeTableRow(){
         super();
     }
@@ -29,6 +37,22 @@ public class HanaEdgeTableRow extends AbstractHanaGraphTableRow{
         this.targetFieldName = targetFieldName;
     }
 
+    public void setSourceVertexTable(String sourceVertexTable) {
+        this.sourceVertexTable = sourceVertexTable;
+    }
+
+    public void setTargetVertexTable(String targetVertexTable) {
+        this.targetVertexTable = targetVertexTable;
+    }
+
+    public String getSourceVertexTable() {
+        return this.sourceVertexTable;
+    }
+
+    public String getTargetVertexTable() {
+        return this.targetVertexTable;
+    }
+
     public <T> T getKeyValue(Class<T> targetClassType){
         return this.getFieldValueCast(this.keyFieldName, targetClassType);
     }
@@ -40,4 +64,26 @@ public class HanaEdgeTableRow extends AbstractHanaGraphTableRow{
     public <T> T getTargetValue(Class<T> targetClassType){
         return this.getFieldValueCast(this.targetFieldName, targetClassType);
     }
+
+    public Object getSourceValueRaw(){
+        return this.getFieldValueRaw(this.sourceFieldName);
+    }
+
+    public Object getTargetValueRaw(){
+        return this.getFieldValueRaw(this.targetFieldName);
+    }
+
+    /**
+     * @return  Key, that the source node is looked up with on the client (see HanaVertexKey.of)
+     */
+    public Object getSourceLookupKey(){
+        return HanaVertexKey.of(this.sourceVertexTable, getSourceValueRaw());
+    }
+
+    /**
+     * @return  Key, that the target node is looked up with on the client (see HanaVertexKey.of)
+     */
+    public Object getTargetLookupKey(){
+        return HanaVertexKey.of(this.targetVertexTable, getTargetValueRaw());
+    }
 }
@@ -0,0 +1,216 @@
+package org.sap.cytoscape.internal.hdb;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * Derives a JDBC fetch size from the width of the fetched rows and the round trip
+ * time to the database. Each fetch shall transfer roughly the amount of data that
+ * fits into one round trip, so that wide rows do not bloat packets and high latency
+ * links (e.g. SAP HANA Cloud) are not dominated by waiting for the next packet.
+ */
+public class HanaFetchSizePolicy {
+
+    public static final int MIN_FETCH_SIZE = 100;
+
+    public static final int MAX_FETCH_SIZE = 100000;
+
+    /**
+     * Bytes that are transferred per fetch on low latency links
+     */
+    static final long MIN_BYTES_PER_FETCH = 256L * 1024;
+
+    /**
+     * Upper bound of bytes per fetch, regardless of the latency
+     */
+    static final long MAX_BYTES_PER_FETCH = 16L * 1024 * 1024;
+
+    /**
+     * Assumed throughput of the link (~100 MBit/s) to turn the round trip time into a number of bytes
+     */
+    static final long ASSUMED_BYTES_PER_SECOND = 12L * 1024 * 1024;
+
+    /**
+     * Row width that is assumed if nothing is known about the result
+     */
+    static final int DEFAULT_ROW_WIDTH = 128;
+
+    /**
+     * Number of fetches during which the actual row width is measured
+     */
+    static final int SAMPLED_FETCHES = 3;
+
+    private final long bytesPerFetch;
+
+    private int fetchSize;
+
+    private long sampledRows;
+
+    private long sampledBytes;
+
+    private long rowsUntilNextAdjustment;
+
+    private int remainingAdjustments;
+
+    /**
+     * @param roundTripNanos    Measured round trip time to the database
+     * @param estimatedRowWidth Estimated width of a single row in bytes
+     */
+    public HanaFetchSizePolicy(long roundTripNanos, int estimatedRowWidth){
+        long bandwidthDelayBytes = ASSUMED_BYTES_PER_SECOND * Math.max(0, roundTripNanos) / 1_000_000_000L;
+        this.bytesPerFetch = Math.min(MAX_BYTES_PER_FETCH, Math.max(MIN_BYTES_PER_FETCH, bandwidthDelayBytes));
+        this.fetchSize = computeFetchSize(estimatedRowWidth);
+        this.rowsUntilNextAdjustment = this.fetchSize;
+        this.remainingAdjustments = SAMPLED_FETCHES;
+    }
+
+    public int getFetchSize(){
+        return this.fetchSize;
+    }
+
+    /**
+     * @return  True, as long as row widths shall be passed to observeRowWidth
+     */
+    public boolean isSampling(){
+        return this.remainingAdjustments > 0;
+    }
+
+    /**
+     * Measures the width of a fetched row. After each of the first fetches, the
+     * fetch size will be re-computed based on the average width measured so far.
+     *
+     * @param row   Values of the fetched row
+     * @return      True, if the fetch size has changed and shall be applied to the result set
+     */
+    public boolean observeRow(Object[] row){
+        return isSampling() && observeRowWidth(estimateRowWidth(row));
+    }
+
+    /**
+     * Records the width of a fetched row. After each of the first fetches, the
+     * fetch size will be re-computed based on the average width measured so far.
+     *
+     * @param rowWidth  Width of the fetched row in bytes
+     * @return          True, if the fetch size has changed and shall be applied to the result set
+     */
+    public boolean observeRowWidth(int rowWidth){
+        if(!isSampling()){
+            return false;
+        }
+
+        this.sampledRows++;
+        this.sampledBytes += rowWidth;
+
+        if(--this.rowsUntilNextAdjustment > 0){
+            return false;
+        }
+
+        this.remainingAdjustments--;
+        int newFetchSize = computeFetchSize((int)Math.max(1, this.sampledBytes / this.sampledRows));
+        this.rowsUntilNextAdjustment = newFetchSize;
+
+        // ignore minor changes to avoid re-configuring the cursor over and over
+        if(Math.abs(newFetchSize - this.fetchSize) * 4 < this.fetchSize){
+            return false;
+        }
+        this.fetchSize = newFetchSize;
+        return true;
+    }
+
+    private int computeFetchSize(int rowWidth){
+        long rows = this.bytesPerFetch / Math.max(1, rowWidth);
+        return (int)Math.min(MAX_FETCH_SIZE, Math.max(MIN_FETCH_SIZE, rows));
+    }
+
+    /**
+     * Estimates the width of a row based on the metadata of a statement
+     *
+     * @param metaData  Metadata of a prepared statement or result set; may be null
+     * @return          Estimated row width in bytes
+     */
+    public static int estimateRowWidth(ResultSetMetaData metaData) {
+        if(metaData == null){
+            return DEFAULT_ROW_WIDTH;
+        }
+        try {
+            int width = 0;
+            for (int col = 1; col <= metaData.getColumnCount(); col++) {
+                width += estimateColumnWidth(metaData.getColumnType(col), metaData.getColumnDisplaySize(col));
+            }
+            return width > 0 ? width : DEFAULT_ROW_WIDTH;
+        } catch (SQLException e) {
+            return DEFAULT_ROW_WIDTH;
+        }
+    }
+
+    /**
+     * Estimates the average width of a column in bytes
+     *
+     * @param sqlType       SQL type of the column
+     * @param displaySize   Maximum display size as reported by the driver
+     * @return              Estimated width in bytes
+     */
+    public static int estimateColumnWidth(int sqlType, int displaySize){
+        switch (sqlType){
+            case Types.BOOLEAN:
+            case Types.TINYINT:
+                return 1;
+            case Types.SMALLINT:
+                return 2;
+            case Types.INTEGER:
+            case Types.REAL:
+                return 4;
+            case Types.BIGINT:
+            case Types.DOUBLE:
+            case Types.DATE:
+            case Types.TIME:
+            case Types.TIMESTAMP:
+                return 8;
+            case Types.DECIMAL:
+            case Types.NUMERIC:
+                return 16;
+            default:
+                // variable length data is usually far shorter than its maximum length
+                return displaySize > 0 ? Math.min(displaySize, 256) : 64;
+        }
+    }
+
+    /**
+     * Estimates the width of a fetched row
+     *
+     * @param row   Values of the row
+     * @return      Estimated width in bytes
+     */
+    public static int estimateRowWidth(Object[] row){
+        int width = 0;
+        for(Object value : row){
+            width += estimateValueWidth(value);
+        }
+        return width;
+    }
+
+    /**
+     * Estimates the width of a single value
+     *
+     * @param value Value of a column
+     * @return      Estimated width in bytes
+     */
+    static int estimateValueWidth(Object value){
+        if(value == null){
+            return 1;
+        } else if(value instanceof CharSequence){
+            return 2 + ((CharSequence)value).length();
+        } else if(value instanceof byte[]){
+            return ((byte[])value).length;
+        } else if(value instanceof Boolean || value instanceof Byte){
+            return 1;
+        } else if(value instanceof Short){
+            return 2;
+        } else if(value instanceof Integer || value instanceof Float){
+            return 4;
+        } else {
+            return 8;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package org.sap.cytoscape.internal.hdb;
+
+import java.util.List;
+
+/**
+ * Callback for consuming the content of a graph workspace page by page while
+ * it is being loaded. All node pages are delivered before the first edge page.
+ * For edge-only graphs, the nodes that have been inferred from an edge page
+ * are delivered right before that page.
+ */
+public interface HanaGraphPageHandler {
+
+    /**
+     * @param graphWorkspace    Workspace being loaded; column types reflect the fetched data
+     * @param nodes             Nodes of the page
+     */
+    void handleNodePage(HanaGraphWorkspace graphWorkspace, List<HanaNodeTableRow> nodes);
+
+    /**
+     * @param graphWorkspace    Workspace being loaded; column types reflect the fetched data
+     * @param edges             Edges of the page
+     */
+    void handleEdgePage(HanaGraphWorkspace graphWorkspace, List<HanaEdgeTableRow> edges);
+}
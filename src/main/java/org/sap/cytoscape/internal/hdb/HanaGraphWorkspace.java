@@ -14,6 +14,65 @@ public class HanaGraphWorkspace{
     private static final String SAPHANA_SOURCE_COL = "SAPHANA_SOURCE_SUID";
     private static final String SAPHANA_TARGET_COL = "SAPHANA_TARGET_SUID";
 
+    /**
+     * Key column of nodes, that are inferred from the edges of an edge-only graph
+     */
+    public static final String INFERRED_NODE_KEY_COL = "NodeID";
+
+    /**
+     * Attribute, that holds the table of each node and edge of a heterogeneous workspace
+     */
+    public static final String TYPE_COL = "sap_hana_type";
+
+    /**
+     * Key of a supernode, made up of the values of the grouping columns
+     */
+    public static final String GROUP_KEY_COL = "sap_hana_group_key";
+
+    /**
+     * Number of nodes, that a supernode stands for
+     */
+    public static final String MEMBER_COUNT_COL = "sap_hana_member_count";
+
+    /**
+     * Key of a superedge, made up of the keys of its source and target group
+     */
+    public static final String SUPEREDGE_KEY_COL = "sap_hana_superedge_key";
+
+    public static final String SOURCE_GROUP_COL = "sap_hana_source_group";
+
+    public static final String TARGET_GROUP_COL = "sap_hana_target_group";
+
+    /**
+     * Number of edges, that a superedge stands for
+     */
+    public static final String EDGE_COUNT_COL = "sap_hana_edge_count";
+
+    /**
+     * Prefix of the average of a numeric node attribute over the members of a supernode
+     */
+    public static final String AVERAGE_COL_PREFIX = "sap_hana_avg_";
+
+    /**
+     * Prefix of the sum of a numeric edge attribute over the edges of a superedge
+     */
+    public static final String SUM_COL_PREFIX = "sap_hana_sum_";
+
+    /**
+     * Key of the supernode, that a node has been expanded from
+     */
+    public static final String MEMBER_OF_COL = "sap_hana_member_of";
+
+    /**
+     * Marks keys, that occur in more than one vertex table of a heterogeneous workspace
+     */
+    private static final String AMBIGUOUS_VERTEX_TABLE = "";
+
+    /**
+     * Upper bound for pre-sizing the node and edge table, in case an estimate is far off
+     */
+    private static final int MAX_EXPECTED_ROWS = 50_000_000;
+
     private List<HanaEdgeTableRow> edgeTable;
 
     private List<HanaNodeTableRow> nodeTable;
@@ -38,6 +97,52 @@ public class HanaGraphWorkspace{
 
     private boolean isEdgeOnlyGraph;
 
+    /**
+     * Keys of the nodes, that have been inferred from edges so far
+     */
+    private Set<Object> inferredNodeKeys;
+
+    /**
+     * Node columns, that are not downloaded with the nodes, but fetched on demand
+     */
+    private Set<String> deferredNodeColumns = new LinkedHashSet<>();
+
+    /**
+     * Edge columns, that are not downloaded with the edges, but fetched on demand
+     */
+    private Set<String> deferredEdgeColumns = new LinkedHashSet<>();
+
+    /**
+     * Expected number of nodes and edges, that the tables are pre-sized for
+     */
+    private int expectedNodeCount;
+
+    private int expectedEdgeCount;
+
+    /**
+     * Lookup keys of the nodes, that have been added by the tables of a heterogeneous workspace so far
+     */
+    private Set<Object> tableNodeKeys;
+
+    /**
+     * Vertex tables, that the source and target column of an edge table refer to; null if the
+     * catalog does not name them
+     */
+    private HanaDbObject sourceVertexTable;
+
+    private HanaDbObject targetVertexTable;
+
+    /**
+     * Vertex tables of a heterogeneous workspace, each described by a workspace of its own;
+     * null if the workspace consists of a single vertex and edge table
+     */
+    private List<HanaGraphWorkspace> vertexTables;
+
+    /**
+     * Edge tables of a heterogeneous workspace; null if the workspace is not heterogeneous
+     */
+    private List<HanaGraphWorkspace> edgeTables;
+
     /**
      *
      * @param targetTable
@@ -169,30 +274,409 @@ public class HanaGraphWorkspace{
             throw new GraphInconsistencyException("Cannot infer nodes from edges for non edge-only graphs");
         }
 
-        this.nodeKeyColName = "NodeID";
-        this.nodeFields.put(this.nodeKeyColName, new HanaColumnInfo("", "", this.nodeKeyColName, Types.NVARCHAR, true, true));
+        this.nodeTable = new ArrayList<HanaNodeTableRow>();
+        this.inferredNodeKeys = null;
+        inferNodesFromEdges(this.edgeTable);
+    }
 
-        Map<String, HanaNodeTableRow> inferredNodes = new HashMap<String, HanaNodeTableRow>();
+    /**
+     * Prepares the node table of an edge-only graph for nodes, that are inferred on the database
+     * as the distinct sources and targets of the edges. The type of the key column will be taken
+     * over from the fetched result, so that numeric ids are kept as numbers.
+     */
+    public void prepareInferredNodeTable() throws GraphInconsistencyException {
 
+        if(!this.isEdgeOnlyGraph) {
+            throw new GraphInconsistencyException("Cannot infer nodes from edges for non edge-only graphs");
+        }
+
+        HanaColumnInfo sourceColInfo = getEdgeSourceColInfo();
+        this.nodeTable = new ArrayList<HanaNodeTableRow>();
+        this.inferredNodeKeys = null;
+        this.nodeKeyColName = INFERRED_NODE_KEY_COL;
+        this.nodeFields.put(this.nodeKeyColName, new HanaColumnInfo(sourceColInfo.schema, sourceColInfo.table, this.nodeKeyColName, Types.NVARCHAR, true, true));
+    }
+
+    /**
+     * Infers the nodes of an edge-only graph incrementally, e.g. while edges are loaded page by page.
+     * Inferred nodes are added to the node table.
+     *
+     * @param edges Edges to infer nodes from
+     * @return      Nodes, that have not been inferred from previous edges
+     */
+    public List<HanaNodeTableRow> inferNodesFromEdges(List<HanaEdgeTableRow> edges) throws GraphInconsistencyException {
+
+        if(!this.isEdgeOnlyGraph) {
+            throw new GraphInconsistencyException("Cannot infer nodes from edges for non edge-only graphs");
+        }
+
+        if(this.inferredNodeKeys == null){
+            // keys keep the type of the source column, so that they match the endpoints of the edges
+            HanaColumnInfo sourceColInfo = getEdgeSourceColInfo();
+            this.nodeKeyColName = INFERRED_NODE_KEY_COL;
+            this.nodeFields.put(this.nodeKeyColName, new HanaColumnInfo("", "", this.nodeKeyColName,
+                    sourceColInfo == null ? Types.NVARCHAR : sourceColInfo.dataType.getSqlDataType(), true, true));
+            this.inferredNodeKeys = new HashSet<>();
+        }
+
+        List<HanaNodeTableRow> newNodes = new ArrayList<>();
+        for(HanaEdgeTableRow row : edges){
+            for(Object newNode : new Object[]{row.getSourceValueRaw(), row.getTargetValueRaw()}){
+                if(this.inferredNodeKeys.add(AbstractHanaGraphTableRow.toLookupKey(newNode))){
+                    HanaNodeTableRow newRow = new HanaNodeTableRow();
+                    newRow.setKeyFieldName(this.nodeKeyColName);
+                    newRow.addFieldValue(this.nodeKeyColName, newNode);
+                    newNodes.add(newRow);
+                }
+            }
+        }
+
+        this.nodeTable.addAll(newNodes);
+        return newNodes;
+    }
+
+    /**
+     * Turns this workspace into a heterogeneous workspace, that consists of several vertex and
+     * edge tables. Each table is described by a workspace of its own with the same workspaceDbObject;
+     * its content is loaded separately and added by addTableContent. The columns of all tables are
+     * merged by name, and each node and edge carries its table in the type column.
+     *
+     * @param vertexTables  Workspaces with the metadata of one vertex table each
+     * @param edgeTables    Workspaces with the metadata of one edge table each
+     */
+    public void setTables(List<HanaGraphWorkspace> vertexTables, List<HanaGraphWorkspace> edgeTables) {
+        this.vertexTables = vertexTables;
+        this.edgeTables = edgeTables;
+        this.isEdgeOnlyGraph = vertexTables.isEmpty();
+        this.nodeTable = new ArrayList<>();
+        this.edgeTable = new ArrayList<>();
+        this.tableNodeKeys = null;
+        mergeTableColumns();
+    }
+
+    private void mergeTableColumns() {
+        this.nodeFields = new LinkedHashMap<>();
+        this.edgeFields = new LinkedHashMap<>();
+        this.nodeKeyColName = null;
+
+        // key columns of the first table represent the merged workspace
+        if(!this.vertexTables.isEmpty()){
+            HanaColumnInfo keyColInfo = this.vertexTables.get(0).getNodeKeyColInfo();
+            this.nodeKeyColName = keyColInfo.name;
+            this.nodeFields.put(TYPE_COL, new HanaColumnInfo(keyColInfo.schema, keyColInfo.table, TYPE_COL, Types.NVARCHAR, false, true));
+        }
+        for(HanaGraphWorkspace table : this.vertexTables){
+            for(HanaColumnInfo colInfo : table.getNodeFieldList()){
+                this.nodeFields.putIfAbsent(colInfo.name, colInfo);
+            }
+        }
+
+        if(!this.edgeTables.isEmpty()){
+            HanaGraphWorkspace first = this.edgeTables.get(0);
+            this.edgeKeyColName = first.edgeKeyColName;
+            this.edgeSourceColName = first.edgeSourceColName;
+            this.edgeTargetColName = first.edgeTargetColName;
+            HanaColumnInfo keyColInfo = first.getEdgeKeyColInfo();
+            if(keyColInfo != null){
+                this.edgeFields.put(TYPE_COL, new HanaColumnInfo(keyColInfo.schema, keyColInfo.table, TYPE_COL, Types.NVARCHAR, false, true));
+            }
+        }
+        for(HanaGraphWorkspace table : this.edgeTables){
+            for(HanaColumnInfo colInfo : table.getEdgeFieldList()){
+                this.edgeFields.putIfAbsent(colInfo.name, colInfo);
+            }
+        }
+    }
+
+    /**
+     * @return  True, if the workspace consists of more than one vertex or edge table
+     */
+    public boolean isHeterogeneous() {
+        return this.vertexTables != null;
+    }
+
+    /**
+     * @return  Vertex tables of a heterogeneous workspace; empty if the workspace is not heterogeneous
+     */
+    public List<HanaGraphWorkspace> getVertexTables() {
+        return this.vertexTables == null ? Collections.emptyList() : this.vertexTables;
+    }
+
+    /**
+     * @return  Edge tables of a heterogeneous workspace; empty if the workspace is not heterogeneous
+     */
+    public List<HanaGraphWorkspace> getEdgeTables() {
+        return this.edgeTables == null ? Collections.emptyList() : this.edgeTables;
+    }
+
+    /**
+     * Finds the vertex table, that a source or target column refers to
+     *
+     * @param reference Vertex table named by the catalog; null if unknown
+     * @return          Type of the nodes of the vertex table; null if it cannot be determined
+     */
+    private String getVertexTableType(HanaDbObject reference) {
+        if(reference == null){
+            return this.vertexTables.size() == 1 ? this.vertexTables.get(0).getNodeKeyColInfo().table : null;
+        }
+        for(HanaGraphWorkspace table : this.vertexTables){
+            HanaColumnInfo keyColInfo = table.getNodeKeyColInfo();
+            if(keyColInfo.schema.equals(reference.schema) && keyColInfo.table.equals(reference.name)){
+                return keyColInfo.table;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Adds the loaded content of one table of a heterogeneous workspace. Nodes and edges are
+     * tagged with the name of their table. Nodes are identified by their vertex table and key,
+     * so that vertex tables may use the same keys; edges refer to the vertex tables, that the
+     * catalog names for their source and target column.
+     *
+     * @param table One of the vertex or edge tables of this workspace
+     * @return      Number of skipped nodes, whose key occurs twice in their vertex table
+     */
+    public int addTableContent(HanaGraphWorkspace table) {
+        if(this.tableNodeKeys == null){
+            this.tableNodeKeys = new HashSet<>();
+        }
+
+        // nodes of edge-only workspaces are inferred per edge table and do not have a type
+        String nodeType = table.isEdgeOnlyGraph() ? null : table.getNodeKeyColInfo().table;
+        if(this.nodeKeyColName == null && table.nodeKeyColName != null){
+            this.nodeKeyColName = table.nodeKeyColName;
+        }
+        for(HanaColumnInfo colInfo : table.getNodeFieldList()){
+            this.nodeFields.putIfAbsent(colInfo.name, colInfo);
+        }
+
+        int nSkipped = 0;
+        for(HanaNodeTableRow row : table.getNodeTable()){
+            row.setVertexTable(nodeType);
+            if(!this.tableNodeKeys.add(row.getLookupKey())){
+                nSkipped++;
+                continue;
+            }
+            if(nodeType != null){
+                row.addFieldValue(TYPE_COL, nodeType);
+            }
+            this.nodeTable.add(row);
+        }
+
+        if(!table.getEdgeTable().isEmpty()){
+            String edgeType = table.getEdgeKeyColInfo().table;
+            // endpoints of edge-only workspaces are inferred nodes without a type
+            String sourceType = this.isEdgeOnlyGraph ? null : getVertexTableType(table.sourceVertexTable);
+            String targetType = this.isEdgeOnlyGraph ? null : getVertexTableType(table.targetVertexTable);
+            for(HanaEdgeTableRow row : table.getEdgeTable()){
+                row.addFieldValue(TYPE_COL, edgeType);
+                row.setSourceVertexTable(sourceType);
+                row.setTargetVertexTable(targetType);
+            }
+            this.edgeTable.addAll(table.getEdgeTable());
+        }
+
+        return table.isEdgeOnlyGraph() ? 0 : nSkipped;
+    }
+
+    /**
+     * Collects the endpoints of edges, that are not part of the node table. This may happen if
+     * nodes and edges have been read with different snapshots of the database. Endpoints of a
+     * heterogeneous workspace, whose vertex table cannot be determined, are not collected.
+     *
+     * @return  Key values of the missing endpoints by their vertex table; the vertex table is
+     *          null for inferred nodes and for workspaces, that are not heterogeneous
+     */
+    public Map<String, List<Object>> getMissingEndpoints() {
+        Map<String, List<Object>> missingEndpoints = new LinkedHashMap<>();
+        if(this.isEdgeOnlyGraph && this.nodeKeyColName == null) {
+            // nodes have not been inferred yet
+            return missingEndpoints;
+        }
+
+        if(isHeterogeneous() && !this.isEdgeOnlyGraph){
+            resolveEndpointVertexTables();
+        }
+
+        Set<Object> nodeKeys = new HashSet<>();
+        for(HanaNodeTableRow row : this.nodeTable){
+            nodeKeys.add(row.getLookupKey());
+        }
+
+        boolean isTyped = isHeterogeneous() && !this.isEdgeOnlyGraph;
         for(HanaEdgeTableRow row : this.edgeTable){
-            String newNode = row.getSourceValue(String.class);
-            if(!inferredNodes.containsKey(newNode)){
-                HanaNodeTableRow newRow = new HanaNodeTableRow();
-                newRow.setKeyFieldName(this.nodeKeyColName);
-                newRow.addFieldValue(this.nodeKeyColName, newNode);
-                inferredNodes.put(newNode, newRow);
+            addMissingEndpoint(missingEndpoints, nodeKeys, isTyped, row.getSourceVertexTable(), row.getSourceLookupKey(), row.getSourceValueRaw());
+            addMissingEndpoint(missingEndpoints, nodeKeys, isTyped, row.getTargetVertexTable(), row.getTargetLookupKey(), row.getTargetValueRaw());
+        }
+        return missingEndpoints;
+    }
+
+    private static void addMissingEndpoint(Map<String, List<Object>> missingEndpoints, Set<Object> nodeKeys, boolean isTyped,
+                                           String vertexTable, Object lookupKey, Object value) {
+        if(lookupKey == null || (isTyped && vertexTable == null)){
+            return;
+        }
+        // keys are only collected once
+        if(nodeKeys.add(lookupKey)){
+            missingEndpoints.computeIfAbsent(isTyped ? vertexTable : null, table -> new ArrayList<>()).add(value);
+        }
+    }
+
+    /**
+     * Adds nodes of an edge-only workspace, that only consist of their key
+     *
+     * @param keys  Key values of the nodes
+     */
+    public void addInferredNodes(Collection<Object> keys) {
+        for(Object key : keys){
+            HanaNodeTableRow row = new HanaNodeTableRow();
+            row.setKeyFieldName(this.nodeKeyColName);
+            row.addFieldValue(this.nodeKeyColName, key);
+            this.nodeTable.add(row);
+        }
+    }
+
+    /**
+     * Removes edges, whose source or target is not part of the node table. This may happen
+     * if nodes and edges have been read with different snapshots of the database, or if the
+     * vertex table of an endpoint of a heterogeneous workspace cannot be determined.
+     *
+     * @return  Number of removed edges
+     */
+    public int removeDanglingEdges() {
+        if(this.isEdgeOnlyGraph && this.nodeKeyColName == null) {
+            // nodes have not been inferred yet
+            return 0;
+        }
+
+        if(isHeterogeneous() && !this.isEdgeOnlyGraph){
+            resolveEndpointVertexTables();
+        }
+
+        Set<Object> nodeKeys = new HashSet<>();
+        for(HanaNodeTableRow row : this.nodeTable){
+            nodeKeys.add(row.getLookupKey());
+        }
+
+        int nEdges = this.edgeTable.size();
+        this.edgeTable.removeIf(row ->
+                !nodeKeys.contains(row.getSourceLookupKey()) || !nodeKeys.contains(row.getTargetLookupKey()));
+        return nEdges - this.edgeTable.size();
+    }
+
+    /**
+     * Determines the vertex table of endpoints, that the catalog does not name a vertex table
+     * for. An endpoint is resolved, if exactly one vertex table contains its key; otherwise
+     * it remains unresolved and its edge is dangling.
+     */
+    private void resolveEndpointVertexTables() {
+        Map<Object, String> typeByKey = null;
+        for(HanaEdgeTableRow row : this.edgeTable){
+            if(row.getSourceVertexTable() != null && row.getTargetVertexTable() != null){
+                continue;
+            }
+            if(typeByKey == null){
+                typeByKey = new HashMap<>();
+                for(HanaNodeTableRow node : this.nodeTable){
+                    // keys, that occur in several vertex tables, are marked as ambiguous
+                    typeByKey.merge(AbstractHanaGraphTableRow.toLookupKey(node.getKeyValueRaw()), node.getVertexTable(),
+                            (type, other) -> type.equals(other) ? type : AMBIGUOUS_VERTEX_TABLE);
+                }
+            }
+            if(row.getSourceVertexTable() == null){
+                row.setSourceVertexTable(getUniqueType(typeByKey, row.getSourceValueRaw()));
+            }
+            if(row.getTargetVertexTable() == null){
+                row.setTargetVertexTable(getUniqueType(typeByKey, row.getTargetValueRaw()));
+            }
+        }
+    }
+
+    private static String getUniqueType(Map<Object, String> typeByKey, Object value) {
+        String type = typeByKey.get(AbstractHanaGraphTableRow.toLookupKey(value));
+        return AMBIGUOUS_VERTEX_TABLE.equals(type) ? null : type;
+    }
+
+    /**
+     * @return  Names of the node columns, that are neither key nor otherwise required
+     */
+    public List<String> getNodeAttributeNames() {
+        List<String> attributeNames = new ArrayList<>();
+        for(String name : this.nodeFields.keySet()){
+            if(!isNodeStructureColumn(name)){
+                attributeNames.add(name);
+            }
+        }
+        return attributeNames;
+    }
+
+    /**
+     * @return  Names of the edge columns, that are neither key, source nor target
+     */
+    public List<String> getEdgeAttributeNames() {
+        List<String> attributeNames = new ArrayList<>();
+        for(String name : this.edgeFields.keySet()){
+            if(!isEdgeStructureColumn(name)){
+                attributeNames.add(name);
             }
+        }
+        return attributeNames;
+    }
 
-            newNode = row.getTargetValue(String.class);
-            if(!inferredNodes.containsKey(newNode)){
-                HanaNodeTableRow newRow = new HanaNodeTableRow();
-                newRow.setKeyFieldName(this.nodeKeyColName);
-                newRow.addFieldValue(this.nodeKeyColName, newNode);
-                inferredNodes.put(newNode, newRow);
+    /**
+     * Removes all node attribute columns, that are not listed. The key column will always be kept.
+     *
+     * @param attributeNames    Names of the attribute columns to keep; null to keep all columns
+     */
+    public void retainNodeAttributes(Collection<String> attributeNames) {
+        if(attributeNames == null) return;
+        if(isHeterogeneous()){
+            for(HanaGraphWorkspace table : this.vertexTables){
+                table.retainNodeAttributes(attributeNames);
             }
+            mergeTableColumns();
+            return;
         }
+        this.nodeFields.keySet().removeIf(name -> !isNodeStructureColumn(name) && !attributeNames.contains(name));
+    }
 
-        this.nodeTable = new ArrayList<HanaNodeTableRow>(inferredNodes.values());
+    /**
+     * Removes all edge attribute columns, that are not listed. Key, source and target
+     * columns will always be kept.
+     *
+     * @param attributeNames    Names of the attribute columns to keep; null to keep all columns
+     */
+    public void retainEdgeAttributes(Collection<String> attributeNames) {
+        if(attributeNames == null) return;
+        if(isHeterogeneous()){
+            for(HanaGraphWorkspace table : this.edgeTables){
+                table.retainEdgeAttributes(attributeNames);
+            }
+            mergeTableColumns();
+            return;
+        }
+        this.edgeFields.keySet().removeIf(name -> !isEdgeStructureColumn(name) && !attributeNames.contains(name));
+    }
+
+    private boolean isNodeStructureColumn(String name) {
+        if(name.equals(this.nodeKeyColName)) return true;
+        if(!isHeterogeneous()) return false;
+        if(name.equals(TYPE_COL)) return true;
+        for(HanaGraphWorkspace table : this.vertexTables){
+            if(table.isNodeStructureColumn(name)) return true;
+        }
+        return false;
+    }
+
+    private boolean isEdgeStructureColumn(String name) {
+        if(name.equals(this.edgeKeyColName) || name.equals(this.edgeSourceColName) || name.equals(this.edgeTargetColName)) return true;
+        if(!isHeterogeneous()) return false;
+        if(name.equals(TYPE_COL)) return true;
+        for(HanaGraphWorkspace table : this.edgeTables){
+            if(table.isEdgeStructureColumn(name)) return true;
+        }
+        return false;
     }
 
     /**
@@ -207,6 +691,17 @@ public class HanaGraphWorkspace{
         if(workspaceDbObject.schema == null || workspaceDbObject.schema.length() == 0) return false;
         if(workspaceDbObject.name == null || workspaceDbObject.name.length() == 0) return false;
 
+        if(isHeterogeneous()){
+            if(this.edgeTables.isEmpty()) return false;
+            for(HanaGraphWorkspace table : this.vertexTables){
+                if(!table.nodeFields.containsKey(table.nodeKeyColName)) return false;
+            }
+            for(HanaGraphWorkspace table : this.edgeTables){
+                if(!table.isMetadataComplete()) return false;
+            }
+            return true;
+        }
+
         if(!this.isEdgeOnlyGraph && !this.nodeFields.containsKey(nodeKeyColName)) return false;
         if(!this.edgeFields.containsKey(edgeKeyColName)) return false;
         if(!this.edgeFields.containsKey(edgeSourceColName)) return false;
@@ -214,7 +709,6 @@ public class HanaGraphWorkspace{
 
         // not checking for db objects for node and edge tables
         // when loading data these objects are not required.
-        // once heterogeneous graphs are supported, these fields will probably change anyway
 
         return true;
     }
@@ -232,7 +726,7 @@ public class HanaGraphWorkspace{
     }
 
     public void clearEdgeTable(){
-        this.setEdgeTable(new ArrayList<>());
+        this.setEdgeTable(new ArrayList<>(this.expectedEdgeCount));
     }
 
     public List<HanaNodeTableRow> getNodeTable() {
@@ -244,7 +738,18 @@ public class HanaGraphWorkspace{
     }
 
     public void clearNodeTable(){
-        this.setNodeTable(new ArrayList<>());
+        this.setNodeTable(new ArrayList<>(this.expectedNodeCount));
+    }
+
+    /**
+     * Pre-sizes the node and edge table for the expected number of rows, once they are cleared
+     *
+     * @param nodeCount Expected number of nodes
+     * @param edgeCount Expected number of edges
+     */
+    public void setExpectedSize(long nodeCount, long edgeCount){
+        this.expectedNodeCount = (int) Math.min(MAX_EXPECTED_ROWS, Math.max(0, nodeCount));
+        this.expectedEdgeCount = (int) Math.min(MAX_EXPECTED_ROWS, Math.max(0, edgeCount));
     }
 
     public HanaDbObject getWorkspaceDbObject() {
@@ -275,6 +780,14 @@ public class HanaGraphWorkspace{
         return this.edgeFields.get(edgeTargetColName);
     }
 
+    public void setSourceVertexTable(HanaDbObject sourceVertexTable) {
+        this.sourceVertexTable = sourceVertexTable;
+    }
+
+    public void setTargetVertexTable(HanaDbObject targetVertexTable) {
+        this.targetVertexTable = targetVertexTable;
+    }
+
     public void addEdgeAttributeCol(HanaColumnInfo newCol) {
         this.edgeFields.put(newCol.name, newCol);
     }
@@ -313,6 +826,81 @@ public class HanaGraphWorkspace{
         return this.nodeFields.get(name);
     }
 
+    /**
+     * Defers all wide node attribute columns (see HanaColumnInfo.isWide). Column types and widths
+     * have to be known already.
+     *
+     * @param maxWidth  Maximum declared width of columns, that are downloaded with the nodes
+     * @return          Names of the deferred columns
+     */
+    public List<String> deferWideNodeColumns(int maxWidth) {
+        for(HanaColumnInfo colInfo : this.nodeFields.values()){
+            if(!isNodeStructureColumn(colInfo.name) && colInfo.isWide(maxWidth)){
+                this.deferredNodeColumns.add(colInfo.name);
+            }
+        }
+        return new ArrayList<>(this.deferredNodeColumns);
+    }
+
+    /**
+     * Defers all wide edge attribute columns (see HanaColumnInfo.isWide). Column types and widths
+     * have to be known already.
+     *
+     * @param maxWidth  Maximum declared width of columns, that are downloaded with the edges
+     * @return          Names of the deferred columns
+     */
+    public List<String> deferWideEdgeColumns(int maxWidth) {
+        for(HanaColumnInfo colInfo : this.edgeFields.values()){
+            if(!isEdgeStructureColumn(colInfo.name) && colInfo.isWide(maxWidth)){
+                this.deferredEdgeColumns.add(colInfo.name);
+            }
+        }
+        return new ArrayList<>(this.deferredEdgeColumns);
+    }
+
+    /**
+     * @return  Node columns, that are downloaded with the nodes
+     */
+    public ArrayList<HanaColumnInfo> getEagerNodeFieldList(){
+        ArrayList<HanaColumnInfo> fieldList = getNodeFieldList();
+        fieldList.removeIf(colInfo -> this.deferredNodeColumns.contains(colInfo.name));
+        return fieldList;
+    }
+
+    /**
+     * @return  Node columns, that are fetched on demand
+     */
+    public ArrayList<HanaColumnInfo> getDeferredNodeFieldList(){
+        ArrayList<HanaColumnInfo> fieldList = getNodeFieldList();
+        fieldList.removeIf(colInfo -> !this.deferredNodeColumns.contains(colInfo.name));
+        return fieldList;
+    }
+
+    /**
+     * @return  Edge columns, that are downloaded with the edges
+     */
+    public ArrayList<HanaColumnInfo> getEagerEdgeFieldList(){
+        ArrayList<HanaColumnInfo> fieldList = getEdgeFieldList();
+        fieldList.removeIf(colInfo -> this.deferredEdgeColumns.contains(colInfo.name));
+        return fieldList;
+    }
+
+    /**
+     * @return  Edge columns, that are fetched on demand
+     */
+    public ArrayList<HanaColumnInfo> getDeferredEdgeFieldList(){
+        ArrayList<HanaColumnInfo> fieldList = getEdgeFieldList();
+        fieldList.removeIf(colInfo -> !this.deferredEdgeColumns.contains(colInfo.name));
+        return fieldList;
+    }
+
+    /**
+     * @return  True, if node or edge columns are fetched on demand
+     */
+    public boolean hasDeferredColumns(){
+        return !this.deferredNodeColumns.isEmpty() || !this.deferredEdgeColumns.isEmpty();
+    }
+
     public ArrayList<HanaColumnInfo> getEdgeFieldList() {
         return new ArrayList(this.edgeFields.values());
     }
@@ -0,0 +1,129 @@
+package org.sap.cytoscape.internal.hdb;
+
+import static org.sap.cytoscape.internal.utils.HanaUtils.quoteIdentifier;
+
+/**
+ * Position of a read, that pages through a table in the order of its key column.
+ * Each page starts right after the last key of the previous page, so pages
+ * neither overlap nor skip rows, no matter how large the table is. A read, that
+ * streams the table with a single query, tracks its position the same way, so that
+ * it can be resumed after the last row, that has been delivered.
+ */
+public class HanaKeysetCursor {
+
+    private final String keyColName;
+
+    private final int pageSize;
+
+    private Object lastKeyValue;
+
+    private int lastKeySqlType;
+
+    private boolean hasLastKey;
+
+    private long rowCount;
+
+    private boolean exhausted;
+
+    /**
+     * @param keyColName    Name of the key column
+     * @param pageSize      Maximum number of rows per page
+     */
+    public HanaKeysetCursor(String keyColName, int pageSize){
+        this.keyColName = keyColName;
+        this.pageSize = Math.max(1, pageSize);
+        this.lastKeyValue = null;
+        this.hasLastKey = false;
+        this.rowCount = 0;
+        this.exhausted = false;
+    }
+
+    /**
+     * Restricts a statement to the next page
+     *
+     * @param select    Statement on the table
+     * @return          The statement
+     */
+    public HanaSelectStatement applyTo(HanaSelectStatement select){
+        return applyToRemainder(select).limit(this.pageSize);
+    }
+
+    /**
+     * Restricts a statement to all rows after the last key, in the order of the key
+     *
+     * @param select    Statement on the table
+     * @return          The statement
+     */
+    public HanaSelectStatement applyToRemainder(HanaSelectStatement select){
+        String quotedKey = quoteIdentifier(this.keyColName);
+        if(this.hasLastKey){
+            select.where(quotedKey + " > ?", getLastKey());
+        }
+        return select.orderBy(quotedKey);
+    }
+
+    /**
+     * Moves the cursor behind a row of a streamed read, that has been delivered
+     *
+     * @param keyValue      Key of the row
+     * @param keySqlType    SQL type of the key column
+     */
+    public void track(Object keyValue, int keySqlType){
+        this.lastKeyValue = keyValue;
+        this.lastKeySqlType = keySqlType;
+        this.hasLastKey = true;
+        this.rowCount++;
+    }
+
+    /**
+     * Marks a streamed read as complete
+     */
+    public void finish(){
+        this.exhausted = true;
+    }
+
+    /**
+     * Moves the cursor behind a page, that has been read
+     *
+     * @param lastKeyValue  Key of the last row of the page
+     * @param keySqlType    SQL type of the key column
+     * @param nPageRows     Number of rows of the page
+     */
+    public void advance(Object lastKeyValue, int keySqlType, int nPageRows){
+        if(nPageRows > 0){
+            this.lastKeyValue = lastKeyValue;
+            this.lastKeySqlType = keySqlType;
+            this.hasLastKey = true;
+            this.rowCount += nPageRows;
+        }
+        // a page, that is not full, is the last one
+        this.exhausted = nPageRows < this.pageSize;
+    }
+
+    public boolean isExhausted(){
+        return this.exhausted;
+    }
+
+    /**
+     * @return  Number of rows, that have been read so far
+     */
+    public long getRowCount(){
+        return this.rowCount;
+    }
+
+    public int getPageSize(){
+        return this.pageSize;
+    }
+
+    /**
+     * @return  Key of the last row, that has been read; null if no row has been read yet
+     */
+    public HanaSqlParameter getLastKey(){
+        return this.hasLastKey ? new HanaSqlParameter(this.lastKeyValue, this.lastKeySqlType) : null;
+    }
+
+    @Override
+    public String toString(){
+        return "after " + (this.hasLastKey ? String.valueOf(this.lastKeyValue) : "start") + " (" + this.rowCount + " rows)";
+    }
+}
@@ -0,0 +1,393 @@
+package org.sap.cytoscape.internal.hdb;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Options that control how the content of a graph workspace is downloaded
+ */
+public class HanaLoadOptions {
+
+    /**
+     * Upper bound for the number of sessions that download a table in parallel
+     */
+    public static final int MAX_PARALLELISM = 16;
+
+    /**
+     * Default number of rows per page, if the workspace is loaded progressively
+     */
+    public static final int DEFAULT_PAGE_SIZE = 10000;
+
+    /**
+     * Number of random seed nodes for snowball and forest fire sampling, if no seed filter is given
+     */
+    public static final int DEFAULT_SEED_COUNT = 10;
+
+    /**
+     * Default declared width in characters, above which columns are deferred
+     */
+    public static final int DEFAULT_MAX_EAGER_COLUMN_WIDTH = 1000;
+
+    /**
+     * JDBC fetch size for the node and edge projections. If 0, the fetch size
+     * will be adapted to the row width and the round trip time.
+     */
+    public int fetchSize;
+
+    /**
+     * Number of sessions that download the node and edge table in parallel. Tables
+     * are split by their partitions or, if unpartitioned, by ranges of their key.
+     */
+    public int parallelism;
+
+    /**
+     * Number of rows per page, if the workspace is loaded progressively
+     */
+    public int pageSize;
+
+    /**
+     * If true, nodes and edges are streamed in the order of their key, so that an interrupted
+     * download resumes after the last delivered key instead of starting over
+     */
+    public boolean resumable;
+
+    /**
+     * Maximum number of times an interrupted download is resumed
+     */
+    public int maxResumeAttempts;
+
+    /**
+     * Node attribute columns to download; null for all columns. The key column is always downloaded.
+     */
+    public Set<String> nodeAttributes;
+
+    /**
+     * Edge attribute columns to download; null for all columns. Key, source and target
+     * columns are always downloaded.
+     */
+    public Set<String> edgeAttributes;
+
+    /**
+     * SQL predicate on the columns of the node table, e.g. "COUNTRY = 'DE'"; null to load all nodes.
+     * Edges will be restricted to those between the filtered nodes.
+     */
+    public String nodeFilter;
+
+    /**
+     * SQL predicate on the columns of the edge table; null to load all edges
+     */
+    public String edgeFilter;
+
+    /**
+     * Strategy for loading only a sample of the workspace
+     */
+    public HanaSamplingStrategy sampling;
+
+    /**
+     * Share of nodes or edges in percent, that is selected by random node or edge sampling
+     */
+    public double samplingPercentage;
+
+    /**
+     * SQL predicate on the columns of the node table, that selects the seed nodes of snowball and
+     * forest fire sampling; null to start from random nodes
+     */
+    public String seedFilter;
+
+    /**
+     * Number of hops, that snowball and forest fire sampling expand the seed nodes by
+     */
+    public int samplingHops;
+
+    /**
+     * Probability, that forest fire sampling follows an edge
+     */
+    public double burnProbability;
+
+    /**
+     * Maximum number of nodes, that snowball and forest fire sampling select; 0 for no limit
+     */
+    public int maxSampleNodes;
+
+    /**
+     * Numeric edge column, by which edges are sparsified; null to keep all edges
+     */
+    public String edgeWeightColumn;
+
+    /**
+     * Number of edges with the highest weight, that are kept per node; 0 for no limit.
+     * An edge is kept, if it is among the top edges of its source or its target.
+     */
+    public int maxEdgesPerNode;
+
+    /**
+     * Minimum weight of the kept edges; null for no threshold
+     */
+    public Double minEdgeWeight;
+
+    /**
+     * Local temporary table with the keys of the top edges per node, that have been ranked
+     * once for the current load; null, if edges are ranked by every statement
+     */
+    public String topEdgesTable;
+
+    /**
+     * Edge column with the start of the validity period or with the time of an event; null to load the whole history
+     */
+    public String validFromColumn;
+
+    /**
+     * Edge column with the end of the validity period; null, if edges are events with a single timestamp
+     */
+    public String validToColumn;
+
+    /**
+     * Edges, that are valid within this window, are loaded; null to load the whole history
+     */
+    public HanaTimeWindow timeWindow;
+
+    /**
+     * Edges, that are also valid within this window, are skipped; used to load the changes between windows
+     */
+    public HanaTimeWindow excludedTimeWindow;
+
+    /**
+     * Node columns, by which nodes are grouped into supernodes on the database; null or empty to load the nodes themselves
+     */
+    public List<String> groupByColumns;
+
+    /**
+     * If true, large objects and wide text columns are not downloaded with the nodes and edges,
+     * but fetched on demand for individual nodes and edges
+     */
+    public boolean deferWideColumns;
+
+    /**
+     * Declared width in characters, above which columns are deferred
+     */
+    public int maxEagerColumnWidth;
+
+    /**
+     * Size of the download, that has been estimated beforehand; used to pre-size the row lists.
+     * Null if unknown.
+     */
+    public HanaWorkspaceSizeEstimate sizeEstimate;
+
+    /**
+     * Constructs options for a plain download of the complete workspace
+     */
+    public HanaLoadOptions(){
+        this.fetchSize = 0;
+        this.parallelism = 1;
+        this.pageSize = DEFAULT_PAGE_SIZE;
+        this.resumable = true;
+        this.maxResumeAttempts = 3;
+        this.nodeAttributes = null;
+        this.edgeAttributes = null;
+        this.nodeFilter = null;
+        this.edgeFilter = null;
+        this.sampling = HanaSamplingStrategy.NONE;
+        this.samplingPercentage = 10;
+        this.seedFilter = null;
+        this.samplingHops = 2;
+        this.burnProbability = 0.3;
+        this.maxSampleNodes = 0;
+        this.edgeWeightColumn = null;
+        this.maxEdgesPerNode = 0;
+        this.minEdgeWeight = null;
+        this.topEdgesTable = null;
+        this.validFromColumn = null;
+        this.validToColumn = null;
+        this.timeWindow = null;
+        this.excludedTimeWindow = null;
+        this.groupByColumns = null;
+        this.deferWideColumns = false;
+        this.maxEagerColumnWidth = DEFAULT_MAX_EAGER_COLUMN_WIDTH;
+        this.sizeEstimate = null;
+    }
+
+    /**
+     * Constructs a copy of the given options
+     *
+     * @param other Options to copy
+     */
+    public HanaLoadOptions(HanaLoadOptions other){
+        this.fetchSize = other.fetchSize;
+        this.parallelism = other.parallelism;
+        this.pageSize = other.pageSize;
+        this.resumable = other.resumable;
+        this.maxResumeAttempts = other.maxResumeAttempts;
+        this.nodeAttributes = other.nodeAttributes;
+        this.edgeAttributes = other.edgeAttributes;
+        this.nodeFilter = other.nodeFilter;
+        this.edgeFilter = other.edgeFilter;
+        this.sampling = other.sampling;
+        this.samplingPercentage = other.samplingPercentage;
+        this.seedFilter = other.seedFilter;
+        this.samplingHops = other.samplingHops;
+        this.burnProbability = other.burnProbability;
+        this.maxSampleNodes = other.maxSampleNodes;
+        this.edgeWeightColumn = other.edgeWeightColumn;
+        this.maxEdgesPerNode = other.maxEdgesPerNode;
+        this.minEdgeWeight = other.minEdgeWeight;
+        this.topEdgesTable = other.topEdgesTable;
+        this.validFromColumn = other.validFromColumn;
+        this.validToColumn = other.validToColumn;
+        this.timeWindow = other.timeWindow;
+        this.excludedTimeWindow = other.excludedTimeWindow;
+        this.groupByColumns = other.groupByColumns;
+        this.deferWideColumns = other.deferWideColumns;
+        this.maxEagerColumnWidth = other.maxEagerColumnWidth;
+        this.sizeEstimate = other.sizeEstimate;
+    }
+
+    /**
+     * @return  True, if only a sample of the workspace will be loaded
+     */
+    public boolean isSampling(){
+        return this.sampling != null && this.sampling != HanaSamplingStrategy.NONE;
+    }
+
+    /**
+     * @return  True, if edges will be pruned by their weight
+     */
+    public boolean isSparsifying(){
+        return this.edgeWeightColumn != null && (this.maxEdgesPerNode > 0 || this.minEdgeWeight != null);
+    }
+
+    /**
+     * @return  True, if only the top edges per node by weight will be loaded
+     */
+    public boolean isRankingEdges(){
+        return isSparsifying() && this.maxEdgesPerNode > 0;
+    }
+
+    /**
+     * @return  True, if only edges within a time window will be loaded
+     */
+    public boolean isTimeWindowed(){
+        return this.validFromColumn != null && this.timeWindow != null;
+    }
+
+    /**
+     * @return  True, if only the summary of node groups and the edges between them will be loaded
+     */
+    public boolean isGrouping(){
+        return this.groupByColumns != null && !this.groupByColumns.isEmpty();
+    }
+
+    /**
+     * @return  Edge attribute columns to download including the weight and time columns; null for all columns
+     */
+    public Set<String> getLoadedEdgeAttributes(){
+        if(this.edgeAttributes == null || (!isSparsifying() && !isTimeWindowed())){
+            return this.edgeAttributes;
+        }
+        Set<String> attributes = new HashSet<>(this.edgeAttributes);
+        if(isSparsifying()){
+            attributes.add(this.edgeWeightColumn);
+        }
+        if(isTimeWindowed()){
+            attributes.add(this.validFromColumn);
+            if(this.validToColumn != null){
+                attributes.add(this.validToColumn);
+            }
+        }
+        return attributes;
+    }
+
+    /**
+     * Describes the options, that determine which nodes, edges and columns are downloaded.
+     * Options, that only affect how they are downloaded (e.g. parallelism), are left out.
+     *
+     * @return  Key of the downloaded content
+     */
+    public String getContentKey(){
+        StringBuilder key = new StringBuilder()
+                .append(this.nodeAttributes == null ? null : new TreeSet<>(this.nodeAttributes)).append('|')
+                .append(this.edgeAttributes == null ? null : new TreeSet<>(this.edgeAttributes)).append('|')
+                .append(this.nodeFilter).append('|')
+                .append(this.edgeFilter).append('|')
+                .append(this.deferWideColumns ? this.maxEagerColumnWidth : -1);
+        if(isSparsifying()){
+            key.append('|').append(getSparsificationDescription());
+        }
+        if(isTimeWindowed()){
+            key.append('|').append(getTimeWindowDescription()).append(" without ").append(this.excludedTimeWindow);
+        }
+        if(isSampling()){
+            key.append('|').append(getSamplingDescription());
+        }
+        if(isGrouping()){
+            key.append('|').append(getGroupingDescription());
+        }
+        return key.toString();
+    }
+
+    /**
+     * @return  Human readable description of the sampling parameters; null if the workspace is loaded completely
+     */
+    public String getSamplingDescription(){
+        if(!isSampling()){
+            return null;
+        }
+        switch (this.sampling){
+            case RANDOM_NODES:
+            case RANDOM_EDGES:
+                return this.sampling + " (" + this.samplingPercentage + "%)";
+            default:
+                String seeds = this.seedFilter == null || this.seedFilter.trim().isEmpty()
+                        ? DEFAULT_SEED_COUNT + " random seeds"
+                        : "seeds: " + this.seedFilter.trim();
+                String description = this.sampling + " (" + seeds + ", hops: " + this.samplingHops;
+                if(this.sampling == HanaSamplingStrategy.FOREST_FIRE){
+                    description += ", burn probability: " + this.burnProbability;
+                }
+                if(this.maxSampleNodes > 0){
+                    description += ", max. nodes: " + this.maxSampleNodes;
+                }
+                return description + ")";
+        }
+    }
+
+    /**
+     * @return  Human readable description of the sparsification; null if all edges are loaded
+     */
+    public String getSparsificationDescription(){
+        if(!isSparsifying()){
+            return null;
+        }
+        List<String> parts = new ArrayList<>();
+        if(this.maxEdgesPerNode > 0){
+            parts.add("top " + this.maxEdgesPerNode + " edges per node");
+        }
+        if(this.minEdgeWeight != null){
+            parts.add("min. weight: " + this.minEdgeWeight);
+        }
+        return "Sparsified by " + this.edgeWeightColumn + " (" + String.join(", ", parts) + ")";
+    }
+
+    /**
+     * @return  Human readable description of the time window; null if the whole history is loaded
+     */
+    public String getTimeWindowDescription(){
+        if(!isTimeWindowed()){
+            return null;
+        }
+        String columns = this.validToColumn == null ? this.validFromColumn : this.validFromColumn + " - " + this.validToColumn;
+        return "Time window " + this.timeWindow + " (" + columns + ")";
+    }
+
+    /**
+     * @return  Human readable description of the grouping; null if the nodes themselves are loaded
+     */
+    public String getGroupingDescription(){
+        if(!isGrouping()){
+            return null;
+        }
+        return "Grouped by " + String.join(", ", this.groupByColumns);
+    }
+}
@@ -0,0 +1,127 @@
+package org.sap.cytoscape.internal.hdb;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Chooses how a graph workspace is downloaded, based on the estimated size of the workspace,
+ * the round trip time to the database and the free heap. The plan decides on the number of
+ * parallel sessions, the fetch size, whether wide columns are deferred and whether the graph
+ * is shown page by page while loading. Each decision is recorded with its reason.
+ */
+public class HanaLoadPlan {
+
+    /**
+     * Rows, that a single session is expected to download at least, before a further session pays off
+     */
+    static final long MIN_ROWS_PER_SESSION = 250_000;
+
+    /**
+     * Estimated duration in seconds, above which the graph is shown while loading, if the
+     * download is not split across sessions anyway
+     */
+    static final double PROGRESSIVE_THRESHOLD_SECONDS = 30;
+
+    /**
+     * Share of the free heap, above which wide columns are deferred
+     */
+    static final double DEFER_HEAP_SHARE = 0.5;
+
+    private final HanaLoadOptions loadOptions;
+
+    private final boolean progressive;
+
+    private final double estimatedSeconds;
+
+    private final List<String> decisions = new ArrayList<>();
+
+    /**
+     * @param requested         Options, that have been requested by the user; filters and samples are kept
+     * @param estimate          Estimated size of the download
+     * @param roundTripNanos    Measured round trip time to the database
+     * @param availableBytes    Heap, that is available for the download
+     * @param maxSessions       Number of sessions, that may be opened at the same time
+     */
+    public HanaLoadPlan(HanaLoadOptions requested, HanaWorkspaceSizeEstimate estimate, long roundTripNanos, long availableBytes, int maxSessions){
+        this.loadOptions = new HanaLoadOptions(requested);
+        this.loadOptions.sizeEstimate = estimate;
+
+        long rows = estimate.nodeCount + estimate.edgeCount;
+        long bytes = estimate.nodeCount * estimate.nodeRowWidth + estimate.edgeCount * estimate.edgeRowWidth;
+        int rowWidth = rows > 0 ? (int) Math.max(1, bytes / rows) : HanaFetchSizePolicy.DEFAULT_ROW_WIDTH;
+
+        // fetch size keeps adapting to the actual rows, the estimate only provides its start value
+        int fetchSize = new HanaFetchSizePolicy(roundTripNanos, rowWidth).getFetchSize();
+        this.loadOptions.fetchSize = 0;
+        this.decisions.add(String.format("fetch size adaptive, starting at %,d rows (%,d bytes per row, round trip %.1f ms)",
+                fetchSize, rowWidth, roundTripNanos / 1e6));
+
+        // samples and heterogeneous workspaces are downloaded on one session per table
+        int parallelism = 1;
+        if(estimate.heterogeneous){
+            this.decisions.add("one session per table of the heterogeneous workspace");
+        } else if(requested.isSampling()){
+            this.decisions.add("one session, since samples are selected on the database");
+        } else {
+            long rowsPerTable = Math.max(estimate.nodeCount, estimate.edgeCount);
+            parallelism = (int) Math.max(1, Math.min(Math.min(HanaLoadOptions.MAX_PARALLELISM, maxSessions), rowsPerTable / MIN_ROWS_PER_SESSION));
+            this.decisions.add(String.format("%d parallel session(s) for %,d rows per table", parallelism, rowsPerTable));
+        }
+        this.loadOptions.parallelism = parallelism;
+
+        double transferSeconds = bytes / (double) HanaFetchSizePolicy.ASSUMED_BYTES_PER_SECOND
+                + Math.ceil(rows / (double) fetchSize) * roundTripNanos / 1e9;
+        this.estimatedSeconds = transferSeconds / parallelism;
+
+        // pages are read on a single session, so a download, that is split across sessions, is not paged
+        this.progressive = parallelism == 1 && this.estimatedSeconds > PROGRESSIVE_THRESHOLD_SECONDS;
+        if(this.progressive){
+            this.decisions.add(String.format("show graph while loading, since the download takes approx. %.0f s", this.estimatedSeconds));
+        } else if(parallelism > 1 && this.estimatedSeconds > PROGRESSIVE_THRESHOLD_SECONDS){
+            this.decisions.add(String.format("load at once on %d sessions, which is faster than showing the graph while loading; the download takes approx. %.0f s",
+                    parallelism, this.estimatedSeconds));
+        } else {
+            this.decisions.add(String.format("load at once, since the download takes approx. %.0f s", this.estimatedSeconds));
+        }
+
+        long heapBytes = estimate.getEstimatedHeapBytes();
+        this.loadOptions.deferWideColumns = !estimate.heterogeneous && heapBytes > availableBytes * DEFER_HEAP_SHARE;
+        if(this.loadOptions.deferWideColumns){
+            this.decisions.add(String.format("fetch columns wider than %d characters on selection, since %s of %s free memory are needed",
+                    this.loadOptions.maxEagerColumnWidth, HanaWorkspaceSizeEstimate.formatBytes(heapBytes), HanaWorkspaceSizeEstimate.formatBytes(availableBytes)));
+        }
+    }
+
+    /**
+     * @return  Options for the download according to the plan
+     */
+    public HanaLoadOptions getLoadOptions(){
+        return this.loadOptions;
+    }
+
+    /**
+     * @return  True, if the graph shall be shown page by page while loading
+     */
+    public boolean isProgressive(){
+        return this.progressive;
+    }
+
+    /**
+     * @return  Estimated duration of the download in seconds
+     */
+    public double getEstimatedSeconds(){
+        return this.estimatedSeconds;
+    }
+
+    /**
+     * @return  Decisions of the plan and their reasons
+     */
+    public List<String> getDecisions(){
+        return this.decisions;
+    }
+
+    @Override
+    public String toString(){
+        return String.join("; ", this.decisions);
+    }
+}
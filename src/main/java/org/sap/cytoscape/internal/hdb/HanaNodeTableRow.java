@@ -9,6 +9,11 @@ public class HanaNodeTableRow extends AbstractHanaGraphTableRow{
 
     private String keyFieldName;
 
+    /**
+     * Vertex table of the node; null if the workspace is not heterogeneous
+     */
+    private String vertexTable;
+
     public HanaNodeTableRow(){
         super();
     }
@@ -17,6 +22,14 @@ public class HanaNodeTableRow extends AbstractHanaGraphTableRow{
         this.keyFieldName = keyFieldName;
     }
 
+    public void setVertexTable(String vertexTable){
+        this.vertexTable = vertexTable;
+    }
+
+    public String getVertexTable(){
+        return this.vertexTable;
+    }
+
     public <T> T getKeyValue(Class<T> targetClassType){
         return this.getFieldValueCast(this.keyFieldName, targetClassType);
     }
@@ -25,4 +38,11 @@ public class HanaNodeTableRow extends AbstractHanaGraphTableRow{
         return this.getFieldValueRaw(this.keyFieldName);
     }
 
+    /**
+     * @return  Key, that the node is looked up with on the client (see HanaVertexKey.of)
+     */
+    public Object getLookupKey(){
+        return HanaVertexKey.of(this.vertexTable, getKeyValueRaw());
+    }
+
 }
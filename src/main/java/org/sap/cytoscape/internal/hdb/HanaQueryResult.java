@@ -1,7 +1,6 @@
 package org.sap.cytoscape.internal.hdb;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -23,6 +22,45 @@ public class HanaQueryResult {
         data.add(newRecord);
     }
 
+    public int getRecordCount(){
+        return data.size();
+    }
+
+    public Object getValue(int record, int col){
+        return data.get(record)[col];
+    }
+
+    public boolean isNull(int record, int col){
+        return getValue(record, col) == null;
+    }
+
+    /**
+     * @return  Numeric value of a cell; 0 if it is null
+     */
+    public long getLong(int record, int col){
+        Object value = getValue(record, col);
+        return value == null ? 0 : ((Number) value).longValue();
+    }
+
+    /**
+     * @return  Numeric value of a cell; 0 if it is null
+     */
+    public double getDouble(int record, int col){
+        Object value = getValue(record, col);
+        return value == null ? 0 : ((Number) value).doubleValue();
+    }
+
+    /**
+     * @return  Estimated size of all records in bytes
+     */
+    public long estimateSizeBytes(){
+        long bytes = 0;
+        for(Object[] record : data){
+            bytes += HanaFetchSizePolicy.estimateRowWidth(record);
+        }
+        return bytes;
+    }
+
     public List<Object[]> getRecordList(){
         return Collections.unmodifiableList(this.data);
     }
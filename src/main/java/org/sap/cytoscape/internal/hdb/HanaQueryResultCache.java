@@ -0,0 +1,166 @@
+package org.sap.cytoscape.internal.hdb;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * LRU cache of query results, keyed by the statement text and its parameter values. Each entry
+ * carries the data version it has been read with (e.g. the write count of the queried table);
+ * an entry is only valid as long as the current version is the same. The cache is bounded by
+ * the estimated size of the cached results.
+ */
+public class HanaQueryResultCache {
+
+    public static final long DEFAULT_MAX_BYTES = 16L * 1024 * 1024;
+
+    /**
+     * Result of a query as it has been read with a data version
+     */
+    private static class Entry {
+        final String version;
+        final HanaQueryResult result;
+        final long bytes;
+
+        Entry(String version, HanaQueryResult result, long bytes){
+            this.version = version;
+            this.result = result;
+            this.bytes = bytes;
+        }
+    }
+
+    private final long maxBytes;
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long bytes;
+
+    private long hits;
+
+    private long misses;
+
+    private long evictions;
+
+    public HanaQueryResultCache(){
+        this(DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * @param maxBytes  Upper bound for the estimated size of all cached results
+     */
+    public HanaQueryResultCache(long maxBytes){
+        this.maxBytes = Math.max(0, maxBytes);
+    }
+
+    /**
+     * Builds the key of a query
+     *
+     * @param statement Statement text
+     * @param params    SQL parameters; may be null
+     * @return          Cache key
+     */
+    public static String getKey(String statement, HanaSqlParameter[] params){
+        StringBuilder key = new StringBuilder(statement);
+        if(params != null){
+            for(HanaSqlParameter param : params){
+                key.append('\u0000').append(param.hanaDataType.getSqlDataType()).append(':').append(param.parameterValue);
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * Retrieves the result of a query. Entries of an outdated version will be removed.
+     *
+     * @param key       Key of the query
+     * @param version   Current data version of the queried objects
+     * @return          Cached result; null if not cached
+     */
+    public synchronized HanaQueryResult get(String key, String version){
+        Entry entry = this.entries.get(key);
+        if(entry != null && entry.version.equals(version)){
+            this.hits++;
+            return entry.result;
+        }
+        if(entry != null){
+            remove(key);
+        }
+        this.misses++;
+        return null;
+    }
+
+    /**
+     * Stores the result of a query. Results, that would take more than a quarter of the
+     * cache, are not stored. Least recently used entries are evicted to make room.
+     *
+     * @param key       Key of the query
+     * @param version   Data version the result has been read with
+     * @param result    Complete result of the query; must not be modified afterwards
+     */
+    public synchronized void put(String key, String version, HanaQueryResult result){
+        long resultBytes = key.length() * 2L + result.estimateSizeBytes();
+        remove(key);
+        if(resultBytes > this.maxBytes / 4){
+            return;
+        }
+
+        this.entries.put(key, new Entry(version, result, resultBytes));
+        this.bytes += resultBytes;
+
+        Iterator<Map.Entry<String, Entry>> eldest = this.entries.entrySet().iterator();
+        while(this.bytes > this.maxBytes && eldest.hasNext()){
+            this.bytes -= eldest.next().getValue().bytes;
+            eldest.remove();
+            this.evictions++;
+        }
+    }
+
+    private void remove(String key){
+        Entry entry = this.entries.remove(key);
+        if(entry != null){
+            this.bytes -= entry.bytes;
+        }
+    }
+
+    public synchronized void clear(){
+        this.entries.clear();
+        this.bytes = 0;
+    }
+
+    public synchronized int size(){
+        return this.entries.size();
+    }
+
+    /**
+     * @return  Estimated size of all cached results in bytes
+     */
+    public synchronized long getSizeBytes(){
+        return this.bytes;
+    }
+
+    public synchronized long getHitCount(){
+        return this.hits;
+    }
+
+    public synchronized long getMissCount(){
+        return this.misses;
+    }
+
+    public synchronized long getEvictionCount(){
+        return this.evictions;
+    }
+
+    /**
+     * @return  Share of requests, that could be served from the cache; 0 if there were no requests
+     */
+    public synchronized double getHitRatio(){
+        long requests = this.hits + this.misses;
+        return requests == 0 ? 0 : (double) this.hits / requests;
+    }
+
+    @Override
+    public synchronized String toString(){
+        return "entries=" + this.entries.size() + ", bytes=" + this.bytes + ", hits=" + this.hits
+                + ", misses=" + this.misses + ", evictions=" + this.evictions;
+    }
+}
@@ -0,0 +1,25 @@
+package org.sap.cytoscape.internal.hdb;
+
+import java.sql.SQLException;
+
+/**
+ * Callback for consuming the result of a query row by row while it is
+ * being fetched from the database
+ */
+public interface HanaQueryRowHandler {
+
+    /**
+     * Called once before the first row with the metadata of the result set
+     *
+     * @param columnMetadata    Column metadata as reported by the result set
+     */
+    default void handleMetadata(HanaColumnInfo[] columnMetadata) throws SQLException {}
+
+    /**
+     * Called for every row of the result set. The array is re-used for the
+     * next row, so values have to be copied if they shall be kept.
+     *
+     * @param row   Values of the current row
+     */
+    void handleRow(Object[] row) throws SQLException;
+}
@@ -0,0 +1,51 @@
+package org.sap.cytoscape.internal.hdb;
+
+/**
+ * Strategies for loading only a sample of a graph workspace. All strategies
+ * select the sample on the database, so that only the sample is transferred.
+ */
+public enum HanaSamplingStrategy {
+
+    /**
+     * Complete workspace
+     */
+    NONE("None"),
+
+    /**
+     * Random nodes and the edges between them
+     */
+    RANDOM_NODES("Random Nodes"),
+
+    /**
+     * Random edges and their endpoints
+     */
+    RANDOM_EDGES("Random Edges"),
+
+    /**
+     * Seed nodes and all nodes within a number of hops, as well as the edges between them
+     */
+    SNOWBALL("Snowball"),
+
+    /**
+     * Like snowball sampling, but each hop only follows a random share of the edges
+     */
+    FOREST_FIRE("Forest Fire");
+
+    private final String displayName;
+
+    HanaSamplingStrategy(String displayName){
+        this.displayName = displayName;
+    }
+
+    /**
+     * @return  True, if the sample grows from seed nodes along the edges
+     */
+    public boolean isExpanding(){
+        return this == SNOWBALL || this == FOREST_FIRE;
+    }
+
+    @Override
+    public String toString(){
+        return this.displayName;
+    }
+}
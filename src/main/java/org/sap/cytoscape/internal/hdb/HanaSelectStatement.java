@@ -0,0 +1,139 @@
+package org.sap.cytoscape.internal.hdb;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Restricts a projection on a single table to partitions of the table
+ * and further predicates. Optionally, the result can be grouped, ordered and limited.
+ */
+public class HanaSelectStatement {
+
+    private final String projection;
+
+    private final List<Integer> partitionIds;
+
+    private final List<String> predicates;
+
+    private final List<HanaSqlParameter> parameters;
+
+    private String groupByColumns;
+
+    private String orderByColumn;
+
+    private int limit;
+
+    /**
+     * @param projection    Unrestricted projection, i.e. SELECT ... FROM "schema"."table"
+     */
+    public HanaSelectStatement(String projection){
+        this.projection = projection;
+        this.partitionIds = new ArrayList<>();
+        this.predicates = new ArrayList<>();
+        this.parameters = new ArrayList<>();
+        this.groupByColumns = null;
+        this.orderByColumn = null;
+        this.limit = 0;
+    }
+
+    /**
+     * Restricts the projection to the given partitions of the table
+     *
+     * @param partitionIds  Partition ids as listed in M_CS_TABLES
+     * @return              This statement
+     */
+    public HanaSelectStatement restrictToPartitions(List<Integer> partitionIds){
+        this.partitionIds.addAll(partitionIds);
+        return this;
+    }
+
+    /**
+     * Adds a predicate, that will be combined with the existing predicates by AND
+     *
+     * @param predicate SQL predicate with ? as placeholders for parameters
+     * @param params    Parameters of the predicate in the order of their placeholders
+     * @return          This statement
+     */
+    public HanaSelectStatement where(String predicate, HanaSqlParameter... params){
+        this.predicates.add(predicate);
+        for(HanaSqlParameter param : params){
+            this.parameters.add(param);
+        }
+        return this;
+    }
+
+    /**
+     * Groups the result, so that the projection may aggregate columns
+     *
+     * @param quotedColumns Comma separated list of quoted column names
+     * @return              This statement
+     */
+    public HanaSelectStatement groupBy(String quotedColumns){
+        this.groupByColumns = quotedColumns;
+        return this;
+    }
+
+    /**
+     * Orders the result ascending by a column
+     *
+     * @param quotedColumn  Quoted name of the column
+     * @return              This statement
+     */
+    public HanaSelectStatement orderBy(String quotedColumn){
+        this.orderByColumn = quotedColumn;
+        return this;
+    }
+
+    /**
+     * Limits the number of returned rows
+     *
+     * @param limit Maximum number of rows; 0 for no limit
+     * @return      This statement
+     */
+    public HanaSelectStatement limit(int limit){
+        this.limit = limit;
+        return this;
+    }
+
+    public String getSql(){
+        StringBuilder sql = new StringBuilder(this.projection);
+
+        if(!this.partitionIds.isEmpty()){
+            List<String> ids = new ArrayList<>();
+            for(Integer id : this.partitionIds){
+                ids.add(id.toString());
+            }
+            sql.append(" PARTITION (").append(String.join(", ", ids)).append(")");
+        }
+
+        for(int i = 0; i < this.predicates.size(); i++){
+            sql.append(i == 0 ? " WHERE (" : " AND (").append(this.predicates.get(i)).append(")");
+        }
+
+        if(this.groupByColumns != null){
+            sql.append(" GROUP BY ").append(this.groupByColumns);
+        }
+
+        if(this.orderByColumn != null){
+            sql.append(" ORDER BY ").append(this.orderByColumn);
+        }
+
+        if(this.limit > 0){
+            sql.append(" LIMIT ").append(this.limit);
+        }
+
+        return sql.toString();
+    }
+
+    /**
+     * @return  Parameters for all placeholders in the statement; null if there are none
+     */
+    public HanaSqlParameter[] getParameters(){
+        return this.parameters.isEmpty() ? null : this.parameters.toArray(new HanaSqlParameter[0]);
+    }
+
+    @Override
+    public String toString(){
+        return getSql();
+    }
+}
@@ -0,0 +1,108 @@
+package org.sap.cytoscape.internal.hdb;
+
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Coordinates concurrent executions of the same operation, keyed by a string. The first caller
+ * of a key executes the operation, callers that arrive while it is running wait for its result
+ * instead of executing it again. Results are not kept once the operation has finished.
+ * Waiting callers can be cancelled with their HanaCancellationToken. If the operation itself
+ * is cancelled, waiting callers execute it on their own.
+ *
+ * @param <T>   Result of the operation; shared by all callers
+ */
+public class HanaSingleFlight<T> {
+
+    /**
+     * Interval in which waiting callers check their cancellation token
+     */
+    static final long POLL_INTERVAL_MILLIS = 100;
+
+    private final Map<String, CompletableFuture<T>> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong sharedCount = new AtomicLong();
+
+    /**
+     * Executes the operation, unless it is already running for the same key
+     *
+     * @param key       Key of the operation
+     * @param operation Operation to execute
+     * @return          Result of the operation, that may have been started by another caller
+     * @throws Exception    Exception of the operation
+     */
+    public T execute(String key, Callable<T> operation) throws Exception {
+        while(true){
+            CompletableFuture<T> own = new CompletableFuture<>();
+            CompletableFuture<T> running = this.inFlight.putIfAbsent(key, own);
+            if(running == null){
+                try {
+                    T result = operation.call();
+                    own.complete(result);
+                    return result;
+                } catch (Exception e){
+                    // the driver reports cancelled statements with errors of its own
+                    HanaCancellationToken token = HanaCancellationToken.current();
+                    if(token != null && token.isCancelled()){
+                        own.completeExceptionally(new SQLException("Running operation has been cancelled", HanaCancellationToken.SQL_STATE_CANCELLED, e));
+                    } else {
+                        own.completeExceptionally(e);
+                    }
+                    throw e;
+                } finally {
+                    this.inFlight.remove(key, own);
+                    // no-op, unless the operation has failed with an error
+                    own.completeExceptionally(new SQLException("Running operation has failed"));
+                }
+            }
+
+            try {
+                T result = await(running);
+                this.sharedCount.incrementAndGet();
+                return result;
+            } catch (SQLException e){
+                if(!HanaCancellationToken.SQL_STATE_CANCELLED.equals(e.getSQLState())){
+                    throw e;
+                }
+                // the caller, that executed the operation, has been cancelled
+                HanaCancellationToken.checkCurrent();
+            }
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> running) throws Exception {
+        while(true){
+            HanaCancellationToken.checkCurrent();
+            try {
+                return running.get(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e){
+                // check for cancellation and keep waiting
+            } catch (InterruptedException e){
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted while waiting for running operation", e);
+            } catch (ExecutionException e){
+                if(e.getCause() instanceof Exception){
+                    throw (Exception) e.getCause();
+                }
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * @param key   Key of the operation
+     * @return      True, if the operation is currently running
+     */
+    public boolean isInFlight(String key){
+        return this.inFlight.containsKey(key);
+    }
+
+    /**
+     * @return  Number of calls, that have been served by the operation of another caller
+     */
+    public long getSharedCount(){
+        return this.sharedCount.get();
+    }
+}
@@ -0,0 +1,179 @@
+package org.sap.cytoscape.internal.hdb;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LRU cache of prepared statements of a single session, keyed by their SQL text.
+ * Re-using prepared statements saves the parsing and plan lookup on the server
+ * for statements that are executed over and over (e.g. when opening dialogs).
+ * Like the session itself, the cache must only be used by one thread at a time.
+ */
+public class HanaStatementCache implements AutoCloseable {
+
+    public static final int DEFAULT_CAPACITY = 32;
+
+    /**
+     * Hit and miss counters, that may be shared by the caches of multiple sessions
+     */
+    public static class Statistics {
+        private final AtomicLong hits = new AtomicLong();
+        private final AtomicLong misses = new AtomicLong();
+        private final AtomicLong evictions = new AtomicLong();
+
+        public long getHitCount(){
+            return this.hits.get();
+        }
+
+        public long getMissCount(){
+            return this.misses.get();
+        }
+
+        public long getEvictionCount(){
+            return this.evictions.get();
+        }
+
+        /**
+         * @return  Share of requests, that could be served from the cache; 0 if there were no requests
+         */
+        public double getHitRatio(){
+            long requests = getHitCount() + getMissCount();
+            return requests == 0 ? 0 : (double) getHitCount() / requests;
+        }
+
+        @Override
+        public String toString(){
+            return "hits=" + getHitCount() + ", misses=" + getMissCount() + ", evictions=" + getEvictionCount();
+        }
+    }
+
+    /**
+     * Prepared statement, that has been checked out of the cache. Closing it
+     * returns the statement to the cache instead of closing it.
+     */
+    public class CachedStatement implements AutoCloseable {
+
+        private final String sql;
+
+        private PreparedStatement statement;
+
+        private CachedStatement(String sql, PreparedStatement statement){
+            this.sql = sql;
+            this.statement = statement;
+        }
+
+        public PreparedStatement get(){
+            return this.statement;
+        }
+
+        @Override
+        public void close(){
+            if(this.statement != null){
+                giveBack(this.sql, this.statement);
+                this.statement = null;
+            }
+        }
+    }
+
+    private final Connection connection;
+
+    private final int capacity;
+
+    private final Statistics statistics;
+
+    /**
+     * Statements that are not checked out; least recently used first
+     */
+    private final LinkedHashMap<String, PreparedStatement> statements;
+
+    private boolean closed;
+
+    /**
+     * @param connection    Session the statements are prepared on
+     * @param capacity      Maximum number of cached statements
+     * @param statistics    Counters to update
+     */
+    public HanaStatementCache(Connection connection, int capacity, Statistics statistics){
+        this.connection = connection;
+        this.capacity = Math.max(0, capacity);
+        this.statistics = statistics;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true);
+        this.closed = false;
+    }
+
+    /**
+     * Checks out a prepared statement for the given SQL text. If the cache holds none,
+     * the statement will be prepared on the session.
+     *
+     * @param sql   SQL text of the statement
+     * @return      Prepared statement, to be closed after use
+     */
+    public CachedStatement prepare(String sql) throws SQLException {
+        PreparedStatement statement = this.statements.remove(sql);
+        if(statement != null){
+            this.statistics.hits.incrementAndGet();
+        } else {
+            this.statistics.misses.incrementAndGet();
+            statement = this.connection.prepareStatement(sql);
+        }
+        return new CachedStatement(sql, statement);
+    }
+
+    /**
+     * @return  Number of statements, that are currently cached
+     */
+    public int size(){
+        return this.statements.size();
+    }
+
+    public Statistics getStatistics(){
+        return this.statistics;
+    }
+
+    /**
+     * Closes all cached statements. Statements that are checked out will be
+     * closed when they are returned.
+     */
+    @Override
+    public void close(){
+        this.closed = true;
+        for(PreparedStatement statement : this.statements.values()){
+            closeQuietly(statement);
+        }
+        this.statements.clear();
+    }
+
+    private void giveBack(String sql, PreparedStatement statement){
+        // statements may have been checked out twice, e.g. by nested queries; keep only one of them
+        if(this.closed || this.capacity == 0 || this.statements.containsKey(sql)){
+            closeQuietly(statement);
+            return;
+        }
+
+        try {
+            statement.clearParameters();
+            statement.clearBatch();
+        } catch (SQLException e){
+            closeQuietly(statement);
+            return;
+        }
+
+        this.statements.put(sql, statement);
+
+        Iterator<Map.Entry<String, PreparedStatement>> it = this.statements.entrySet().iterator();
+        while (this.statements.size() > this.capacity && it.hasNext()){
+            closeQuietly(it.next().getValue());
+            it.remove();
+            this.statistics.evictions.incrementAndGet();
+        }
+    }
+
+    private static void closeQuietly(PreparedStatement statement){
+        try { statement.close(); } catch (SQLException ignore) {}
+    }
+}
@@ -0,0 +1,157 @@
+package org.sap.cytoscape.internal.hdb;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.sap.cytoscape.internal.utils.HanaUtils.quoteIdentifier;
+
+/**
+ * Describes a part of a table that can be fetched independently of the other parts.
+ * A slice either consists of one or more partitions of the table or of a range of
+ * key values.
+ */
+public class HanaTableSlice {
+
+    private final List<Integer> partitionIds;
+
+    /**
+     * Exclusive lower bound of the key range; null if unbounded
+     */
+    private final HanaSqlParameter lowerKeyBound;
+
+    /**
+     * Inclusive upper bound of the key range; null if unbounded
+     */
+    private final HanaSqlParameter upperKeyBound;
+
+    private HanaTableSlice(List<Integer> partitionIds, HanaSqlParameter lowerKeyBound, HanaSqlParameter upperKeyBound){
+        this.partitionIds = partitionIds;
+        this.lowerKeyBound = lowerKeyBound;
+        this.upperKeyBound = upperKeyBound;
+    }
+
+    /**
+     * @return  Slice that covers the complete table
+     */
+    public static HanaTableSlice wholeTable(){
+        return new HanaTableSlice(Collections.emptyList(), null, null);
+    }
+
+    /**
+     * @param partitionIds  Partitions that belong to the slice
+     * @return              Slice that covers the given partitions
+     */
+    public static HanaTableSlice ofPartitions(List<Integer> partitionIds){
+        return new HanaTableSlice(new ArrayList<>(partitionIds), null, null);
+    }
+
+    /**
+     * @param lowerKeyBound Exclusive lower bound; null if unbounded
+     * @param upperKeyBound Inclusive upper bound; null if unbounded
+     * @return              Slice that covers the given key range
+     */
+    public static HanaTableSlice ofKeyRange(HanaSqlParameter lowerKeyBound, HanaSqlParameter upperKeyBound){
+        return new HanaTableSlice(Collections.emptyList(), lowerKeyBound, upperKeyBound);
+    }
+
+    /**
+     * Distributes partitions round-robin over a number of slices
+     *
+     * @param partitionIds  All partitions of a table
+     * @param nSlices       Maximum number of slices
+     * @return              Slices that cover all given partitions
+     */
+    public static List<HanaTableSlice> distributePartitions(List<Integer> partitionIds, int nSlices){
+        int n = Math.max(1, Math.min(nSlices, partitionIds.size()));
+        List<List<Integer>> groups = new ArrayList<>();
+        for(int i = 0; i < n; i++){
+            groups.add(new ArrayList<>());
+        }
+        for(int i = 0; i < partitionIds.size(); i++){
+            groups.get(i % n).add(partitionIds.get(i));
+        }
+        List<HanaTableSlice> slices = new ArrayList<>();
+        for(List<Integer> group : groups){
+            slices.add(ofPartitions(group));
+        }
+        return slices;
+    }
+
+    /**
+     * Builds consecutive key ranges from the upper bounds of the ranges. The
+     * last range will be unbounded, so keys beyond the last bound are covered as well.
+     *
+     * @param upperBounds   Sorted upper bounds (inclusive)
+     * @return              Slices that cover the complete key domain
+     */
+    public static List<HanaTableSlice> fromKeyBoundaries(List<HanaSqlParameter> upperBounds){
+        List<HanaTableSlice> slices = new ArrayList<>();
+        HanaSqlParameter lower = null;
+        for(int i = 0; i < upperBounds.size() - 1; i++){
+            slices.add(ofKeyRange(lower, upperBounds.get(i)));
+            lower = upperBounds.get(i);
+        }
+        slices.add(ofKeyRange(lower, null));
+        return slices;
+    }
+
+    /**
+     * Splits the range of integer keys into ranges of equal width. The first and the last
+     * range are unbounded, so keys outside of the given range are covered as well.
+     *
+     * @param minKey    Smallest key of the table
+     * @param maxKey    Largest key of the table
+     * @param nSlices   Maximum number of slices
+     * @return          Slices that cover the complete key domain
+     */
+    public static List<HanaTableSlice> splitKeyRange(long minKey, long maxKey, int nSlices){
+        double width = ((double) maxKey - minKey) / Math.max(1, nSlices);
+        List<HanaSqlParameter> upperBounds = new ArrayList<>();
+        long previous = minKey;
+        for(int i = 1; i < nSlices; i++){
+            // computed in floating point, so that wide ranges do not overflow
+            long bound = (long) Math.floor(minKey + width * i);
+            if((upperBounds.isEmpty() ? bound >= previous : bound > previous) && bound < maxKey){
+                upperBounds.add(new HanaSqlParameter(bound, Types.BIGINT));
+                previous = bound;
+            }
+        }
+        // the last bound is replaced by an open range
+        upperBounds.add(new HanaSqlParameter(maxKey, Types.BIGINT));
+        return fromKeyBoundaries(upperBounds);
+    }
+
+    /**
+     * Restricts a projection to this slice
+     *
+     * @param select        Projection on the sliced table
+     * @param keyColName    Name of the key column of the table
+     * @return              The restricted projection
+     */
+    public HanaSelectStatement applyTo(HanaSelectStatement select, String keyColName){
+        if(!this.partitionIds.isEmpty()){
+            select.restrictToPartitions(this.partitionIds);
+        }
+        if(this.lowerKeyBound != null){
+            select.where(quoteIdentifier(keyColName) + " > ?", this.lowerKeyBound);
+        }
+        if(this.upperKeyBound != null){
+            select.where(quoteIdentifier(keyColName) + " <= ?", this.upperKeyBound);
+        }
+        return select;
+    }
+
+    @Override
+    public String toString(){
+        if(!this.partitionIds.isEmpty()){
+            return "partitions " + this.partitionIds;
+        }
+        if(this.lowerKeyBound == null && this.upperKeyBound == null){
+            return "whole table";
+        }
+        return "keys (" + (this.lowerKeyBound == null ? "" : this.lowerKeyBound.parameterValue) + ", "
+                + (this.upperKeyBound == null ? "" : this.upperKeyBound.parameterValue) + "]";
+    }
+}
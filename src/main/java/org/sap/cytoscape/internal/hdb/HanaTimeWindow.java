@@ -0,0 +1,84 @@
+package org.sap.cytoscape.internal.hdb;
+
+import java.sql.Timestamp;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+
+/**
+ * Half-open interval of time [start, end), in which edges are loaded. Edges with a validity
+ * period are loaded, if the period overlaps the window; edges with a single timestamp (events)
+ * are loaded, if the timestamp lies within the window.
+ */
+public class HanaTimeWindow {
+
+    public static final String TIMESTAMP_FORMAT = "yyyy-MM-dd HH:mm:ss";
+
+    public static final String DATE_FORMAT = "yyyy-MM-dd";
+
+    /**
+     * Inclusive start of the window; null for no lower bound
+     */
+    public Timestamp start;
+
+    /**
+     * Exclusive end of the window; null for no upper bound
+     */
+    public Timestamp end;
+
+    public HanaTimeWindow(Timestamp start, Timestamp end){
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * @return  True, if the window is bounded on both sides and can be shifted
+     */
+    public boolean isBounded(){
+        return this.start != null && this.end != null;
+    }
+
+    /**
+     * @param millis    Amount of time to shift the window by; negative to shift it backwards
+     * @return          New window of the same length
+     */
+    public HanaTimeWindow shift(long millis){
+        return new HanaTimeWindow(
+                this.start == null ? null : new Timestamp(this.start.getTime() + millis),
+                this.end == null ? null : new Timestamp(this.end.getTime() + millis)
+        );
+    }
+
+    /**
+     * Parses a point in time, either as date or as date and time
+     *
+     * @param value Point in time as yyyy-MM-dd or yyyy-MM-dd HH:mm:ss
+     * @return      Timestamp; null if the value is empty
+     * @throws IllegalArgumentException If the value cannot be parsed
+     */
+    public static Timestamp parseTimestamp(String value){
+        if(value == null || value.trim().isEmpty()){
+            return null;
+        }
+        String trimmed = value.trim();
+        SimpleDateFormat format = new SimpleDateFormat(trimmed.length() > DATE_FORMAT.length() ? TIMESTAMP_FORMAT : DATE_FORMAT);
+        format.setLenient(false);
+        try {
+            return new Timestamp(format.parse(trimmed).getTime());
+        } catch (ParseException e){
+            throw new IllegalArgumentException("Point in time " + trimmed + " does not match " + TIMESTAMP_FORMAT);
+        }
+    }
+
+    /**
+     * @param timestamp Point in time; may be null
+     * @return          Point in time as yyyy-MM-dd HH:mm:ss; null if the timestamp is null
+     */
+    public static String formatTimestamp(Timestamp timestamp){
+        return timestamp == null ? null : new SimpleDateFormat(TIMESTAMP_FORMAT).format(timestamp);
+    }
+
+    @Override
+    public String toString(){
+        return "[" + (this.start == null ? "-" : formatTimestamp(this.start)) + ", " + (this.end == null ? "-" : formatTimestamp(this.end)) + ")";
+    }
+}
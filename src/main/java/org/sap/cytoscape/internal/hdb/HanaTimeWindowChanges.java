@@ -0,0 +1,25 @@
+package org.sap.cytoscape.internal.hdb;
+
+import java.util.List;
+
+/**
+ * Edges, that have entered or left the loaded graph, when moving from one time window to the next
+ */
+public class HanaTimeWindowChanges {
+
+    /**
+     * Workspace with the edges, that are valid in the next window, but not in the previous one.
+     * Its node table stays empty.
+     */
+    public HanaGraphWorkspace enteredEdges;
+
+    /**
+     * Keys of the edges, that have been valid in the previous window, but not in the next one
+     */
+    public List<String> leftEdgeKeys;
+
+    /**
+     * Window, that the changes lead to
+     */
+    public HanaTimeWindow timeWindow;
+}
@@ -0,0 +1,62 @@
+package org.sap.cytoscape.internal.hdb;
+
+import java.util.Objects;
+
+/**
+ * Key of a node of a heterogeneous workspace. Vertex tables may use the same key values,
+ * so that nodes are told apart by their vertex table and key.
+ */
+public class HanaVertexKey {
+
+    /**
+     * Vertex table, as it is recorded in the type column
+     */
+    public final String vertexTable;
+
+    /**
+     * Lookup key of the node within its vertex table (see AbstractHanaGraphTableRow.toLookupKey)
+     */
+    public final Object key;
+
+    public HanaVertexKey(String vertexTable, Object key){
+        this.vertexTable = vertexTable;
+        this.key = key;
+    }
+
+    /**
+     * Creates the key, that a node is looked up with on the client
+     *
+     * @param vertexTable   Vertex table of the node; null if the workspace is not heterogeneous
+     * @param value         Value of the key column
+     * @return              Key for lookups; null if the value is null
+     */
+    public static Object of(String vertexTable, Object value){
+        Object key = AbstractHanaGraphTableRow.toLookupKey(value);
+        if(vertexTable == null || key == null){
+            return key;
+        }
+        return new HanaVertexKey(vertexTable, key);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if(this == obj){
+            return true;
+        }
+        if(!(obj instanceof HanaVertexKey)){
+            return false;
+        }
+        HanaVertexKey other = (HanaVertexKey) obj;
+        return this.vertexTable.equals(other.vertexTable) && this.key.equals(other.key);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.vertexTable, this.key);
+    }
+
+    @Override
+    public String toString() {
+        return this.vertexTable + ":" + this.key;
+    }
+}
@@ -0,0 +1,106 @@
+package org.sap.cytoscape.internal.hdb;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches the column layout of graph workspaces, keyed by instance and workspace.
+ * Each entry carries the catalog version it has been read with; an entry is only
+ * valid as long as the current version of the workspace is the same.
+ */
+public class HanaWorkspaceMetadataCache {
+
+    /**
+     * Column layout of a workspace as it has been read from the catalog
+     */
+    private static class Entry {
+        final String version;
+        final List<String[]> metadataRows;
+
+        Entry(String version, List<String[]> metadataRows){
+            this.version = version;
+            this.metadataRows = metadataRows;
+        }
+    }
+
+    private final Map<String, Entry> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    public HanaWorkspaceMetadataCache(){
+        this.entries = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Builds the key of a workspace
+     *
+     * @param instance  Identifier of the database instance (and user)
+     * @param workspace Schema and name of the workspace
+     * @return          Cache key
+     */
+    public static String getKey(String instance, HanaDbObject workspace){
+        return instance + "|" + workspace.toString();
+    }
+
+    /**
+     * Retrieves the column layout of a workspace. Entries of an outdated version
+     * will be removed.
+     *
+     * @param key       Key of the workspace
+     * @param version   Current catalog version of the workspace
+     * @return          Metadata rows (entity type, role, schema, table, column); null if not cached
+     */
+    public List<String[]> get(String key, String version){
+        Entry entry = this.entries.get(key);
+        if(entry != null && entry.version.equals(version)){
+            this.hits.incrementAndGet();
+            return entry.metadataRows;
+        }
+        if(entry != null){
+            this.entries.remove(key, entry);
+        }
+        this.misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Stores the column layout of a workspace
+     *
+     * @param key           Key of the workspace
+     * @param version       Catalog version the metadata has been read with
+     * @param metadataRows  Metadata rows (entity type, role, schema, table, column)
+     */
+    public void put(String key, String version, List<String[]> metadataRows){
+        List<String[]> rows = new ArrayList<>();
+        for(String[] row : metadataRows){
+            rows.add(row.clone());
+        }
+        this.entries.put(key, new Entry(version, Collections.unmodifiableList(rows)));
+    }
+
+    public void invalidate(String key){
+        this.entries.remove(key);
+    }
+
+    public void clear(){
+        this.entries.clear();
+    }
+
+    public int size(){
+        return this.entries.size();
+    }
+
+    public long getHitCount(){
+        return this.hits.get();
+    }
+
+    public long getMissCount(){
+        return this.misses.get();
+    }
+}
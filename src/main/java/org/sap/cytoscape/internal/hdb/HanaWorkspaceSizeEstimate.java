@@ -0,0 +1,157 @@
+package org.sap.cytoscape.internal.hdb;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Estimated size of a graph workspace download, derived from row counts and catalog statistics
+ * before any rows are transferred. The heap estimate is a rough upper bound for the rows of the
+ * connection manager and the network, that is created from them.
+ */
+public class HanaWorkspaceSizeEstimate {
+
+    /**
+     * Heap per row for the row object, its value map and the Cytoscape node or edge with its table row
+     */
+    static final long ROW_OVERHEAD_BYTES = 400;
+
+    /**
+     * Heap per value for the map entries in the row and in the Cytoscape table
+     */
+    static final long FIELD_OVERHEAD_BYTES = 80;
+
+    /**
+     * Share of the available heap, that a download may use
+     */
+    static final double HEAP_SAFETY_FACTOR = 0.8;
+
+    /**
+     * Expected number of nodes
+     */
+    public long nodeCount;
+
+    /**
+     * Expected number of edges
+     */
+    public long edgeCount;
+
+    /**
+     * Average width of the downloaded node columns in bytes
+     */
+    public long nodeRowWidth;
+
+    /**
+     * Average width of the downloaded edge columns in bytes
+     */
+    public long edgeRowWidth;
+
+    /**
+     * Number of downloaded node columns
+     */
+    public int nodeColumnCount;
+
+    /**
+     * Number of downloaded edge columns
+     */
+    public int edgeColumnCount;
+
+    /**
+     * True, if the workspace consists of several vertex or edge tables
+     */
+    public boolean heterogeneous;
+
+    /**
+     * @return  Estimated heap, that the nodes and edges will occupy
+     */
+    public long getEstimatedHeapBytes(){
+        // strings are held as UTF-16 in the heap
+        long nodeBytes = ROW_OVERHEAD_BYTES + this.nodeColumnCount * FIELD_OVERHEAD_BYTES + 2 * this.nodeRowWidth;
+        long edgeBytes = ROW_OVERHEAD_BYTES + this.edgeColumnCount * FIELD_OVERHEAD_BYTES + 2 * this.edgeRowWidth;
+        return this.nodeCount * nodeBytes + this.edgeCount * edgeBytes;
+    }
+
+    /**
+     * Scales the expected counts, e.g. for a sample of the workspace
+     *
+     * @param nodeFraction  Share of the nodes, that will be loaded
+     * @param edgeFraction  Share of the edges, that will be loaded
+     */
+    public void scale(double nodeFraction, double edgeFraction){
+        this.nodeCount = (long) Math.ceil(this.nodeCount * Math.min(1d, nodeFraction));
+        this.edgeCount = (long) Math.ceil(this.edgeCount * Math.min(1d, edgeFraction));
+    }
+
+    /**
+     * @param availableBytes    Heap, that is available for the download
+     * @return                  True, if the download is expected to fit into the heap
+     */
+    public boolean fits(long availableBytes){
+        return getEstimatedHeapBytes() <= availableBytes * HEAP_SAFETY_FACTOR;
+    }
+
+    /**
+     * @param availableBytes    Heap, that is available for the download
+     * @return                  Share of the workspace between 0 and 1, that is expected to fit into the heap
+     */
+    public double getFittingFraction(long availableBytes){
+        long estimatedBytes = getEstimatedHeapBytes();
+        if(estimatedBytes <= 0){
+            return 1d;
+        }
+        return Math.max(0d, Math.min(1d, availableBytes * HEAP_SAFETY_FACTOR / estimatedBytes));
+    }
+
+    /**
+     * Heap, that can still be allocated by the JVM. The used heap is taken from the state of the
+     * memory pools after their last garbage collection, so that garbage is not counted as used.
+     * Pools, that have not been collected yet, count with their current usage.
+     *
+     * @return  Heap, that can still be allocated by the JVM
+     */
+    public static long getAvailableHeapBytes(){
+        Set<String> collectedPools = new HashSet<>();
+        for(GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()){
+            if(collector.getCollectionCount() > 0){
+                collectedPools.addAll(Arrays.asList(collector.getMemoryPoolNames()));
+            }
+        }
+
+        long usedBytes = 0;
+        boolean hasHeapPools = false;
+        for(MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()){
+            if(pool.getType() != MemoryType.HEAP || !pool.isValid()){
+                continue;
+            }
+            hasHeapPools = true;
+            MemoryUsage collectionUsage = pool.getCollectionUsage();
+            usedBytes += collectionUsage != null && collectedPools.contains(pool.getName())
+                    ? collectionUsage.getUsed()
+                    : pool.getUsage().getUsed();
+        }
+
+        Runtime runtime = Runtime.getRuntime();
+        if(!hasHeapPools){
+            return runtime.maxMemory() - (runtime.totalMemory() - runtime.freeMemory());
+        }
+        return Math.max(0, runtime.maxMemory() - usedBytes);
+    }
+
+    /**
+     * @param bytes Number of bytes
+     * @return      Human readable size in MB
+     */
+    public static String formatBytes(long bytes){
+        return String.format("%,d MB", bytes / (1024 * 1024));
+    }
+
+    @Override
+    public String toString(){
+        return String.format("%,d nodes and %,d edges (approx. %s)", this.nodeCount, this.edgeCount, formatBytes(getEstimatedHeapBytes()));
+    }
+}
@@ -2,11 +2,16 @@ package org.sap.cytoscape.internal.tasks;
 
 import org.cytoscape.model.*;
 import org.cytoscape.work.*;
+import org.sap.cytoscape.internal.hdb.HanaCancellationToken;
 import org.sap.cytoscape.internal.hdb.HanaConnectionManager;
 import org.sap.cytoscape.internal.utils.CyNetworkKey;
 import org.sap.cytoscape.internal.hdb.HanaGraphWorkspace;
 import org.sap.cytoscape.internal.utils.CyUtils;
 
+import java.sql.SQLException;
+
+import static org.sap.cytoscape.internal.utils.CyLogging.*;
+
 public class CyCreateWorkspaceTask extends AbstractTask {
 
     @ContainsTunables
@@ -15,6 +20,11 @@ public class CyCreateWorkspaceTask extends AbstractTask {
     private final CyNetworkManager networkManager;
     private final HanaConnectionManager connectionManager;
 
+    /**
+     * Cancels the statements, that are running on behalf of this task
+     */
+    private final HanaCancellationToken cancellationToken = new HanaCancellationToken();
+
     public CyCreateWorkspaceTask(CyNetworkManager networkManager, HanaConnectionManager connectionManager){
         this.networkManager = networkManager;
         this.connectionManager = connectionManager;
@@ -26,6 +36,26 @@ public class CyCreateWorkspaceTask extends AbstractTask {
 
     @Override
     public void run(TaskMonitor taskMonitor) throws Exception {
+        try (HanaCancellationToken.Scope scope = this.cancellationToken.bind()){
+            createWorkspace(taskMonitor);
+        } catch (SQLException e){
+            if(!this.cancelled){
+                throw e;
+            }
+            info("Creation of graph workspace has been cancelled");
+        }
+    }
+
+    /**
+     * Stops the upload by cancelling the running statements on SAP HANA
+     */
+    @Override
+    public void cancel() {
+        super.cancel();
+        this.cancellationToken.cancel();
+    }
+
+    private void createWorkspace(TaskMonitor taskMonitor) throws Exception {
         taskMonitor.setTitle("SAP HANA: Create Graph Workspace");
         taskMonitor.setProgress(0d);
 
@@ -100,6 +130,10 @@ public class CyCreateWorkspaceTask extends AbstractTask {
                     newWorkspace.getEdgeTableData()
             );
 
+            taskMonitor.setStatusMessage("Creating Graph Workspace");
+            this.connectionManager.createGraphWorkspace(newWorkspace);
+
+            // only link the network, once the workspace exists
             taskMonitor.setStatusMessage("Linking Cytoscape Network to SAP HANA Graph Workspace");
             CyUtils.enhanceCyNetworkWithDatabaseLinkInformation(
                     selectedNetwork.getDefaultNetworkTable(),
@@ -108,13 +142,13 @@ public class CyCreateWorkspaceTask extends AbstractTask {
                     newWorkspace.getWorkspaceDbObject()
             );
 
-            taskMonitor.setStatusMessage("Creating Graph Workspace");
-            this.connectionManager.createGraphWorkspace(newWorkspace);
-
         } catch (Exception e) {
             // Drop any tables already created so the user can retry cleanly.
-            if (edgeTableCreated) try { this.connectionManager.dropTableIfExists(newWorkspace.getEdgeTableDbObject()); } catch (Exception ignore) {}
-            if (nodeTableCreated) try { this.connectionManager.dropTableIfExists(newWorkspace.getNodeTableDbObject()); } catch (Exception ignore) {}
+            // The cleanup must not be cancelled along with the task.
+            try (HanaCancellationToken.Scope cleanupScope = new HanaCancellationToken().bind()) {
+                if (edgeTableCreated) try { this.connectionManager.dropTableIfExists(newWorkspace.getEdgeTableDbObject()); } catch (Exception ignore) {}
+                if (nodeTableCreated) try { this.connectionManager.dropTableIfExists(newWorkspace.getNodeTableDbObject()); } catch (Exception ignore) {}
+            }
             throw e;
         }
     }
@@ -0,0 +1,159 @@
+package org.sap.cytoscape.internal.tasks;
+
+import org.cytoscape.model.*;
+import org.cytoscape.task.AbstractNodeViewTask;
+import org.cytoscape.view.model.CyNetworkView;
+import org.cytoscape.view.model.View;
+import org.cytoscape.work.TaskMonitor;
+import org.sap.cytoscape.internal.exceptions.GraphInconsistencyException;
+import org.sap.cytoscape.internal.hdb.*;
+import org.sap.cytoscape.internal.utils.CySupergraphRegistry;
+import org.sap.cytoscape.internal.utils.CyUtils;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+
+import static org.sap.cytoscape.internal.utils.CyLogging.*;
+
+/**
+ * Expands a supernode of a network, that has been loaded as supergraph. The members of the
+ * group and the edges between them are fetched from SAP HANA and added to the network.
+ */
+public class CyDrillDownTask extends AbstractNodeViewTask {
+
+    private final HanaConnectionManager connectionManager;
+    private final CySupergraphRegistry supergraphRegistry;
+
+    /**
+     * Cancels the statements, that are running on behalf of this task
+     */
+    private final HanaCancellationToken cancellationToken = new HanaCancellationToken();
+
+    public CyDrillDownTask(
+            View<CyNode> nodeView,
+            CyNetworkView networkView,
+            HanaConnectionManager connectionManager,
+            CySupergraphRegistry supergraphRegistry
+    ) {
+        super(nodeView, networkView);
+        this.connectionManager = connectionManager;
+        this.supergraphRegistry = supergraphRegistry;
+    }
+
+    /**
+     * @param network   Network
+     * @param node      Node of the network
+     * @return          Key of the group, if the node is a supernode; null otherwise
+     */
+    static String getGroupKey(CyNetwork network, CyNode node){
+        CyTable nodeTable = network.getDefaultNodeTable();
+        if(nodeTable.getColumn(HanaGraphWorkspace.GROUP_KEY_COL) == null){
+            return null;
+        }
+        return nodeTable.getRow(node.getSUID()).get(HanaGraphWorkspace.GROUP_KEY_COL, String.class);
+    }
+
+    @Override
+    public void run(TaskMonitor taskMonitor) throws Exception {
+        try (HanaCancellationToken.Scope scope = this.cancellationToken.bind()){
+            drillDown(taskMonitor);
+        } catch (SQLException e){
+            if(!this.cancelled){
+                throw e;
+            }
+            info("Expanding of supernode has been cancelled");
+        }
+    }
+
+    /**
+     * Stops the download by cancelling the running statements on SAP HANA
+     */
+    @Override
+    public void cancel() {
+        super.cancel();
+        this.cancellationToken.cancel();
+    }
+
+    private void drillDown(TaskMonitor taskMonitor) throws Exception {
+
+        taskMonitor.setTitle("SAP HANA: Expanding Supernode");
+        taskMonitor.setProgress(0d);
+
+        if(!this.connectionManager.isConnected()){
+            // user has not yet executed the connect task
+            taskMonitor.showMessage(
+                    TaskMonitor.Level.ERROR,
+                    "Connection to SAP HANA has not been established. Please connect first."
+            );
+            taskMonitor.setProgress(1d);
+            return;
+        }
+
+        CyNetwork network = this.netView.getModel();
+        CySupergraphRegistry.Supergraph supergraph = this.supergraphRegistry.get(network);
+        String groupKey = getGroupKey(network, this.nodeView.getModel());
+        if(supergraph == null || groupKey == null){
+            taskMonitor.showMessage(
+                    TaskMonitor.Level.ERROR,
+                    "The node is not a supernode of a network, that has been grouped on SAP HANA in this session."
+            );
+            taskMonitor.setProgress(1d);
+            return;
+        }
+
+        // only one task may add the members of a group
+        if(!supergraph.expandedGroups.add(groupKey)){
+            taskMonitor.showMessage(TaskMonitor.Level.INFO, "Supernode " + groupKey + " has already been expanded");
+            taskMonitor.setProgress(1d);
+            return;
+        }
+
+        HanaGraphWorkspace members;
+        try {
+            taskMonitor.setStatusMessage("Loading members of supernode " + groupKey);
+            members = this.connectionManager.loadGroupMembers(supergraph.graphWorkspace, supergraph.loadOptions, groupKey);
+        } catch (Exception e){
+            supergraph.expandedGroups.remove(groupKey);
+            throw e;
+        }
+
+        // once the network is being modified, the members are added completely to keep it consistent
+        if(this.cancelled){
+            supergraph.expandedGroups.remove(groupKey);
+            return;
+        }
+
+        CyUtils.enhanceCyTableWithAttributes(network.getDefaultNodeTable(), members.getNodeFieldList());
+        CyUtils.enhanceCyTableWithAttributes(network.getDefaultEdgeTable(), members.getEdgeFieldList());
+        if(network.getDefaultNodeTable().getColumn(HanaGraphWorkspace.MEMBER_OF_COL) == null){
+            network.getDefaultNodeTable().createColumn(HanaGraphWorkspace.MEMBER_OF_COL, String.class, false);
+        }
+
+        int nGraphObjects = members.getNodeTable().size() + members.getEdgeTable().size();
+        int progress = 0;
+
+        taskMonitor.setStatusMessage("Adding members of supernode " + groupKey);
+        HashMap<Object, CyNode> nodesByHanaKey = new HashMap<>();
+        for(HanaNodeTableRow row : members.getNodeTable()){
+            CyNode node = CyUtils.addNewNodeToNetwork(network, members, row);
+            network.getDefaultNodeTable().getRow(node.getSUID()).set(HanaGraphWorkspace.MEMBER_OF_COL, groupKey);
+            nodesByHanaKey.put(row.getLookupKey(), node);
+            taskMonitor.setProgress(progress++ / (double) nGraphObjects);
+        }
+
+        for(HanaEdgeTableRow row : members.getEdgeTable()){
+            try{
+                CyUtils.addNewEdgeToNetwork(network, members, row, nodesByHanaKey);
+            } catch (GraphInconsistencyException e) {
+                // ignore this edge
+                taskMonitor.showMessage(TaskMonitor.Level.WARN, "Edge " + row.getKeyValue(String.class) + " will be omitted: " + e.getMessage());
+            }
+            taskMonitor.setProgress(progress++ / (double) nGraphObjects);
+        }
+
+        taskMonitor.showMessage(TaskMonitor.Level.INFO, "Supernode " + groupKey + " has been expanded into "
+                + members.getNodeTable().size() + " nodes and " + members.getEdgeTable().size() + " edges");
+        taskMonitor.setProgress(1d);
+        taskMonitor.setStatusMessage("Finished expanding supernode " + groupKey);
+    }
+}
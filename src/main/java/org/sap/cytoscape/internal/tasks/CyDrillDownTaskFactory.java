@@ -0,0 +1,46 @@
+package org.sap.cytoscape.internal.tasks;
+
+import org.cytoscape.model.CyNetwork;
+import org.cytoscape.model.CyNode;
+import org.cytoscape.task.AbstractNodeViewTaskFactory;
+import org.cytoscape.view.model.CyNetworkView;
+import org.cytoscape.view.model.View;
+import org.cytoscape.work.TaskIterator;
+import org.sap.cytoscape.internal.hdb.HanaConnectionManager;
+import org.sap.cytoscape.internal.utils.CySupergraphRegistry;
+
+public class CyDrillDownTaskFactory extends AbstractNodeViewTaskFactory {
+
+    private final HanaConnectionManager connectionManager;
+    private final CySupergraphRegistry supergraphRegistry;
+
+    public CyDrillDownTaskFactory(
+            HanaConnectionManager connectionManager,
+            CySupergraphRegistry supergraphRegistry
+    ){
+        super();
+
+        this.connectionManager = connectionManager;
+        this.supergraphRegistry = supergraphRegistry;
+    }
+
+    @Override
+    public TaskIterator createTaskIterator(View<CyNode> nodeView, CyNetworkView networkView){
+        CyDrillDownTask newTask = new CyDrillDownTask(nodeView, networkView, this.connectionManager, this.supergraphRegistry);
+        return new TaskIterator(newTask);
+    }
+
+    /**
+     * @return  True for supernodes, that have not been expanded yet
+     */
+    @Override
+    public boolean isReady(View<CyNode> nodeView, CyNetworkView networkView){
+        CyNetwork network = networkView.getModel();
+        CySupergraphRegistry.Supergraph supergraph = this.supergraphRegistry.get(network);
+        if(supergraph == null){
+            return false;
+        }
+        String groupKey = CyDrillDownTask.getGroupKey(network, nodeView.getModel());
+        return groupKey != null && !supergraph.expandedGroups.contains(groupKey);
+    }
+}
@@ -4,9 +4,13 @@ import org.cytoscape.model.*;
 import org.cytoscape.work.*;
 import org.sap.cytoscape.internal.exceptions.GraphInconsistencyException;
 import org.sap.cytoscape.internal.hdb.*;
+import org.sap.cytoscape.internal.utils.CyDeferredAttributeLoader;
+import org.sap.cytoscape.internal.utils.CySupergraphRegistry;
 import org.sap.cytoscape.internal.utils.CyUtils;
 import static org.sap.cytoscape.internal.utils.CyLogging.*;
 
+import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
@@ -23,6 +27,21 @@ public class CyLoadTask extends AbstractTask {
     private final CyNetworkManager networkManager;
     private final HanaConnectionManager connectionManager;
 
+    /**
+     * Fetches deferred columns of the loaded network on selection; null if columns are not deferred
+     */
+    private final CyDeferredAttributeLoader deferredAttributeLoader;
+
+    /**
+     * Keeps the grouping of supergraphs for expanding their supernodes; null if supernodes cannot be expanded
+     */
+    private final CySupergraphRegistry supergraphRegistry;
+
+    /**
+     * Cancels the statements, that are running on behalf of this task
+     */
+    private final HanaCancellationToken cancellationToken = new HanaCancellationToken();
+
     /**
      * Constructor uses the connectionManager to initially retrieve the list of available graph
      * workspaces on the system.
@@ -35,10 +54,32 @@ public class CyLoadTask extends AbstractTask {
             CyNetworkFactory networkFactory,
             CyNetworkManager networkManager,
             HanaConnectionManager connectionManager
+    ) {
+        this(networkFactory, networkManager, connectionManager, null, null);
+    }
+
+    /**
+     * Constructor uses the connectionManager to initially retrieve the list of available graph
+     * workspaces on the system.
+     *
+     * @param networkFactory            Creation of networks
+     * @param networkManager            Registering networks in the client
+     * @param connectionManager         Manage connection to SAP HANA
+     * @param deferredAttributeLoader   Fetches deferred columns on selection
+     * @param supergraphRegistry        Keeps the grouping of supergraphs for expanding supernodes
+     */
+    public CyLoadTask(
+            CyNetworkFactory networkFactory,
+            CyNetworkManager networkManager,
+            HanaConnectionManager connectionManager,
+            CyDeferredAttributeLoader deferredAttributeLoader,
+            CySupergraphRegistry supergraphRegistry
     ) {
         this.networkFactory = networkFactory;
         this.networkManager = networkManager;
         this.connectionManager = connectionManager;
+        this.deferredAttributeLoader = deferredAttributeLoader;
+        this.supergraphRegistry = supergraphRegistry;
 
         CyConnectTask.tryConnect(this.connectionManager);
 
@@ -53,6 +94,26 @@ public class CyLoadTask extends AbstractTask {
      */
     @Override
     public void run(TaskMonitor taskMonitor) throws Exception {
+        try (HanaCancellationToken.Scope scope = this.cancellationToken.bind()){
+            load(taskMonitor);
+        } catch (SQLException e){
+            if(!this.cancelled){
+                throw e;
+            }
+            info("Loading of graph workspace has been cancelled");
+        }
+    }
+
+    /**
+     * Stops the download by cancelling the running statements on SAP HANA
+     */
+    @Override
+    public void cancel() {
+        super.cancel();
+        this.cancellationToken.cancel();
+    }
+
+    private void load(TaskMonitor taskMonitor) throws Exception {
 
         taskMonitor.setTitle("SAP HANA: Load Graph Workspace");
         taskMonitor.setProgress(0d);
@@ -82,25 +143,78 @@ public class CyLoadTask extends AbstractTask {
             return;
         }
 
+        HanaLoadOptions loadOptions = tunables.getLoadOptions();
+        boolean progressive = tunables.progressive;
+
+        if(loadOptions.isGrouping()){
+            // only the summary is downloaded, so neither planning nor memory checks are needed
+            taskMonitor.setStatusMessage("Grouping nodes of Graph Workspace " + selectedWorkspaceKey + " in SAP HANA");
+            HanaGraphWorkspace supergraph = connectionManager.loadSupergraph(selectedWorkspace, loadOptions);
+            if(this.cancelled){
+                return;
+            }
+
+            CyNetwork newNetwork = addNetwork(taskMonitor, supergraph, selectedWorkspaceKey, loadOptions);
+            if(newNetwork != null && this.supergraphRegistry != null){
+                this.supergraphRegistry.register(newNetwork, selectedWorkspace, loadOptions);
+            }
+
+            taskMonitor.setProgress(1d);
+            taskMonitor.setStatusMessage("Finished creating supergraph from Graph Workspace in SAP HANA");
+            return;
+        }
+
+        taskMonitor.setStatusMessage("Estimating size of Graph Workspace " + selectedWorkspaceKey);
+        if(tunables.autoPlan){
+            HanaLoadPlan plan = connectionManager.planLoad(selectedWorkspace, loadOptions);
+            for(String decision : plan.getDecisions()){
+                taskMonitor.showMessage(TaskMonitor.Level.INFO, "Load plan: " + decision);
+            }
+            loadOptions = plan.getLoadOptions();
+            progressive = plan.isProgressive();
+        } else {
+            loadOptions.sizeEstimate = connectionManager.estimateWorkspaceSize(selectedWorkspace, loadOptions);
+        }
+
+        if(!checkMemory(taskMonitor, selectedWorkspace, loadOptions) || this.cancelled){
+            taskMonitor.setProgress(1d);
+            return;
+        }
+
         taskMonitor.setStatusMessage("Downloading data from Graph Workspace " + selectedWorkspaceKey + " in SAP HANA");
 
-        // load data from SAP HANA
-        HanaGraphWorkspace graphWorkspace =
-                connectionManager.loadGraphWorkspace(selectedWorkspace);
+        if(progressive){
+            loadProgressively(taskMonitor, selectedWorkspace, selectedWorkspaceKey, loadOptions);
+        } else {
+            // load data from SAP HANA
+            HanaGraphWorkspace graphWorkspace =
+                    connectionManager.loadGraphWorkspace(selectedWorkspace, loadOptions);
+            if(this.cancelled){
+                return;
+            }
 
-        // start network creation in Cytoscape
-        CyNetwork newNetwork = this.networkFactory.createNetwork();
+            CyNetwork newNetwork = addNetwork(taskMonitor, graphWorkspace, selectedWorkspaceKey, loadOptions);
+            if(newNetwork != null){
+                registerDeferredColumns(newNetwork, graphWorkspace);
+            }
+        }
 
-        // visible name of the network in the client
-        newNetwork.getDefaultNetworkTable().getRow(newNetwork.getSUID()).set("name", selectedWorkspaceKey);
+        taskMonitor.setProgress(1d);
+        taskMonitor.setStatusMessage("Finished creating network from Graph Workspace in SAP HANA");
+    }
 
-        // link to hana instance and graph workspace to enable operations such as 'refresh'
-        CyUtils.enhanceCyNetworkWithDatabaseLinkInformation(
-                newNetwork.getDefaultNetworkTable(),
-                newNetwork.getSUID(),
-                connectionManager.getInstanceIdentifier(),
-                graphWorkspace.getWorkspaceDbObject()
-        );
+    /**
+     * Creates and registers a network with the nodes and edges of a loaded workspace
+     *
+     * @param taskMonitor       TaskMonitor to report progress
+     * @param graphWorkspace    Loaded workspace
+     * @param networkName       Visible name of the network
+     * @param loadOptions       Options, that the workspace has been loaded with
+     * @return                  Registered network; null if the task has been cancelled
+     */
+    private CyNetwork addNetwork(TaskMonitor taskMonitor, HanaGraphWorkspace graphWorkspace, String networkName, HanaLoadOptions loadOptions) throws SQLException {
+        // start network creation in Cytoscape
+        CyNetwork newNetwork = createNetwork(graphWorkspace.getWorkspaceDbObject(), networkName, loadOptions);
 
         // create node attributes
         CyUtils.enhanceCyTableWithAttributes(newNetwork.getDefaultNodeTable(), graphWorkspace.getNodeFieldList());
@@ -115,10 +229,14 @@ public class CyLoadTask extends AbstractTask {
         taskMonitor.setStatusMessage("Creating nodes");
 
         // create nodes
-        HashMap<String, CyNode> nodesByHanaKey = new HashMap<>();
+        HashMap<Object, CyNode> nodesByHanaKey = newNodeMap(graphWorkspace.getNodeTable().size());
         for(HanaNodeTableRow row : graphWorkspace.getNodeTable()){
+            if(this.cancelled){
+                // network has not been registered yet
+                return null;
+            }
             CyNode newNode = CyUtils.addNewNodeToNetwork(newNetwork, graphWorkspace, row);
-            nodesByHanaKey.put(row.getKeyValue(String.class), newNode);
+            nodesByHanaKey.put(row.getLookupKey(), newNode);
             taskMonitor.setProgress(progress++ / (double)nGraphObjects);
         }
 
@@ -126,19 +244,205 @@ public class CyLoadTask extends AbstractTask {
 
         // create edges
         for(HanaEdgeTableRow row: graphWorkspace.getEdgeTable()){
-            try{
-                CyUtils.addNewEdgeToNetwork(newNetwork, graphWorkspace, row, nodesByHanaKey);
-            } catch (GraphInconsistencyException e) {
-                // ignore this edge
-                taskMonitor.showMessage(TaskMonitor.Level.ERROR, e.toString());
-                taskMonitor.showMessage(TaskMonitor.Level.ERROR,"Edge " + row.getKeyValue(String.class) + " will be omitted");
+            if(this.cancelled){
+                return null;
             }
+            addEdge(taskMonitor, newNetwork, graphWorkspace, row, nodesByHanaKey);
             taskMonitor.setProgress(progress++ / (double)nGraphObjects);
         }
 
         networkManager.addNetwork(newNetwork);
+        return newNetwork;
+    }
 
-        taskMonitor.setProgress(1d);
-        taskMonitor.setStatusMessage("Finished creating network from Graph Workspace in SAP HANA");
+    /**
+     * Loads the selected workspace page by page. The network is registered after the first
+     * page, so that the user can already look at the partial graph. The partial network
+     * will be removed again, if the load fails or is cancelled.
+     *
+     * @param taskMonitor       TaskMonitor to report progress
+     * @param selectedWorkspace Schema and name of the workspace
+     * @param networkName       Visible name of the network
+     * @param loadOptions       Options for the download
+     */
+    private void loadProgressively(TaskMonitor taskMonitor, HanaDbObject selectedWorkspace, String networkName, HanaLoadOptions loadOptions) throws Exception {
+        HashMap<Object, CyNode> nodesByHanaKey = newNodeMap(loadOptions.sizeEstimate == null ? 0 : loadOptions.sizeEstimate.nodeCount);
+        CyNetwork network = createNetwork(selectedWorkspace, networkName, loadOptions);
+        boolean[] isRegistered = new boolean[1];
+        int[] nEdges = new int[1];
+
+        HanaGraphWorkspace loadedWorkspace;
+        try {
+            loadedWorkspace = connectionManager.loadGraphWorkspaceProgressively(selectedWorkspace, loadOptions, new HanaGraphPageHandler() {
+                @Override
+                public void handleNodePage(HanaGraphWorkspace graphWorkspace, List<HanaNodeTableRow> nodes) {
+                    if(!isRegistered[0]){
+                        networkManager.addNetwork(network);
+                        isRegistered[0] = true;
+                    }
+                    // column types are known once the first page of the table has been fetched
+                    CyUtils.enhanceCyTableWithAttributes(network.getDefaultNodeTable(), graphWorkspace.getNodeFieldList());
+                    for(HanaNodeTableRow row : nodes){
+                        nodesByHanaKey.put(row.getLookupKey(), CyUtils.addNewNodeToNetwork(network, graphWorkspace, row));
+                    }
+                    taskMonitor.setStatusMessage("Loaded " + nodesByHanaKey.size() + " nodes");
+                }
+
+                @Override
+                public void handleEdgePage(HanaGraphWorkspace graphWorkspace, List<HanaEdgeTableRow> edges) {
+                    if(!isRegistered[0]){
+                        networkManager.addNetwork(network);
+                        isRegistered[0] = true;
+                    }
+                    CyUtils.enhanceCyTableWithAttributes(network.getDefaultEdgeTable(), graphWorkspace.getEdgeFieldList());
+                    for(HanaEdgeTableRow row : edges){
+                        addEdge(taskMonitor, network, graphWorkspace, row, nodesByHanaKey);
+                    }
+                    nEdges[0] += edges.size();
+                    taskMonitor.setStatusMessage("Loaded " + nodesByHanaKey.size() + " nodes and " + nEdges[0] + " edges");
+                }
+            });
+        } catch (Exception e){
+            if(isRegistered[0]){
+                networkManager.destroyNetwork(network);
+            }
+            throw e;
+        }
+
+        if(this.cancelled){
+            if(isRegistered[0]){
+                networkManager.destroyNetwork(network);
+            }
+            return;
+        }
+        if(!isRegistered[0]){
+            // workspace is empty
+            networkManager.addNetwork(network);
+        }
+        registerDeferredColumns(network, loadedWorkspace);
+    }
+
+    /**
+     * Compares the estimated size of the download to the available memory. If it does not fit,
+     * the load is cancelled or reduced to a sample, depending on the tunables.
+     *
+     * @param taskMonitor       TaskMonitor to report the decision
+     * @param selectedWorkspace Schema and name of the workspace
+     * @param loadOptions       Options for the download with their size estimate; reduced if necessary
+     * @return                  False, if the load has to be cancelled
+     */
+    private boolean checkMemory(TaskMonitor taskMonitor, HanaDbObject selectedWorkspace, HanaLoadOptions loadOptions) {
+        HanaWorkspaceSizeEstimate estimate = loadOptions.sizeEstimate;
+
+        long available = HanaWorkspaceSizeEstimate.getAvailableHeapBytes();
+        if(estimate.fits(available)){
+            return true;
+        }
+
+        String message = "Graph Workspace " + selectedWorkspace + " is expected to contain " + estimate
+                + ", but only " + HanaWorkspaceSizeEstimate.formatBytes(available) + " of memory are available.";
+        String action = tunables.memoryGuard.getSelectedValue();
+
+        if(CyLoadTaskTunables.MEMORY_IGNORE.equals(action)){
+            taskMonitor.showMessage(TaskMonitor.Level.WARN, message);
+            return true;
+        }
+        if(!CyLoadTaskTunables.MEMORY_SAMPLE.equals(action) || estimate.heterogeneous){
+            taskMonitor.showMessage(TaskMonitor.Level.ERROR, message + " Please apply a filter or load a sample.");
+            return false;
+        }
+
+        double fraction = estimate.getFittingFraction(available);
+        if(loadOptions.sampling.isExpanding()){
+            loadOptions.maxSampleNodes = (int) Math.max(1, Math.min(Integer.MAX_VALUE, estimate.nodeCount * fraction));
+        } else {
+            double percentage = loadOptions.isSampling() ? loadOptions.samplingPercentage : 100d;
+            loadOptions.sampling = loadOptions.isSampling() ? loadOptions.sampling : HanaSamplingStrategy.RANDOM_NODES;
+            // round down to a readable percentage, but keep a non-empty sample
+            loadOptions.samplingPercentage = Math.max(0.01, Math.floor(percentage * fraction * 100) / 100);
+        }
+        estimate.scale(fraction, fraction);
+
+        taskMonitor.showMessage(TaskMonitor.Level.WARN, message + " Loading a sample instead: " + loadOptions.getSamplingDescription());
+        return true;
+    }
+
+    /**
+     * @param expectedNodes Number of nodes, that the map is sized for
+     * @return              Empty map for looking up nodes by their key
+     */
+    private static HashMap<Object, CyNode> newNodeMap(long expectedNodes){
+        // default load factor of 0.75
+        return new HashMap<>((int) Math.min(1 << 30, expectedNodes * 4 / 3 + 1));
+    }
+
+    private void registerDeferredColumns(CyNetwork network, HanaGraphWorkspace graphWorkspace) {
+        if(this.deferredAttributeLoader != null && graphWorkspace.hasDeferredColumns()){
+            this.deferredAttributeLoader.register(network, graphWorkspace);
+        }
+    }
+
+    /**
+     * Creates an empty network, that is linked to the graph workspace. Attribute columns
+     * have to be added, once the column types are known.
+     *
+     * @param graphWorkspace    Schema and name of the workspace
+     * @param networkName       Visible name of the network
+     * @param loadOptions       Options for the download
+     * @return                  New network
+     */
+    private CyNetwork createNetwork(HanaDbObject graphWorkspace, String networkName, HanaLoadOptions loadOptions) throws SQLException {
+        CyNetwork newNetwork = this.networkFactory.createNetwork();
+
+        // visible name of the network in the client
+        newNetwork.getDefaultNetworkTable().getRow(newNetwork.getSUID()).set("name", networkName);
+
+        // link to hana instance and graph workspace to enable operations such as 'refresh'
+        CyUtils.enhanceCyNetworkWithDatabaseLinkInformation(
+                newNetwork.getDefaultNetworkTable(),
+                newNetwork.getSUID(),
+                connectionManager.getInstanceIdentifier(),
+                graphWorkspace
+        );
+
+        // samples and sparsified networks must not be mistaken for the complete workspace
+        List<String> reductions = new ArrayList<>();
+        if(loadOptions.isSampling()){
+            reductions.add(loadOptions.getSamplingDescription());
+        }
+        if(loadOptions.isSparsifying()){
+            reductions.add(loadOptions.getSparsificationDescription());
+        }
+        if(loadOptions.isTimeWindowed()){
+            reductions.add(loadOptions.getTimeWindowDescription());
+        }
+        if(loadOptions.isGrouping()){
+            reductions.add(loadOptions.getGroupingDescription());
+        }
+        CyUtils.enhanceCyNetworkWithSamplingInformation(
+                newNetwork.getDefaultNetworkTable(),
+                newNetwork.getSUID(),
+                reductions.isEmpty() ? null : String.join(", ", reductions)
+        );
+
+        // a refresh has to load the same nodes, edges and attributes
+        CyUtils.enhanceCyNetworkWithFilterInformation(newNetwork.getDefaultNetworkTable(), newNetwork.getSUID(), loadOptions);
+
+        // complete time windows can be moved to other windows by playback
+        if(loadOptions.isTimeWindowed() && !loadOptions.isSampling() && !loadOptions.isSparsifying() && !loadOptions.isGrouping()){
+            CyUtils.enhanceCyNetworkWithTimeWindowInformation(newNetwork.getDefaultNetworkTable(), newNetwork.getSUID(), loadOptions);
+        }
+
+        return newNetwork;
+    }
+
+    private static void addEdge(TaskMonitor taskMonitor, CyNetwork network, HanaGraphWorkspace graphWorkspace, HanaEdgeTableRow row, HashMap<Object, CyNode> nodesByHanaKey) {
+        try{
+            CyUtils.addNewEdgeToNetwork(network, graphWorkspace, row, nodesByHanaKey);
+        } catch (GraphInconsistencyException e) {
+            // ignore this edge
+            taskMonitor.showMessage(TaskMonitor.Level.ERROR, e.toString());
+            taskMonitor.showMessage(TaskMonitor.Level.ERROR,"Edge " + row.getKeyValue(String.class) + " will be omitted");
+        }
     }
 }
@@ -5,27 +5,35 @@ import org.cytoscape.model.CyNetworkManager;
 import org.cytoscape.work.AbstractTaskFactory;
 import org.cytoscape.work.TaskIterator;
 import org.sap.cytoscape.internal.hdb.HanaConnectionManager;
+import org.sap.cytoscape.internal.utils.CyDeferredAttributeLoader;
+import org.sap.cytoscape.internal.utils.CySupergraphRegistry;
 
 public class CyLoadTaskFactory extends AbstractTaskFactory{
 
     private final CyNetworkFactory networkFactory;
     private final CyNetworkManager networkManager;
     private final HanaConnectionManager connectionManager;
+    private final CyDeferredAttributeLoader deferredAttributeLoader;
+    private final CySupergraphRegistry supergraphRegistry;
 
     public CyLoadTaskFactory(
             CyNetworkFactory networkFactory,
             CyNetworkManager networkManager,
-            HanaConnectionManager connectionManager
+            HanaConnectionManager connectionManager,
+            CyDeferredAttributeLoader deferredAttributeLoader,
+            CySupergraphRegistry supergraphRegistry
     ){
         super();
 
         this.networkFactory = networkFactory;
         this.networkManager = networkManager;
         this.connectionManager = connectionManager;
+        this.deferredAttributeLoader = deferredAttributeLoader;
+        this.supergraphRegistry = supergraphRegistry;
     }
 
     public TaskIterator createTaskIterator(){
-        CyLoadTask newTask = new CyLoadTask(this.networkFactory, this.networkManager, this.connectionManager);
+        CyLoadTask newTask = new CyLoadTask(this.networkFactory, this.networkManager, this.connectionManager, this.deferredAttributeLoader, this.supergraphRegistry);
         return new TaskIterator(newTask);
     }
 
@@ -2,17 +2,44 @@ package org.sap.cytoscape.internal.tasks;
 
 import org.cytoscape.work.ProvidesTitle;
 import org.cytoscape.work.Tunable;
+import org.cytoscape.work.util.ListChangeListener;
+import org.cytoscape.work.util.ListMultipleSelection;
+import org.cytoscape.work.util.ListSelection;
 import org.cytoscape.work.util.ListSingleSelection;
+import org.sap.cytoscape.internal.exceptions.HanaConnectionManagerException;
 import org.sap.cytoscape.internal.hdb.HanaConnectionManager;
 import org.sap.cytoscape.internal.hdb.HanaDbObject;
+import org.sap.cytoscape.internal.hdb.HanaGraphWorkspace;
+import org.sap.cytoscape.internal.hdb.HanaLoadOptions;
+import org.sap.cytoscape.internal.hdb.HanaSamplingStrategy;
+import org.sap.cytoscape.internal.hdb.HanaTimeWindow;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 
+import static org.sap.cytoscape.internal.utils.CyLogging.warn;
+
 public class CyLoadTaskTunables {
 
+    /**
+     * ChangeListener for offering the attributes of the selected workspace
+     */
+    class WorkspaceAttributesListener implements ListChangeListener<String> {
+        private CyLoadTaskTunables tunables;
+        public WorkspaceAttributesListener(CyLoadTaskTunables tunables) {
+            this.tunables = tunables;
+        }
+        @Override
+        public void selectionChanged(ListSelection<String> source) {
+            ListChangeListener.super.selectionChanged(source);
+            tunables.updateAttributeSelection(((ListSingleSelection<String>)source).getSelectedValue());
+        }
+    }
+
     /**
      *
      * @return Title of the input parameter dialog
@@ -26,12 +53,191 @@ public class CyLoadTaskTunables {
     @Tunable(description="Schema/Name", groups = {"Graph Workspace"}, required = true, params="lookup=contains", gravity=1)
     public ListSingleSelection<String> workspaceSelection;
 
+    /**
+     * Node attributes to download. Will be populated with the columns of the selected workspace.
+     */
+    @Tunable(description="Node Attributes", groups = {"Attributes"}, params="displayState=collapsed", listenForChange="workspaceSelection", gravity=5)
+    public ListMultipleSelection<String> nodeAttributeSelection = new ListMultipleSelection<>();
+
+    /**
+     * Edge attributes to download. Key, source and target columns will be downloaded in any case.
+     */
+    @Tunable(description="Edge Attributes", groups = {"Attributes"}, params="displayState=collapsed", listenForChange="workspaceSelection", gravity=6)
+    public ListMultipleSelection<String> edgeAttributeSelection = new ListMultipleSelection<>();
+
+    /**
+     * SQL predicate on the node table, that is evaluated on the database
+     */
+    @Tunable(description="Node Filter (SQL)", groups = {"Filter"}, params="displayState=collapsed", gravity=7)
+    public String nodeFilter = "";
+
+    /**
+     * SQL predicate on the edge table, that is evaluated on the database
+     */
+    @Tunable(description="Edge Filter (SQL)", groups = {"Filter"}, params="displayState=collapsed", gravity=8)
+    public String edgeFilter = "";
+
+    public static final String NO_EDGE_WEIGHT = "(none)";
+
+    /**
+     * Numeric edge column, by which edges are pruned. Will be populated with the columns of the selected workspace.
+     */
+    @Tunable(description="Edge Weight", groups = {"Sparsification"}, params="displayState=collapsed", listenForChange="workspaceSelection", gravity=10)
+    public ListSingleSelection<String> edgeWeightSelection = new ListSingleSelection<>(NO_EDGE_WEIGHT);
+
+    /**
+     * Number of edges with the highest weight, that are kept per node
+     */
+    @Tunable(description="Max. Edges per Node (0 = unlimited)", groups = {"Sparsification"}, params="displayState=collapsed", gravity=11)
+    public int maxEdgesPerNode = 0;
+
+    /**
+     * Edges with a lower weight are not loaded
+     */
+    @Tunable(description="Min. Edge Weight (empty = none)", groups = {"Sparsification"}, params="displayState=collapsed", gravity=12)
+    public String minEdgeWeight = "";
+
+    public static final String NO_TIME_COLUMN = "(none)";
+
+    /**
+     * Edge column with the start of the validity period or the time of an event. Will be populated with the columns of the selected workspace.
+     */
+    @Tunable(description="Valid From / Event Time", groups = {"Time Window"}, params="displayState=collapsed", listenForChange="workspaceSelection", gravity=13)
+    public ListSingleSelection<String> validFromSelection = new ListSingleSelection<>(NO_TIME_COLUMN);
+
+    /**
+     * Edge column with the end of the validity period; none for events with a single timestamp
+     */
+    @Tunable(description="Valid To (none = events)", groups = {"Time Window"}, params="displayState=collapsed", listenForChange="workspaceSelection", gravity=14)
+    public ListSingleSelection<String> validToSelection = new ListSingleSelection<>(NO_TIME_COLUMN);
+
+    /**
+     * Inclusive start of the time window
+     */
+    @Tunable(description="Window Start (yyyy-MM-dd [HH:mm:ss])", groups = {"Time Window"}, params="displayState=collapsed", gravity=15)
+    public String windowStart = "";
+
+    /**
+     * Exclusive end of the time window
+     */
+    @Tunable(description="Window End (yyyy-MM-dd [HH:mm:ss])", groups = {"Time Window"}, params="displayState=collapsed", gravity=16)
+    public String windowEnd = "";
+
+    /**
+     * Node columns, by which nodes are grouped into supernodes on the database. Will be populated with the columns of the selected workspace.
+     */
+    @Tunable(description="Group Nodes By (none = load nodes)", groups = {"Supergraph"}, params="displayState=collapsed", listenForChange="workspaceSelection", gravity=17)
+    public ListMultipleSelection<String> groupBySelection = new ListMultipleSelection<>();
+
+    /**
+     * Strategy for loading only a sample of the workspace, that is selected on the database
+     */
+    @Tunable(description="Sampling", groups = {"Sampling"}, params="displayState=collapsed", gravity=18)
+    public ListSingleSelection<HanaSamplingStrategy> sampling = new ListSingleSelection<>(HanaSamplingStrategy.values());
+
+    /**
+     * Share of nodes or edges, that is selected by random node or edge sampling
+     */
+    @Tunable(description="Sample Size (%)", groups = {"Sampling"}, params="displayState=collapsed", gravity=19)
+    public double samplingPercentage = 10;
+
+    /**
+     * SQL predicate on the node table, that selects the seed nodes of snowball and forest fire sampling
+     */
+    @Tunable(description="Seed Filter (SQL, empty = random seeds)", groups = {"Sampling"}, params="displayState=collapsed", gravity=20)
+    public String seedFilter = "";
+
+    /**
+     * Number of hops, that snowball and forest fire sampling expand the seed nodes by
+     */
+    @Tunable(description="Hops", groups = {"Sampling"}, params="displayState=collapsed", gravity=21)
+    public int samplingHops = 2;
+
+    /**
+     * Probability, that forest fire sampling follows an edge
+     */
+    @Tunable(description="Burn Probability (Forest Fire)", groups = {"Sampling"}, params="displayState=collapsed", gravity=22)
+    public double burnProbability = 0.3;
+
+    /**
+     * Upper bound for the number of nodes, that snowball and forest fire sampling select
+     */
+    @Tunable(description="Maximum Nodes (0 = unlimited)", groups = {"Sampling"}, params="displayState=collapsed", gravity=23)
+    public int maxSampleNodes = 0;
+
+    /**
+     * Lets the load plan choose fetch size, parallel connections, paging and deferred columns
+     * from the size of the workspace, the round trip time and the free memory
+     */
+    @Tunable(description="Plan Download Automatically", groups = {"Advanced"}, params="displayState=collapsed", gravity=24)
+    public boolean autoPlan = true;
+
+    /**
+     * JDBC fetch size for downloading nodes and edges. If 0, the fetch size will be
+     * adapted to the row width and the round trip time to the database.
+     */
+    @Tunable(description="Fetch Size (0 = adaptive)", groups = {"Advanced"}, params="displayState=collapsed", dependsOn="autoPlan=false", gravity=25)
+    public int fetchSize = 0;
+
+    /**
+     * Number of database sessions that download the node and edge table in parallel
+     */
+    @Tunable(description="Parallel Connections", groups = {"Advanced"}, params="displayState=collapsed", dependsOn="autoPlan=false", gravity=26)
+    public int parallelism = 1;
+
+    /**
+     * Registers the network after the first page and keeps adding nodes and edges while they are loaded
+     */
+    @Tunable(description="Show Graph While Loading", groups = {"Advanced"}, params="displayState=collapsed", dependsOn="autoPlan=false", gravity=27)
+    public boolean progressive = false;
+
+    /**
+     * Number of rows per page, if the graph is shown while loading
+     */
+    @Tunable(description="Page Size", groups = {"Advanced"}, params="displayState=collapsed", dependsOn="progressive=true", gravity=28)
+    public int pageSize = HanaLoadOptions.DEFAULT_PAGE_SIZE;
+
+    /**
+     * Skips large objects and wide text columns during the download; their values are
+     * fetched once nodes or edges are selected
+     */
+    @Tunable(description="Fetch Wide Columns on Selection", groups = {"Advanced"}, params="displayState=collapsed", dependsOn="autoPlan=false", gravity=29)
+    public boolean deferWideColumns = false;
+
+    /**
+     * Declared width in characters, above which text columns are fetched on selection
+     */
+    @Tunable(description="Max. Column Width", groups = {"Advanced"}, params="displayState=collapsed", dependsOn="deferWideColumns=true", gravity=30)
+    public int maxEagerColumnWidth = HanaLoadOptions.DEFAULT_MAX_EAGER_COLUMN_WIDTH;
+
+    public static final String MEMORY_CANCEL = "Cancel Load";
+
+    public static final String MEMORY_SAMPLE = "Load Sample";
+
+    public static final String MEMORY_IGNORE = "Load Anyway";
+
+    /**
+     * Action, if the estimated size of the download exceeds the available memory
+     */
+    @Tunable(description="If Memory Is Insufficient", groups = {"Advanced"}, params="displayState=collapsed", gravity=31)
+    public ListSingleSelection<String> memoryGuard = new ListSingleSelection<>(MEMORY_CANCEL, MEMORY_SAMPLE, MEMORY_IGNORE);
+
     /**
      * Maps graph workspaces by their name in the tunable dropdown box
      */
     public HashMap<String, HanaDbObject> graphWorkspaces;
 
+    private final HanaConnectionManager connectionManager;
+
+    /**
+     * Workspace, that the attribute selections have been populated for
+     */
+    private String attributeWorkspaceKey;
+
     public CyLoadTaskTunables(HanaConnectionManager connectionManager){
+        this.connectionManager = connectionManager;
+        this.memoryGuard.setSelectedValue(MEMORY_CANCEL);
+
         if(connectionManager.isConnected()){
 
             try {
@@ -46,6 +252,15 @@ public class CyLoadTaskTunables {
                 String[] wsArray = graphWorkspaces.keySet().toArray(new String[0]);
                 Arrays.sort(wsArray);
                 this.workspaceSelection = new ListSingleSelection<String>(wsArray);
+                this.workspaceSelection.addListener(new WorkspaceAttributesListener(this));
+
+                // read the column layout of all workspaces at once, while the user is choosing
+                connectionManager.prewarmWorkspaceMetadataAsync().exceptionally(e -> {
+                    warn("Could not pre-warm graph workspace metadata: " + e.getMessage());
+                    return 0;
+                });
+
+                updateAttributeSelection(this.workspaceSelection.getSelectedValue());
             } catch (SQLException e){
                 this.workspaceSelection = new ListSingleSelection<>();
             }
@@ -56,4 +271,114 @@ public class CyLoadTaskTunables {
         }
     }
 
+    /**
+     * Offers the attribute columns of a workspace for selection. All attributes are selected initially.
+     *
+     * @param workspaceKey  Name of the workspace in the dropdown box
+     */
+    void updateAttributeSelection(String workspaceKey){
+        if(workspaceKey == null || workspaceKey.equals(this.attributeWorkspaceKey)){
+            return;
+        }
+
+        List<String> nodeAttributes = new ArrayList<>();
+        List<String> edgeAttributes = new ArrayList<>();
+        try {
+            HanaGraphWorkspace metadata = this.connectionManager.loadGraphWorkspaceMetadata(this.graphWorkspaces.get(workspaceKey));
+            nodeAttributes = metadata.getNodeAttributeNames();
+            edgeAttributes = metadata.getEdgeAttributeNames();
+            this.attributeWorkspaceKey = workspaceKey;
+        } catch (SQLException | HanaConnectionManagerException e){
+            // attributes cannot be chosen, all of them will be downloaded
+            this.attributeWorkspaceKey = null;
+        }
+
+        this.nodeAttributeSelection.setPossibleValues(nodeAttributes);
+        this.nodeAttributeSelection.setSelectedValues(nodeAttributes);
+        this.edgeAttributeSelection.setPossibleValues(edgeAttributes);
+        this.edgeAttributeSelection.setSelectedValues(edgeAttributes);
+        this.groupBySelection.setPossibleValues(nodeAttributes);
+        this.groupBySelection.setSelectedValues(new ArrayList<>());
+
+        List<String> weightColumns = new ArrayList<>();
+        weightColumns.add(NO_EDGE_WEIGHT);
+        weightColumns.addAll(edgeAttributes);
+        this.edgeWeightSelection.setPossibleValues(weightColumns);
+        this.edgeWeightSelection.setSelectedValue(NO_EDGE_WEIGHT);
+
+        List<String> timeColumns = new ArrayList<>();
+        timeColumns.add(NO_TIME_COLUMN);
+        timeColumns.addAll(edgeAttributes);
+        this.validFromSelection.setPossibleValues(timeColumns);
+        this.validFromSelection.setSelectedValue(NO_TIME_COLUMN);
+        this.validToSelection.setPossibleValues(timeColumns);
+        this.validToSelection.setSelectedValue(NO_TIME_COLUMN);
+    }
+
+    /**
+     *
+     * @return Options for downloading the selected workspace
+     */
+    public HanaLoadOptions getLoadOptions(){
+        HanaLoadOptions loadOptions = new HanaLoadOptions();
+        loadOptions.fetchSize = Math.max(0, this.fetchSize);
+        loadOptions.parallelism = Math.max(1, Math.min(HanaLoadOptions.MAX_PARALLELISM, this.parallelism));
+        loadOptions.pageSize = this.pageSize > 0 ? this.pageSize : HanaLoadOptions.DEFAULT_PAGE_SIZE;
+        loadOptions.nodeFilter = this.nodeFilter;
+        loadOptions.edgeFilter = this.edgeFilter;
+        loadOptions.sampling = this.sampling.getSelectedValue();
+        loadOptions.samplingPercentage = this.samplingPercentage;
+        loadOptions.seedFilter = this.seedFilter;
+        loadOptions.samplingHops = Math.max(0, this.samplingHops);
+        loadOptions.burnProbability = this.burnProbability;
+        loadOptions.maxSampleNodes = Math.max(0, this.maxSampleNodes);
+        String edgeWeight = this.edgeWeightSelection.getSelectedValue();
+        if(edgeWeight != null && !NO_EDGE_WEIGHT.equals(edgeWeight)){
+            loadOptions.edgeWeightColumn = edgeWeight;
+            loadOptions.maxEdgesPerNode = Math.max(0, this.maxEdgesPerNode);
+            loadOptions.minEdgeWeight = parseEdgeWeight(this.minEdgeWeight);
+        }
+        String validFrom = this.validFromSelection.getSelectedValue();
+        if(validFrom != null && !NO_TIME_COLUMN.equals(validFrom)){
+            String validTo = this.validToSelection.getSelectedValue();
+            loadOptions.validFromColumn = validFrom;
+            loadOptions.validToColumn = validTo == null || NO_TIME_COLUMN.equals(validTo) ? null : validTo;
+            loadOptions.timeWindow = parseTimeWindow(this.windowStart, this.windowEnd);
+        }
+        List<String> groupBy = this.groupBySelection.getSelectedValues();
+        if(groupBy != null && !groupBy.isEmpty()){
+            loadOptions.groupByColumns = new ArrayList<>(groupBy);
+        }
+        loadOptions.deferWideColumns = this.deferWideColumns;
+        loadOptions.maxEagerColumnWidth = Math.max(0, this.maxEagerColumnWidth);
+
+        // attributes can only be restricted, if they have been offered for the selected workspace
+        if(this.attributeWorkspaceKey != null && this.attributeWorkspaceKey.equals(this.workspaceSelection.getSelectedValue())){
+            loadOptions.nodeAttributes = new HashSet<>(this.nodeAttributeSelection.getSelectedValues());
+            loadOptions.edgeAttributes = new HashSet<>(this.edgeAttributeSelection.getSelectedValues());
+        }
+        return loadOptions;
+    }
+
+    private static HanaTimeWindow parseTimeWindow(String start, String end){
+        try {
+            HanaTimeWindow window = new HanaTimeWindow(HanaTimeWindow.parseTimestamp(start), HanaTimeWindow.parseTimestamp(end));
+            return window.start == null && window.end == null ? null : window;
+        } catch (IllegalArgumentException e){
+            warn(e.getMessage() + ". The time window will be ignored");
+            return null;
+        }
+    }
+
+    private static Double parseEdgeWeight(String weight){
+        if(weight == null || weight.trim().isEmpty()){
+            return null;
+        }
+        try {
+            return Double.valueOf(weight.trim());
+        } catch (NumberFormatException e){
+            warn("Minimum edge weight " + weight + " is not a number and will be ignored");
+            return null;
+        }
+    }
 }
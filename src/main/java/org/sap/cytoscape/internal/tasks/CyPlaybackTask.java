@@ -0,0 +1,283 @@
+package org.sap.cytoscape.internal.tasks;
+
+import org.cytoscape.model.*;
+import org.cytoscape.work.AbstractTask;
+import org.cytoscape.work.ContainsTunables;
+import org.cytoscape.work.TaskMonitor;
+import org.sap.cytoscape.internal.exceptions.GraphInconsistencyException;
+import org.sap.cytoscape.internal.hdb.*;
+import org.sap.cytoscape.internal.utils.CyNetworkKey;
+import org.sap.cytoscape.internal.utils.CyUtils;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.sap.cytoscape.internal.utils.CyLogging.*;
+
+/**
+ * Moves the time window of a network step by step. In each step, only the edges, that enter
+ * or leave the window, are fetched from SAP HANA and applied to the network.
+ */
+public class CyPlaybackTask extends AbstractTask {
+
+    @ContainsTunables
+    public CyPlaybackTaskTunables tunables;
+
+    private final CyNetworkManager networkManager;
+    private final HanaConnectionManager connectionManager;
+
+    /**
+     * Cancels the statements, that are running on behalf of this task
+     */
+    private final HanaCancellationToken cancellationToken = new HanaCancellationToken();
+
+    public CyPlaybackTask(
+            CyNetworkManager networkManager,
+            HanaConnectionManager connectionManager
+    ) {
+        this.networkManager = networkManager;
+        this.connectionManager = connectionManager;
+
+        CyConnectTask.tryConnect(this.connectionManager);
+
+        this.tunables = new CyPlaybackTaskTunables(this.networkManager, this.connectionManager);
+    }
+
+    @Override
+    public void run(TaskMonitor taskMonitor) throws Exception {
+        try (HanaCancellationToken.Scope scope = this.cancellationToken.bind()){
+            playback(taskMonitor);
+        } catch (SQLException e){
+            if(!this.cancelled){
+                throw e;
+            }
+            info("Playback of time windows has been cancelled");
+        }
+    }
+
+    /**
+     * Stops the playback by cancelling the running statements on SAP HANA
+     */
+    @Override
+    public void cancel() {
+        super.cancel();
+        this.cancellationToken.cancel();
+    }
+
+    private void playback(TaskMonitor taskMonitor) throws Exception {
+
+        taskMonitor.setTitle("SAP HANA: Playing Back Time Windows");
+        taskMonitor.setProgress(0d);
+
+        if(!this.connectionManager.isConnected()){
+            // user has not yet executed the connect task
+            taskMonitor.showMessage(
+                    TaskMonitor.Level.ERROR,
+                    "Connection to SAP HANA has not been established. Please connect first."
+            );
+            taskMonitor.setProgress(1d);
+            return;
+        }
+
+        CyNetworkKey selectedNetworkKey = tunables.networkSelection.getSelectedValue();
+        if(selectedNetworkKey == null){
+            taskMonitor.showMessage(
+                    TaskMonitor.Level.ERROR,
+                    "No network has been loaded with a time window from the connected SAP HANA instance."
+            );
+            taskMonitor.setProgress(1d);
+            return;
+        }
+        CyNetwork network = this.networkManager.getNetwork(selectedNetworkKey.getSUID());
+        CyTable networkTable = network.getDefaultNetworkTable();
+
+        String linkedHanaInstance = CyUtils.getSapHanaInstanceFromNetworkTable(networkTable, selectedNetworkKey.getSUID());
+        HanaDbObject linkedHanaWorkspace = CyUtils.getSapHanaWorkspaceFromNetworkTable(networkTable, selectedNetworkKey.getSUID());
+        HanaLoadOptions loadOptions = CyUtils.getSapHanaTimeWindowFromNetworkTable(networkTable, selectedNetworkKey.getSUID());
+
+        if(!connectionManager.getInstanceIdentifier().equals(linkedHanaInstance)){
+            taskMonitor.showMessage(
+                    TaskMonitor.Level.ERROR,
+                    "Mismatch between linked and connected SAP HANA Instance"
+            );
+            taskMonitor.setProgress(1d);
+            return;
+        }
+
+        if(loadOptions == null || !loadOptions.timeWindow.isBounded()){
+            // an open window cannot be moved without changing its length
+            taskMonitor.showMessage(
+                    TaskMonitor.Level.ERROR,
+                    "The network has not been loaded with a time window, that has a start and an end. Please load it again with a complete time window."
+            );
+            taskMonitor.setProgress(1d);
+            return;
+        }
+
+        HanaGraphWorkspace metadata = connectionManager.loadGraphWorkspaceMetadata(linkedHanaWorkspace);
+        if(metadata.isHeterogeneous()){
+            // edges of different edge tables cannot be matched by a common key column
+            taskMonitor.showMessage(
+                    TaskMonitor.Level.ERROR,
+                    "Playback of time windows is not supported for heterogeneous graph workspaces."
+            );
+            taskMonitor.setProgress(1d);
+            return;
+        }
+
+        // keep the attributes, that the network has been loaded with
+        loadOptions.nodeAttributes = getLoadedAttributes(metadata.getNodeAttributeNames(), network.getDefaultNodeTable());
+        loadOptions.edgeAttributes = getLoadedAttributes(metadata.getEdgeAttributeNames(), network.getDefaultEdgeTable());
+
+        if(metadata.isEdgeOnlyGraph()){
+            metadata.prepareInferredNodeTable();
+        }
+        HashMap<Object, CyNode> nodesByHanaKey = getNodesByHanaKey(network, metadata.getNodeKeyColInfo().name);
+        HashMap<String, CyEdge> edgesByHanaKey = getEdgesByHanaKey(network, metadata.getEdgeKeyColInfo().name);
+
+        int steps = Math.max(0, tunables.steps);
+        long stepMillis = tunables.getStepMillis();
+        for(int step = 1; step <= steps && !this.cancelled; step++){
+            HanaTimeWindow nextWindow = loadOptions.timeWindow.shift(stepMillis);
+            taskMonitor.setStatusMessage("Loading changes for time window " + nextWindow);
+
+            HanaTimeWindowChanges changes = connectionManager.loadTimeWindowChanges(linkedHanaWorkspace, loadOptions, nextWindow);
+
+            // once the network is being modified, the step is completed to keep it consistent
+            if(this.cancelled){
+                break;
+            }
+            applyChanges(taskMonitor, network, changes, nodesByHanaKey, edgesByHanaKey);
+
+            loadOptions.timeWindow = nextWindow;
+            CyUtils.enhanceCyNetworkWithTimeWindowInformation(networkTable, network.getSUID(), loadOptions);
+            CyUtils.enhanceCyNetworkWithSamplingInformation(networkTable, network.getSUID(), loadOptions.getTimeWindowDescription());
+
+            taskMonitor.showMessage(TaskMonitor.Level.INFO, "Time window " + nextWindow + ": "
+                    + changes.enteredEdges.getEdgeTable().size() + " edges entered, " + changes.leftEdgeKeys.size() + " edges left");
+            taskMonitor.setProgress(step / (double) steps);
+
+            if(step < steps && tunables.delayMillis > 0){
+                Thread.sleep(tunables.delayMillis);
+            }
+        }
+
+        taskMonitor.setProgress(1d);
+        taskMonitor.setStatusMessage("Finished playback of time windows");
+    }
+
+    /**
+     * Removes the edges, that have left the window, and adds the edges, that have entered it.
+     * Nodes are not removed, since they are not restricted by the time window.
+     */
+    private static void applyChanges(TaskMonitor taskMonitor, CyNetwork network, HanaTimeWindowChanges changes,
+                                     HashMap<Object, CyNode> nodesByHanaKey, HashMap<String, CyEdge> edgesByHanaKey) throws GraphInconsistencyException {
+        List<CyEdge> leftEdges = new ArrayList<>();
+        for(String hanaKey : changes.leftEdgeKeys){
+            CyEdge edge = edgesByHanaKey.remove(hanaKey);
+            if(edge != null){
+                leftEdges.add(edge);
+            }
+        }
+        network.removeEdges(leftEdges);
+
+        HanaGraphWorkspace graphWorkspace = changes.enteredEdges;
+        CyUtils.enhanceCyTableWithAttributes(network.getDefaultEdgeTable(), graphWorkspace.getEdgeFieldList());
+
+        if(graphWorkspace.isEdgeOnlyGraph()){
+            // endpoints of new edges may not have been part of the previous windows
+            graphWorkspace.prepareInferredNodeTable();
+            List<HanaNodeTableRow> inferredNodes = graphWorkspace.inferNodesFromEdges(graphWorkspace.getEdgeTable());
+            CyUtils.enhanceCyTableWithAttributes(network.getDefaultNodeTable(), graphWorkspace.getNodeFieldList());
+            for(HanaNodeTableRow row : inferredNodes){
+                Object hanaKey = row.getLookupKey();
+                if(!nodesByHanaKey.containsKey(hanaKey)){
+                    nodesByHanaKey.put(hanaKey, CyUtils.addNewNodeToNetwork(network, graphWorkspace, row));
+                }
+            }
+        }
+
+        for(HanaEdgeTableRow row : graphWorkspace.getEdgeTable()){
+            String hanaKey = row.getKeyValue(String.class);
+            CyEdge edge = edgesByHanaKey.get(hanaKey);
+            if(edge != null){
+                CyUtils.updateNetworkEdgeAttributes(network, edge, graphWorkspace, row);
+                continue;
+            }
+            try{
+                edgesByHanaKey.put(hanaKey, CyUtils.addNewEdgeToNetwork(network, graphWorkspace, row, nodesByHanaKey));
+            } catch (GraphInconsistencyException e) {
+                // endpoints have been excluded by the node filter
+                taskMonitor.showMessage(TaskMonitor.Level.WARN, "Edge " + hanaKey + " will be omitted: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * @param attributeNames    Attribute columns of the workspace
+     * @param cyTable           Node or edge table of the network
+     * @return                  Attribute columns, that are part of the network
+     */
+    private static Set<String> getLoadedAttributes(List<String> attributeNames, CyTable cyTable){
+        Set<String> loaded = new HashSet<>();
+        for(String name : attributeNames){
+            if(cyTable.getColumn(name) != null){
+                loaded.add(name);
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Maps the nodes of a network by the key, that they are looked up with when edges are added
+     * (see HanaVertexKey.of)
+     *
+     * @param network   Network, that has been loaded from a workspace
+     * @param keyColumn Key column of the vertex table
+     * @return          Nodes by their lookup key
+     */
+    public static HashMap<Object, CyNode> getNodesByHanaKey(CyNetwork network, String keyColumn){
+        CyTable nodeTable = network.getDefaultNodeTable();
+        // nodes, that have been created by the plug-in, are named by their key
+        boolean isNamedByKey = nodeTable.getColumn(keyColumn) == null;
+        String column = isNamedByKey ? "name" : keyColumn;
+        Class fieldType = nodeTable.getColumn(column).getType();
+
+        HashMap<Object, CyNode> nodesByHanaKey = new HashMap<>();
+        for(CyNode node : network.getNodeList()){
+            Object hanaKey = nodeTable.getRow(node.getSUID()).get(column, fieldType);
+            if(hanaKey == null){
+                continue;
+            }
+            nodesByHanaKey.put(HanaVertexKey.of(null, hanaKey), node);
+            if(isNamedByKey){
+                // the name does not tell, whether the key has been numeric
+                try {
+                    nodesByHanaKey.put(Long.parseLong(hanaKey.toString()), node);
+                } catch (NumberFormatException ignore) {}
+            }
+        }
+        return nodesByHanaKey;
+    }
+
+    private static HashMap<String, CyEdge> getEdgesByHanaKey(CyNetwork network, String keyColumn){
+        CyTable edgeTable = network.getDefaultEdgeTable();
+        HashMap<String, CyEdge> edgesByHanaKey = new HashMap<>();
+        if(edgeTable.getColumn(keyColumn) == null){
+            return edgesByHanaKey;
+        }
+        Class fieldType = edgeTable.getColumn(keyColumn).getType();
+
+        for(CyEdge edge : network.getEdgeList()){
+            Object hanaKey = edgeTable.getRow(edge.getSUID()).get(keyColumn, fieldType);
+            if(hanaKey != null){
+                edgesByHanaKey.put(hanaKey.toString(), edge);
+            }
+        }
+        return edgesByHanaKey;
+    }
+}
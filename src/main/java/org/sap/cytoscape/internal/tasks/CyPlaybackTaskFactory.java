@@ -0,0 +1,31 @@
+package org.sap.cytoscape.internal.tasks;
+
+import org.cytoscape.model.CyNetworkManager;
+import org.cytoscape.work.AbstractTaskFactory;
+import org.cytoscape.work.TaskIterator;
+import org.sap.cytoscape.internal.hdb.HanaConnectionManager;
+
+public class CyPlaybackTaskFactory extends AbstractTaskFactory {
+
+    private final CyNetworkManager networkManager;
+    private final HanaConnectionManager connectionManager;
+
+    public CyPlaybackTaskFactory(
+            CyNetworkManager networkManager,
+            HanaConnectionManager connectionManager
+    ){
+        super();
+
+        this.networkManager = networkManager;
+        this.connectionManager = connectionManager;
+    }
+
+    public TaskIterator createTaskIterator(){
+        CyPlaybackTask newTask = new CyPlaybackTask(this.networkManager, this.connectionManager);
+        return new TaskIterator(newTask);
+    }
+
+    public boolean isReady() {
+        return true;
+    }
+}
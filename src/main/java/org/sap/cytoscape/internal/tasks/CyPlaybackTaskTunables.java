@@ -0,0 +1,99 @@
+package org.sap.cytoscape.internal.tasks;
+
+import org.cytoscape.model.CyNetwork;
+import org.cytoscape.model.CyNetworkManager;
+import org.cytoscape.work.ProvidesTitle;
+import org.cytoscape.work.Tunable;
+import org.cytoscape.work.util.ListSingleSelection;
+import org.sap.cytoscape.internal.hdb.HanaConnectionManager;
+import org.sap.cytoscape.internal.utils.CyNetworkKey;
+import org.sap.cytoscape.internal.utils.CyUtils;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class CyPlaybackTaskTunables {
+    /**
+     *
+     * @return Title of the input parameter dialog
+     */
+    @ProvidesTitle
+    public String getTitle() { return "Time windowed networks linked to the connected HANA instance"; }
+
+    @Tunable(description="Network", groups = {"Network Selection"}, required = true, gravity = 1)
+    public ListSingleSelection<CyNetworkKey> networkSelection;
+
+    /**
+     * Amount of time, that the window is moved by in each step; negative to move backwards
+     */
+    @Tunable(description="Step Size", groups = {"Playback"}, gravity = 2)
+    public int stepSize = 1;
+
+    public static final String UNIT_MINUTES = "Minutes";
+
+    public static final String UNIT_HOURS = "Hours";
+
+    public static final String UNIT_DAYS = "Days";
+
+    @Tunable(description="Step Unit", groups = {"Playback"}, gravity = 3)
+    public ListSingleSelection<String> stepUnit = new ListSingleSelection<>(UNIT_MINUTES, UNIT_HOURS, UNIT_DAYS);
+
+    /**
+     * Number of consecutive windows, that are shown
+     */
+    @Tunable(description="Number of Steps", groups = {"Playback"}, gravity = 4)
+    public int steps = 10;
+
+    /**
+     * Pause after each step, so that the changes can be followed
+     */
+    @Tunable(description="Delay between Steps (ms)", groups = {"Playback"}, gravity = 5)
+    public int delayMillis = 1000;
+
+    public CyPlaybackTaskTunables(CyNetworkManager networkManager, HanaConnectionManager connectionManager){
+
+        String connectedInstance = null;
+        try{
+            connectedInstance = connectionManager.getInstanceIdentifier();
+        } catch (SQLException e){
+            connectedInstance = null;
+        }
+        this.stepUnit.setSelectedValue(UNIT_DAYS);
+
+        List<CyNetworkKey> networkKeys = new ArrayList<>();
+        for(CyNetwork network : networkManager.getNetworkSet()){
+            Long suid = network.getSUID();
+
+            String hInstance = CyUtils.getSapHanaInstanceFromNetworkTable(network.getDefaultNetworkTable(), suid);
+
+            // only consider networks that are linked to the connected instance and have been loaded with a time window
+            if(hInstance != null && hInstance.equals(connectedInstance)
+                    && CyUtils.getSapHanaTimeWindowFromNetworkTable(network.getDefaultNetworkTable(), suid) != null){
+                String name = network.getDefaultNetworkTable().getAllRows().get(0).get("name", String.class);
+                networkKeys.add(new CyNetworkKey(suid, name));
+            }
+        }
+
+        this.networkSelection = new ListSingleSelection<>(networkKeys);
+    }
+
+    /**
+     * @return  Amount of time in milliseconds, that the window is moved by in each step
+     */
+    public long getStepMillis(){
+        TimeUnit unit;
+        switch (this.stepUnit.getSelectedValue()){
+            case UNIT_MINUTES:
+                unit = TimeUnit.MINUTES;
+                break;
+            case UNIT_HOURS:
+                unit = TimeUnit.HOURS;
+                break;
+            default:
+                unit = TimeUnit.DAYS;
+        }
+        return unit.toMillis(this.stepSize);
+    }
+}
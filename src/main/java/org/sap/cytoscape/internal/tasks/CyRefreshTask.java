@@ -8,9 +8,12 @@ import org.sap.cytoscape.internal.hdb.*;
 import org.sap.cytoscape.internal.utils.CyNetworkKey;
 import org.sap.cytoscape.internal.utils.CyUtils;
 
+import java.sql.SQLException;
 import java.util.HashMap;
 import java.util.List;
 
+import static org.sap.cytoscape.internal.utils.CyLogging.*;
+
 public class CyRefreshTask extends AbstractTask {
 
     @ContainsTunables
@@ -20,6 +23,11 @@ public class CyRefreshTask extends AbstractTask {
     private final CyNetworkManager networkManager;
     private final HanaConnectionManager connectionManager;
 
+    /**
+     * Cancels the statements, that are running on behalf of this task
+     */
+    private final HanaCancellationToken cancellationToken = new HanaCancellationToken();
+
     public CyRefreshTask(
             CyNetworkFactory networkFactory,
             CyNetworkManager networkManager,
@@ -36,6 +44,26 @@ public class CyRefreshTask extends AbstractTask {
 
     @Override
     public void run(TaskMonitor taskMonitor) throws Exception {
+        try (HanaCancellationToken.Scope scope = this.cancellationToken.bind()){
+            refresh(taskMonitor);
+        } catch (SQLException e){
+            if(!this.cancelled){
+                throw e;
+            }
+            info("Refresh of network has been cancelled");
+        }
+    }
+
+    /**
+     * Stops the download by cancelling the running statements on SAP HANA
+     */
+    @Override
+    public void cancel() {
+        super.cancel();
+        this.cancellationToken.cancel();
+    }
+
+    private void refresh(TaskMonitor taskMonitor) throws Exception {
 
         taskMonitor.setTitle("SAP HANA: Refreshing Cytoscape Graph");
         taskMonitor.setProgress(0d);
@@ -70,9 +98,35 @@ public class CyRefreshTask extends AbstractTask {
             return;
         }
 
-        // load data from SAP HANA
+        if(CyUtils.isSapHanaSample(selectedNetwork.getDefaultNetworkTable(), selectedNetworkKey.getSUID())){
+            // refreshing would fill up the sample with the complete workspace
+            taskMonitor.showMessage(
+                    TaskMonitor.Level.ERROR,
+                    "The network only contains a sample, a sparsified part or a time window of the graph workspace. Please load it again instead."
+            );
+            taskMonitor.setProgress(1d);
+            return;
+        }
+
+        if(connectionManager.loadGraphWorkspaceMetadata(linkedHanaWorkspace).isHeterogeneous()){
+            // nodes of different vertex tables cannot be matched by a common key column
+            taskMonitor.showMessage(
+                    TaskMonitor.Level.ERROR,
+                    "Refreshing networks of heterogeneous graph workspaces is not supported. Please load the workspace again instead."
+            );
+            taskMonitor.setProgress(1d);
+            return;
+        }
+
+        // load data from SAP HANA with the filters and attributes of the initial load
+        HanaLoadOptions loadOptions = CyUtils.getSapHanaFiltersFromNetworkTable(selectedNetwork.getDefaultNetworkTable(), selectedNetworkKey.getSUID());
         HanaGraphWorkspace graphWorkspace =
-                connectionManager.loadGraphWorkspace(linkedHanaWorkspace);
+                connectionManager.loadGraphWorkspace(linkedHanaWorkspace, loadOptions);
+
+        // once the network is being modified, the refresh is completed to keep it consistent
+        if(this.cancelled){
+            return;
+        }
 
         // add new attributes
         CyUtils.enhanceCyTableWithAttributes(selectedNetwork.getDefaultNodeTable(), graphWorkspace.getNodeFieldList());
@@ -88,20 +142,24 @@ public class CyRefreshTask extends AbstractTask {
 
         // refresh nodes
         List<CyNode> networkNodes = selectedNetwork.getNodeList();
-        HashMap<String, CyNode> remainingNetworkNodesByHanaKey = new HashMap<>();
-        HashMap<String, CyNode> nodesByHanaKey = new HashMap<>();
+        HashMap<Object, CyNode> remainingNetworkNodesByHanaKey = new HashMap<>();
+        HashMap<Object, CyNode> nodesByHanaKey = new HashMap<>();
+
+        // nodes of heterogeneous workspaces are identified by their vertex table and key
+        boolean hasNodeType = graphWorkspace.isHeterogeneous() && !graphWorkspace.isEdgeOnlyGraph();
 
         // build map of existing nodes by hana key
         for(CyNode networkNode : networkNodes) {
             CyRow nodeRow = selectedNetwork.getDefaultNodeTable().getRow(networkNode.getSUID());
             Class fieldType = selectedNetwork.getDefaultNodeTable().getColumn(graphWorkspace.getNodeKeyColInfo().name).getType();
-            String hanaKey = nodeRow.get(graphWorkspace.getNodeKeyColInfo().name, fieldType).toString();
+            String nodeType = hasNodeType ? nodeRow.get(HanaGraphWorkspace.TYPE_COL, String.class) : null;
+            Object hanaKey = HanaVertexKey.of(nodeType, nodeRow.get(graphWorkspace.getNodeKeyColInfo().name, fieldType));
             remainingNetworkNodesByHanaKey.put(hanaKey, networkNode);
         }
 
         // update and add nodes from hana
         for(HanaNodeTableRow row : graphWorkspace.getNodeTable()){
-            String hanaKey = row.getKeyValue(String.class);
+            Object hanaKey = row.getLookupKey();
             CyNode currentNode = null;
             if(remainingNetworkNodesByHanaKey.containsKey(hanaKey)) {
                 // update attributes
@@ -0,0 +1,155 @@
+package org.sap.cytoscape.internal.utils;
+
+import org.cytoscape.model.*;
+import org.cytoscape.model.events.RowSetRecord;
+import org.cytoscape.model.events.RowsSetEvent;
+import org.cytoscape.model.events.RowsSetListener;
+import org.sap.cytoscape.internal.hdb.HanaColumnInfo;
+import org.sap.cytoscape.internal.hdb.HanaConnectionManager;
+import org.sap.cytoscape.internal.hdb.HanaGraphWorkspace;
+import org.sap.cytoscape.internal.hdb.HanaNodeTableRow;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.sap.cytoscape.internal.utils.CyLogging.*;
+
+/**
+ * Fetches the deferred columns of nodes and edges (see HanaLoadOptions.deferWideColumns), once they
+ * are selected. Networks have to be registered after they have been loaded. Values are fetched in
+ * the background, so that the selection is not blocked by the database.
+ */
+public class CyDeferredAttributeLoader implements RowsSetListener {
+
+    /**
+     * Deferred columns of the node or edge table of a network
+     */
+    private static class DeferredColumns {
+
+        private final long networkSuid;
+
+        private final CyTable cyTable;
+
+        private final HanaColumnInfo keyColInfo;
+
+        private final List<HanaColumnInfo> columns;
+
+        /**
+         * SUIDs of the rows, whose values have been requested
+         */
+        private final Set<Long> requestedRows = ConcurrentHashMap.newKeySet();
+
+        private DeferredColumns(long networkSuid, CyTable cyTable, HanaColumnInfo keyColInfo, List<HanaColumnInfo> columns){
+            this.networkSuid = networkSuid;
+            this.cyTable = cyTable;
+            this.keyColInfo = keyColInfo;
+            this.columns = columns;
+        }
+    }
+
+    private final HanaConnectionManager connectionManager;
+
+    private final CyNetworkManager networkManager;
+
+    /**
+     * Deferred columns by the SUID of the node or edge table
+     */
+    private final Map<Long, DeferredColumns> deferredColumns = new ConcurrentHashMap<>();
+
+    /**
+     * @param connectionManager Connection to fetch the values with
+     * @param networkManager    Check for networks, that have been destroyed
+     */
+    public CyDeferredAttributeLoader(HanaConnectionManager connectionManager, CyNetworkManager networkManager){
+        this.connectionManager = connectionManager;
+        this.networkManager = networkManager;
+    }
+
+    /**
+     * Fetches deferred columns of the network, once nodes or edges are selected
+     *
+     * @param network           Network, that has been loaded from the workspace
+     * @param graphWorkspace    Loaded workspace; only its metadata is kept
+     */
+    public void register(CyNetwork network, HanaGraphWorkspace graphWorkspace){
+        List<HanaColumnInfo> nodeColumns = graphWorkspace.getDeferredNodeFieldList();
+        if(!nodeColumns.isEmpty()){
+            CyTable nodeTable = network.getDefaultNodeTable();
+            this.deferredColumns.put(nodeTable.getSUID(), new DeferredColumns(network.getSUID(), nodeTable, graphWorkspace.getNodeKeyColInfo(), nodeColumns));
+        }
+        List<HanaColumnInfo> edgeColumns = graphWorkspace.getDeferredEdgeFieldList();
+        if(!edgeColumns.isEmpty()){
+            CyTable edgeTable = network.getDefaultEdgeTable();
+            this.deferredColumns.put(edgeTable.getSUID(), new DeferredColumns(network.getSUID(), edgeTable, graphWorkspace.getEdgeKeyColInfo(), edgeColumns));
+        }
+    }
+
+    @Override
+    public void handleEvent(RowsSetEvent e) {
+        if(!e.containsColumn(CyNetwork.SELECTED)){
+            return;
+        }
+        DeferredColumns deferred = this.deferredColumns.get(e.getSource().getSUID());
+        if(deferred == null){
+            return;
+        }
+        if(!this.networkManager.networkExists(deferred.networkSuid)){
+            this.deferredColumns.values().removeIf(other -> other.networkSuid == deferred.networkSuid);
+            return;
+        }
+
+        CyColumn keyColumn = deferred.cyTable.getColumn(deferred.keyColInfo.name);
+        if(keyColumn == null){
+            return;
+        }
+
+        // each row is only requested once, e.g. if it is selected again later
+        Map<String, CyRow> rowsByKey = new HashMap<>();
+        List<Object> keys = new ArrayList<>();
+        List<Long> suids = new ArrayList<>();
+        for(RowSetRecord record : e.getColumnRecords(CyNetwork.SELECTED)){
+            if(!Boolean.TRUE.equals(record.getValue())){
+                continue;
+            }
+            CyRow row = record.getRow();
+            Object key = row.get(deferred.keyColInfo.name, keyColumn.getType());
+            Long suid = row.get(CyIdentifiable.SUID, Long.class);
+            if(key == null || suid == null || !deferred.requestedRows.add(suid)){
+                continue;
+            }
+            rowsByKey.put(key.toString(), row);
+            keys.add(key);
+            suids.add(suid);
+        }
+        if(keys.isEmpty()){
+            return;
+        }
+
+        this.connectionManager.loadDeferredAttributesAsync(deferred.keyColInfo, deferred.columns, keys).whenComplete((values, ex) -> {
+            if(ex != null){
+                warn("Could not fetch deferred columns: " + ex.getMessage());
+                // try again with the next selection
+                deferred.requestedRows.removeAll(suids);
+                return;
+            }
+            for(Map.Entry<String, CyRow> entry : rowsByKey.entrySet()){
+                Map<String, Object> rowValues = values.get(entry.getKey());
+                if(rowValues != null){
+                    setValues(deferred, entry.getValue(), rowValues);
+                }
+            }
+        });
+    }
+
+    private static void setValues(DeferredColumns deferred, CyRow networkRow, Map<String, Object> values){
+        HanaNodeTableRow valueRow = new HanaNodeTableRow();
+        valueRow.addFieldValues(values);
+        for(HanaColumnInfo field : deferred.columns){
+            CyColumn column = deferred.cyTable.getColumn(field.name);
+            if(column != null){
+                // convert to target type in case an existing cytoscape field is re-used
+                networkRow.set(field.name, valueRow.getFieldValueCast(field.name, column.getType()));
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package org.sap.cytoscape.internal.utils;
+
+import org.cytoscape.model.CyNetwork;
+import org.sap.cytoscape.internal.hdb.HanaDbObject;
+import org.sap.cytoscape.internal.hdb.HanaLoadOptions;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the options of networks, that have been loaded as supergraph (see HanaLoadOptions.groupByColumns),
+ * so that their supernodes can be expanded later on. Networks have to be registered after they have
+ * been loaded; registrations are not kept beyond the current session of the client.
+ */
+public class CySupergraphRegistry {
+
+    /**
+     * Grouping of a network and its supernodes, that have been expanded already
+     */
+    public static class Supergraph {
+
+        public final HanaDbObject graphWorkspace;
+
+        public final HanaLoadOptions loadOptions;
+
+        /**
+         * Keys of the supernodes, whose members have been added to the network
+         */
+        public final Set<String> expandedGroups = ConcurrentHashMap.newKeySet();
+
+        private Supergraph(HanaDbObject graphWorkspace, HanaLoadOptions loadOptions){
+            this.graphWorkspace = graphWorkspace;
+            this.loadOptions = loadOptions;
+        }
+    }
+
+    /**
+     * Supergraphs by the SUID of their network
+     */
+    private final Map<Long, Supergraph> supergraphs = new ConcurrentHashMap<>();
+
+    /**
+     * @param network           Network, that has been loaded as supergraph
+     * @param graphWorkspace    Schema and name of the grouped workspace
+     * @param loadOptions       Options with the grouping columns
+     */
+    public void register(CyNetwork network, HanaDbObject graphWorkspace, HanaLoadOptions loadOptions){
+        this.supergraphs.put(network.getSUID(), new Supergraph(graphWorkspace, new HanaLoadOptions(loadOptions)));
+    }
+
+    /**
+     * @param network   Network
+     * @return          Grouping of the network; null if it has not been loaded as supergraph
+     */
+    public Supergraph get(CyNetwork network){
+        return this.supergraphs.get(network.getSUID());
+    }
+}
@@ -4,8 +4,13 @@ import org.cytoscape.model.*;
 import org.sap.cytoscape.internal.exceptions.GraphInconsistencyException;
 import org.sap.cytoscape.internal.hdb.*;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 
 import static org.sap.cytoscape.internal.utils.CyLogging.*;
 
@@ -58,6 +63,140 @@ public class CyUtils {
         cyNetworkTable.getRow(networkSuid).set("sap_hana_workspace_name", sapHanaWorkspace.name);
     }
 
+    /**
+     * Records, whether a network only contains a sample of the linked graph workspace
+     *
+     * @param cyNetworkTable        Network table
+     * @param networkSuid           SUID of the network
+     * @param samplingDescription   Sampling strategy and parameters; null if the complete workspace has been loaded
+     */
+    public static void enhanceCyNetworkWithSamplingInformation(CyTable cyNetworkTable, Long networkSuid, String samplingDescription){
+
+        CyColumn sampleCol = cyNetworkTable.getColumn("sap_hana_sample");
+        if(sampleCol == null) {
+            cyNetworkTable.createColumn("sap_hana_sample", Boolean.class, false);
+        }
+        cyNetworkTable.getRow(networkSuid).set("sap_hana_sample", samplingDescription != null);
+
+        CyColumn samplingCol = cyNetworkTable.getColumn("sap_hana_sampling");
+        if(samplingCol == null) {
+            cyNetworkTable.createColumn("sap_hana_sampling", String.class, false);
+        }
+        cyNetworkTable.getRow(networkSuid).set("sap_hana_sampling", samplingDescription);
+    }
+
+    /**
+     *
+     * @param cyNetworkTable
+     * @param networkSuid
+     * @return  True, if the network only contains a sample of the linked graph workspace
+     */
+    public static boolean isSapHanaSample(CyTable cyNetworkTable, long networkSuid){
+        if(cyNetworkTable.getColumn("sap_hana_sample") == null){
+            return false;
+        }
+        return Boolean.TRUE.equals(cyNetworkTable.getRow(networkSuid).get("sap_hana_sample", Boolean.class));
+    }
+
+    /**
+     * Records the filters and attributes of a network, so that a refresh loads the same part of the workspace
+     *
+     * @param cyNetworkTable    Network table
+     * @param networkSuid       SUID of the network
+     * @param loadOptions       Options, that the network has been loaded with
+     */
+    public static void enhanceCyNetworkWithFilterInformation(CyTable cyNetworkTable, Long networkSuid, HanaLoadOptions loadOptions){
+        setNetworkValue(cyNetworkTable, networkSuid, "sap_hana_node_filter", loadOptions.nodeFilter);
+        setNetworkValue(cyNetworkTable, networkSuid, "sap_hana_edge_filter", loadOptions.edgeFilter);
+        setNetworkList(cyNetworkTable, networkSuid, "sap_hana_node_attributes", loadOptions.nodeAttributes);
+        setNetworkList(cyNetworkTable, networkSuid, "sap_hana_edge_attributes", loadOptions.edgeAttributes);
+    }
+
+    /**
+     *
+     * @param cyNetworkTable
+     * @param networkSuid
+     * @return  Filters and attributes, that the network has been loaded with; defaults, if they have not been recorded
+     */
+    public static HanaLoadOptions getSapHanaFiltersFromNetworkTable(CyTable cyNetworkTable, long networkSuid){
+        HanaLoadOptions loadOptions = new HanaLoadOptions();
+        loadOptions.nodeFilter = getNetworkValue(cyNetworkTable, networkSuid, "sap_hana_node_filter");
+        loadOptions.edgeFilter = getNetworkValue(cyNetworkTable, networkSuid, "sap_hana_edge_filter");
+        loadOptions.nodeAttributes = getNetworkList(cyNetworkTable, networkSuid, "sap_hana_node_attributes");
+        loadOptions.edgeAttributes = getNetworkList(cyNetworkTable, networkSuid, "sap_hana_edge_attributes");
+        return loadOptions;
+    }
+
+    /**
+     * Records the time window of a network, so that it can be moved to other windows later on
+     *
+     * @param cyNetworkTable    Network table
+     * @param networkSuid       SUID of the network
+     * @param loadOptions       Options, that the network has been loaded with; must be time windowed
+     */
+    public static void enhanceCyNetworkWithTimeWindowInformation(CyTable cyNetworkTable, Long networkSuid, HanaLoadOptions loadOptions){
+        setNetworkValue(cyNetworkTable, networkSuid, "sap_hana_valid_from_column", loadOptions.validFromColumn);
+        setNetworkValue(cyNetworkTable, networkSuid, "sap_hana_valid_to_column", loadOptions.validToColumn);
+        setNetworkValue(cyNetworkTable, networkSuid, "sap_hana_window_start", HanaTimeWindow.formatTimestamp(loadOptions.timeWindow.start));
+        setNetworkValue(cyNetworkTable, networkSuid, "sap_hana_window_end", HanaTimeWindow.formatTimestamp(loadOptions.timeWindow.end));
+        enhanceCyNetworkWithFilterInformation(cyNetworkTable, networkSuid, loadOptions);
+    }
+
+    private static void setNetworkValue(CyTable cyNetworkTable, Long networkSuid, String columnName, String value){
+        if(cyNetworkTable.getColumn(columnName) == null) {
+            cyNetworkTable.createColumn(columnName, String.class, false);
+        }
+        cyNetworkTable.getRow(networkSuid).set(columnName, value);
+    }
+
+    private static String getNetworkValue(CyTable cyNetworkTable, long networkSuid, String columnName){
+        if(cyNetworkTable.getColumn(columnName) == null){
+            return null;
+        }
+        return cyNetworkTable.getRow(networkSuid).get(columnName, String.class);
+    }
+
+    private static void setNetworkList(CyTable cyNetworkTable, Long networkSuid, String columnName, Set<String> values){
+        if(cyNetworkTable.getColumn(columnName) == null) {
+            cyNetworkTable.createListColumn(columnName, String.class, false);
+        }
+        // null stands for all attributes
+        cyNetworkTable.getRow(networkSuid).set(columnName, values == null ? null : new ArrayList<>(new TreeSet<>(values)));
+    }
+
+    private static Set<String> getNetworkList(CyTable cyNetworkTable, long networkSuid, String columnName){
+        if(cyNetworkTable.getColumn(columnName) == null){
+            return null;
+        }
+        List<String> values = cyNetworkTable.getRow(networkSuid).getList(columnName, String.class);
+        return values == null ? null : new HashSet<>(values);
+    }
+
+    /**
+     *
+     * @param cyNetworkTable
+     * @param networkSuid
+     * @return  Time columns, window, filters and attributes, that the network has been loaded with; null if it is not time windowed
+     */
+    public static HanaLoadOptions getSapHanaTimeWindowFromNetworkTable(CyTable cyNetworkTable, long networkSuid){
+        if(cyNetworkTable.getColumn("sap_hana_valid_from_column") == null){
+            return null;
+        }
+        CyRow row = cyNetworkTable.getRow(networkSuid);
+        if(row.get("sap_hana_valid_from_column", String.class) == null){
+            return null;
+        }
+
+        HanaLoadOptions loadOptions = getSapHanaFiltersFromNetworkTable(cyNetworkTable, networkSuid);
+        loadOptions.validFromColumn = row.get("sap_hana_valid_from_column", String.class);
+        loadOptions.validToColumn = row.get("sap_hana_valid_to_column", String.class);
+        loadOptions.timeWindow = new HanaTimeWindow(
+                HanaTimeWindow.parseTimestamp(row.get("sap_hana_window_start", String.class)),
+                HanaTimeWindow.parseTimestamp(row.get("sap_hana_window_end", String.class))
+        );
+        return loadOptions;
+    }
+
     /**
      *
      * @param cyNetworkTable
@@ -111,13 +250,13 @@ public class CyUtils {
      * @param nodesByHanaKey
      * @return
      */
-    public static CyEdge addNewEdgeToNetwork(CyNetwork network, HanaGraphWorkspace graphWorkspace, HanaEdgeTableRow row, HashMap<String, CyNode> nodesByHanaKey) throws GraphInconsistencyException {
-        CyNode sourceNode = nodesByHanaKey.get(row.getSourceValue(String.class));
+    public static CyEdge addNewEdgeToNetwork(CyNetwork network, HanaGraphWorkspace graphWorkspace, HanaEdgeTableRow row, Map<Object, CyNode> nodesByHanaKey) throws GraphInconsistencyException {
+        CyNode sourceNode = nodesByHanaKey.get(row.getSourceLookupKey());
         if (sourceNode == null) {
             err("Source node with id " + row.getSourceValue(String.class) + " is not existing.");
             throw new GraphInconsistencyException("Source node with id " + row.getSourceValue(String.class) + " is not existing.");
         }
-        CyNode targetNode = nodesByHanaKey.get(row.getTargetValue(String.class));
+        CyNode targetNode = nodesByHanaKey.get(row.getTargetLookupKey());
         if (targetNode == null) {
             throw new GraphInconsistencyException("Target node with id " + row.getTargetValue(String.class) + " is not existing.");
         }
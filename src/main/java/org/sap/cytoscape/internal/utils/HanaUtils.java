@@ -1,5 +1,9 @@
 package org.sap.cytoscape.internal.utils;
 
+import java.sql.SQLException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+
 /**
  * Simple utils that solve HANA specific issues
  */
@@ -24,6 +28,16 @@ public class HanaUtils {
         return '"' + id.replace("\"", "\"\"") + '"';
     }
 
+    /**
+     * Surrounds a string with single quotes, so that it can be used as SQL string literal
+     *
+     * @param value String
+     * @return      String literal
+     */
+    public static String quoteLiteral(String value){
+        return '\'' + value.replace("'", "''") + '\'';
+    }
+
     /**
      * Method to parse a HANA build string
      */
@@ -33,4 +47,31 @@ public class HanaUtils {
         }
         return buildStr.contains("CE");
     }
+
+    /**
+     * Determines if an error is transient, i.e. the failed operation may succeed when
+     * repeated, possibly on a new session
+     *
+     * @param e     Error reported by the database or driver
+     * @return      True, for connection losses, lock wait timeouts and deadlocks
+     */
+    public static boolean isTransientError(SQLException e){
+        for(SQLException cur = e; cur != null; cur = cur.getNextException()){
+            if(cur instanceof SQLTransientException || cur instanceof SQLRecoverableException){
+                return true;
+            }
+            // SQLSTATE class 08: connection exception
+            if(cur.getSQLState() != null && cur.getSQLState().startsWith("08")){
+                return true;
+            }
+            switch (cur.getErrorCode()){
+                case -10709:    // connection failed
+                case -10807:    // connection down
+                case 131:       // transaction rolled back by lock wait timeout
+                case 133:       // transaction rolled back by detected deadlock
+                    return true;
+            }
+        }
+        return false;
+    }
 }
@@ -5,7 +5,7 @@ LIST_GRAPH_WORKSPACES=\
     SELECT SCHEMA_NAME, WORKSPACE_NAME FROM GRAPH_WORKSPACES WHERE IS_VALID = 'TRUE'
 
 LOAD_WORKSPACE_METADATA_HANA_CLOUD=\
-    SELECT ENTITY_TYPE, ENTITY_ROLE, ENTITY_SCHEMA_NAME, ENTITY_TABLE_NAME, ENTITY_COLUMN_NAME \
+    SELECT ENTITY_TYPE, ENTITY_ROLE, ENTITY_SCHEMA_NAME, ENTITY_TABLE_NAME, ENTITY_COLUMN_NAME, %1$s \
     FROM GRAPH_WORKSPACE_COLUMNS WHERE SCHEMA_NAME = ? AND WORKSPACE_NAME = ?
 
 LOAD_WORKSPACE_METADATA_HANA_ONPREM=\
@@ -32,12 +32,262 @@ LOAD_WORKSPACE_METADATA_HANA_ONPREM=\
 	    WHERE C.COLUMN_NAME NOT IN (WS.VERTEX_KEY_COLUMN_NAME) \
     ) WHERE SCHEMA_NAME = ? AND WORKSPACE_NAME = ? AND IS_VALID = 'TRUE'
 
+LOAD_ALL_WORKSPACE_METADATA_HANA_CLOUD=\
+    SELECT WSC.SCHEMA_NAME, WSC.WORKSPACE_NAME, WSC.ENTITY_TYPE, WSC.ENTITY_ROLE, WSC.ENTITY_SCHEMA_NAME, WSC.ENTITY_TABLE_NAME, WSC.ENTITY_COLUMN_NAME, %1$s \
+    FROM GRAPH_WORKSPACE_COLUMNS WSC \
+    INNER JOIN GRAPH_WORKSPACES WS \
+        ON WS.SCHEMA_NAME = WSC.SCHEMA_NAME AND WS.WORKSPACE_NAME = WSC.WORKSPACE_NAME \
+    WHERE WS.IS_VALID = 'TRUE' \
+    ORDER BY WSC.SCHEMA_NAME, WSC.WORKSPACE_NAME
+
+LOAD_ALL_WORKSPACE_METADATA_HANA_ONPREM=\
+    SELECT SCHEMA_NAME, WORKSPACE_NAME, ENTITY_TYPE, ENTITY_ROLE, ENTITY_SCHEMA_NAME, ENTITY_TABLE_NAME, ENTITY_COLUMN_NAME FROM \
+    ( \
+	    SELECT SCHEMA_NAME, WORKSPACE_NAME, 'EDGE' ENTITY_TYPE, 'KEY' ENTITY_ROLE, EDGE_SCHEMA_NAME ENTITY_SCHEMA_NAME, EDGE_TABLE_NAME ENTITY_TABLE_NAME, EDGE_KEY_COLUMN_NAME ENTITY_COLUMN_NAME, IS_VALID FROM GRAPH_WORKSPACES \
+	    UNION \
+	    SELECT SCHEMA_NAME, WORKSPACE_NAME, 'EDGE' ENTITY_TYPE, 'SOURCE' ENTITY_ROLE, EDGE_SCHEMA_NAME ENTITY_SCHEMA_NAME, EDGE_TABLE_NAME ENTITY_TABLE_NAME, EDGE_SOURCE_COLUMN_NAME ENTITY_COLUMN_NAME, IS_VALID FROM GRAPH_WORKSPACES \
+	    UNION \
+	    SELECT SCHEMA_NAME, WORKSPACE_NAME, 'EDGE' ENTITY_TYPE, 'TARGET' ENTITY_ROLE, EDGE_SCHEMA_NAME ENTITY_SCHEMA_NAME, EDGE_TABLE_NAME ENTITY_TABLE_NAME, EDGE_TARGET_COLUMN_NAME ENTITY_COLUMN_NAME, IS_VALID FROM GRAPH_WORKSPACES \
+	    UNION \
+	    SELECT SCHEMA_NAME, WORKSPACE_NAME, 'VERTEX' ENTITY_TYPE, 'KEY' ENTITY_ROLE, VERTEX_SCHEMA_NAME ENTITY_SCHEMA_NAME, VERTEX_TABLE_NAME ENTITY_TABLE_NAME, VERTEX_KEY_COLUMN_NAME ENTITY_COLUMN_NAME, IS_VALID FROM GRAPH_WORKSPACES \
+	    UNION \
+	    SELECT WS.SCHEMA_NAME, WS.WORKSPACE_NAME, 'EDGE' ENTITY_TYPE, NULL ENTITY_ROLE, WS.EDGE_SCHEMA_NAME ENTITY_SCHEMA_NAME, WS.EDGE_TABLE_NAME ENTITY_TABLE_NAME, C.COLUMN_NAME ENTITY_COLUMN_NAME, WS.IS_VALID \
+	    FROM GRAPH_WORKSPACES WS \
+	    LEFT JOIN TABLE_COLUMNS C \
+		    ON WS.EDGE_SCHEMA_NAME = C.SCHEMA_NAME AND WS.EDGE_TABLE_NAME = C.TABLE_NAME \
+	    WHERE C.COLUMN_NAME NOT IN (WS.EDGE_KEY_COLUMN_NAME, WS.EDGE_SOURCE_COLUMN_NAME, WS.EDGE_TARGET_COLUMN_NAME) \
+	    UNION \
+	    SELECT WS.SCHEMA_NAME, WS.WORKSPACE_NAME, 'VERTEX' ENTITY_TYPE, NULL ENTITY_ROLE, WS.VERTEX_SCHEMA_NAME ENTITY_SCHEMA_NAME, WS.VERTEX_TABLE_NAME ENTITY_TABLE_NAME, C.COLUMN_NAME ENTITY_COLUMN_NAME, WS.IS_VALID \
+	    FROM GRAPH_WORKSPACES WS \
+	    LEFT JOIN TABLE_COLUMNS C \
+		    ON WS.VERTEX_SCHEMA_NAME = C.SCHEMA_NAME AND WS.VERTEX_TABLE_NAME = C.TABLE_NAME \
+	    WHERE C.COLUMN_NAME NOT IN (WS.VERTEX_KEY_COLUMN_NAME) \
+    ) WHERE IS_VALID = 'TRUE' \
+    ORDER BY SCHEMA_NAME, WORKSPACE_NAME
+
+LOAD_ALL_WORKSPACE_METADATA_VERSIONS_HANA_CLOUD=\
+    SELECT SCHEMA_NAME, OBJECT_NAME WORKSPACE_NAME, 'WORKSPACE' ENTITY, TO_VARCHAR(OBJECT_OID) SIGNATURE FROM OBJECTS \
+    WHERE OBJECT_TYPE = 'GRAPH WORKSPACE' \
+    UNION ALL \
+    SELECT WSC.SCHEMA_NAME, WSC.WORKSPACE_NAME, TBL.SCHEMA_NAME || '.' || TBL.TABLE_NAME ENTITY, TO_VARCHAR(TBL.TABLE_OID) || ':' || COL.COLUMN_NAME || ':' || COL.DATA_TYPE_NAME SIGNATURE \
+    FROM (SELECT DISTINCT SCHEMA_NAME, WORKSPACE_NAME, ENTITY_SCHEMA_NAME, ENTITY_TABLE_NAME FROM GRAPH_WORKSPACE_COLUMNS) WSC \
+    INNER JOIN TABLES TBL \
+        ON TBL.SCHEMA_NAME = WSC.ENTITY_SCHEMA_NAME AND TBL.TABLE_NAME = WSC.ENTITY_TABLE_NAME \
+    INNER JOIN TABLE_COLUMNS COL \
+        ON COL.SCHEMA_NAME = TBL.SCHEMA_NAME AND COL.TABLE_NAME = TBL.TABLE_NAME \
+    ORDER BY 1, 2, 3, 4
+
+LOAD_ALL_WORKSPACE_METADATA_VERSIONS_HANA_ONPREM=\
+    SELECT SCHEMA_NAME, OBJECT_NAME WORKSPACE_NAME, 'WORKSPACE' ENTITY, TO_VARCHAR(OBJECT_OID) SIGNATURE FROM OBJECTS \
+    WHERE OBJECT_TYPE = 'GRAPH WORKSPACE' \
+    UNION ALL \
+    SELECT WS.SCHEMA_NAME, WS.WORKSPACE_NAME, TBL.SCHEMA_NAME || '.' || TBL.TABLE_NAME ENTITY, TO_VARCHAR(TBL.TABLE_OID) || ':' || COL.COLUMN_NAME || ':' || COL.DATA_TYPE_NAME SIGNATURE \
+    FROM GRAPH_WORKSPACES WS \
+    INNER JOIN TABLES TBL \
+        ON (TBL.SCHEMA_NAME = WS.EDGE_SCHEMA_NAME AND TBL.TABLE_NAME = WS.EDGE_TABLE_NAME) \
+        OR (TBL.SCHEMA_NAME = WS.VERTEX_SCHEMA_NAME AND TBL.TABLE_NAME = WS.VERTEX_TABLE_NAME) \
+    INNER JOIN TABLE_COLUMNS COL \
+        ON COL.SCHEMA_NAME = TBL.SCHEMA_NAME AND COL.TABLE_NAME = TBL.TABLE_NAME \
+    WHERE WS.IS_VALID = 'TRUE' \
+    ORDER BY 1, 2, 3, 4
+
+LOAD_WORKSPACE_METADATA_VERSION_HANA_CLOUD=\
+    SELECT 'WORKSPACE' ENTITY, TO_VARCHAR(OBJECT_OID) SIGNATURE FROM OBJECTS \
+    WHERE SCHEMA_NAME = ? AND OBJECT_NAME = ? AND OBJECT_TYPE = 'GRAPH WORKSPACE' \
+    UNION ALL \
+    SELECT TBL.SCHEMA_NAME || '.' || TBL.TABLE_NAME ENTITY, TO_VARCHAR(TBL.TABLE_OID) || ':' || COL.COLUMN_NAME || ':' || COL.DATA_TYPE_NAME SIGNATURE \
+    FROM TABLES TBL \
+    INNER JOIN TABLE_COLUMNS COL \
+        ON COL.SCHEMA_NAME = TBL.SCHEMA_NAME AND COL.TABLE_NAME = TBL.TABLE_NAME \
+    WHERE EXISTS ( \
+        SELECT 1 FROM GRAPH_WORKSPACE_COLUMNS WSC \
+        WHERE WSC.SCHEMA_NAME = ? AND WSC.WORKSPACE_NAME = ? \
+            AND WSC.ENTITY_SCHEMA_NAME = TBL.SCHEMA_NAME AND WSC.ENTITY_TABLE_NAME = TBL.TABLE_NAME \
+    ) \
+    ORDER BY 1, 2
+
+LOAD_WORKSPACE_METADATA_VERSION_HANA_ONPREM=\
+    SELECT 'WORKSPACE' ENTITY, TO_VARCHAR(OBJECT_OID) SIGNATURE FROM OBJECTS \
+    WHERE SCHEMA_NAME = ? AND OBJECT_NAME = ? AND OBJECT_TYPE = 'GRAPH WORKSPACE' \
+    UNION ALL \
+    SELECT TBL.SCHEMA_NAME || '.' || TBL.TABLE_NAME ENTITY, TO_VARCHAR(TBL.TABLE_OID) || ':' || COL.COLUMN_NAME || ':' || COL.DATA_TYPE_NAME SIGNATURE \
+    FROM GRAPH_WORKSPACES WS \
+    INNER JOIN TABLES TBL \
+        ON (TBL.SCHEMA_NAME = WS.EDGE_SCHEMA_NAME AND TBL.TABLE_NAME = WS.EDGE_TABLE_NAME) \
+        OR (TBL.SCHEMA_NAME = WS.VERTEX_SCHEMA_NAME AND TBL.TABLE_NAME = WS.VERTEX_TABLE_NAME) \
+    INNER JOIN TABLE_COLUMNS COL \
+        ON COL.SCHEMA_NAME = TBL.SCHEMA_NAME AND COL.TABLE_NAME = TBL.TABLE_NAME \
+    WHERE WS.SCHEMA_NAME = ? AND WS.WORKSPACE_NAME = ? AND WS.IS_VALID = 'TRUE' \
+    ORDER BY 1, 2
+
 GENERIC_SELECT_PROJECTION=\
     SELECT %s FROM "%s"."%s"
 
+FILTER_EDGES_BY_NODES=\
+    %1$s IN (SELECT %3$s FROM "%4$s"."%5$s" WHERE (%6$s)) AND %2$s IN (SELECT %3$s FROM "%4$s"."%5$s" WHERE (%6$s))
+
+INFER_NODES_FROM_EDGES=\
+    SELECT %6$s FROM \
+    ( \
+        SELECT %1$s AS %6$s FROM "%3$s"."%4$s" WHERE %1$s IS NOT NULL%5$s \
+        UNION \
+        SELECT %2$s AS %6$s FROM "%3$s"."%4$s" WHERE %2$s IS NOT NULL%5$s \
+    )
+
+CREATE_SAMPLE_TABLE=\
+    CREATE LOCAL TEMPORARY COLUMN TABLE %1$s AS (%2$s) WITH DATA
+
+DROP_SAMPLE_TABLE=\
+    DROP TABLE %1$s
+
+SELECT_SAMPLE_KEYS=\
+    SELECT %1$s AS "KEY" FROM %2$s %3$s
+
+SAMPLE_CLAUSE_TABLESAMPLE=\
+    TABLESAMPLE BERNOULLI (%1$s)
+
+SAMPLE_CLAUSE_RANDOM=\
+    WHERE RAND() * 100 < %1$s
+
+SAMPLE_CLAUSE_FILTER=\
+    WHERE (%1$s)
+
+SAMPLE_CLAUSE_RANDOM_SEEDS=\
+    ORDER BY RAND() LIMIT %1$d
+
+SAMPLE_CLAUSE_LIMIT=\
+    LIMIT %1$d
+
+SAMPLE_EDGE_ENDPOINTS=\
+    SELECT %1$s AS "KEY" FROM "%3$s"."%4$s" WHERE %5$s IN (SELECT "KEY" FROM %6$s) \
+    UNION \
+    SELECT %2$s AS "KEY" FROM "%3$s"."%4$s" WHERE %5$s IN (SELECT "KEY" FROM %6$s)
+
+EXPAND_SAMPLE=\
+    INSERT INTO %5$s SELECT "KEY" FROM \
+    ( \
+        SELECT %2$s AS "KEY" FROM "%3$s"."%4$s" WHERE %1$s IN (SELECT "KEY" FROM %5$s)%6$s \
+        UNION \
+        SELECT %1$s AS "KEY" FROM "%3$s"."%4$s" WHERE %2$s IN (SELECT "KEY" FROM %5$s)%6$s \
+    ) WHERE "KEY" IS NOT NULL AND "KEY" NOT IN (SELECT "KEY" FROM %5$s) %7$s
+
+COUNT_SAMPLE=\
+    SELECT COUNT(*) FROM %1$s
+
+FILTER_BY_SAMPLE=\
+    %1$s IN (SELECT "KEY" FROM %2$s)
+
+FILTER_BY_KEYS=\
+    %1$s IN (%2$s)
+
+FILTER_NO_ROWS=\
+    1 = 0
+
+FILTER_ALL_ROWS=\
+    1 = 1
+
+FILTER_NOT=\
+    NOT (%1$s)
+
+FILTER_VALID_BEFORE=\
+    %1$s IS NULL OR %1$s < %2$s
+
+FILTER_VALID_AFTER=\
+    %1$s IS NULL OR %1$s > %2$s
+
+FILTER_EVENT_FROM=\
+    %1$s >= %2$s
+
+FILTER_EVENT_BEFORE=\
+    %1$s < %2$s
+
+TIMESTAMP_LITERAL=\
+    TO_TIMESTAMP('%1$s', 'YYYY-MM-DD HH24:MI:SS')
+
+FILTER_MIN_EDGE_WEIGHT=\
+    %1$s >= %2$s
+
+RANK_EDGES_BY_WEIGHT=\
+    SELECT %1$s, \
+        ROW_NUMBER() OVER (PARTITION BY %2$s ORDER BY %4$s DESC NULLS LAST, %1$s) SOURCE_RANK, \
+        ROW_NUMBER() OVER (PARTITION BY %3$s ORDER BY %4$s DESC NULLS LAST, %1$s) TARGET_RANK \
+    FROM "%5$s"."%6$s"
+
+FILTER_TOP_EDGES_PER_NODE=\
+    %1$s IN (SELECT %1$s FROM (%2$s) WHERE SOURCE_RANK <= %3$d OR TARGET_RANK <= %3$d)
+
+SELECT_TOP_EDGES_PER_NODE=\
+    SELECT %1$s AS "KEY" FROM (%2$s) WHERE SOURCE_RANK <= %3$d OR TARGET_RANK <= %3$d
+
+GROUP_KEY_VALUE=\
+    COALESCE(TO_NVARCHAR(%1$s), '(null)')
+
+GROUP_KEY_SEPARATOR=\
+    ' | '
+
+COLUMN_ALIAS=\
+    %1$s AS %2$s
+
+FILTER_GROUP_KEY=\
+    %1$s = %2$s
+
+AGGREGATE_COUNT=\
+    COUNT(*) AS %1$s
+
+AGGREGATE_AVG=\
+    TO_DOUBLE(AVG(%1$s)) AS %2$s
+
+AGGREGATE_SUM=\
+    TO_DOUBLE(SUM(%1$s)) AS %2$s
+
+SELECT_SUPEREDGES=\
+    SELECT SRC.%2$s || ' -> ' || TGT.%2$s AS %1$s, \
+        SRC.%2$s AS %3$s, TGT.%2$s AS %4$s, %5$s \
+    FROM (%6$s) E \
+    INNER JOIN (%7$s) SRC ON E.%8$s = SRC.%10$s \
+    INNER JOIN (%7$s) TGT ON E.%9$s = TGT.%10$s \
+    GROUP BY SRC.%2$s, TGT.%2$s
+
+ESTIMATE_TABLE_SIZE=\
+    SELECT TBL.RECORD_COUNT, COL.UNCOMPRESSED_SIZE FROM \
+        (SELECT SUM(RECORD_COUNT) RECORD_COUNT FROM M_CS_TABLES WHERE SCHEMA_NAME = ? AND TABLE_NAME = ?) TBL, \
+        (SELECT SUM(UNCOMPRESSED_SIZE) UNCOMPRESSED_SIZE FROM M_CS_COLUMNS WHERE SCHEMA_NAME = ? AND TABLE_NAME = ? AND COLUMN_NAME IN (%1$s)) COL
+
+SELECT_TABLE_DATA_VERSION=\
+    SELECT TO_VARCHAR(SUM(RECORD_COUNT)) || ':' || TO_VARCHAR(SUM(WRITE_COUNT)) || ':' || TO_VARCHAR(SUM(MERGE_COUNT)) \
+    FROM M_CS_TABLES WHERE SCHEMA_NAME = ? AND TABLE_NAME = ?
+
+LIST_TABLE_PARTITIONS=\
+    SELECT DISTINCT PART_ID FROM M_CS_TABLES WHERE SCHEMA_NAME = ? AND TABLE_NAME = ? AND PART_ID > 0 ORDER BY PART_ID
+
+SELECT_KEY_RANGE=\
+    SELECT MIN(%1$s), MAX(%1$s), COUNT(*) FROM %2$s.%3$s
+
+SELECT_SAMPLED_KEY_RANGE_BOUNDARIES=\
+    SELECT MAX(%1$s) FROM \
+    ( \
+        SELECT %1$s, NTILE(%2$d) OVER (ORDER BY %1$s) AS SLICE FROM %3$s.%4$s TABLESAMPLE BERNOULLI (%5$s) \
+    ) GROUP BY SLICE ORDER BY SLICE
+
 GET_BUILD=\
     SELECT VALUE FROM M_HOST_INFORMATION WHERE KEY='build_branch'
 
+PING=\
+    SELECT 1 FROM DUMMY
+
+PROBE_CATALOG_CAPABILITIES=\
+    SELECT \
+        (SELECT COUNT(*) FROM VIEWS WHERE SCHEMA_NAME = 'SYS' AND VIEW_NAME = 'GRAPH_WORKSPACE_COLUMNS'), \
+        (SELECT COUNT(*) FROM VIEW_COLUMNS WHERE SCHEMA_NAME = 'SYS' AND VIEW_NAME = 'GRAPH_WORKSPACES' AND COLUMN_NAME = 'EDGE_TABLE_NAME'), \
+        (SELECT COUNT(*) FROM VIEW_COLUMNS WHERE SCHEMA_NAME = 'SYS' AND VIEW_NAME = 'GRAPH_WORKSPACE_COLUMNS' AND COLUMN_NAME = 'REFERENCED_ENTITY_TABLE_NAME') \
+    FROM DUMMY
+
+WORKSPACE_VERTEX_REFERENCES=\
+    REFERENCED_ENTITY_SCHEMA_NAME, REFERENCED_ENTITY_TABLE_NAME
+
+WORKSPACE_VERTEX_REFERENCES_UNKNOWN=\
+    NULL, NULL
+
 SCHEMA_EXISTS=\
     SELECT COUNT(*) FROM SCHEMAS WHERE SCHEMA_NAME = ?
 
@@ -0,0 +1,101 @@
+import org.cytoscape.model.*;
+import org.junit.Assert;
+import org.junit.Test;
+import org.sap.cytoscape.internal.hdb.HanaEdgeTableRow;
+import org.sap.cytoscape.internal.tasks.CyPlaybackTask;
+
+import java.lang.reflect.Proxy;
+import java.util.*;
+
+/**
+ * Unit tests for the node lookup of CyPlaybackTask
+ */
+public class CyPlaybackTaskTest {
+
+    // -----------------------------------------------------------------------
+    // Stubs
+    // -----------------------------------------------------------------------
+
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type, Map<String, Object> results){
+        return (T) Proxy.newProxyInstance(
+            ClassLoader.getSystemClassLoader(),
+            new Class[]{type},
+            (proxy, method, args) -> results.get(method.getName())
+        );
+    }
+
+    /**
+     * Builds a network, whose nodes have the given values in a single column
+     */
+    private static CyNetwork networkWithKeys(String column, Class<?> columnType, Object... keys){
+        List<CyNode> nodes = new ArrayList<>();
+        Map<Long, Object> keyBySuid = new HashMap<>();
+        for(int i=0; i<keys.length; i++){
+            long suid = i + 1;
+            nodes.add(stub(CyNode.class, Collections.singletonMap("getSUID", suid)));
+            keyBySuid.put(suid, keys[i]);
+        }
+
+        CyColumn keyColumn = stub(CyColumn.class, Collections.singletonMap("getType", columnType));
+        CyTable nodeTable = (CyTable) Proxy.newProxyInstance(
+            ClassLoader.getSystemClassLoader(),
+            new Class[]{CyTable.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getColumn":   return column.equals(args[0]) ? keyColumn : null;
+                    case "getRow":      return stub(CyRow.class, Collections.singletonMap("get", keyBySuid.get(args[0])));
+                    default:            return null;
+                }
+            }
+        );
+
+        Map<String, Object> network = new HashMap<>();
+        network.put("getDefaultNodeTable", nodeTable);
+        network.put("getNodeList", nodes);
+        return stub(CyNetwork.class, network);
+    }
+
+    private static HanaEdgeTableRow makeEdge(Object src, Object tgt) {
+        HanaEdgeTableRow row = new HanaEdgeTableRow();
+        row.setSourceFieldName("SRC");
+        row.setTargetFieldName("TGT");
+        row.addFieldValue("SRC", src);
+        row.addFieldValue("TGT", tgt);
+        return row;
+    }
+
+    // -----------------------------------------------------------------------
+    // Tests
+    // -----------------------------------------------------------------------
+
+    @Test
+    public void testNumericKeysMatchEdgeEndpoints() {
+        CyNetwork network = networkWithKeys("ID", Integer.class, 42, 7);
+        HashMap<Object, CyNode> nodesByHanaKey = CyPlaybackTask.getNodesByHanaKey(network, "ID");
+
+        HanaEdgeTableRow edge = makeEdge(42L, 7);
+        Assert.assertSame(network.getNodeList().get(0), nodesByHanaKey.get(edge.getSourceLookupKey()));
+        Assert.assertSame(network.getNodeList().get(1), nodesByHanaKey.get(edge.getTargetLookupKey()));
+    }
+
+    @Test
+    public void testStringKeysMatchEdgeEndpoints() {
+        CyNetwork network = networkWithKeys("ID", String.class, "A", "42");
+        HashMap<Object, CyNode> nodesByHanaKey = CyPlaybackTask.getNodesByHanaKey(network, "ID");
+
+        HanaEdgeTableRow edge = makeEdge("A", "42");
+        Assert.assertSame(network.getNodeList().get(0), nodesByHanaKey.get(edge.getSourceLookupKey()));
+        Assert.assertSame(network.getNodeList().get(1), nodesByHanaKey.get(edge.getTargetLookupKey()));
+        Assert.assertNull(nodesByHanaKey.get(42L));
+    }
+
+    @Test
+    public void testNodesNamedByNumericKey() {
+        // inferred nodes of edge-only workspaces may only carry their key as name
+        CyNetwork network = networkWithKeys("name", String.class, "42");
+        HashMap<Object, CyNode> nodesByHanaKey = CyPlaybackTask.getNodesByHanaKey(network, "NodeID");
+
+        Assert.assertSame(network.getNodeList().get(0), nodesByHanaKey.get(makeEdge(42L, 42L).getSourceLookupKey()));
+    }
+}
@@ -0,0 +1,105 @@
+import org.junit.Assert;
+import org.junit.Test;
+import org.sap.cytoscape.internal.hdb.HanaAsyncExecutor;
+
+import java.sql.SQLException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+public class HanaAsyncExecutorTest {
+
+    /**
+     * Blocks until it is interrupted and records the interruption
+     */
+    private static HanaAsyncExecutor.Operation<Integer> blockingOperation(CountDownLatch started, CountDownLatch interrupted) {
+        return () -> {
+            started.countDown();
+            try {
+                Thread.sleep(60_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return 0;
+        };
+    }
+
+    @Test
+    public void testResultsCanBeComposed() throws Exception {
+        try (HanaAsyncExecutor executor = new HanaAsyncExecutor("test", 2)) {
+            CompletableFuture<Integer> nodes = executor.submit(() -> 2);
+            CompletableFuture<Integer> edges = executor.submit(() -> 3);
+
+            Assert.assertEquals(5, (int) nodes.thenCombine(edges, Integer::sum).get(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void testFailureIsPassedOn() throws Exception {
+        try (HanaAsyncExecutor executor = new HanaAsyncExecutor("test", 1)) {
+            CompletableFuture<Integer> future = executor.submit(() -> { throw new SQLException("invalid table name"); });
+            try {
+                future.get(10, TimeUnit.SECONDS);
+                Assert.fail("Expected failure");
+            } catch (ExecutionException e) {
+                Assert.assertTrue(e.getCause() instanceof SQLException);
+            }
+        }
+    }
+
+    @Test
+    public void testCancelInterruptsOperation() throws Exception {
+        try (HanaAsyncExecutor executor = new HanaAsyncExecutor("test", 1)) {
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch interrupted = new CountDownLatch(1);
+            CompletableFuture<Integer> future = executor.submit(blockingOperation(started, interrupted));
+
+            Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+            future.cancel(true);
+
+            Assert.assertTrue(interrupted.await(10, TimeUnit.SECONDS));
+            try {
+                future.join();
+                Assert.fail("Expected cancellation");
+            } catch (CancellationException expected) {
+            }
+        }
+    }
+
+    @Test
+    public void testTimeoutInterruptsOperation() throws Exception {
+        try (HanaAsyncExecutor executor = new HanaAsyncExecutor("test", 1)) {
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch interrupted = new CountDownLatch(1);
+            CompletableFuture<Integer> future = executor.submit(blockingOperation(started, interrupted))
+                    .orTimeout(100, TimeUnit.MILLISECONDS);
+
+            Assert.assertTrue(interrupted.await(10, TimeUnit.SECONDS));
+            try {
+                future.get();
+                Assert.fail("Expected timeout");
+            } catch (ExecutionException e) {
+                Assert.assertTrue(e.getCause() instanceof TimeoutException);
+            }
+        }
+    }
+
+    @Test
+    public void testClosedExecutorRejectsOperations() {
+        HanaAsyncExecutor executor = new HanaAsyncExecutor("test", 1);
+        executor.close();
+
+        CompletableFuture<Integer> future = executor.submit(() -> 1);
+        Assert.assertTrue(future.isCompletedExceptionally());
+        try {
+            future.join();
+        } catch (Exception e) {
+            Assert.assertTrue(e.getCause() instanceof RejectedExecutionException);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+import org.junit.Assert;
+import org.junit.Test;
+import org.sap.cytoscape.internal.hdb.HanaAsyncExecutor;
+import org.sap.cytoscape.internal.hdb.HanaCancellationToken;
+
+import java.lang.reflect.Proxy;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class HanaCancellationTokenTest {
+
+    private final Set<Statement> cancelledStatements = new HashSet<>();
+
+    private Statement stubStatement() {
+        return (Statement) Proxy.newProxyInstance(
+                ClassLoader.getSystemClassLoader(),
+                new Class[]{Statement.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "cancel":      synchronized (cancelledStatements) { cancelledStatements.add((Statement) proxy); } return null;
+                        case "hashCode":    return System.identityHashCode(proxy);
+                        case "equals":      return proxy == args[0];
+                        default:            return null;
+                    }
+                }
+        );
+    }
+
+    @Test
+    public void testCancelStopsRunningStatements() throws SQLException {
+        HanaCancellationToken token = new HanaCancellationToken();
+        Statement running = stubStatement();
+        Statement finished = stubStatement();
+
+        try (HanaCancellationToken.Scope scope = token.bind()) {
+            try (HanaCancellationToken.Registration reg = HanaCancellationToken.track(finished)) { }
+            try (HanaCancellationToken.Registration reg = HanaCancellationToken.track(running)) {
+                Assert.assertEquals(1, token.getRunningCount());
+                token.cancel();
+            }
+        }
+
+        Assert.assertTrue(cancelledStatements.contains(running));
+        Assert.assertFalse(cancelledStatements.contains(finished));
+        Assert.assertEquals(0, token.getRunningCount());
+    }
+
+    @Test
+    public void testStatementsFailAfterCancel() {
+        HanaCancellationToken token = new HanaCancellationToken();
+        token.cancel();
+
+        try (HanaCancellationToken.Scope scope = token.bind()) {
+            HanaCancellationToken.track(stubStatement());
+            Assert.fail("Statement must not be started after cancel");
+        } catch (SQLException e) {
+            Assert.assertEquals(HanaCancellationToken.SQL_STATE_CANCELLED, e.getSQLState());
+        }
+        Assert.assertTrue(cancelledStatements.isEmpty());
+    }
+
+    @Test
+    public void testScopeRestoresPreviousToken() {
+        HanaCancellationToken outer = new HanaCancellationToken();
+        HanaCancellationToken inner = new HanaCancellationToken();
+
+        Assert.assertNull(HanaCancellationToken.current());
+        try (HanaCancellationToken.Scope outerScope = outer.bind()) {
+            try (HanaCancellationToken.Scope innerScope = inner.bind()) {
+                Assert.assertSame(inner, HanaCancellationToken.current());
+            }
+            Assert.assertSame(outer, HanaCancellationToken.current());
+        }
+        Assert.assertNull(HanaCancellationToken.current());
+    }
+
+    @Test
+    public void testAsyncOperationIsCancelledWithTask() throws Exception {
+        HanaCancellationToken token = new HanaCancellationToken();
+        Statement statement = stubStatement();
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch cancelled = new CountDownLatch(1);
+
+        try (HanaAsyncExecutor executor = new HanaAsyncExecutor("test", 1)) {
+            CompletableFuture<Boolean> future;
+            try (HanaCancellationToken.Scope scope = token.bind()) {
+                future = executor.submit(() -> {
+                    try (HanaCancellationToken.Registration reg = HanaCancellationToken.track(statement)) {
+                        running.countDown();
+                        cancelled.await(5, TimeUnit.SECONDS);
+                    }
+                    return HanaCancellationToken.current().isCancelled();
+                });
+            }
+
+            Assert.assertTrue(running.await(5, TimeUnit.SECONDS));
+            token.cancel();
+            cancelled.countDown();
+
+            Assert.assertTrue(future.get(5, TimeUnit.SECONDS));
+            Assert.assertTrue(cancelledStatements.contains(statement));
+        }
+    }
+}
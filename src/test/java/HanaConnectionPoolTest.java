@@ -0,0 +1,184 @@
+import org.junit.Assert;
+import org.junit.Test;
+import org.sap.cytoscape.internal.hdb.HanaConnectionPool;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+public class HanaConnectionPoolTest {
+
+    /**
+     * State of a connection stub
+     */
+    private static class StubSession {
+        boolean autoCommit = true;
+        boolean closed = false;
+        int rollbacks = 0;
+        int isolation = Connection.TRANSACTION_READ_COMMITTED;
+        Connection connection;
+    }
+
+    private final List<StubSession> sessions = new ArrayList<>();
+
+    private Connection openStub() {
+        StubSession session = new StubSession();
+        session.connection = (Connection) Proxy.newProxyInstance(
+                ClassLoader.getSystemClassLoader(),
+                new Class[]{Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "isValid":                 return !session.closed;
+                        case "isClosed":                return session.closed;
+                        case "close":                   session.closed = true; return null;
+                        case "getAutoCommit":           return session.autoCommit;
+                        case "setAutoCommit":           session.autoCommit = (Boolean) args[0]; return null;
+                        case "rollback":                session.rollbacks++; return null;
+                        case "getTransactionIsolation": return session.isolation;
+                        case "setTransactionIsolation": session.isolation = (Integer) args[0]; return null;
+                        case "hashCode":                return System.identityHashCode(proxy);
+                        case "equals":                  return proxy == args[0];
+                        default:                        return null;
+                    }
+                }
+        );
+        sessions.add(session);
+        return session.connection;
+    }
+
+    @Test
+    public void testSessionsAreReused() throws SQLException {
+        HanaConnectionPool pool = new HanaConnectionPool(this::openStub, 2, 60000);
+
+        Connection first;
+        try (HanaConnectionPool.Lease lease = pool.lease()) {
+            first = lease.getConnection();
+            Assert.assertEquals(1, pool.getActiveCount());
+        }
+        Assert.assertEquals(0, pool.getActiveCount());
+        Assert.assertEquals(1, pool.getIdleCount());
+
+        try (HanaConnectionPool.Lease lease = pool.lease()) {
+            Assert.assertSame(first, lease.getConnection());
+        }
+        Assert.assertEquals(1, pool.getCreatedCount());
+        Assert.assertEquals(2, pool.getLeaseCount());
+    }
+
+    @Test
+    public void testPoolIsBounded() throws SQLException {
+        HanaConnectionPool pool = new HanaConnectionPool(this::openStub, 1, 60000);
+
+        try (HanaConnectionPool.Lease lease = pool.lease()) {
+            try {
+                pool.lease(10);
+                Assert.fail("Lease must time out if all sessions are in use");
+            } catch (SQLException e) {
+                Assert.assertEquals(1, pool.getTimeoutCount());
+            }
+        }
+
+        // the session is available again
+        pool.lease(10).close();
+        Assert.assertEquals(1, pool.getCreatedCount());
+    }
+
+    @Test
+    public void testTryLeaseDoesNotWait() throws SQLException {
+        HanaConnectionPool pool = new HanaConnectionPool(this::openStub, 1, 60000);
+
+        try (HanaConnectionPool.Lease lease = pool.tryLease()) {
+            Assert.assertNotNull(lease);
+            Assert.assertNull(pool.tryLease());
+        }
+        Assert.assertEquals(0, pool.getTimeoutCount());
+
+        HanaConnectionPool.Lease lease = pool.tryLease();
+        Assert.assertNotNull(lease);
+        lease.close();
+    }
+
+    @Test
+    public void testInvalidatedSessionIsClosed() throws SQLException {
+        HanaConnectionPool pool = new HanaConnectionPool(this::openStub, 2, 60000);
+
+        try (HanaConnectionPool.Lease lease = pool.lease()) {
+            lease.invalidate();
+        }
+        Assert.assertTrue(sessions.get(0).closed);
+        Assert.assertEquals(0, pool.getIdleCount());
+
+        pool.lease().close();
+        Assert.assertEquals(2, pool.getCreatedCount());
+    }
+
+    @Test
+    public void testReturnedSessionIsReset() throws SQLException {
+        HanaConnectionPool pool = new HanaConnectionPool(this::openStub, 2, 60000);
+
+        try (HanaConnectionPool.Lease lease = pool.lease()) {
+            lease.getConnection().setAutoCommit(false);
+            lease.getConnection().setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+        }
+
+        StubSession session = sessions.get(0);
+        Assert.assertEquals(1, session.rollbacks);
+        Assert.assertTrue(session.autoCommit);
+        Assert.assertEquals(Connection.TRANSACTION_READ_COMMITTED, session.isolation);
+        Assert.assertFalse(session.closed);
+    }
+
+    @Test
+    public void testIdleSessionsAreEvicted() throws SQLException {
+        HanaConnectionPool pool = new HanaConnectionPool(this::openStub, 2, 0);
+
+        pool.lease().close();
+        Assert.assertEquals(1, pool.evictIdle());
+        Assert.assertTrue(sessions.get(0).closed);
+        Assert.assertEquals(1, pool.getEvictedCount());
+    }
+
+    @Test
+    public void testIdleSessionsAreEvictedInBackground() throws SQLException, InterruptedException {
+        HanaConnectionPool pool = new HanaConnectionPool(this::openStub, 2, 0);
+
+        pool.lease().close();
+        long deadline = System.currentTimeMillis() + 5000;
+        while(pool.getIdleCount() > 0 && System.currentTimeMillis() < deadline){
+            Thread.sleep(50);
+        }
+        Assert.assertEquals(0, pool.getIdleCount());
+        Assert.assertTrue(sessions.get(0).closed);
+        pool.close();
+    }
+
+    @Test
+    public void testClosedPoolClosesSessions() throws SQLException {
+        HanaConnectionPool pool = new HanaConnectionPool(this::openStub, 2, 60000);
+
+        HanaConnectionPool.Lease active = pool.lease();
+        pool.lease().close();
+        pool.close();
+        Assert.assertTrue(sessions.get(1).closed);
+
+        // leased sessions are closed when they are returned
+        Assert.assertFalse(sessions.get(0).closed);
+        active.close();
+        Assert.assertTrue(sessions.get(0).closed);
+
+        try {
+            pool.lease();
+            Assert.fail("Closed pool must not lease sessions");
+        } catch (SQLException expected) {
+        }
+    }
+
+    @Test
+    public void testUnpooledLeaseKeepsConnectionOpen() {
+        Connection connection = openStub();
+        HanaConnectionPool.Lease.unpooled(connection).close();
+        Assert.assertFalse(sessions.get(0).closed);
+    }
+}
@@ -0,0 +1,64 @@
+import org.junit.Assert;
+import org.junit.Test;
+import org.sap.cytoscape.internal.hdb.HanaFetchSizePolicy;
+
+import java.sql.Types;
+
+public class HanaFetchSizePolicyTest {
+
+    private static final long LAN_ROUND_TRIP = 500_000L;          // 0.5 ms
+    private static final long CLOUD_ROUND_TRIP = 80_000_000L;     // 80 ms
+
+    @Test
+    public void testNarrowRowsFetchMoreRowsThanWideRows() {
+        HanaFetchSizePolicy narrow = new HanaFetchSizePolicy(LAN_ROUND_TRIP, 16);
+        HanaFetchSizePolicy wide = new HanaFetchSizePolicy(LAN_ROUND_TRIP, 4096);
+        Assert.assertTrue(narrow.getFetchSize() > wide.getFetchSize());
+    }
+
+    @Test
+    public void testHighLatencyFetchesMoreRows() {
+        HanaFetchSizePolicy lan = new HanaFetchSizePolicy(LAN_ROUND_TRIP, 1024);
+        HanaFetchSizePolicy cloud = new HanaFetchSizePolicy(CLOUD_ROUND_TRIP, 1024);
+        Assert.assertTrue(cloud.getFetchSize() > lan.getFetchSize());
+    }
+
+    @Test
+    public void testFetchSizeIsBounded() {
+        Assert.assertEquals(HanaFetchSizePolicy.MAX_FETCH_SIZE, new HanaFetchSizePolicy(CLOUD_ROUND_TRIP, 1).getFetchSize());
+        Assert.assertEquals(HanaFetchSizePolicy.MIN_FETCH_SIZE, new HanaFetchSizePolicy(0, 100_000_000).getFetchSize());
+    }
+
+    @Test
+    public void testAdaptsToMeasuredRowWidth() {
+        // metadata suggested wide rows, but the actual values are tiny
+        HanaFetchSizePolicy policy = new HanaFetchSizePolicy(LAN_ROUND_TRIP, 2048);
+        int initialFetchSize = policy.getFetchSize();
+
+        Object[] row = new Object[]{1, "A"};
+        boolean changed = false;
+        for (int i = 0; i < initialFetchSize; i++) {
+            changed |= policy.observeRow(row);
+        }
+
+        Assert.assertTrue("Fetch size must be adapted after the first fetch", changed);
+        Assert.assertTrue(policy.getFetchSize() > initialFetchSize);
+    }
+
+    @Test
+    public void testStableRowWidthKeepsFetchSize() {
+        HanaFetchSizePolicy policy = new HanaFetchSizePolicy(LAN_ROUND_TRIP, 16);
+        Object[] row = new Object[]{1L, 2.0d};
+        for (int i = 0; i < 10 * HanaFetchSizePolicy.MAX_FETCH_SIZE; i++) {
+            Assert.assertFalse(policy.observeRow(row));
+        }
+    }
+
+    @Test
+    public void testEstimateColumnWidth() {
+        Assert.assertEquals(4, HanaFetchSizePolicy.estimateColumnWidth(Types.INTEGER, 10));
+        Assert.assertEquals(8, HanaFetchSizePolicy.estimateColumnWidth(Types.BIGINT, 19));
+        Assert.assertEquals(100, HanaFetchSizePolicy.estimateColumnWidth(Types.NVARCHAR, 100));
+        Assert.assertEquals(256, HanaFetchSizePolicy.estimateColumnWidth(Types.NVARCHAR, 5000));
+    }
+}
@@ -4,9 +4,7 @@ import org.sap.cytoscape.internal.exceptions.GraphInconsistencyException;
 import org.sap.cytoscape.internal.hdb.*;
 
 import java.sql.Types;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
+import java.util.*;
 
 public class HanaGraphWorkspaceTest {
 
@@ -105,6 +103,368 @@ public class HanaGraphWorkspaceTest {
         Assert.assertEquals(2, ws.getNodeTable().size());
     }
 
+    @Test
+    public void testInferNodesFromEdges_pageByPage() throws GraphInconsistencyException {
+        HanaGraphWorkspace ws = new HanaGraphWorkspace(new HanaDbObject("SCHEMA", "WS"));
+        ws.addEdgeKeyCol(new HanaColumnInfo("SCHEMA", "EDGE_T", "EDGE_ID", Types.INTEGER, true));
+        ws.addEdgeSourceCol(new HanaColumnInfo("SCHEMA", "EDGE_T", "SRC", Types.NVARCHAR, false));
+        ws.addEdgeTargetCol(new HanaColumnInfo("SCHEMA", "EDGE_T", "TGT", Types.NVARCHAR, false));
+
+        List<HanaNodeTableRow> firstPage = ws.inferNodesFromEdges(Arrays.asList(makeEdge("SRC", "TGT", "A", "B")));
+        Assert.assertEquals(2, firstPage.size());
+
+        // only C is new on the second page
+        List<HanaNodeTableRow> secondPage = ws.inferNodesFromEdges(Arrays.asList(
+                makeEdge("SRC", "TGT", "B", "C"),
+                makeEdge("SRC", "TGT", "A", "C")
+        ));
+        Assert.assertEquals(1, secondPage.size());
+        Assert.assertEquals("C", secondPage.get(0).getKeyValue(String.class));
+        Assert.assertEquals(3, ws.getNodeTable().size());
+    }
+
+    @Test
+    public void testInferNodesFromEdges_numericKeysMatchEndpoints() throws GraphInconsistencyException {
+        HanaGraphWorkspace ws = new HanaGraphWorkspace(new HanaDbObject("SCHEMA", "WS"));
+        ws.addEdgeKeyCol(new HanaColumnInfo("SCHEMA", "EDGE_T", "EDGE_ID", Types.INTEGER, true));
+        ws.addEdgeSourceCol(new HanaColumnInfo("SCHEMA", "EDGE_T", "SRC", Types.BIGINT, false));
+        ws.addEdgeTargetCol(new HanaColumnInfo("SCHEMA", "EDGE_T", "TGT", Types.BIGINT, false));
+
+        HanaEdgeTableRow edge = makeEdge("SRC", "TGT", 1L, 2L);
+        List<HanaNodeTableRow> nodes = ws.inferNodesFromEdges(Arrays.asList(edge, makeEdge("SRC", "TGT", 2, 1)));
+
+        // INTEGER and BIGINT values of the same id are looked up without converting them to strings
+        Assert.assertEquals(2, nodes.size());
+        Assert.assertEquals(1L, nodes.get(0).getLookupKey());
+        Assert.assertEquals(edge.getSourceLookupKey(), nodes.get(0).getLookupKey());
+        Assert.assertEquals(edge.getTargetLookupKey(), nodes.get(1).getLookupKey());
+    }
+
+    @Test
+    public void testLookupKey_nonIntegralValuesAreStrings() {
+        Assert.assertEquals(7L, AbstractHanaGraphTableRow.toLookupKey(7));
+        Assert.assertEquals("A", AbstractHanaGraphTableRow.toLookupKey("A"));
+        Assert.assertEquals("1.5", AbstractHanaGraphTableRow.toLookupKey(1.5d));
+        Assert.assertNull(AbstractHanaGraphTableRow.toLookupKey(null));
+    }
+
+    // -------------------------------------------------------------------------
+    // removeDanglingEdges
+    // -------------------------------------------------------------------------
+
+    @Test
+    public void testRemoveDanglingEdges() {
+        HanaGraphWorkspace ws = new HanaGraphWorkspace(new HanaDbObject("SCHEMA", "WS"));
+        ws.addNodeKeyCol(new HanaColumnInfo("SCHEMA", "NODE_T", "NODE_ID", Types.INTEGER, true));
+        ws.addEdgeKeyCol(new HanaColumnInfo("SCHEMA", "EDGE_T", "EDGE_ID", Types.INTEGER, true));
+        ws.addEdgeSourceCol(new HanaColumnInfo("SCHEMA", "EDGE_T", "SRC", Types.INTEGER, false));
+        ws.addEdgeTargetCol(new HanaColumnInfo("SCHEMA", "EDGE_T", "TGT", Types.INTEGER, false));
+
+        List<HanaNodeTableRow> nodes = new ArrayList<>();
+        for(int key : new int[]{1, 2}){
+            HanaNodeTableRow node = new HanaNodeTableRow();
+            node.setKeyFieldName("NODE_ID");
+            node.addFieldValue("NODE_ID", key);
+            nodes.add(node);
+        }
+        ws.setNodeTable(nodes);
+
+        // node 3 has been added after the node table has been read
+        ws.setEdgeTable(new ArrayList<>(Arrays.asList(
+                makeEdge("SRC", "TGT", 1, 2),
+                makeEdge("SRC", "TGT", 2, 3),
+                makeEdge("SRC", "TGT", 3, 1)
+        )));
+
+        Assert.assertEquals(2, ws.removeDanglingEdges());
+        Assert.assertEquals(1, ws.getEdgeTable().size());
+        Assert.assertEquals("2", ws.getEdgeTable().get(0).getTargetValue(String.class));
+    }
+
+    @Test
+    public void testRemoveDanglingEdges_inferredNodes() throws GraphInconsistencyException {
+        HanaGraphWorkspace ws = new HanaGraphWorkspace(new HanaDbObject("SCHEMA", "WS"));
+        ws.addEdgeKeyCol(new HanaColumnInfo("SCHEMA", "EDGE_T", "EDGE_ID", Types.INTEGER, true));
+        ws.addEdgeSourceCol(new HanaColumnInfo("SCHEMA", "EDGE_T", "SRC", Types.BIGINT, false));
+        ws.addEdgeTargetCol(new HanaColumnInfo("SCHEMA", "EDGE_T", "TGT", Types.BIGINT, false));
+        ws.setEdgeTable(new ArrayList<>(Arrays.asList(
+                makeEdge("SRC", "TGT", 1L, 2L),
+                makeEdge("SRC", "TGT", 2L, 3L)
+        )));
+
+        // nothing to compare with, as long as nodes have not been inferred
+        Assert.assertEquals(0, ws.removeDanglingEdges());
+
+        ws.prepareInferredNodeTable();
+        Assert.assertTrue(ws.isEdgeOnlyGraph());
+        Assert.assertEquals(HanaGraphWorkspace.INFERRED_NODE_KEY_COL, ws.getNodeKeyColInfo().name);
+        Assert.assertEquals("EDGE_T", ws.getNodeKeyColInfo().table);
+
+        // nodes have been inferred on the database; edge 2 -> 3 has been added afterwards
+        List<HanaNodeTableRow> nodes = new ArrayList<>();
+        for(long key : new long[]{1L, 2L}){
+            HanaNodeTableRow node = new HanaNodeTableRow();
+            node.setKeyFieldName(HanaGraphWorkspace.INFERRED_NODE_KEY_COL);
+            node.addFieldValue(HanaGraphWorkspace.INFERRED_NODE_KEY_COL, key);
+            nodes.add(node);
+        }
+        ws.setNodeTable(nodes);
+
+        Assert.assertEquals(1, ws.removeDanglingEdges());
+        Assert.assertEquals("2", ws.getEdgeTable().get(0).getTargetValue(String.class));
+    }
+
+    @Test
+    public void testGetMissingEndpoints() {
+        HanaGraphWorkspace ws = new HanaGraphWorkspace(new HanaDbObject("SCHEMA", "WS"));
+        ws.addNodeKeyCol(new HanaColumnInfo("SCHEMA", "NODE_T", "NODE_ID", Types.INTEGER, true));
+        ws.addEdgeKeyCol(new HanaColumnInfo("SCHEMA", "EDGE_T", "EDGE_ID", Types.INTEGER, true));
+        ws.addEdgeSourceCol(new HanaColumnInfo("SCHEMA", "EDGE_T", "SRC", Types.INTEGER, false));
+        ws.addEdgeTargetCol(new HanaColumnInfo("SCHEMA", "EDGE_T", "TGT", Types.INTEGER, false));
+        ws.setNodeTable(new ArrayList<>(Arrays.asList(makeNode("NODE_ID", 1), makeNode("NODE_ID", 2))));
+
+        // node 3 has been added after the node table has been read
+        ws.setEdgeTable(new ArrayList<>(Arrays.asList(
+                makeEdge("SRC", "TGT", 1, 2),
+                makeEdge("SRC", "TGT", 2, 3),
+                makeEdge("SRC", "TGT", 3, 1)
+        )));
+
+        Map<String, List<Object>> missingEndpoints = ws.getMissingEndpoints();
+        Assert.assertEquals(Collections.singletonMap(null, Collections.singletonList(3)), missingEndpoints);
+
+        ws.getNodeTable().add(makeNode("NODE_ID", 3L));
+        Assert.assertTrue(ws.getMissingEndpoints().isEmpty());
+        Assert.assertEquals(0, ws.removeDanglingEdges());
+    }
+
+    @Test
+    public void testAddInferredNodes() throws GraphInconsistencyException {
+        HanaGraphWorkspace ws = new HanaGraphWorkspace(new HanaDbObject("SCHEMA", "WS"));
+        ws.addEdgeKeyCol(new HanaColumnInfo("SCHEMA", "EDGE_T", "EDGE_ID", Types.INTEGER, true));
+        ws.addEdgeSourceCol(new HanaColumnInfo("SCHEMA", "EDGE_T", "SRC", Types.BIGINT, false));
+        ws.addEdgeTargetCol(new HanaColumnInfo("SCHEMA", "EDGE_T", "TGT", Types.BIGINT, false));
+        ws.setEdgeTable(new ArrayList<>(Arrays.asList(
+                makeEdge("SRC", "TGT", 1L, 2L),
+                makeEdge("SRC", "TGT", 2L, 3L)
+        )));
+        ws.prepareInferredNodeTable();
+        ws.getNodeTable().add(makeNode(HanaGraphWorkspace.INFERRED_NODE_KEY_COL, 1L));
+        ws.getNodeTable().add(makeNode(HanaGraphWorkspace.INFERRED_NODE_KEY_COL, 2L));
+
+        // edge 2 -> 3 has been added after the nodes have been inferred
+        List<Object> missingKeys = ws.getMissingEndpoints().get(null);
+        Assert.assertEquals(Collections.singletonList(3L), missingKeys);
+
+        ws.addInferredNodes(missingKeys);
+        Assert.assertEquals(3, ws.getNodeTable().size());
+        Assert.assertEquals(0, ws.removeDanglingEdges());
+    }
+
+    @Test
+    public void testRetainAttributesKeepsStructuralColumns() {
+        HanaGraphWorkspace ws = new HanaGraphWorkspace(new HanaDbObject("SCHEMA", "WS"));
+        ws.addNodeKeyCol(new HanaColumnInfo("SCHEMA", "NODE_T", "NODE_ID", Types.INTEGER, true));
+        ws.addNodeAttributeCol(new HanaColumnInfo("SCHEMA", "NODE_T", "NAME", Types.NVARCHAR));
+        ws.addNodeAttributeCol(new HanaColumnInfo("SCHEMA", "NODE_T", "DESCRIPTION", Types.NVARCHAR));
+        ws.addEdgeKeyCol(new HanaColumnInfo("SCHEMA", "EDGE_T", "EDGE_ID", Types.INTEGER, true));
+        ws.addEdgeSourceCol(new HanaColumnInfo("SCHEMA", "EDGE_T", "SRC", Types.INTEGER, false));
+        ws.addEdgeTargetCol(new HanaColumnInfo("SCHEMA", "EDGE_T", "TGT", Types.INTEGER, false));
+        ws.addEdgeAttributeCol(new HanaColumnInfo("SCHEMA", "EDGE_T", "WEIGHT", Types.DOUBLE));
+
+        Assert.assertEquals(Arrays.asList("NAME", "DESCRIPTION"), ws.getNodeAttributeNames());
+        Assert.assertEquals(Arrays.asList("WEIGHT"), ws.getEdgeAttributeNames());
+
+        ws.retainNodeAttributes(Arrays.asList("NAME"));
+        ws.retainEdgeAttributes(new ArrayList<>());
+
+        Assert.assertEquals(2, ws.getNodeFieldList().size());
+        Assert.assertNull(ws.getNodeFieldInfo("DESCRIPTION"));
+        Assert.assertEquals(3, ws.getEdgeFieldList().size());
+        Assert.assertNull(ws.getEdgeFieldInfo("WEIGHT"));
+        Assert.assertTrue(ws.isMetadataComplete());
+
+        // null keeps all columns
+        ws.retainNodeAttributes(null);
+        Assert.assertEquals(2, ws.getNodeFieldList().size());
+    }
+
+    // -------------------------------------------------------------------------
+    // heterogeneous workspaces
+    // -------------------------------------------------------------------------
+
+    @Test
+    public void testHeterogeneousWorkspace() {
+        HanaDbObject wsObject = new HanaDbObject("SCHEMA", "WS");
+
+        HanaGraphWorkspace persons = new HanaGraphWorkspace(wsObject);
+        persons.addNodeKeyCol(new HanaColumnInfo("SCHEMA", "PERSON", "PERSON_ID", Types.NVARCHAR, true));
+        persons.addNodeAttributeCol(new HanaColumnInfo("SCHEMA", "PERSON", "NAME", Types.NVARCHAR));
+
+        HanaGraphWorkspace cities = new HanaGraphWorkspace(wsObject);
+        cities.addNodeKeyCol(new HanaColumnInfo("SCHEMA", "CITY", "CITY_ID", Types.NVARCHAR, true));
+        cities.addNodeAttributeCol(new HanaColumnInfo("SCHEMA", "CITY", "NAME", Types.NVARCHAR));
+        cities.addNodeAttributeCol(new HanaColumnInfo("SCHEMA", "CITY", "POPULATION", Types.INTEGER));
+
+        HanaGraphWorkspace livesIn = new HanaGraphWorkspace(wsObject);
+        livesIn.addEdgeKeyCol(new HanaColumnInfo("SCHEMA", "LIVES_IN", "ID", Types.INTEGER, true));
+        livesIn.addEdgeSourceCol(new HanaColumnInfo("SCHEMA", "LIVES_IN", "PERSON", Types.NVARCHAR, false));
+        livesIn.addEdgeTargetCol(new HanaColumnInfo("SCHEMA", "LIVES_IN", "CITY", Types.NVARCHAR, false));
+
+        HanaGraphWorkspace ws = new HanaGraphWorkspace(wsObject);
+        ws.setTables(Arrays.asList(persons, cities), Arrays.asList(livesIn));
+
+        Assert.assertTrue(ws.isHeterogeneous());
+        Assert.assertTrue(ws.isMetadataComplete());
+        Assert.assertEquals(Arrays.asList("NAME", "POPULATION"), ws.getNodeAttributeNames());
+        Assert.assertEquals(HanaGraphWorkspace.TYPE_COL, ws.getNodeFieldList().get(0).name);
+        Assert.assertNotNull(ws.getEdgeFieldInfo(HanaGraphWorkspace.TYPE_COL));
+
+        // attributes are removed from every table, keys are kept
+        ws.retainNodeAttributes(Arrays.asList("NAME"));
+        Assert.assertNull(ws.getNodeFieldInfo("POPULATION"));
+        Assert.assertNotNull(cities.getNodeFieldInfo("CITY_ID"));
+
+        persons.setNodeTable(Arrays.asList(makeNode("PERSON_ID", "p1"), makeNode("PERSON_ID", "p2")));
+        cities.setNodeTable(Arrays.asList(makeNode("CITY_ID", "c1"), makeNode("CITY_ID", "p2")));
+        livesIn.setEdgeTable(new ArrayList<>(Arrays.asList(makeEdge("PERSON", "CITY", "p1", "c1"))));
+
+        Assert.assertEquals(0, ws.addTableContent(persons));
+        Assert.assertEquals(0, ws.addTableContent(cities));
+        Assert.assertEquals(0, ws.addTableContent(livesIn));
+
+        Assert.assertEquals(4, ws.getNodeTable().size());
+        Assert.assertEquals("CITY", ws.getNodeTable().get(2).getFieldValueCast(HanaGraphWorkspace.TYPE_COL, String.class));
+        Assert.assertEquals("c1", ws.getNodeTable().get(2).getKeyValue(String.class));
+        Assert.assertEquals("LIVES_IN", ws.getEdgeTable().get(0).getFieldValueCast(HanaGraphWorkspace.TYPE_COL, String.class));
+        Assert.assertEquals(0, ws.removeDanglingEdges());
+    }
+
+    @Test
+    public void testHeterogeneousWorkspace_sameKeyInTwoVertexTables() {
+        HanaDbObject wsObject = new HanaDbObject("SCHEMA", "WS");
+
+        HanaGraphWorkspace persons = new HanaGraphWorkspace(wsObject);
+        persons.addNodeKeyCol(new HanaColumnInfo("SCHEMA", "PERSON", "ID", Types.INTEGER, true));
+
+        HanaGraphWorkspace cities = new HanaGraphWorkspace(wsObject);
+        cities.addNodeKeyCol(new HanaColumnInfo("SCHEMA", "CITY", "ID", Types.INTEGER, true));
+
+        // the catalog names the vertex tables of source and target
+        HanaGraphWorkspace livesIn = new HanaGraphWorkspace(wsObject);
+        livesIn.addEdgeKeyCol(new HanaColumnInfo("SCHEMA", "LIVES_IN", "ID", Types.INTEGER, true));
+        livesIn.addEdgeSourceCol(new HanaColumnInfo("SCHEMA", "LIVES_IN", "PERSON", Types.INTEGER, false));
+        livesIn.addEdgeTargetCol(new HanaColumnInfo("SCHEMA", "LIVES_IN", "CITY", Types.INTEGER, false));
+        livesIn.setSourceVertexTable(new HanaDbObject("SCHEMA", "PERSON"));
+        livesIn.setTargetVertexTable(new HanaDbObject("SCHEMA", "CITY"));
+
+        // the catalog does not name the vertex tables
+        HanaGraphWorkspace knows = new HanaGraphWorkspace(wsObject);
+        knows.addEdgeKeyCol(new HanaColumnInfo("SCHEMA", "KNOWS", "ID", Types.INTEGER, true));
+        knows.addEdgeSourceCol(new HanaColumnInfo("SCHEMA", "KNOWS", "SOURCE", Types.INTEGER, false));
+        knows.addEdgeTargetCol(new HanaColumnInfo("SCHEMA", "KNOWS", "TARGET", Types.INTEGER, false));
+
+        HanaGraphWorkspace ws = new HanaGraphWorkspace(wsObject);
+        ws.setTables(Arrays.asList(persons, cities), Arrays.asList(livesIn, knows));
+
+        persons.setNodeTable(Arrays.asList(makeNode("ID", 1), makeNode("ID", 2)));
+        cities.setNodeTable(Arrays.asList(makeNode("ID", 1)));
+        livesIn.setEdgeTable(new ArrayList<>(Arrays.asList(makeEdge("PERSON", "CITY", 2, 1), makeEdge("PERSON", "CITY", 1, 1))));
+        // 2 is only a person, 1 is a person and a city
+        knows.setEdgeTable(new ArrayList<>(Arrays.asList(makeEdge("SOURCE", "TARGET", 2, 2), makeEdge("SOURCE", "TARGET", 2, 1))));
+
+        Assert.assertEquals(0, ws.addTableContent(persons));
+        Assert.assertEquals(0, ws.addTableContent(cities));
+        ws.addTableContent(livesIn);
+        ws.addTableContent(knows);
+
+        // both nodes with key 1 are kept
+        Assert.assertEquals(3, ws.getNodeTable().size());
+        Assert.assertNotEquals(ws.getNodeTable().get(0).getLookupKey(), ws.getNodeTable().get(2).getLookupKey());
+
+        // the edge with an ambiguous endpoint is dropped
+        Assert.assertEquals(1, ws.removeDanglingEdges());
+        Assert.assertEquals(3, ws.getEdgeTable().size());
+
+        HanaEdgeTableRow personInCity = ws.getEdgeTable().get(1);
+        Assert.assertEquals(new HanaVertexKey("PERSON", 1L), personInCity.getSourceLookupKey());
+        Assert.assertEquals(new HanaVertexKey("CITY", 1L), personInCity.getTargetLookupKey());
+        Assert.assertEquals(ws.getNodeTable().get(2).getLookupKey(), personInCity.getTargetLookupKey());
+
+        HanaEdgeTableRow knowsSelf = ws.getEdgeTable().get(2);
+        Assert.assertEquals(new HanaVertexKey("PERSON", 2L), knowsSelf.getTargetLookupKey());
+    }
+
+    @Test
+    public void testHeterogeneousWorkspace_missingEndpoints() {
+        HanaDbObject wsObject = new HanaDbObject("SCHEMA", "WS");
+
+        HanaGraphWorkspace persons = new HanaGraphWorkspace(wsObject);
+        persons.addNodeKeyCol(new HanaColumnInfo("SCHEMA", "PERSON", "ID", Types.INTEGER, true));
+
+        HanaGraphWorkspace cities = new HanaGraphWorkspace(wsObject);
+        cities.addNodeKeyCol(new HanaColumnInfo("SCHEMA", "CITY", "ID", Types.INTEGER, true));
+
+        HanaGraphWorkspace livesIn = new HanaGraphWorkspace(wsObject);
+        livesIn.addEdgeKeyCol(new HanaColumnInfo("SCHEMA", "LIVES_IN", "ID", Types.INTEGER, true));
+        livesIn.addEdgeSourceCol(new HanaColumnInfo("SCHEMA", "LIVES_IN", "PERSON", Types.INTEGER, false));
+        livesIn.addEdgeTargetCol(new HanaColumnInfo("SCHEMA", "LIVES_IN", "CITY", Types.INTEGER, false));
+        livesIn.setSourceVertexTable(new HanaDbObject("SCHEMA", "PERSON"));
+        livesIn.setTargetVertexTable(new HanaDbObject("SCHEMA", "CITY"));
+
+        HanaGraphWorkspace ws = new HanaGraphWorkspace(wsObject);
+        ws.setTables(Arrays.asList(persons, cities), Arrays.asList(livesIn));
+
+        // city 2 has been added after the vertex table has been read
+        persons.setNodeTable(Arrays.asList(makeNode("ID", 1)));
+        cities.setNodeTable(Arrays.asList(makeNode("ID", 1)));
+        livesIn.setEdgeTable(new ArrayList<>(Arrays.asList(makeEdge("PERSON", "CITY", 1, 1), makeEdge("PERSON", "CITY", 1, 2))));
+        ws.addTableContent(persons);
+        ws.addTableContent(cities);
+        ws.addTableContent(livesIn);
+
+        Assert.assertEquals(Collections.singletonMap("CITY", Collections.singletonList(2)), ws.getMissingEndpoints());
+
+        // the fetched node is typed by its vertex table
+        cities.setNodeTable(Arrays.asList(makeNode("ID", 2)));
+        ws.addTableContent(cities);
+        Assert.assertTrue(ws.getMissingEndpoints().isEmpty());
+        Assert.assertEquals(0, ws.removeDanglingEdges());
+        Assert.assertEquals(new HanaVertexKey("CITY", 2L), ws.getNodeTable().get(2).getLookupKey());
+    }
+
+    // -------------------------------------------------------------------------
+    // deferred columns
+    // -------------------------------------------------------------------------
+
+    @Test
+    public void testDeferWideColumns() {
+        HanaGraphWorkspace ws = new HanaGraphWorkspace(new HanaDbObject("SCHEMA", "WS"));
+        ws.addNodeKeyCol(new HanaColumnInfo("SCHEMA", "NODE_T", "NODE_ID", Types.NVARCHAR, true));
+        ws.addNodeAttributeCol(new HanaColumnInfo("SCHEMA", "NODE_T", "NAME", Types.NVARCHAR));
+        ws.addNodeAttributeCol(new HanaColumnInfo("SCHEMA", "NODE_T", "DESCRIPTION", Types.NVARCHAR));
+        ws.addNodeAttributeCol(new HanaColumnInfo("SCHEMA", "NODE_T", "DOCUMENT", Types.NCLOB));
+        ws.addEdgeKeyCol(new HanaColumnInfo("SCHEMA", "EDGE_T", "EDGE_ID", Types.INTEGER, true));
+        ws.addEdgeSourceCol(new HanaColumnInfo("SCHEMA", "EDGE_T", "SRC", Types.NVARCHAR, false));
+        ws.addEdgeTargetCol(new HanaColumnInfo("SCHEMA", "EDGE_T", "TGT", Types.NVARCHAR, false));
+        ws.getNodeFieldInfo("NODE_ID").width = 5000;
+        ws.getNodeFieldInfo("NAME").width = 100;
+        ws.getNodeFieldInfo("DESCRIPTION").width = 5000;
+        ws.getEdgeFieldInfo("SRC").width = 5000;
+
+        // key columns are never deferred, no matter how wide they are
+        Assert.assertEquals(Arrays.asList("DESCRIPTION", "DOCUMENT"), ws.deferWideNodeColumns(1000));
+        Assert.assertTrue(ws.deferWideEdgeColumns(1000).isEmpty());
+        Assert.assertTrue(ws.hasDeferredColumns());
+
+        Assert.assertEquals(2, ws.getEagerNodeFieldList().size());
+        Assert.assertEquals("DOCUMENT", ws.getDeferredNodeFieldList().get(1).name);
+        Assert.assertEquals(3, ws.getEagerEdgeFieldList().size());
+
+        // network columns are still created for all attributes
+        Assert.assertEquals(4, ws.getNodeFieldList().size());
+    }
+
     // -------------------------------------------------------------------------
     // getNodeFieldList insertion order
     // -------------------------------------------------------------------------
@@ -126,7 +486,14 @@ public class HanaGraphWorkspaceTest {
     // helpers
     // -------------------------------------------------------------------------
 
-    private static HanaEdgeTableRow makeEdge(String srcField, String tgtField, String src, String tgt) {
+    private static HanaNodeTableRow makeNode(String keyField, Object key) {
+        HanaNodeTableRow row = new HanaNodeTableRow();
+        row.setKeyFieldName(keyField);
+        row.addFieldValue(keyField, key);
+        return row;
+    }
+
+    private static HanaEdgeTableRow makeEdge(String srcField, String tgtField, Object src, Object tgt) {
         HanaEdgeTableRow row = new HanaEdgeTableRow();
         row.setSourceFieldName(srcField);
         row.setTargetFieldName(tgtField);
@@ -0,0 +1,73 @@
+import org.junit.Assert;
+import org.junit.Test;
+import org.sap.cytoscape.internal.hdb.HanaKeysetCursor;
+import org.sap.cytoscape.internal.hdb.HanaSelectStatement;
+
+import java.sql.Types;
+
+public class HanaKeysetCursorTest {
+
+    private static final String PROJECTION = "SELECT \"ID\",\"NAME\" FROM \"S\".\"T\"";
+
+    @Test
+    public void testFirstPageStartsAtBeginning(){
+        HanaKeysetCursor cursor = new HanaKeysetCursor("ID", 100);
+        HanaSelectStatement select = cursor.applyTo(new HanaSelectStatement(PROJECTION));
+
+        Assert.assertEquals(PROJECTION + " ORDER BY \"ID\" LIMIT 100", select.getSql());
+        Assert.assertNull(select.getParameters());
+        Assert.assertFalse(cursor.isExhausted());
+    }
+
+    @Test
+    public void testNextPageStartsAfterLastKey(){
+        HanaKeysetCursor cursor = new HanaKeysetCursor("ID", 100);
+        cursor.advance(4711, Types.INTEGER, 100);
+
+        HanaSelectStatement select = cursor.applyTo(new HanaSelectStatement(PROJECTION).where("\"NAME\" IS NOT NULL"));
+        Assert.assertEquals(PROJECTION + " WHERE (\"NAME\" IS NOT NULL) AND (\"ID\" > ?) ORDER BY \"ID\" LIMIT 100", select.getSql());
+        Assert.assertEquals(4711, select.getParameters()[0].parameterValue);
+        Assert.assertEquals(100, cursor.getRowCount());
+        Assert.assertFalse(cursor.isExhausted());
+    }
+
+    @Test
+    public void testPartialPageExhaustsCursor(){
+        HanaKeysetCursor cursor = new HanaKeysetCursor("ID", 100);
+        cursor.advance(4711, Types.INTEGER, 100);
+        cursor.advance(4800, Types.INTEGER, 42);
+
+        Assert.assertTrue(cursor.isExhausted());
+        Assert.assertEquals(142, cursor.getRowCount());
+        Assert.assertEquals(4800, cursor.getLastKey().parameterValue);
+    }
+
+    @Test
+    public void testEmptyPageKeepsLastKey(){
+        HanaKeysetCursor cursor = new HanaKeysetCursor("ID", 100);
+        cursor.advance(4711, Types.INTEGER, 100);
+        cursor.advance(null, Types.INTEGER, 0);
+
+        Assert.assertTrue(cursor.isExhausted());
+        Assert.assertEquals(4711, cursor.getLastKey().parameterValue);
+    }
+
+    @Test
+    public void testStreamedReadResumesAfterLastDeliveredRow(){
+        HanaKeysetCursor cursor = new HanaKeysetCursor("ID", 100);
+        HanaSelectStatement select = cursor.applyToRemainder(new HanaSelectStatement(PROJECTION));
+        Assert.assertEquals(PROJECTION + " ORDER BY \"ID\"", select.getSql());
+
+        cursor.track(1, Types.INTEGER);
+        cursor.track(2, Types.INTEGER);
+        Assert.assertFalse(cursor.isExhausted());
+
+        select = cursor.applyToRemainder(new HanaSelectStatement(PROJECTION));
+        Assert.assertEquals(PROJECTION + " WHERE (\"ID\" > ?) ORDER BY \"ID\"", select.getSql());
+        Assert.assertEquals(2, select.getParameters()[0].parameterValue);
+        Assert.assertEquals(2, cursor.getRowCount());
+
+        cursor.finish();
+        Assert.assertTrue(cursor.isExhausted());
+    }
+}
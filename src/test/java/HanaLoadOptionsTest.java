@@ -0,0 +1,111 @@
+import org.junit.Assert;
+import org.junit.Test;
+import org.sap.cytoscape.internal.hdb.HanaLoadOptions;
+import org.sap.cytoscape.internal.hdb.HanaSamplingStrategy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+
+public class HanaLoadOptionsTest {
+
+    @Test
+    public void testCompleteLoadIsNoSample() {
+        HanaLoadOptions loadOptions = new HanaLoadOptions();
+        Assert.assertFalse(loadOptions.isSampling());
+        Assert.assertNull(loadOptions.getSamplingDescription());
+    }
+
+    @Test
+    public void testSamplingDescription() {
+        HanaLoadOptions loadOptions = new HanaLoadOptions();
+        loadOptions.sampling = HanaSamplingStrategy.RANDOM_EDGES;
+        loadOptions.samplingPercentage = 5;
+        Assert.assertEquals("Random Edges (5.0%)", loadOptions.getSamplingDescription());
+
+        loadOptions.sampling = HanaSamplingStrategy.FOREST_FIRE;
+        loadOptions.seedFilter = " COUNTRY = 'DE' ";
+        loadOptions.samplingHops = 3;
+        loadOptions.burnProbability = 0.5;
+        loadOptions.maxSampleNodes = 1000;
+        Assert.assertEquals(
+                "Forest Fire (seeds: COUNTRY = 'DE', hops: 3, burn probability: 0.5, max. nodes: 1000)",
+                loadOptions.getSamplingDescription()
+        );
+
+        loadOptions.sampling = HanaSamplingStrategy.SNOWBALL;
+        loadOptions.seedFilter = "";
+        loadOptions.maxSampleNodes = 0;
+        Assert.assertEquals(
+                "Snowball (" + HanaLoadOptions.DEFAULT_SEED_COUNT + " random seeds, hops: 3)",
+                loadOptions.getSamplingDescription()
+        );
+    }
+
+    @Test
+    public void testCopyIsIndependent() {
+        HanaLoadOptions loadOptions = new HanaLoadOptions();
+        loadOptions.parallelism = 4;
+        loadOptions.sampling = HanaSamplingStrategy.SNOWBALL;
+        loadOptions.seedFilter = "ID = 1";
+
+        HanaLoadOptions copy = new HanaLoadOptions(loadOptions);
+        copy.parallelism = 1;
+        copy.resumable = false;
+
+        Assert.assertEquals(4, loadOptions.parallelism);
+        Assert.assertTrue(loadOptions.resumable);
+        Assert.assertEquals(HanaSamplingStrategy.SNOWBALL, copy.sampling);
+        Assert.assertEquals("ID = 1", copy.seedFilter);
+    }
+
+    @Test
+    public void testContentKeyIgnoresDownloadSettings() {
+        HanaLoadOptions loadOptions = new HanaLoadOptions();
+        loadOptions.nodeAttributes = new HashSet<>(Arrays.asList("NAME", "COUNTRY"));
+
+        HanaLoadOptions other = new HanaLoadOptions(loadOptions);
+        other.parallelism = 8;
+        other.fetchSize = 1000;
+        other.nodeAttributes = new HashSet<>(Arrays.asList("COUNTRY", "NAME"));
+        Assert.assertEquals(loadOptions.getContentKey(), other.getContentKey());
+
+        other.nodeFilter = "COUNTRY = 'DE'";
+        Assert.assertNotEquals(loadOptions.getContentKey(), other.getContentKey());
+    }
+
+    @Test
+    public void testSparsificationKeepsWeightColumn() {
+        HanaLoadOptions loadOptions = new HanaLoadOptions();
+        loadOptions.edgeAttributes = new HashSet<>(Arrays.asList("LABEL"));
+        Assert.assertFalse(loadOptions.isSparsifying());
+        Assert.assertNull(loadOptions.getSparsificationDescription());
+
+        loadOptions.edgeWeightColumn = "WEIGHT";
+        Assert.assertFalse(loadOptions.isSparsifying());
+        Assert.assertEquals(loadOptions.edgeAttributes, loadOptions.getLoadedEdgeAttributes());
+
+        loadOptions.maxEdgesPerNode = 5;
+        loadOptions.minEdgeWeight = 0.5;
+        Assert.assertTrue(loadOptions.isSparsifying());
+        Assert.assertEquals(new HashSet<>(Arrays.asList("LABEL", "WEIGHT")), loadOptions.getLoadedEdgeAttributes());
+        Assert.assertEquals("Sparsified by WEIGHT (top 5 edges per node, min. weight: 0.5)", loadOptions.getSparsificationDescription());
+        Assert.assertNotEquals(new HanaLoadOptions().getContentKey(), loadOptions.getContentKey());
+    }
+
+    @Test
+    public void testGroupingDescription() {
+        HanaLoadOptions loadOptions = new HanaLoadOptions();
+        Assert.assertFalse(loadOptions.isGrouping());
+        Assert.assertNull(loadOptions.getGroupingDescription());
+
+        loadOptions.groupByColumns = new ArrayList<>();
+        Assert.assertFalse(loadOptions.isGrouping());
+
+        loadOptions.groupByColumns = Arrays.asList("COUNTRY", "CITY");
+        Assert.assertTrue(loadOptions.isGrouping());
+        Assert.assertEquals("Grouped by COUNTRY, CITY", loadOptions.getGroupingDescription());
+        Assert.assertEquals(loadOptions.groupByColumns, new HanaLoadOptions(loadOptions).groupByColumns);
+        Assert.assertNotEquals(new HanaLoadOptions().getContentKey(), loadOptions.getContentKey());
+    }
+}
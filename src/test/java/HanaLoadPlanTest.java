@@ -0,0 +1,91 @@
+import org.junit.Assert;
+import org.junit.Test;
+import org.sap.cytoscape.internal.hdb.HanaLoadOptions;
+import org.sap.cytoscape.internal.hdb.HanaLoadPlan;
+import org.sap.cytoscape.internal.hdb.HanaSamplingStrategy;
+import org.sap.cytoscape.internal.hdb.HanaWorkspaceSizeEstimate;
+
+public class HanaLoadPlanTest {
+
+    private static final long GB = 1024L * 1024 * 1024;
+
+    private static final long LAN_ROUND_TRIP = 200_000;
+
+    private HanaWorkspaceSizeEstimate newEstimate(long nodes, long edges) {
+        HanaWorkspaceSizeEstimate estimate = new HanaWorkspaceSizeEstimate();
+        estimate.nodeCount = nodes;
+        estimate.edgeCount = edges;
+        estimate.nodeRowWidth = 100;
+        estimate.edgeRowWidth = 50;
+        estimate.nodeColumnCount = 5;
+        estimate.edgeColumnCount = 3;
+        return estimate;
+    }
+
+    @Test
+    public void testSmallWorkspaceIsLoadedAtOnce() {
+        HanaLoadPlan plan = new HanaLoadPlan(new HanaLoadOptions(), newEstimate(1000, 5000), LAN_ROUND_TRIP, 4 * GB, 8);
+
+        Assert.assertFalse(plan.isProgressive());
+        Assert.assertEquals(1, plan.getLoadOptions().parallelism);
+        Assert.assertEquals(0, plan.getLoadOptions().fetchSize);
+        Assert.assertFalse(plan.getLoadOptions().deferWideColumns);
+        Assert.assertFalse(plan.getDecisions().isEmpty());
+    }
+
+    @Test
+    public void testLargeWorkspaceIsLoadedInParallel() {
+        HanaLoadPlan plan = new HanaLoadPlan(new HanaLoadOptions(), newEstimate(1_000_000, 2_000_000), LAN_ROUND_TRIP, 16 * GB, 4);
+
+        Assert.assertFalse(plan.isProgressive());
+        Assert.assertEquals(4, plan.getLoadOptions().parallelism);
+        Assert.assertNotNull(plan.getLoadOptions().sizeEstimate);
+    }
+
+    @Test
+    public void testSlowDownloadIsShownWhileLoading() {
+        // 50ms round trip and no parallel sessions
+        HanaLoadPlan plan = new HanaLoadPlan(new HanaLoadOptions(), newEstimate(5_000_000, 20_000_000), 50_000_000, 64 * GB, 1);
+
+        Assert.assertTrue(plan.isProgressive());
+        Assert.assertTrue(plan.getEstimatedSeconds() > 30);
+        Assert.assertEquals(1, plan.getLoadOptions().parallelism);
+    }
+
+    @Test
+    public void testSlowParallelDownloadIsNotPaged() {
+        // pages would be read on a single session, so the sliced download is kept
+        HanaLoadPlan plan = new HanaLoadPlan(new HanaLoadOptions(), newEstimate(5_000_000, 20_000_000), 50_000_000, 64 * GB, 4);
+
+        Assert.assertFalse(plan.isProgressive());
+        Assert.assertEquals(4, plan.getLoadOptions().parallelism);
+        Assert.assertTrue(plan.getEstimatedSeconds() > 30);
+    }
+
+    @Test
+    public void testWideColumnsAreDeferredIfMemoryIsTight() {
+        HanaWorkspaceSizeEstimate estimate = newEstimate(1_000_000, 2_000_000);
+        HanaLoadPlan plan = new HanaLoadPlan(new HanaLoadOptions(), estimate, LAN_ROUND_TRIP, estimate.getEstimatedHeapBytes(), 1);
+
+        Assert.assertTrue(plan.getLoadOptions().deferWideColumns);
+
+        estimate.heterogeneous = true;
+        plan = new HanaLoadPlan(new HanaLoadOptions(), estimate, LAN_ROUND_TRIP, estimate.getEstimatedHeapBytes(), 1);
+        Assert.assertFalse(plan.getLoadOptions().deferWideColumns);
+    }
+
+    @Test
+    public void testRequestedSampleIsKept() {
+        HanaLoadOptions requested = new HanaLoadOptions();
+        requested.sampling = HanaSamplingStrategy.RANDOM_EDGES;
+        requested.samplingPercentage = 5;
+        requested.nodeFilter = "ID > 10";
+
+        HanaLoadPlan plan = new HanaLoadPlan(requested, newEstimate(1_000_000, 2_000_000), LAN_ROUND_TRIP, 16 * GB, 8);
+
+        Assert.assertEquals(1, plan.getLoadOptions().parallelism);
+        Assert.assertEquals(HanaSamplingStrategy.RANDOM_EDGES, plan.getLoadOptions().sampling);
+        Assert.assertEquals("ID > 10", plan.getLoadOptions().nodeFilter);
+        Assert.assertNotSame(requested, plan.getLoadOptions());
+    }
+}
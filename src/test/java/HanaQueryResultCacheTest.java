@@ -0,0 +1,74 @@
+import org.junit.Assert;
+import org.junit.Test;
+import org.sap.cytoscape.internal.hdb.HanaQueryResult;
+import org.sap.cytoscape.internal.hdb.HanaQueryResultCache;
+import org.sap.cytoscape.internal.hdb.HanaSqlParameter;
+
+import java.sql.Types;
+
+public class HanaQueryResultCacheTest {
+
+    private HanaQueryResult newResult(int nRecords) {
+        HanaQueryResult result = new HanaQueryResult(1);
+        for(int i = 0; i < nRecords; i++){
+            result.addRecord(new Object[]{"value " + i});
+        }
+        return result;
+    }
+
+    @Test
+    public void testKeyContainsParameters() {
+        String statement = "SELECT * FROM T WHERE ID = ?";
+        String key1 = HanaQueryResultCache.getKey(statement, new HanaSqlParameter[]{new HanaSqlParameter(1, Types.INTEGER)});
+        String key2 = HanaQueryResultCache.getKey(statement, new HanaSqlParameter[]{new HanaSqlParameter(2, Types.INTEGER)});
+
+        Assert.assertNotEquals(key1, key2);
+        Assert.assertEquals(key1, HanaQueryResultCache.getKey(statement, new HanaSqlParameter[]{new HanaSqlParameter(1, Types.INTEGER)}));
+        Assert.assertNotEquals(HanaQueryResultCache.getKey(statement, null), key1);
+    }
+
+    @Test
+    public void testOutdatedVersionIsMiss() {
+        HanaQueryResultCache cache = new HanaQueryResultCache();
+        HanaQueryResult result = newResult(3);
+        cache.put("Q", "v1", result);
+
+        Assert.assertSame(result, cache.get("Q", "v1"));
+        Assert.assertNull(cache.get("Q", "v2"));
+        Assert.assertNull(cache.get("Q", "v1"));
+        Assert.assertEquals(0, cache.size());
+
+        Assert.assertEquals(1, cache.getHitCount());
+        Assert.assertEquals(2, cache.getMissCount());
+        Assert.assertEquals(1 / 3d, cache.getHitRatio(), 1e-9);
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsEvicted() {
+        HanaQueryResult result = newResult(10);
+        long entryBytes = 2 + result.estimateSizeBytes();
+        HanaQueryResultCache cache = new HanaQueryResultCache(entryBytes * 4);
+
+        cache.put("A", "v", result);
+        cache.put("B", "v", result);
+        cache.put("C", "v", result);
+        cache.put("D", "v", result);
+        Assert.assertNotNull(cache.get("A", "v"));
+
+        cache.put("E", "v", result);
+        Assert.assertEquals(4, cache.size());
+        Assert.assertEquals(1, cache.getEvictionCount());
+        Assert.assertNull(cache.get("B", "v"));
+        Assert.assertNotNull(cache.get("A", "v"));
+        Assert.assertTrue(cache.getSizeBytes() <= entryBytes * 4);
+    }
+
+    @Test
+    public void testLargeResultIsNotCached() {
+        HanaQueryResultCache cache = new HanaQueryResultCache(1000);
+        cache.put("Q", "v", newResult(1000));
+
+        Assert.assertEquals(0, cache.size());
+        Assert.assertEquals(0, cache.getSizeBytes());
+    }
+}
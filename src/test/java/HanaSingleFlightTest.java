@@ -0,0 +1,162 @@
+import org.junit.Assert;
+import org.junit.Test;
+import org.sap.cytoscape.internal.hdb.HanaCancellationToken;
+import org.sap.cytoscape.internal.hdb.HanaSingleFlight;
+
+import java.sql.SQLException;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class HanaSingleFlightTest {
+
+    @Test
+    public void testConcurrentCallersShareResult() throws Exception {
+        HanaSingleFlight<Object> singleFlight = new HanaSingleFlight<>();
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Object> first = executor.submit(() -> singleFlight.execute("WS", () -> {
+                executions.incrementAndGet();
+                running.countDown();
+                release.await(5, TimeUnit.SECONDS);
+                return new Object();
+            }));
+            Assert.assertTrue(running.await(5, TimeUnit.SECONDS));
+            Assert.assertTrue(singleFlight.isInFlight("WS"));
+
+            Future<Object> second = executor.submit(() -> singleFlight.execute("WS", () -> {
+                executions.incrementAndGet();
+                return new Object();
+            }));
+            Thread.sleep(50);
+            release.countDown();
+
+            Assert.assertSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+            Assert.assertEquals(1, executions.get());
+            Assert.assertEquals(1, singleFlight.getSharedCount());
+            Assert.assertFalse(singleFlight.isInFlight("WS"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testSequentialCallersExecuteAgain() throws Exception {
+        HanaSingleFlight<Integer> singleFlight = new HanaSingleFlight<>();
+        AtomicInteger executions = new AtomicInteger();
+
+        Assert.assertEquals(1, (int) singleFlight.execute("WS", executions::incrementAndGet));
+        Assert.assertEquals(2, (int) singleFlight.execute("WS", executions::incrementAndGet));
+        Assert.assertEquals(0, singleFlight.getSharedCount());
+    }
+
+    @Test
+    public void testWaitingCallerExecutesIfRunningOperationIsCancelled() throws Exception {
+        HanaSingleFlight<String> singleFlight = new HanaSingleFlight<>();
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> first = executor.submit(() -> singleFlight.execute("WS", () -> {
+                running.countDown();
+                release.await(5, TimeUnit.SECONDS);
+                throw new SQLException("Operation has been cancelled", HanaCancellationToken.SQL_STATE_CANCELLED);
+            }));
+            Assert.assertTrue(running.await(5, TimeUnit.SECONDS));
+
+            Future<String> second = executor.submit(() -> singleFlight.execute("WS", () -> "own"));
+            Thread.sleep(50);
+            release.countDown();
+
+            Assert.assertEquals("own", second.get(5, TimeUnit.SECONDS));
+            try {
+                first.get(5, TimeUnit.SECONDS);
+                Assert.fail("Cancelled operation must fail");
+            } catch (ExecutionException e){
+                Assert.assertTrue(e.getCause() instanceof SQLException);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testWaitingCallerExecutesIfDriverCancelsRunningOperation() throws Exception {
+        HanaSingleFlight<String> singleFlight = new HanaSingleFlight<>();
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        HanaCancellationToken token = new HanaCancellationToken();
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> first = executor.submit(() -> {
+                try (HanaCancellationToken.Scope scope = token.bind()) {
+                    return singleFlight.execute("WS", () -> {
+                        running.countDown();
+                        release.await(5, TimeUnit.SECONDS);
+                        // cancelled statements fail with the error of the driver
+                        throw new SQLException("transaction rolled back by an internal error: statement cancelled", "HY000", 139);
+                    });
+                }
+            });
+            Assert.assertTrue(running.await(5, TimeUnit.SECONDS));
+
+            Future<String> second = executor.submit(() -> singleFlight.execute("WS", () -> "own"));
+            Thread.sleep(50);
+            token.cancel();
+            release.countDown();
+
+            Assert.assertEquals("own", second.get(5, TimeUnit.SECONDS));
+            try {
+                first.get(5, TimeUnit.SECONDS);
+                Assert.fail("Cancelled operation must fail");
+            } catch (ExecutionException e){
+                Assert.assertEquals(139, ((SQLException) e.getCause()).getErrorCode());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testWaitingCallerCanBeCancelled() throws Exception {
+        HanaSingleFlight<String> singleFlight = new HanaSingleFlight<>();
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        HanaCancellationToken token = new HanaCancellationToken();
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> first = executor.submit(() -> singleFlight.execute("WS", () -> {
+                running.countDown();
+                release.await(5, TimeUnit.SECONDS);
+                return "shared";
+            }));
+            Assert.assertTrue(running.await(5, TimeUnit.SECONDS));
+
+            Future<String> second = executor.submit(() -> {
+                try (HanaCancellationToken.Scope scope = token.bind()) {
+                    return singleFlight.execute("WS", () -> "own");
+                }
+            });
+            Thread.sleep(50);
+            token.cancel();
+
+            try {
+                second.get(5, TimeUnit.SECONDS);
+                Assert.fail("Cancelled caller must not wait for the result");
+            } catch (ExecutionException e){
+                Assert.assertEquals(HanaCancellationToken.SQL_STATE_CANCELLED, ((SQLException) e.getCause()).getSQLState());
+            }
+
+            release.countDown();
+            Assert.assertEquals("shared", first.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
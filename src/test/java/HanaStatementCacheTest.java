@@ -0,0 +1,120 @@
+import org.junit.Assert;
+import org.junit.Test;
+import org.sap.cytoscape.internal.hdb.HanaStatementCache;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.Set;
+
+public class HanaStatementCacheTest {
+
+    private int nPrepared = 0;
+
+    private final Set<PreparedStatement> closedStatements = new HashSet<>();
+
+    private Connection stubConnection() {
+        return (Connection) Proxy.newProxyInstance(
+                ClassLoader.getSystemClassLoader(),
+                new Class[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("prepareStatement")) {
+                        nPrepared++;
+                        return stubStatement();
+                    }
+                    return null;
+                }
+        );
+    }
+
+    private PreparedStatement stubStatement() {
+        return (PreparedStatement) Proxy.newProxyInstance(
+                ClassLoader.getSystemClassLoader(),
+                new Class[]{PreparedStatement.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close":       closedStatements.add((PreparedStatement) proxy); return null;
+                        case "hashCode":    return System.identityHashCode(proxy);
+                        case "equals":      return proxy == args[0];
+                        default:            return null;
+                    }
+                }
+        );
+    }
+
+    @Test
+    public void testRepeatedStatementIsPreparedOnce() throws SQLException {
+        HanaStatementCache cache = new HanaStatementCache(stubConnection(), 4, new HanaStatementCache.Statistics());
+
+        PreparedStatement first;
+        try (HanaStatementCache.CachedStatement stmt = cache.prepare("SELECT 1 FROM DUMMY")) {
+            first = stmt.get();
+        }
+        try (HanaStatementCache.CachedStatement stmt = cache.prepare("SELECT 1 FROM DUMMY")) {
+            Assert.assertSame(first, stmt.get());
+        }
+
+        Assert.assertEquals(1, nPrepared);
+        Assert.assertEquals(1, cache.getStatistics().getHitCount());
+        Assert.assertEquals(1, cache.getStatistics().getMissCount());
+        Assert.assertEquals(0.5, cache.getStatistics().getHitRatio(), 1e-10);
+        Assert.assertTrue(closedStatements.isEmpty());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedStatementIsEvicted() throws SQLException {
+        HanaStatementCache cache = new HanaStatementCache(stubConnection(), 2, new HanaStatementCache.Statistics());
+
+        PreparedStatement a;
+        try (HanaStatementCache.CachedStatement stmt = cache.prepare("A")) { a = stmt.get(); }
+        try (HanaStatementCache.CachedStatement stmt = cache.prepare("B")) { }
+        // touch A, so that B becomes the least recently used statement
+        try (HanaStatementCache.CachedStatement stmt = cache.prepare("A")) { }
+        try (HanaStatementCache.CachedStatement stmt = cache.prepare("C")) { }
+
+        Assert.assertEquals(2, cache.size());
+        Assert.assertEquals(1, cache.getStatistics().getEvictionCount());
+        Assert.assertFalse(closedStatements.contains(a));
+
+        try (HanaStatementCache.CachedStatement stmt = cache.prepare("B")) { }
+        Assert.assertEquals(4, nPrepared);
+    }
+
+    @Test
+    public void testNestedCheckoutKeepsOneStatement() throws SQLException {
+        HanaStatementCache cache = new HanaStatementCache(stubConnection(), 4, new HanaStatementCache.Statistics());
+
+        HanaStatementCache.CachedStatement outer = cache.prepare("A");
+        HanaStatementCache.CachedStatement inner = cache.prepare("A");
+        Assert.assertNotSame(outer.get(), inner.get());
+
+        PreparedStatement innerStmt = inner.get();
+        PreparedStatement outerStmt = outer.get();
+        inner.close();
+        outer.close();
+
+        // the statement returned first is kept, the other one is closed
+        Assert.assertEquals(1, cache.size());
+        Assert.assertFalse(closedStatements.contains(innerStmt));
+        Assert.assertTrue(closedStatements.contains(outerStmt));
+    }
+
+    @Test
+    public void testCloseReleasesStatements() throws SQLException {
+        HanaStatementCache cache = new HanaStatementCache(stubConnection(), 4, new HanaStatementCache.Statistics());
+
+        PreparedStatement cached;
+        try (HanaStatementCache.CachedStatement stmt = cache.prepare("A")) { cached = stmt.get(); }
+        HanaStatementCache.CachedStatement checkedOut = cache.prepare("B");
+
+        cache.close();
+        Assert.assertTrue(closedStatements.contains(cached));
+        Assert.assertEquals(0, cache.size());
+
+        PreparedStatement returned = checkedOut.get();
+        checkedOut.close();
+        Assert.assertTrue(closedStatements.contains(returned));
+    }
+}
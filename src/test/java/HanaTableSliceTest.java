@@ -0,0 +1,103 @@
+import org.junit.Assert;
+import org.junit.Test;
+import org.sap.cytoscape.internal.hdb.HanaSelectStatement;
+import org.sap.cytoscape.internal.hdb.HanaSqlParameter;
+import org.sap.cytoscape.internal.hdb.HanaTableSlice;
+
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class HanaTableSliceTest {
+
+    private static final String PROJECTION = "SELECT \"ID\",\"NAME\" FROM \"S\".\"T\"";
+
+    @Test
+    public void testWholeTableKeepsProjection(){
+        HanaSelectStatement select = HanaTableSlice.wholeTable().applyTo(new HanaSelectStatement(PROJECTION), "ID");
+        Assert.assertEquals(PROJECTION, select.getSql());
+        Assert.assertNull(select.getParameters());
+    }
+
+    @Test
+    public void testGroupByFollowsPredicates(){
+        HanaSelectStatement select = new HanaSelectStatement(PROJECTION).where("\"ID\" > 0").groupBy("\"NAME\"");
+        Assert.assertEquals(PROJECTION + " WHERE (\"ID\" > 0) GROUP BY \"NAME\"", select.getSql());
+    }
+
+    @Test
+    public void testPartitionsAreDistributedRoundRobin(){
+        List<HanaTableSlice> slices = HanaTableSlice.distributePartitions(Arrays.asList(1, 2, 3, 4, 5), 2);
+        Assert.assertEquals(2, slices.size());
+
+        Assert.assertEquals(PROJECTION + " PARTITION (1, 3, 5)",
+                slices.get(0).applyTo(new HanaSelectStatement(PROJECTION), "ID").getSql());
+        Assert.assertEquals(PROJECTION + " PARTITION (2, 4)",
+                slices.get(1).applyTo(new HanaSelectStatement(PROJECTION), "ID").getSql());
+    }
+
+    @Test
+    public void testFewPartitionsLimitNumberOfSlices(){
+        Assert.assertEquals(2, HanaTableSlice.distributePartitions(Arrays.asList(1, 2), 8).size());
+    }
+
+    @Test
+    public void testKeyBoundariesCoverCompleteDomain(){
+        List<HanaTableSlice> slices = HanaTableSlice.fromKeyBoundaries(Arrays.asList(
+                new HanaSqlParameter(10, Types.INTEGER),
+                new HanaSqlParameter(20, Types.INTEGER),
+                new HanaSqlParameter(30, Types.INTEGER)
+        ));
+        Assert.assertEquals(3, slices.size());
+
+        HanaSelectStatement first = slices.get(0).applyTo(new HanaSelectStatement(PROJECTION), "ID");
+        Assert.assertEquals(PROJECTION + " WHERE (\"ID\" <= ?)", first.getSql());
+        Assert.assertEquals(10, first.getParameters()[0].parameterValue);
+
+        HanaSelectStatement middle = slices.get(1).applyTo(new HanaSelectStatement(PROJECTION), "ID");
+        Assert.assertEquals(PROJECTION + " WHERE (\"ID\" > ?) AND (\"ID\" <= ?)", middle.getSql());
+        Assert.assertEquals(10, middle.getParameters()[0].parameterValue);
+        Assert.assertEquals(20, middle.getParameters()[1].parameterValue);
+
+        // last slice must be open, so keys beyond the last boundary are not lost
+        HanaSelectStatement last = slices.get(2).applyTo(new HanaSelectStatement(PROJECTION), "ID");
+        Assert.assertEquals(PROJECTION + " WHERE (\"ID\" > ?)", last.getSql());
+        Assert.assertEquals(1, last.getParameters().length);
+    }
+
+    @Test
+    public void testIntegerKeyRangeIsSplitEvenly(){
+        List<HanaTableSlice> slices = HanaTableSlice.splitKeyRange(1, 100, 4);
+        Assert.assertEquals(4, slices.size());
+
+        HanaSelectStatement first = slices.get(0).applyTo(new HanaSelectStatement(PROJECTION), "ID");
+        Assert.assertEquals(PROJECTION + " WHERE (\"ID\" <= ?)", first.getSql());
+        Assert.assertEquals(25L, first.getParameters()[0].parameterValue);
+
+        HanaSelectStatement last = slices.get(3).applyTo(new HanaSelectStatement(PROJECTION), "ID");
+        Assert.assertEquals(PROJECTION + " WHERE (\"ID\" > ?)", last.getSql());
+        Assert.assertEquals(75L, last.getParameters()[0].parameterValue);
+    }
+
+    @Test
+    public void testNarrowKeyRangeResultsInFewerSlices(){
+        Assert.assertEquals(2, HanaTableSlice.splitKeyRange(5, 6, 8).size());
+        Assert.assertEquals(1, HanaTableSlice.splitKeyRange(5, 5, 8).size());
+        Assert.assertEquals(4, HanaTableSlice.splitKeyRange(Long.MIN_VALUE, Long.MAX_VALUE, 4).size());
+    }
+
+    @Test
+    public void testEmptyTableResultsInSingleSlice(){
+        List<HanaTableSlice> slices = HanaTableSlice.fromKeyBoundaries(Collections.emptyList());
+        Assert.assertEquals(1, slices.size());
+        Assert.assertEquals(PROJECTION, slices.get(0).applyTo(new HanaSelectStatement(PROJECTION), "ID").getSql());
+    }
+
+    @Test
+    public void testFilterIsCombinedWithSlice(){
+        HanaTableSlice slice = HanaTableSlice.distributePartitions(Arrays.asList(1, 2), 2).get(1);
+        HanaSelectStatement select = slice.applyTo(new HanaSelectStatement(PROJECTION).where("\"NAME\" LIKE 'A%' OR \"ID\" = 1"), "ID");
+        Assert.assertEquals(PROJECTION + " PARTITION (2) WHERE (\"NAME\" LIKE 'A%' OR \"ID\" = 1)", select.getSql());
+    }
+}
@@ -0,0 +1,61 @@
+import org.junit.Assert;
+import org.junit.Test;
+import org.sap.cytoscape.internal.hdb.HanaLoadOptions;
+import org.sap.cytoscape.internal.hdb.HanaTimeWindow;
+
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+
+public class HanaTimeWindowTest {
+
+    @Test
+    public void testParseTimestamp() {
+        Assert.assertNull(HanaTimeWindow.parseTimestamp(null));
+        Assert.assertNull(HanaTimeWindow.parseTimestamp("  "));
+        Assert.assertEquals("2024-03-01 00:00:00", HanaTimeWindow.formatTimestamp(HanaTimeWindow.parseTimestamp("2024-03-01")));
+        Assert.assertEquals("2024-03-01 12:30:15", HanaTimeWindow.formatTimestamp(HanaTimeWindow.parseTimestamp(" 2024-03-01 12:30:15 ")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParseInvalidTimestamp() {
+        HanaTimeWindow.parseTimestamp("2024-13-01");
+    }
+
+    @Test
+    public void testShiftKeepsLength() {
+        HanaTimeWindow window = new HanaTimeWindow(
+                HanaTimeWindow.parseTimestamp("2024-03-01"),
+                HanaTimeWindow.parseTimestamp("2024-03-08")
+        );
+        Assert.assertTrue(window.isBounded());
+
+        HanaTimeWindow next = window.shift(TimeUnit.DAYS.toMillis(1));
+        Assert.assertEquals("[2024-03-02 00:00:00, 2024-03-09 00:00:00)", next.toString());
+        Assert.assertEquals(window.toString(), next.shift(-TimeUnit.DAYS.toMillis(1)).toString());
+
+        HanaTimeWindow open = new HanaTimeWindow(new Timestamp(0), null);
+        Assert.assertFalse(open.isBounded());
+        Assert.assertNull(open.shift(1000).end);
+    }
+
+    @Test
+    public void testTimeWindowKeepsTimeColumns() {
+        HanaLoadOptions loadOptions = new HanaLoadOptions();
+        loadOptions.edgeAttributes = new HashSet<>(Arrays.asList("LABEL"));
+        loadOptions.validFromColumn = "VALID_FROM";
+        loadOptions.validToColumn = "VALID_TO";
+        Assert.assertFalse(loadOptions.isTimeWindowed());
+        Assert.assertNull(loadOptions.getTimeWindowDescription());
+
+        loadOptions.timeWindow = new HanaTimeWindow(HanaTimeWindow.parseTimestamp("2024-03-01"), HanaTimeWindow.parseTimestamp("2024-03-08"));
+        Assert.assertTrue(loadOptions.isTimeWindowed());
+        Assert.assertEquals(new HashSet<>(Arrays.asList("LABEL", "VALID_FROM", "VALID_TO")), loadOptions.getLoadedEdgeAttributes());
+        Assert.assertEquals("Time window [2024-03-01 00:00:00, 2024-03-08 00:00:00) (VALID_FROM - VALID_TO)", loadOptions.getTimeWindowDescription());
+
+        HanaLoadOptions next = new HanaLoadOptions(loadOptions);
+        next.timeWindow = loadOptions.timeWindow.shift(TimeUnit.DAYS.toMillis(1));
+        Assert.assertNotEquals(loadOptions.getContentKey(), next.getContentKey());
+    }
+}
@@ -2,6 +2,9 @@ import org.junit.Assert;
 import org.junit.Test;
 import org.sap.cytoscape.internal.utils.HanaUtils;
 
+import java.sql.SQLException;
+import java.sql.SQLRecoverableException;
+
 public class HanaUtilsTest {
 
     // -------------------------------------------------------------------------
@@ -44,6 +47,21 @@ public class HanaUtilsTest {
         Assert.assertEquals("\"foo\"\"bar\"", HanaUtils.quoteIdentifier("foo\"bar"));
     }
 
+    // -------------------------------------------------------------------------
+    // quoteLiteral
+    // -------------------------------------------------------------------------
+
+    @Test
+    public void testQuoteLiteral_simple() {
+        Assert.assertEquals("'DE | Berlin'", HanaUtils.quoteLiteral("DE | Berlin"));
+    }
+
+    @Test
+    public void testQuoteLiteral_containsSingleQuote() {
+        // An embedded ' must be doubled, so that the value cannot end the literal
+        Assert.assertEquals("'O''Brien'", HanaUtils.quoteLiteral("O'Brien"));
+    }
+
     // -------------------------------------------------------------------------
     // isCloudEdition
     // -------------------------------------------------------------------------
@@ -67,4 +85,32 @@ public class HanaUtilsTest {
     public void testIsCloudEdition_emptyString() {
         Assert.assertFalse(HanaUtils.isCloudEdition(""));
     }
+
+    // -------------------------------------------------------------------------
+    // isTransientError
+    // -------------------------------------------------------------------------
+
+    @Test
+    public void testIsTransientError_connectionLost() {
+        Assert.assertTrue(HanaUtils.isTransientError(new SQLException("Connection down", "HY000", -10807)));
+        Assert.assertTrue(HanaUtils.isTransientError(new SQLException("Communication link failure", "08S01")));
+        Assert.assertTrue(HanaUtils.isTransientError(new SQLRecoverableException("Socket closed")));
+    }
+
+    @Test
+    public void testIsTransientError_deadlock() {
+        Assert.assertTrue(HanaUtils.isTransientError(new SQLException("transaction rolled back by detected deadlock", "40001", 133)));
+    }
+
+    @Test
+    public void testIsTransientError_syntaxError() {
+        Assert.assertFalse(HanaUtils.isTransientError(new SQLException("sql syntax error", "42000", 257)));
+    }
+
+    @Test
+    public void testIsTransientError_chainedException() {
+        SQLException e = new SQLException("batch failed", "HY000", 0);
+        e.setNextException(new SQLException("Connection down", "HY000", -10807));
+        Assert.assertTrue(HanaUtils.isTransientError(e));
+    }
 }
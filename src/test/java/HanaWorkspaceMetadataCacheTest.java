@@ -0,0 +1,64 @@
+import org.junit.Assert;
+import org.junit.Test;
+import org.sap.cytoscape.internal.hdb.HanaDbObject;
+import org.sap.cytoscape.internal.hdb.HanaWorkspaceMetadataCache;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class HanaWorkspaceMetadataCacheTest {
+
+    private static List<String[]> metadataRows() {
+        List<String[]> rows = new ArrayList<>();
+        rows.add(new String[]{"EDGE", "KEY", "S", "EDGES", "ID"});
+        rows.add(new String[]{"VERTEX", "KEY", "S", "NODES", "ID"});
+        return rows;
+    }
+
+    @Test
+    public void testSameVersionIsServedFromCache() {
+        HanaWorkspaceMetadataCache cache = new HanaWorkspaceMetadataCache();
+        String key = HanaWorkspaceMetadataCache.getKey("jdbc:sap://host:443/USER", new HanaDbObject("S", "WS"));
+
+        Assert.assertNull(cache.get(key, "v1"));
+        cache.put(key, "v1", metadataRows());
+
+        List<String[]> cached = cache.get(key, "v1");
+        Assert.assertNotNull(cached);
+        Assert.assertEquals(2, cached.size());
+        Assert.assertEquals("EDGES", cached.get(0)[3]);
+        Assert.assertEquals(1, cache.getHitCount());
+        Assert.assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void testChangedVersionInvalidatesEntry() {
+        HanaWorkspaceMetadataCache cache = new HanaWorkspaceMetadataCache();
+        String key = HanaWorkspaceMetadataCache.getKey("instance", new HanaDbObject("S", "WS"));
+
+        cache.put(key, "v1", metadataRows());
+        Assert.assertNull(cache.get(key, "v2"));
+        Assert.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testWorkspacesOfDifferentInstancesAreSeparated() {
+        HanaWorkspaceMetadataCache cache = new HanaWorkspaceMetadataCache();
+        HanaDbObject workspace = new HanaDbObject("S", "WS");
+
+        cache.put(HanaWorkspaceMetadataCache.getKey("instance1", workspace), "v1", metadataRows());
+        Assert.assertNull(cache.get(HanaWorkspaceMetadataCache.getKey("instance2", workspace), "v1"));
+    }
+
+    @Test
+    public void testCachedRowsAreCopied() {
+        HanaWorkspaceMetadataCache cache = new HanaWorkspaceMetadataCache();
+        String key = HanaWorkspaceMetadataCache.getKey("instance", new HanaDbObject("S", "WS"));
+
+        List<String[]> rows = metadataRows();
+        cache.put(key, "v1", rows);
+        rows.get(0)[4] = "CHANGED";
+
+        Assert.assertEquals("ID", cache.get(key, "v1").get(0)[4]);
+    }
+}
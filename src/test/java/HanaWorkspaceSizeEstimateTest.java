@@ -0,0 +1,58 @@
+import org.junit.Assert;
+import org.junit.Test;
+import org.sap.cytoscape.internal.hdb.HanaWorkspaceSizeEstimate;
+
+public class HanaWorkspaceSizeEstimateTest {
+
+    private HanaWorkspaceSizeEstimate newEstimate() {
+        HanaWorkspaceSizeEstimate estimate = new HanaWorkspaceSizeEstimate();
+        estimate.nodeCount = 1000;
+        estimate.edgeCount = 4000;
+        estimate.nodeRowWidth = 100;
+        estimate.edgeRowWidth = 50;
+        estimate.nodeColumnCount = 5;
+        estimate.edgeColumnCount = 3;
+        return estimate;
+    }
+
+    @Test
+    public void testEstimateGrowsWithRowsAndColumns() {
+        HanaWorkspaceSizeEstimate estimate = newEstimate();
+        long bytes = estimate.getEstimatedHeapBytes();
+        Assert.assertTrue(bytes > 1000 * 100 + 4000 * 50);
+
+        estimate.nodeColumnCount++;
+        Assert.assertTrue(estimate.getEstimatedHeapBytes() > bytes);
+    }
+
+    @Test
+    public void testAvailableHeapIsBoundedByMaxMemory() {
+        long available = HanaWorkspaceSizeEstimate.getAvailableHeapBytes();
+        Assert.assertTrue(available > 0);
+        Assert.assertTrue(available <= Runtime.getRuntime().maxMemory());
+    }
+
+    @Test
+    public void testFittingFraction() {
+        HanaWorkspaceSizeEstimate estimate = newEstimate();
+        long bytes = estimate.getEstimatedHeapBytes();
+
+        Assert.assertTrue(estimate.fits(bytes * 2));
+        Assert.assertFalse(estimate.fits(bytes));
+        Assert.assertEquals(1d, estimate.getFittingFraction(bytes * 2), 0);
+
+        double fraction = estimate.getFittingFraction(bytes / 2);
+        Assert.assertTrue(fraction > 0 && fraction < 0.5);
+
+        estimate.scale(fraction, fraction);
+        Assert.assertTrue(estimate.fits(bytes / 2));
+    }
+
+    @Test
+    public void testScaleDoesNotGrow() {
+        HanaWorkspaceSizeEstimate estimate = newEstimate();
+        estimate.scale(2, 0.5);
+        Assert.assertEquals(1000, estimate.nodeCount);
+        Assert.assertEquals(2000, estimate.edgeCount);
+    }
+}
@@ -33,6 +33,15 @@ public class OtherHdbTest {
     // HanaDataType — DDL, Java-Cyto types, Boolean path
     // -------------------------------------------------------------------------
 
+    @Test
+    public void testHanaDataType_isNumeric() {
+        Assert.assertTrue(new HanaDataType(Types.INTEGER).isNumeric());
+        Assert.assertTrue(new HanaDataType(Types.DECIMAL).isNumeric());
+        Assert.assertTrue(new HanaDataType(Types.DOUBLE).isNumeric());
+        Assert.assertFalse(new HanaDataType(Types.NVARCHAR).isNumeric());
+        Assert.assertFalse(new HanaDataType(Types.TIMESTAMP).isNumeric());
+    }
+
     @Test
     public void testHanaDataType_getHanaDdl() {
         Assert.assertEquals("INTEGER",        new HanaDataType(Types.INTEGER).getHanaDdl());
@@ -137,6 +146,21 @@ public class OtherHdbTest {
         Assert.assertNotNull("getColumnMetadata must return a fresh clone each time", second[0]);
     }
 
+    @Test
+    public void testHanaQueryResult_typedAccessors() {
+        HanaQueryResult result = new HanaQueryResult(3);
+        result.addRecord(new Object[]{1L, 10, 0.5d});
+        result.addRecord(new Object[]{2L, null, null});
+
+        Assert.assertEquals(2, result.getRecordCount());
+        Assert.assertEquals(2, result.getRecordList().size());
+        Assert.assertEquals(10L, result.getLong(0, 1));
+        Assert.assertEquals(0.5d, result.getDouble(0, 2), 1e-10);
+        Assert.assertTrue(result.isNull(1, 1));
+        Assert.assertEquals(0L, result.getLong(1, 1));
+        Assert.assertEquals(2L, result.getValue(1, 0));
+    }
+
     // -------------------------------------------------------------------------
     // CyNetworkKey — constructor + getters
     // -------------------------------------------------------------------------